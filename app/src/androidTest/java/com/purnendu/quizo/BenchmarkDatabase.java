@@ -0,0 +1,110 @@
+package com.purnendu.quizo;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.models.Question;
+import com.purnendu.quizo.models.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens a fresh, file-backed {@link QuizoDatabase} configured like the app's own (write-ahead
+ * logging, the performance profile and the 'topic_stats' triggers) and fills it with generated
+ * data, for the instrumented benchmarks.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public final class BenchmarkDatabase {
+
+    /**
+     * The subjects generated questions are spread over.
+     */
+    public static final String[] TOPICS = {"Mathematics", "Geography", "Literature", "Computer Science"};
+
+    /**
+     * Private constructor; this is a static utility class.
+     */
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Deletes any previous database of that name and opens a new one.
+     *
+     * @param context The context of the test.
+     * @param name    The database file name.
+     * @return The open database.
+     */
+    public static QuizoDatabase open(Context context, String name) {
+        context.deleteDatabase(name);
+        QuizoDatabase database = Room.databaseBuilder(context, QuizoDatabase.class, name)
+                .addCallback(QuizoDatabase.PERFORMANCE_CALLBACK)
+                .addCallback(QuizoDatabase.TOPIC_STATS_CALLBACK)
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                .build();
+        database.getOpenHelper().getWritableDatabase(); // Run the callbacks now, outside any timing
+        return database;
+    }
+
+    /**
+     * Returns a generated question, valid for the quiz.
+     *
+     * @param i The number of the question; its topic is {@code TOPICS[i % TOPICS.length]}.
+     * @return The question, not yet stored.
+     */
+    public static Question question(int i) {
+        return new Question(TOPICS[i % TOPICS.length], "Generated question number " + i + "?",
+                "Option " + i + "a", "Option " + i + "b", "Option " + i + "c", "Option " + i + "d",
+                "Option " + i + "c");
+    }
+
+    /**
+     * Inserts generated questions in chunked transactions.
+     *
+     * @param database The database.
+     * @param count    The number of questions.
+     */
+    public static void insertQuestions(QuizoDatabase database, int count) {
+        List<Question> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(question(i));
+            if (batch.size() == 1000 || i == count - 1) {
+                List<Question> chunk = batch;
+                database.runInTransaction(() -> database.questionDao().insertQuestions(chunk));
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Returns a generated user account. Usernames are unique, as they are in practice.
+     *
+     * @param i The number of the user.
+     * @return The user, not yet stored.
+     */
+    public static User user(int i) {
+        return new User("player" + i, "player" + i + "@example.com", "hash" + i);
+    }
+
+    /**
+     * Inserts generated user accounts in chunked transactions.
+     *
+     * @param database The database.
+     * @param count    The number of users.
+     */
+    public static void insertUsers(QuizoDatabase database, int count) {
+        for (int start = 0; start < count; start += 1000) {
+            int from = start;
+            database.runInTransaction(() -> {
+                for (int i = from; i < Math.min(from + 1000, count); i++) {
+                    database.userDao().insertUser(user(i));
+                }
+            });
+        }
+    }
+}
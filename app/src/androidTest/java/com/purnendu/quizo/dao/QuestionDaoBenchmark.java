@@ -0,0 +1,129 @@
+package com.purnendu.quizo.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.purnendu.quizo.BenchmarkDatabase;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.utilities.FtsQuery;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks the topic count and topic list of {@link QuestionDao} on a bank of
+ * {@link #QUESTION_COUNT} questions against the scans they replaced: a {@code COUNT(*)} and a
+ * {@code DISTINCT} over 'questions' without the topic index, as before the 'topic_stats' table.
+ * Also benchmarks the ranked full-text search of the question manager, both for a term that
+ * matches a few questions and for one that matches every question, the worst case of the ranking.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@RunWith(AndroidJUnit4.class)
+public class QuestionDaoBenchmark {
+
+    /**
+     * The size of the generated question bank.
+     */
+    private static final int QUESTION_COUNT = 100_000;
+
+    private static final String DB_NAME = "benchmark_questions.db";
+
+    /**
+     * The number of results the question manager asks for.
+     */
+    private static final int SEARCH_LIMIT = 100;
+
+    private static QuizoDatabase database;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setUpDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = BenchmarkDatabase.open(context, DB_NAME);
+        BenchmarkDatabase.insertQuestions(database, QUESTION_COUNT);
+    }
+
+    @AfterClass
+    public static void tearDownDatabase() {
+        database.close();
+        ApplicationProvider.getApplicationContext().deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void countByTopicScan() {
+        SimpleSQLiteQuery query = new SimpleSQLiteQuery(
+                "SELECT COUNT(*) FROM questions NOT INDEXED WHERE topic = ?", new Object[]{"Geography"});
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            try (Cursor cursor = database.query(query)) {
+                cursor.moveToFirst();
+                assertEquals(QUESTION_COUNT / 4, cursor.getInt(0));
+            }
+        }
+    }
+
+    @Test
+    public void countByTopic() {
+        QuestionDao questionDao = database.questionDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertEquals(QUESTION_COUNT / 4, questionDao.getQuestionCountByTopic("Geography"));
+        }
+    }
+
+    @Test
+    public void distinctTopicsScan() {
+        SimpleSQLiteQuery query = new SimpleSQLiteQuery("SELECT DISTINCT topic FROM questions NOT INDEXED");
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            try (Cursor cursor = database.query(query)) {
+                assertEquals(BenchmarkDatabase.TOPICS.length, cursor.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void distinctTopics() {
+        QuestionDao questionDao = database.questionDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertEquals(BenchmarkDatabase.TOPICS.length, questionDao.getDistinctTopics().size());
+        }
+    }
+
+    @Test
+    public void searchFewMatches() {
+        QuestionDao questionDao = database.questionDao();
+        // Question 12345 and its options, as typed into the question manager
+        String match = FtsQuery.prefixQuery("12345");
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertEquals(1, questionDao.searchQuestions(match, SEARCH_LIMIT).size());
+        }
+    }
+
+    @Test
+    public void searchEveryQuestionMatches() {
+        QuestionDao questionDao = database.questionDao();
+        String match = FtsQuery.prefixQuery("generated");
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertEquals(SEARCH_LIMIT, questionDao.searchQuestions(match, SEARCH_LIMIT).size());
+        }
+    }
+}
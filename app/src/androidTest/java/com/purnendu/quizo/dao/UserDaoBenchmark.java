@@ -0,0 +1,102 @@
+package com.purnendu.quizo.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import android.database.Cursor;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.purnendu.quizo.BenchmarkDatabase;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.models.User;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks the login lookup {@link UserDao#findByUsername(String)} on {@link #USER_COUNT}
+ * accounts against the approaches it replaced: loading every account with
+ * {@link UserDao#observeAllUser()} and scanning it in Java, and the same query without the
+ * username index.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@RunWith(AndroidJUnit4.class)
+public class UserDaoBenchmark {
+
+    /**
+     * The number of generated accounts.
+     */
+    private static final int USER_COUNT = 100_000;
+
+    /**
+     * The account looked up; in the middle of the table, so a scan is not lucky.
+     */
+    private static final String USERNAME = BenchmarkDatabase.user(USER_COUNT / 2).getUsername();
+
+    private static final String DB_NAME = "benchmark_users.db";
+
+    private static QuizoDatabase database;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setUpDatabase() {
+        database = BenchmarkDatabase.open(ApplicationProvider.getApplicationContext(), DB_NAME);
+        BenchmarkDatabase.insertUsers(database, USER_COUNT);
+    }
+
+    @AfterClass
+    public static void tearDownDatabase() {
+        database.close();
+        ApplicationProvider.getApplicationContext().deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void findByUsername() {
+        UserDao userDao = database.userDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertEquals(1, userDao.findByUsername(USERNAME).size());
+        }
+    }
+
+    @Test
+    public void findByUsernameScan() {
+        SimpleSQLiteQuery query = new SimpleSQLiteQuery(
+                "SELECT * FROM user NOT INDEXED WHERE username = ?", new Object[]{USERNAME});
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            try (Cursor cursor = database.query(query)) {
+                assertEquals(1, cursor.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void loadAllAndScan() {
+        UserDao userDao = database.userDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            List<User> matches = new ArrayList<>();
+            for (User user : userDao.observeAllUser()) {
+                if (USERNAME.equals(user.getUsername())) {
+                    matches.add(user);
+                }
+            }
+            assertEquals(1, matches.size());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.purnendu.quizo.importer;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.purnendu.quizo.BenchmarkDatabase;
+import com.purnendu.quizo.dao.QuestionDao;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.models.Question;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.StringReader;
+
+/**
+ * Benchmarks {@link QuestionImporter} importing {@link #QUESTION_COUNT} JSON-lines questions into
+ * Room, one transaction per batch as in the admin screen. Throughput is {@link #QUESTION_COUNT}
+ * divided by the reported time per import. The parse-only run isolates the cost of reading and
+ * validating from the cost of the inserts (including the full-text index triggers).
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@RunWith(AndroidJUnit4.class)
+public class QuestionImporterBenchmark {
+
+    /**
+     * The number of questions in each import.
+     */
+    private static final int QUESTION_COUNT = 100_000;
+
+    private static final String DB_NAME = "benchmark_import.db";
+
+    private static QuizoDatabase database;
+
+    private static String source;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setUp() {
+        database = BenchmarkDatabase.open(ApplicationProvider.getApplicationContext(), DB_NAME);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            Question question = BenchmarkDatabase.question(i);
+            lines.append("{\"topic\":\"").append(question.getTopic())
+                    .append("\",\"question_text\":\"").append(question.getQuestionText())
+                    .append("\",\"option_a\":\"").append(question.getOptionA())
+                    .append("\",\"option_b\":\"").append(question.getOptionB())
+                    .append("\",\"option_c\":\"").append(question.getOptionC())
+                    .append("\",\"option_d\":\"").append(question.getOptionD())
+                    .append("\",\"correct_answer\":\"").append(question.getCorrectAnswer())
+                    .append("\"}\n");
+        }
+        source = lines.toString();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        database.close();
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void importIntoRoom() throws Exception {
+        QuestionDao questionDao = database.questionDao();
+        QuestionImporter importer = new QuestionImporter(AppExecutors.getInstance().diskIO(),
+                (questions, checkpoint) -> questionDao.insertImportBatch(questions, "benchmark", checkpoint),
+                null, QuestionImporter.DEFAULT_BATCH_SIZE);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            database.clearAllTables();
+            state.resumeTiming();
+            QuestionImporter.Progress progress = importer.run(new StringReader(source),
+                    QuestionImporter.Format.JSON_LINES, 0);
+            assertEquals(QUESTION_COUNT, progress.getImported());
+        }
+    }
+
+    @Test
+    public void parseOnly() throws Exception {
+        QuestionImporter importer = new QuestionImporter(AppExecutors.getInstance().diskIO(),
+                (questions, checkpoint) -> {
+                }, null, QuestionImporter.DEFAULT_BATCH_SIZE);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            QuestionImporter.Progress progress = importer.run(new StringReader(source),
+                    QuestionImporter.Format.JSON_LINES, 0);
+            assertEquals(QUESTION_COUNT, progress.getImported());
+        }
+    }
+}
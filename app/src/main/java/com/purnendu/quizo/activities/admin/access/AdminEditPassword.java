@@ -1,11 +1,10 @@
 package com.purnendu.quizo.activities.admin.access;
 
 import static com.purnendu.quizo.utilities.HashAlgo.hashPassword;
+import static com.purnendu.quizo.utilities.HashAlgo.verifyPassword;
 
 import android.content.pm.ActivityInfo;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
@@ -17,23 +16,24 @@ import androidx.core.content.ContextCompat;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.component.AlertBox;
-import com.purnendu.quizo.databases.AdminDatabase;
-import com.purnendu.quizo.dbclients.AdminDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.Admin;
+import com.purnendu.quizo.utilities.HashAlgo;
 import com.purnendu.quizo.utilities.Keyboard;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity allows administrators to change their password within the Quizo application.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
  * It handles user input for new passwords, performs hashing using {@link com.purnendu.quizo.utilities.HashAlgo},
- * and updates the admin data in the {@link com.purnendu.quizo.databases.AdminDatabase} via
- * {@link com.purnendu.quizo.dbclients.AdminDatabaseClient}.
+ * and updates the admin data in the {@link com.purnendu.quizo.databases.QuizoDatabase} via
+ * {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}.
  * The activity utilizes Android UI components such as {@link android.widget.EditText}, {@link android.widget.Button},
  * and {@link android.widget.ImageView}, along with utility classes like {@link com.purnendu.quizo.utilities.Keyboard},
  * {@link com.purnendu.quizo.utilities.QuizoVibrator}, and {@link com.purnendu.quizo.utilities.SharedPref}.
@@ -102,9 +102,9 @@ public class AdminEditPassword extends AppCompatActivity {
 
     /**
      * Attempts to change the admin's password.
-     * It retrieves the current admin from SharedPreferences, hashes the old and new passwords,
-     * validates the old password, and then updates the admin data in the database
-     * and SharedPreferences asynchronously.
+     * It retrieves the current admin from SharedPreferences and, on a background thread, verifies the
+     * old password against the stored hash, hashes the new password and updates the admin data in
+     * the database and SharedPreferences.
      *
      * @param oldPassword The old password entered by the admin.
      * @param newPassword The new password entered by the admin.
@@ -112,36 +112,35 @@ public class AdminEditPassword extends AppCompatActivity {
     private void changePassword(String oldPassword, String newPassword) {
         // Retrieve the current admin object from SharedPreferences
         Admin admin = SharedPref.getInstance().getAdmin(AdminEditPassword.this);
-        // Hash the old password entered by the admin for comparison
-        String oldHash = hashPassword(oldPassword);
 
-        // Check if the entered old password matches the stored hashed password
-        if (!admin.getPassword().equals(oldHash)) {
-            Toast.makeText(this, R.string.please_enter_the_right_password,
-                    Toast.LENGTH_SHORT).show();
-            return; // Exit if old password is incorrect
-        }
-
-        // Hash the new password
-        String newHash = hashPassword(newPassword);
-        // Set the new hashed password to the admin object
-        admin.setPassword(newHash);
-
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Password hashing dominates this work, so run it on the shared CPU pool
+        Executor executor = AppExecutors.getInstance().cpu();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
 
-        // Execute database update on a background thread
+        // Password hashing is deliberately slow, so verify and hash on a background thread
         executor.execute(() -> {
-            // Get the AdminDatabaseClient instance and access the AdminDao
-            AdminDatabase adminDatabaseClient = AdminDatabaseClient.
+            // Check if the entered old password matches the stored hashed password
+            if (!verifyPassword(oldPassword, admin.getPassword())) {
+                mainThread.execute(() -> Toast.makeText(AdminEditPassword.this,
+                        R.string.please_enter_the_right_password, Toast.LENGTH_SHORT).show());
+                return; // Exit if old password is incorrect
+            }
+
+            // Hash the new password with a fresh salt
+            HashAlgo.calibrate(getApplicationContext());
+            String newHash = hashPassword(newPassword);
+            // Build a new admin object; the cached session snapshot is never mutated
+            Admin updatedAdmin = new Admin(admin.getUsername(), admin.getEmail(), newHash);
+
+            // Get the QuizoDatabaseClient instance and access the AdminDao
+            QuizoDatabase adminDatabaseClient = QuizoDatabaseClient.
                     getInstance(getApplicationContext());
             // Update the admin record in the database
-            adminDatabaseClient.adminDao().updateAdmin(admin);
+            adminDatabaseClient.adminDao().updateAdmin(updatedAdmin);
 
             // Post UI updates back to the main thread
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 // Disable buttons and change text to indicate processing
                 btnBack.setEnabled(false);
                 btnSavePassword.setEnabled(false);
@@ -158,7 +157,7 @@ public class AdminEditPassword extends AppCompatActivity {
                 Toast.makeText(AdminEditPassword.this,
                         R.string.password_updated_successfully, Toast.LENGTH_SHORT).show();
                 // Update the admin object in SharedPreferences with the new password
-                SharedPref.getInstance().setAdmin(AdminEditPassword.this, admin);
+                SharedPref.getInstance().setAdmin(AdminEditPassword.this, updatedAdmin);
                 finish(); // Close the activity
             });
         });
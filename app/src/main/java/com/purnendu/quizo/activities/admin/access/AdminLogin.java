@@ -1,12 +1,12 @@
 package com.purnendu.quizo.activities.admin.access;
 
 import static com.purnendu.quizo.utilities.HashAlgo.hashPassword;
+import static com.purnendu.quizo.utilities.HashAlgo.needsRehash;
+import static com.purnendu.quizo.utilities.HashAlgo.verifyPassword;
 
 import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -22,22 +22,23 @@ import androidx.core.content.ContextCompat;
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.activities.admin.system.AdminActivity;
 import com.purnendu.quizo.component.AlertBox;
-import com.purnendu.quizo.databases.AdminDatabase;
-import com.purnendu.quizo.dbclients.AdminDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.Admin;
+import com.purnendu.quizo.utilities.HashAlgo;
 import com.purnendu.quizo.utilities.Keyboard;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity handles the login process for administrators in the Quizo application.
  * It takes admin credentials (email and password), hashes the password using {@link com.purnendu.quizo.utilities.HashAlgo},
- * and authenticates against the {@link com.purnendu.quizo.databases.AdminDatabase} via
- * {@link com.purnendu.quizo.dbclients.AdminDatabaseClient}.
+ * and authenticates against the {@link com.purnendu.quizo.databases.QuizoDatabase} via
+ * {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
  * Upon successful login, it navigates to {@link com.purnendu.quizo.activities.admin.system.AdminActivity}.
@@ -61,12 +62,12 @@ public class AdminLogin extends AppCompatActivity {
     private ImageView backBtn;
 
     @Nullable
-    private static Admin getAdmin(String username, List<Admin> admins, String hashedPassword) {
+    private static Admin getAdmin(String username, List<Admin> admins, String password) {
         Admin matchedAdmin = null;
-        // Iterate through the list of admins to find a match
+        // Iterate through the admins with this username to find one whose stored hash verifies
         for (Admin admin : admins) {
-            if (username.equals(admin.getUsername()) && hashedPassword.
-                    equals(admin.getPassword())) {
+            if (username.equals(admin.getUsername()) &&
+                    verifyPassword(password, admin.getPassword())) {
                 matchedAdmin = admin; // Found a matching admin
                 break; // Exit loop once matched
             }
@@ -226,24 +227,28 @@ public class AdminLogin extends AppCompatActivity {
      * @param password The plaintext password provided by the admin.
      */
     private void loginAdmin(String username, String password) {
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Password hashing dominates this work, so run it on the shared CPU pool
+        Executor executor = AppExecutors.getInstance().cpu();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
 
         // Execute the login logic on a background thread
         executor.execute(() -> {
-            // Get the AdminDatabase instance
-            AdminDatabase db = AdminDatabaseClient.getInstance(getApplicationContext());
-            // Retrieve all admins from the database (for demonstration; in a real app,
-            // you'd query for a specific admin by username/email)
-            List<Admin> admins = db.adminDao().observeAllAdmins();
-            // Hash the provided password for comparison with stored hashed passwords
-            String hashedPassword = hashPassword(password);
+            // Get the QuizoDatabase instance
+            QuizoDatabase db = QuizoDatabaseClient.getInstance(getApplicationContext());
+            // Load (or measure on first run) the password hashing cost for this device
+            HashAlgo.calibrate(getApplicationContext());
+            // Look up only the admins with this username through the username index
+            List<Admin> admins = db.adminDao().findByUsername(username);
 
-            Admin finalMatchedAdmin = getAdmin(username, admins, hashedPassword);
+            Admin finalMatchedAdmin = getAdmin(username, admins, password);
+            if (finalMatchedAdmin != null && needsRehash(finalMatchedAdmin.getPassword())) {
+                // Transparently upgrade a legacy or weaker hash now that the password is known
+                finalMatchedAdmin.setPassword(hashPassword(password));
+                db.adminDao().updateAdmin(finalMatchedAdmin);
+            }
             // Post UI updates back to the main thread
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 if (finalMatchedAdmin != null) {
                     // If an admin is matched, update UI to indicate success/processing
                     backBtn.setEnabled(false);
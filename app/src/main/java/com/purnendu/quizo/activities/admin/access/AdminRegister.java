@@ -4,8 +4,6 @@ import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.database.sqlite.SQLiteConstraintException;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.text.TextUtils;
 import android.util.Patterns;
 import android.widget.Button;
@@ -20,8 +18,9 @@ import androidx.core.content.ContextCompat;
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.activities.admin.system.AdminActivity;
 import com.purnendu.quizo.component.AlertBox;
-import com.purnendu.quizo.databases.AdminDatabase;
-import com.purnendu.quizo.dbclients.AdminDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.Admin;
 import com.purnendu.quizo.utilities.HashAlgo;
 import com.purnendu.quizo.utilities.Keyboard;
@@ -29,7 +28,6 @@ import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity facilitates the registration of new administrators for the Quizo application.
@@ -38,8 +36,8 @@ import java.util.concurrent.Executors;
  * using {@link com.purnendu.quizo.utilities.HashAlgo}.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
- * The new admin data is then inserted into the {@link com.purnendu.quizo.databases.AdminDatabase}
- * via {@link com.purnendu.quizo.dbclients.AdminDatabaseClient}. It handles potential
+ * The new admin data is then inserted into the {@link com.purnendu.quizo.databases.QuizoDatabase}
+ * via {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}. It handles potential
  * {@link android.database.sqlite.SQLiteConstraintException} for duplicate entries.
  * Upon successful registration, it navigates to {@link com.purnendu.quizo.activities.admin.system.AdminActivity}.
  * The activity uses Android UI components like {@link android.widget.EditText}, {@link android.widget.Button},
@@ -208,16 +206,18 @@ public class AdminRegister extends AppCompatActivity {
      * @param password The plaintext password for the new admin.
      */
     private void registerAdmin(String username, String email, String password) {
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Password hashing dominates this work, so run it on the shared CPU pool
+        Executor executor = AppExecutors.getInstance().cpu();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
 
         // Execute the registration logic on a background thread
         executor.execute(() -> {
-            // Get the AdminDatabase instance
-            AdminDatabase db = AdminDatabaseClient.getInstance(getApplicationContext());
-            // Hash the password before storing it
+            // Get the QuizoDatabase instance
+            QuizoDatabase db = QuizoDatabaseClient.getInstance(getApplicationContext());
+            // Load (or measure on first run) the password hashing cost for this device
+            HashAlgo.calibrate(getApplicationContext());
+            // Hash the password with a fresh salt before storing it
             String hashedPassword = HashAlgo.hashPassword(password);
             // Create a new Admin object
             Admin admin = new Admin(username, email, hashedPassword);
@@ -234,7 +234,7 @@ public class AdminRegister extends AppCompatActivity {
             // Capture the success status for the UI thread
             boolean finalIsSuccess = isSuccess;
             // Post UI updates back to the main thread
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 if (finalIsSuccess) {
                     // If registration is successful, update UI to indicate success
                     btnBack.setEnabled(false);
@@ -6,6 +6,7 @@ import android.app.KeyguardManager;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.ActivityInfo;
+import android.net.Uri;
 import android.os.Bundle;
 import android.provider.Settings;
 import android.view.Menu;
@@ -27,10 +28,23 @@ import com.purnendu.quizo.activities.admin.access.AdminEditPassword;
 import com.purnendu.quizo.activities.info.AboutActivity;
 import com.purnendu.quizo.activities.user.access.LoginActivity;
 import com.purnendu.quizo.activities.web.WebActivity;
+import com.purnendu.quizo.dao.QuestionDao;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.importer.QuestionImporter;
 import com.purnendu.quizo.models.Admin;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * This is the main activity for administrators in the Quizo application, serving as a central hub
  * for various administrative functionalities. It provides navigation options to manage questions,
@@ -50,6 +64,9 @@ import com.purnendu.quizo.utilities.SharedPref;
  * It also interacts with {@link com.purnendu.quizo.utilities.SharedPref} for session management
  * and {@link com.purnendu.quizo.utilities.QuizoVibrator} for haptic feedback.
  * Biometric authentication is handled via {@link android.app.KeyguardManager} and {@link android.provider.Settings}.
+ * Bulk question banks (JSON lines or CSV) can be imported from the options menu through
+ * {@link com.purnendu.quizo.importer.QuestionImporter}; interrupted imports resume from their last checkpoint,
+ * which is stored in the database together with each batch.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -63,6 +80,11 @@ public class AdminActivity extends AppCompatActivity {
      */
     private ActivityResultLauncher<Intent> confirmCredentialLauncher;
 
+    /**
+     * Launcher for picking a question bank document to import.
+     */
+    private ActivityResultLauncher<String[]> importQuestionsLauncher;
+
     /**
      * Singleton instance of {@link com.purnendu.quizo.utilities.SharedPref} for managing
      * application-wide shared preferences, particularly for admin session data.
@@ -116,6 +138,16 @@ public class AdminActivity extends AppCompatActivity {
                 }
         );
 
+        // Register the launcher used to pick a question bank for bulk import
+        importQuestionsLauncher = registerForActivityResult(
+                new ActivityResultContracts.OpenDocument(),
+                uri -> {
+                    if (uri != null) {
+                        importQuestions(uri);
+                    }
+                }
+        );
+
         // Set the navigation bar color to black
         getWindow().setNavigationBarColor(ContextCompat.getColor(this,
                 R.color.black));
@@ -224,6 +256,11 @@ public class AdminActivity extends AppCompatActivity {
             webIntent.putExtra("webHeading", "Quizo Website"); // Heading for the web activity
             startActivity(webIntent);
             return true;
+        } else if (id == R.id.action_import) {
+            // Pick a JSON lines or CSV question bank to import
+            importQuestionsLauncher.launch(new String[]{"text/*", "application/json",
+                    "application/octet-stream"});
+            return true;
         } else {
             return super.onOptionsItemSelected(item); // Let the superclass handle other menu items
         }
@@ -281,4 +318,88 @@ public class AdminActivity extends AppCompatActivity {
             startActivity(new Intent(Settings.ACTION_SECURITY_SETTINGS)); // Open device security settings
         }
     }
+
+    /**
+     * Imports a question bank from the given document on two threads of its own, one parsing the
+     * document and one writing the batches, so a long import neither waits behind nor holds up the
+     * shared disk I/O pool. Progress is shown in a non-cancelable dialog. Every batch is committed
+     * together with its checkpoint, keyed by the document URI, so importing the same document again
+     * after an interruption resumes exactly after the last committed batch; the checkpoint is
+     * deleted once the import completes.
+     *
+     * @param uri The document to import.
+     */
+    private void importQuestions(Uri uri) {
+        String key = uri.toString();
+        String type = getContentResolver().getType(uri);
+        QuestionImporter.Format format = QuestionImporter.Format.from(
+                type != null ? type : uri.getLastPathSegment());
+
+        AlertDialog progressDialog = new AlertDialog.Builder(AdminActivity.this)
+                .setTitle(R.string.import_questions)
+                .setMessage(R.string.please_wait)
+                .setCancelable(false)
+                .show();
+
+        QuestionDao questionDao = QuizoDatabaseClient.getInstance(getApplicationContext())
+                .questionDao();
+        // Progress and the final result are dropped if this screen has been destroyed meanwhile
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
+        // The parser and the writer each get a thread, released once the import ends
+        ExecutorService importThreads = Executors.newFixedThreadPool(2,
+                task -> new Thread(task, "question-import"));
+        QuestionImporter importer = new QuestionImporter(importThreads,
+                // One transaction per batch, recording how far the source has been committed
+                (questions, checkpoint) -> questionDao.insertImportBatch(questions, key, checkpoint),
+                progress -> mainThread.execute(() -> progressDialog.setMessage(getString(
+                        R.string.import_progress, progress.getImported(), progress.getRejected()))),
+                QuestionImporter.DEFAULT_BATCH_SIZE);
+
+        importThreads.execute(() -> {
+            String message;
+            try (InputStream in = getContentResolver().openInputStream(uri)) {
+                if (in == null) {
+                    throw new FileNotFoundException(key);
+                }
+                Long checkpoint = questionDao.getImportCheckpoint(key);
+                long resumeFrom = checkpoint != null ? checkpoint : 0L;
+                if (resumeFrom > 0) {
+                    mainThread.execute(() -> progressDialog.setMessage(
+                            getString(R.string.import_resuming)));
+                }
+                QuestionImporter.Progress result = importer.run(new BufferedReader(
+                        new InputStreamReader(in, StandardCharsets.UTF_8)), format, resumeFrom);
+                questionDao.deleteImportCheckpoint(key); // Completed, nothing left to resume
+                message = getString(R.string.import_finished, result.getImported(),
+                        result.getRejected());
+            } catch (QuestionImporter.ImportException e) {
+                // Name the line the import stopped at and what actually went wrong there
+                String cause = describe(e.getCause());
+                message = e.getLine() > 0 ?
+                        getString(R.string.import_failed_at_line, e.getLine(), cause) :
+                        getString(R.string.import_failed, cause);
+            } catch (Exception e) {
+                message = getString(R.string.import_failed, describe(e));
+            } finally {
+                importThreads.shutdown(); // The running task still completes
+            }
+
+            final String finalMessage = message;
+            mainThread.execute(() -> {
+                progressDialog.dismiss();
+                Toast.makeText(AdminActivity.this, finalMessage, Toast.LENGTH_LONG).show();
+            });
+        });
+    }
+
+    /**
+     * Describes an import failure for the user: its message, or its type if it has none.
+     *
+     * @param error The failure.
+     * @return A short description of the failure.
+     */
+    private static String describe(Throwable error) {
+        String detail = error.getMessage();
+        return detail != null && !detail.trim().isEmpty() ? detail : error.getClass().getSimpleName();
+    }
 }
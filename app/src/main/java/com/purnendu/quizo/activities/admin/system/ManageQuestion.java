@@ -6,11 +6,14 @@ import android.content.pm.ActivityInfo;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.Spinner;
 import android.widget.TextView;
@@ -24,15 +27,17 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.dao.QuestionDao;
-import com.purnendu.quizo.databases.QuestionDatabase;
-import com.purnendu.quizo.dbclients.QuestionDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.Question;
+import com.purnendu.quizo.utilities.FtsQuery;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity provides administrators with the functionality to manage quiz questions within the Quizo application.
@@ -41,13 +46,18 @@ import java.util.concurrent.Executors;
  * t extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
  * Administrators can view, edit, and delete questions, interacting directly with the
- * {@link com.purnendu.quizo.databases.QuestionDatabase} via {@link com.purnendu.quizo.dbclients.QuestionDatabaseClient}
+ * {@link com.purnendu.quizo.databases.QuizoDatabase} via {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}
  * and its {@link com.purnendu.quizo.dao.QuestionDao}.
  * <p>
  * The activity utilizes various Android UI components including {@link android.widget.TextView},
  * {@link android.widget.ImageView}, and custom layouts for RecyclerView items.
  * It provides user feedback through {@link android.widget.Toast} and {@link android.app.AlertDialog} for confirmations.
- * Asynchronous database operations are managed using {@link java.util.concurrent.Executor} and {@link android.os.Handler}.
+ * Asynchronous database operations are managed using the shared {@link com.purnendu.quizo.executors.AppExecutors} pools.
+ * Questions are loaded in keyset pages ordered by {@code (topic, id)}: the adapter prefetches the next
+ * or previous page as the admin scrolls near either end and keeps only a bounded window of pages in
+ * memory, so topics of any size scroll at constant memory. Deleting a question only updates its row.
+ * A search box runs debounced, prefix-matching full-text queries over the question text and options
+ * through the {@code questions_fts} index; clearing it returns to the selected topic.
  * Haptic feedback is provided by {@link com.purnendu.quizo.utilities.QuizoVibrator}.
  *
  * @author Purnendu Guha
@@ -59,6 +69,7 @@ public class ManageQuestion extends AppCompatActivity {
     // Hardcoded string literals for messages and formatting
     private static final String NO_TOPICS_AVAILABLE = "No topics available";
     private static final String NO_QUESTIONS_FOR_THIS_TOPIC = "No questions for this topic.";
+    private static final String NO_QUESTIONS_MATCH = "No questions match your search.";
     private static final String QUESTION_DELETED_SUCCESSFULLY =
             "Question deleted successfully!";
     private static final String FAILED_TO_DELETE_QUESTION = "Failed to delete question.";
@@ -68,17 +79,29 @@ public class ManageQuestion extends AppCompatActivity {
     private static final String OPTION_D_FORMAT = "D. %s";
     private static final String CORRECT_ANSWER_FORMAT = "Correct Answer: %s";
 
-    // Lists to hold question data and topics
+    // Keyset paging configuration
+    private static final int PAGE_SIZE = 50; // Questions fetched per page
+    private static final int PREFETCH_DISTANCE = 15; // Rows from either end that trigger a page load
+    private static final int MAX_LOADED_QUESTIONS = PAGE_SIZE * 5; // Window kept in memory
+
+    // Full-text search configuration
+    private static final long SEARCH_DEBOUNCE_MS = 250L; // Quiet period before a query runs
+    private static final int SEARCH_RESULT_LIMIT = 100; // Ranked results shown per query
+
+    // Lists to hold the loaded window of question data and the topics
     private final List<Question> questionsList = new ArrayList<>();
     private final List<String> topicsList = new ArrayList<>();
 
-    // Executor for background database operations to prevent UI freezing
-    private final Executor executor = Executors.newSingleThreadExecutor();
-    // Handler to post results back to the main (UI) thread
+    // Serial view of the shared disk I/O pool, so paging and deletes run in submission order
+    private final Executor executor = AppExecutors.serial(AppExecutors.getInstance().diskIO());
+    // Delivers results to the main (UI) thread unless this activity has been destroyed
+    private final Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
+    // Handler for debouncing search input and deferring prefetches out of the layout pass
     private final Handler handler = new Handler(Looper.getMainLooper());
 
     // UI components
     private Spinner spinnerTopics;
+    private EditText etSearch;
     private QuestionAdapter questionAdapter;
     private ArrayAdapter<String> topicsAdapter;
 
@@ -88,6 +111,18 @@ public class ManageQuestion extends AppCompatActivity {
     // Currently selected topic
     private String selectedTopic = "";
 
+    // Paging state for the loaded window of the selected topic
+    private boolean hasMoreAfter = false; // More questions exist after the window
+    private boolean hasMoreBefore = false; // Questions were dropped before the window
+    private boolean loadingAfter = false;
+    private boolean loadingBefore = false;
+    private int pagingGeneration = 0; // Bumped on topic change to discard stale page results
+
+    // True while the list shows search results instead of the selected topic
+    private boolean searching = false;
+    // Runs the search for the current text once typing has paused
+    private final Runnable searchRunnable = () -> runSearch(etSearch.getText().toString());
+
     /**
      * Called when the activity is first created. This is where you should do all of your
      * normal static set up: create views, bind data to lists, etc.
@@ -110,10 +145,11 @@ public class ManageQuestion extends AppCompatActivity {
         // Initialize views
         ImageView btnBack = findViewById(R.id.imageViewBack);
         spinnerTopics = findViewById(R.id.spinnerTopics);
+        etSearch = findViewById(R.id.etSearchQuestions);
         RecyclerView recyclerViewQuestions = findViewById(R.id.recyclerViewQuestions);
 
         // Initialize database client and DAO for questions
-        QuestionDatabase questionDatabase = QuestionDatabaseClient.
+        QuizoDatabase questionDatabase = QuizoDatabaseClient.
                 getInstance(getApplicationContext());
         questionDao = questionDatabase.questionDao();
 
@@ -145,6 +181,11 @@ public class ManageQuestion extends AppCompatActivity {
                                        int position, long id) {
                 QuizoVibrator.vibratePhone(ManageQuestion.this); // Provide haptic feedback
                 selectedTopic = parent.getItemAtPosition(position).toString(); // Get selected topic
+                if (searching) {
+                    searching = false; // Picking a topic leaves search mode
+                    handler.removeCallbacks(searchRunnable);
+                    etSearch.setText("");
+                }
                 loadQuestionsForTopic(selectedTopic); // Load questions based on the selected topic
             }
 
@@ -154,6 +195,23 @@ public class ManageQuestion extends AppCompatActivity {
             }
         });
 
+        // Debounce search input so a query only runs once typing pauses
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence text, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence text, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable editable) {
+                handler.removeCallbacks(searchRunnable);
+                handler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+            }
+        });
+
         // Set OnClickListener for the back button
         btnBack.setOnClickListener(v -> {
             QuizoVibrator.vibratePhone(this); // Provide haptic feedback
@@ -169,7 +227,7 @@ public class ManageQuestion extends AppCompatActivity {
     private void loadTopics() {
         executor.execute(() -> {
             List<String> fetchedTopics = questionDao.getDistinctTopics(); // Fetch distinct topics
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 topicsList.clear(); // Clear existing topics
                 if (fetchedTopics != null && !fetchedTopics.isEmpty()) {
                     topicsList.addAll(fetchedTopics); // Add fetched topics
@@ -192,30 +250,65 @@ public class ManageQuestion extends AppCompatActivity {
     }
 
     /**
-     * Loads questions for a specific topic from the database in a background thread.
-     * Updates the RecyclerView's adapter on the main thread once questions are fetched.
+     * Resets the paging window and loads the first page of questions for a specific topic.
      * Displays a toast message if no questions are found for the selected topic.
      *
      * @param topic The topic for which to load questions.
      */
     @SuppressLint("NotifyDataSetChanged")
     private void loadQuestionsForTopic(String topic) {
-        // If no topics are available, clear the questions list and return
+        pagingGeneration++; // Invalidate pages still in flight for the previous topic
+        questionsList.clear();
+        hasMoreAfter = false;
+        hasMoreBefore = false;
+        loadingAfter = false;
+        loadingBefore = false;
+        questionAdapter.notifyDataSetChanged();
+
+        // If no topics are available, leave the list empty
         if (topic.equals(NO_TOPICS_AVAILABLE)) {
-            questionsList.clear();
-            questionAdapter.notifyDataSetChanged();
             return;
         }
 
+        hasMoreAfter = true;
+        loadNextPage();
+    }
+
+    /**
+     * Loads the page following the current window in a background thread and appends it.
+     * If the window grows past {@link #MAX_LOADED_QUESTIONS}, rows are dropped from the front.
+     */
+    private void loadNextPage() {
+        if (loadingAfter || !hasMoreAfter) {
+            return;
+        }
+        loadingAfter = true;
+        final int generation = pagingGeneration;
+        final String topic = selectedTopic;
+        final int afterId = questionsList.isEmpty() ? 0 :
+                questionsList.get(questionsList.size() - 1).getId();
+
         executor.execute(() -> {
-            List<Question> fetchedQuestions = questionDao.getQuestionsByTopic(topic); // Fetch questions by topic
-            handler.post(() -> {
-                questionsList.clear(); // Clear existing questions
-                if (fetchedQuestions != null) {
-                    questionsList.addAll(fetchedQuestions);
+            List<Question> page = questionDao.getQuestionsPageAfter(topic, afterId, PAGE_SIZE);
+            mainThread.execute(() -> {
+                if (generation != pagingGeneration) {
+                    return; // Topic changed while loading
                 }
-                questionAdapter.notifyDataSetChanged(); // Notify adapter of data change
-                if (questionsList.isEmpty()) {
+                loadingAfter = false;
+                hasMoreAfter = page.size() == PAGE_SIZE;
+                int start = questionsList.size();
+                questionsList.addAll(page);
+                questionAdapter.notifyItemRangeInserted(start, page.size());
+
+                // Keep memory bounded by dropping the oldest rows
+                int overflow = questionsList.size() - MAX_LOADED_QUESTIONS;
+                if (overflow > 0) {
+                    questionsList.subList(0, overflow).clear();
+                    questionAdapter.notifyItemRangeRemoved(0, overflow);
+                    hasMoreBefore = true;
+                }
+
+                if (questionsList.isEmpty() && !hasMoreBefore) {
                     // Show a toast if no questions are found for the topic
                     Toast.makeText(this, NO_QUESTIONS_FOR_THIS_TOPIC,
                             Toast.LENGTH_SHORT).show();
@@ -224,22 +317,126 @@ public class ManageQuestion extends AppCompatActivity {
         });
     }
 
+    /**
+     * Reloads the page preceding the current window in a background thread and prepends it.
+     * If the window grows past {@link #MAX_LOADED_QUESTIONS}, rows are dropped from the end.
+     */
+    private void loadPreviousPage() {
+        if (loadingBefore || !hasMoreBefore || questionsList.isEmpty()) {
+            return;
+        }
+        loadingBefore = true;
+        final int generation = pagingGeneration;
+        final String topic = selectedTopic;
+        final int beforeId = questionsList.get(0).getId();
+
+        executor.execute(() -> {
+            List<Question> page = new ArrayList<>(questionDao.getQuestionsPageBefore(topic,
+                    beforeId, PAGE_SIZE));
+            Collections.reverse(page); // Query returns descending ids
+            mainThread.execute(() -> {
+                if (generation != pagingGeneration) {
+                    return; // Topic changed while loading
+                }
+                loadingBefore = false;
+                hasMoreBefore = page.size() == PAGE_SIZE;
+                questionsList.addAll(0, page);
+                questionAdapter.notifyItemRangeInserted(0, page.size());
+
+                int overflow = questionsList.size() - MAX_LOADED_QUESTIONS;
+                if (overflow > 0) {
+                    int start = questionsList.size() - overflow;
+                    questionsList.subList(start, questionsList.size()).clear();
+                    questionAdapter.notifyItemRangeRemoved(start, overflow);
+                    hasMoreAfter = true;
+                }
+            });
+        });
+    }
+
+    /**
+     * Triggers a page load when a bound row is within {@link #PREFETCH_DISTANCE} of either end
+     * of the loaded window. Loads are posted so the adapter is never mutated during a layout pass.
+     *
+     * @param position The adapter position being bound.
+     */
+    private void prefetchAround(int position) {
+        if (position >= questionsList.size() - PREFETCH_DISTANCE && hasMoreAfter && !loadingAfter) {
+            handler.post(this::loadNextPage);
+        }
+        if (position < PREFETCH_DISTANCE && hasMoreBefore && !loadingBefore) {
+            handler.post(this::loadPreviousPage);
+        }
+    }
+
+    /**
+     * Runs a ranked, prefix-matching full-text search for the given text in a background thread
+     * and replaces the list with the results. Blank input leaves search mode and reloads the
+     * selected topic.
+     *
+     * @param text The raw search text.
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    private void runSearch(String text) {
+        String match = FtsQuery.prefixQuery(text);
+        if (match == null) {
+            if (searching) {
+                searching = false;
+                loadQuestionsForTopic(selectedTopic);
+            }
+            return;
+        }
+
+        searching = true;
+        pagingGeneration++; // Discard topic pages and older searches still in flight
+        hasMoreAfter = false;
+        hasMoreBefore = false;
+        loadingAfter = false;
+        loadingBefore = false;
+        final int generation = pagingGeneration;
+
+        executor.execute(() -> {
+            List<Question> results = questionDao.searchQuestions(match, SEARCH_RESULT_LIMIT);
+            mainThread.execute(() -> {
+                if (generation != pagingGeneration) {
+                    return; // A newer search or topic load superseded this one
+                }
+                questionsList.clear();
+                questionsList.addAll(results);
+                questionAdapter.notifyDataSetChanged();
+                if (results.isEmpty()) {
+                    Toast.makeText(this, NO_QUESTIONS_MATCH, Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+    }
+
     /**
      * Deletes a given question from the database in a background thread.
-     * Displays a toast message indicating success or failure and reloads topics/questions.
+     * On success only the deleted row is removed from the list; topics are reloaded only when the
+     * topic has no questions left.
      *
      * @param question The {@link com.purnendu.quizo.models.Question} object to be deleted.
      */
     private void deleteQuestion(Question question) {
         executor.execute(() -> {
             int rowsAffected = questionDao.deleteQuestion(question); // Execute deletion
-            handler.post(() -> {
+            int remaining = rowsAffected > 0 ?
+                    questionDao.getQuestionCountByTopic(question.getTopic()) : -1;
+            mainThread.execute(() -> {
                 if (rowsAffected > 0) {
                     Toast.makeText(this, QUESTION_DELETED_SUCCESSFULLY,
                             Toast.LENGTH_SHORT).show();
-                    // No need to call topicsAdapter.notifyDataSetChanged() here,
-                    // as loadTopics() will handle it.
-                    loadTopics(); // Reload topics and questions after deletion
+                    int index = questionsList.indexOf(question);
+                    if (index >= 0) {
+                        questionsList.remove(index);
+                        questionAdapter.notifyItemRemoved(index);
+                    }
+                    if (remaining == 0) {
+                        loadTopics(); // The topic disappeared, refresh the spinner
+                    } else if (!searching && questionsList.size() < PREFETCH_DISTANCE) {
+                        loadNextPage(); // Top up a nearly empty window
+                    }
                 } else {
                     Toast.makeText(this, FAILED_TO_DELETE_QUESTION,
                             Toast.LENGTH_SHORT).show();
@@ -313,6 +510,7 @@ public class ManageQuestion extends AppCompatActivity {
         public void onBindViewHolder(@NonNull QuestionViewHolder holder, int position) {
             // Get the question for the current position. This 'currentQuestion' is local to this onBindViewHolder call.
             final Question currentQuestion = questions.get(position);
+            prefetchAround(position); // Load neighbouring pages before the user reaches an edge
 
             holder.tvQuestionText.setText(currentQuestion.getQuestionText()); // Set question text
             // Set option texts using format strings
@@ -18,12 +18,12 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.dao.QuestionDao;
-import com.purnendu.quizo.dbclients.QuestionDatabaseClient;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.Question;
 import com.purnendu.quizo.utilities.Keyboard;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 
-import java.util.concurrent.Executors;
 
 /**
  * This activity allows administrators to add quiz questions within the Quizo application.
@@ -31,7 +31,7 @@ import java.util.concurrent.Executors;
  * question text, options, correct answer, and a boolean switch for question status.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
- * Data is managed through the {@link com.purnendu.quizo.dbclients.QuestionDatabaseClient} and its
+ * Data is managed through the {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient} and its
  * {@link com.purnendu.quizo.dao.QuestionDao}.
  * <p>
  * The activity uses various Android UI components including {@link android.widget.EditText},
@@ -40,7 +40,7 @@ import java.util.concurrent.Executors;
  * It provides user feedback through {@link android.widget.Toast} and integrates utility functions
  * from {@link com.purnendu.quizo.utilities.Keyboard} for soft keyboard management and
  * {@link com.purnendu.quizo.utilities.QuizoVibrator} for haptic feedback.
- * Asynchronous database operations are handled using {@link java.util.concurrent.Executors}.
+ * Asynchronous database operations run on the shared {@link com.purnendu.quizo.executors.AppExecutors} pools.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -84,7 +84,7 @@ public class QuestionActivity extends AppCompatActivity {
         setContentView(R.layout.activity_admin_question);
 
         // Initialize the QuestionDao using the singleton database client
-        questionDao = QuestionDatabaseClient.getInstance(this).questionDao();
+        questionDao = QuizoDatabaseClient.getInstance(this).questionDao();
 
         // Initialize all UI components
         initUI();
@@ -171,11 +171,11 @@ public class QuestionActivity extends AppCompatActivity {
      */
     @SuppressLint("SetTextI18n") // Suppresses lint warning for string concatenation
     private void updateQuestionCountStatus(String subject) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             // Get the question count for the specified topic from the database
             int count = questionDao.getQuestionCountByTopic(subject);
             // Post the UI update back to the main thread
-            runOnUiThread(() -> {
+            AppExecutors.getInstance().mainThreadFor(this).execute(() -> {
                 // Set the text view with the updated count and subject
                 tvQuestionCountStatus.setText(getString(R.string.currently) + count +
                         getString(R.string.questions_for) + subject +
@@ -236,13 +236,13 @@ public class QuestionActivity extends AppCompatActivity {
         Question question = new Question(currentSelectedSubject, questionText,
                 optionA, optionB, optionC, optionD, correctAnswerText);
 
-        // Execute database insertion on a single background thread
-        Executors.newSingleThreadExecutor().execute(() -> {
+        // Execute database insertion on the shared disk I/O pool
+        AppExecutors.getInstance().diskIO().execute(() -> {
             // Insert the question into the database and get the row ID
             long rowId = questionDao.insertQuestion(question);
 
             // Post UI updates back to the main thread
-            runOnUiThread(() -> {
+            AppExecutors.getInstance().mainThreadFor(this).execute(() -> {
                 if (rowId > 0) {
                     // Show success message, clear fields, and update question count
                     Toast.makeText(QuestionActivity.this,
@@ -5,8 +5,6 @@ import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.WindowInsets;
 import android.view.WindowInsetsController;
@@ -15,10 +13,13 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.activities.user.access.LoginActivity;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.startup.StartupOrchestrator;
 
 /**
  * The `SplashActivity` class serves as the initial entry point for the application,
- * displaying a splash screen for a short duration. This activity ensures a locked
+ * displaying a splash screen while the {@link StartupOrchestrator} initializes the app, and only
+ * until its critical path (database and saved session) is ready. This activity ensures a locked
  * screen orientation and hides system UI elements for a clean, immersive user experience
  * during the splash period.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
@@ -36,8 +37,8 @@ public class SplashActivity extends AppCompatActivity {
      * <li>Locks the screen orientation to portrait mode to prevent rotation issues.</li>
      * <li>Sets the content view to the `activity_splash` layout.</li>
      * <li>Hides system navigation bars to provide a full-screen, immersive display.</li>
-     * <li>Starts a new thread to introduce a delay (2000 milliseconds) before
-     * finishing the activity, effectively creating the splash screen effect.</li>
+     * <li>Starts the app's initializers in the background and opens the login screen
+     * as soon as the ones it needs have finished.</li>
      * </ul>
      *
      * @param savedInstanceState If the activity is being re-initialized after
@@ -63,11 +64,13 @@ public class SplashActivity extends AppCompatActivity {
             decorView.setSystemUiVisibility(uiOptions);
         }
 
-
-        // Using a Handler to post a delayed action to the main thread
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
+        // Open the database and decode the session in parallel; leave once both are ready
+        StartupOrchestrator startup = StartupOrchestrator.getInstance(this);
+        startup.start();
+        startup.whenCriticalPathComplete(AppExecutors.getInstance().mainThreadFor(this), () -> {
+            startup.getTrace().mark("splash dismissed");
             finish();
             startActivity(new Intent(SplashActivity.this, LoginActivity.class));
-        }, 2000); // 2000 milliseconds = 2 seconds
+        });
     }
 }
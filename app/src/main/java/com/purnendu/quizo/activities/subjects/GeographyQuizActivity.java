@@ -18,23 +18,16 @@ import androidx.core.content.ContextCompat;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.activities.user.system.FinalResultActivity;
-import com.purnendu.quizo.dao.QuestionDao;
-import com.purnendu.quizo.dbclients.QuestionDatabaseClient;
-import com.purnendu.quizo.models.Question;
+import com.purnendu.quizo.engine.QuestionPoolCache;
+import com.purnendu.quizo.engine.QuizSession;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.utilities.Constants;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.Executors;
-
 /**
  * This activity facilitates the Geography quiz for users in the Quizo application.
- * It fetches questions related to "Geography" from the database via
- * {@link com.purnendu.quizo.dbclients.QuestionDatabaseClient} and its {@link com.purnendu.quizo.dao.QuestionDao}.
+ * It gets questions related to "Geography" from the
+ * {@link com.purnendu.quizo.engine.QuestionPoolCache}, which reads them from the Quizo database.
  * Users answer multiple-choice questions, and their progress (correct/incorrect answers) is tracked.
  * Upon completion, results are passed to {@link com.purnendu.quizo.activities.user.system.FinalResultActivity}.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
@@ -42,11 +35,12 @@ import java.util.concurrent.Executors;
  * <p>
  * The activity utilizes various Android UI components including {@link android.widget.TextView},
  * {@link android.widget.RadioGroup}, {@link android.widget.RadioButton}, and {@link android.widget.Button}.
- * It manages quiz flow, question display, and answer validation.
+ * It manages quiz flow and question display, while answer validation is delegated to an index-based
+ * {@link com.purnendu.quizo.engine.QuizSession}.
  * Utility classes like {@link com.purnendu.quizo.utilities.Constants} for fixed values and
  * {@link com.purnendu.quizo.utilities.QuizoVibrator} for haptic feedback are integrated.
  * User feedback is provided through {@link android.widget.Toast} and {@link android.app.AlertDialog} for exit confirmation.
- * Asynchronous database operations are handled using {@link java.util.concurrent.Executors}.
+ * Asynchronous database operations run on the shared {@link com.purnendu.quizo.executors.AppExecutors} pools.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -67,34 +61,12 @@ public class GeographyQuizActivity extends AppCompatActivity {
     private int correctQuestion = 0;
     private int totalQuestionsLoaded = 0; // Tracks the actual number of loaded questions
 
-    // Data structures to hold quiz questions and their options/answers
-    private List<String> questionsOrder; // Stores the question texts in display order
-    private Map<String, Map<String, Boolean>>
-            questionsAnswerMap; // Maps question text to its options map (option text -> is_correct)
+    // Index-based quiz engine holding the loaded questions, option order and answer keys
+    private QuizSession quizSession;
 
-    // Quiz subject and database access object
+    // Quiz subject and question source
     private String currentSubject; // To store the subject passed from the intent
-    private QuestionDao questionDao; // Room DAO instance
-
-    /**
-     * Helper method to create a map of options for a given question, indicating which option is correct.
-     *
-     * @param q The {@link com.purnendu.quizo.models.Question} object.
-     * @return A map where keys are option texts and values are booleans indicating if the option is correct.
-     */
-    @NonNull
-    private static Map<String, Boolean> getStringBooleanMap(Question q) {
-        Map<String, Boolean> optionsForQuestion = new HashMap<>();
-        optionsForQuestion.put(q.getOptionA(),
-                q.getOptionA().equals(q.getCorrectAnswer()));
-        optionsForQuestion.put(q.getOptionB(),
-                q.getOptionB().equals(q.getCorrectAnswer()));
-        optionsForQuestion.put(q.getOptionC(),
-                q.getOptionC().equals(q.getCorrectAnswer()));
-        optionsForQuestion.put(q.getOptionD(),
-                q.getOptionD().equals(q.getCorrectAnswer()));
-        return optionsForQuestion;
-    }
+    private QuestionPoolCache questionPoolCache; // Cached question pools of all subjects
 
     /**
      * Called when the activity is first created. This is where you should do all of your
@@ -128,8 +100,8 @@ public class GeographyQuizActivity extends AppCompatActivity {
         Intent intent = getIntent();
         currentSubject = intent.getStringExtra(Constants.SUBJECT);
 
-        // Initialize Room Database DAO
-        questionDao = QuestionDatabaseClient.getInstance(this).questionDao();
+        // Initialize the question pool cache
+        questionPoolCache = QuestionPoolCache.getInstance(this);
 
         // Initialize the title TextView
         TextView tvTitle = findViewById(R.id.textView26);
@@ -179,14 +151,13 @@ public class GeographyQuizActivity extends AppCompatActivity {
                 return;
             }
 
-            // Get the selected radio button and its text
-            RadioButton selectedRadioButton = findViewById(selectedRadioButtonId);
-            String selectedAnswerText = selectedRadioButton.getText().toString();
+            // Map the selected radio button to its display slot
+            int selectedSlot = getSlotForRadioButton(selectedRadioButtonId);
 
             QuizoVibrator.vibratePhone(this); // Provide haptic feedback
 
             // Basic validation for quiz data before proceeding
-            if (questionsOrder == null || questionsOrder.isEmpty() ||
+            if (quizSession == null || selectedSlot < 0 ||
                     currentQuestionIndex >= totalQuestionsLoaded) {
                 Toast.makeText(this, "Quiz data error or no more questions.",
                         Toast.LENGTH_SHORT).show();
@@ -194,14 +165,8 @@ public class GeographyQuizActivity extends AppCompatActivity {
                 return;
             }
 
-            // Get the current question's text and its options map
-            String currentQuestionText = questionsOrder.get(currentQuestionIndex);
-            Map<String, Boolean> optionsForCurrentQuestion =
-                    questionsAnswerMap.get(currentQuestionText);
-
-            // Check if the selected answer is correct
-            if (optionsForCurrentQuestion != null && Boolean.TRUE.
-                    equals(optionsForCurrentQuestion.get(selectedAnswerText))) {
+            // Check the selected slot against the answer key by index
+            if (quizSession.answer(currentQuestionIndex, selectedSlot)) {
                 correctQuestion++; // Increment correct answer count
             }
 
@@ -250,89 +215,64 @@ public class GeographyQuizActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads questions from the Room database asynchronously based on the {@code currentSubject}.
-     * It populates {@code questionsAnswerMap} and {@code questionsOrder} lists.
-     * After loading, it calls {@link #displayData()} to show the first question or
-     * finishes the activity if no questions are found.
+     * Loads the quiz for the {@code currentSubject}. A session prepared by the
+     * {@link QuestionPoolCache} while the subject list was shown is used at once; otherwise one is
+     * sampled from the subject's validated question pool on a background thread.
+     * After loading, it calls {@link #onSessionLoaded(QuizSession)} to show the first question or
+     * finish the activity if no questions are found.
      */
     private void loadQuestions() {
         radioGroup.clearCheck(); //clear any previous selection for safety
-        Executors.newSingleThreadExecutor().execute(() -> {
-            // Fetch all questions for the current subject from the database
-            List<Question> fetchedQuestions = questionDao.
-                    getRandomQuestionsByTopic(currentSubject);
-
-            // Initialize temporary maps and lists to build data in the background thread
-            final HashMap<String, Map<String, Boolean>> tempQuestionsAnswerMap =
-                    new HashMap<>();
-            final ArrayList<String> tempQuestionsOrder = new ArrayList<>();
-
-            if (fetchedQuestions != null && !fetchedQuestions.isEmpty()) {
-                // Iterate through fetched questions to populate the maps
-                for (Question q : fetchedQuestions) {
-                    // Validate the question before adding it to our quiz data
-                    if (isValidQuestion(q)) {
-                        Map<String, Boolean> optionsForQuestion = getStringBooleanMap(q);
-                        if (optionsForQuestion.size() == 4) { // Ensure 4 options were mapped
-                            tempQuestionsAnswerMap.put(q.getQuestionText(), optionsForQuestion);
-                            tempQuestionsOrder.add(q.getQuestionText());
-                        } else {
-                            // Log or handle questions with an incorrect number of options after mapping
-                            // This case should ideally be caught by isValidQuestion, but provides a safeguard.
-                            System.err.println("Question '" + q.getQuestionText() + "' has an invalid number of options after processing.");
-                        }
-                    } else {
-                        // Log or handle invalid questions (e.g., missing options or correct answer)
-                        System.err.println("Skipping malformed question: " + q.getQuestionText());
-                        Toast.makeText(this, "Skipping malformed question: " + q.getQuestionText(), Toast.LENGTH_SHORT).show(); // Added a toast for user feedback
-                    }
-                }
-            }
+        // A warm subject starts without touching the database
+        QuizSession warmSession = questionPoolCache.takeSession(currentSubject);
+        if (warmSession != null) {
+            onSessionLoaded(warmSession);
+            return;
+        }
 
-            // After processing, assign to final variables for use in the UI thread
-            final int finalTotalQuestionsLoaded = tempQuestionsOrder.size();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            // Sample from the subject's pool of valid questions, building it on first use
+            final QuizSession tempQuizSession = questionPoolCache.loadSession(currentSubject);
 
             // Now switch to the main thread to update UI components
-            runOnUiThread(() -> { // Using runOnUiThread for UI updates
-                if (finalTotalQuestionsLoaded == 0) {
-                    // If no questions are loaded (or all were malformed), show a toast and finish the activity
-                    Toast.makeText(this,
-                            "No questions found for " + currentSubject,
-                            Toast.LENGTH_LONG).show();
-                    finish(); // Or redirect to an error screen
-                } else {
-                    // Assign the populated data to the activity's member variables
-                    questionsAnswerMap = tempQuestionsAnswerMap;
-                    questionsOrder = tempQuestionsOrder;
-                    totalQuestionsLoaded = finalTotalQuestionsLoaded; // Assign the actual count
-                    displayData(); // Display the first question once loaded
-                }
-            });
+            AppExecutors.getInstance().mainThreadFor(this).execute(() -> // Dropped if the quiz was closed
+                    onSessionLoaded(tempQuizSession));
         });
     }
 
     /**
-     * Helper method to validate if a Question object has all necessary data for a quiz.
-     * Ensures all options and correct answer are non-null and non-empty, and the correct
-     * answer is one of the provided options.
+     * Shows the first question of a loaded session, or finishes the activity if it is empty.
      *
-     * @param question The Question object to validate.
-     * @return true if the question is valid, false otherwise.
+     * @param loadedSession The session of the quiz.
      */
-    private boolean isValidQuestion(Question question) {
-        return question != null &&
-                question.getQuestionText() != null && !question.getQuestionText().trim().isEmpty() &&
-                question.getOptionA() != null && !question.getOptionA().trim().isEmpty() &&
-                question.getOptionB() != null && !question.getOptionB().trim().isEmpty() &&
-                question.getOptionC() != null && !question.getOptionC().trim().isEmpty() &&
-                question.getOptionD() != null && !question.getOptionD().trim().isEmpty() &&
-                question.getCorrectAnswer() != null && !question.getCorrectAnswer().trim().isEmpty() &&
-                (question.getCorrectAnswer().equals(question.getOptionA()) ||
-                        question.getCorrectAnswer().equals(question.getOptionB()) ||
-                        question.getCorrectAnswer().equals(question.getOptionC()) ||
-                        question.getCorrectAnswer().equals(question.getOptionD()));
+    private void onSessionLoaded(QuizSession loadedSession) {
+        if (loadedSession.size() == 0) {
+            // If no questions are loaded (or all were malformed), show a toast and finish the activity
+            Toast.makeText(this,
+                    "No questions found for " + currentSubject,
+                    Toast.LENGTH_LONG).show();
+            finish(); // Or redirect to an error screen
+        } else {
+            // Assign the populated data to the activity's member variables
+            quizSession = loadedSession;
+            totalQuestionsLoaded = loadedSession.size(); // Assign the actual count
+            displayData(); // Display the first question once loaded
+        }
     }
 
+    /**
+     * Maps a checked {@link android.widget.RadioButton} id to the display slot it represents.
+     *
+     * @param radioButtonId The id returned by {@link RadioGroup#getCheckedRadioButtonId()}.
+     * @return The slot index (0-3), or -1 if the id does not belong to an answer button.
+     */
+    private int getSlotForRadioButton(int radioButtonId) {
+        if (radioButtonId == radioButton1.getId()) return 0;
+        if (radioButtonId == radioButton2.getId()) return 1;
+        if (radioButtonId == radioButton3.getId()) return 2;
+        if (radioButtonId == radioButton4.getId()) return 3;
+        return -1;
+    }
     /**
      * Displays the next question in the quiz sequence.
      * It clears the radio group selection, updates the question text and number,
@@ -345,7 +285,7 @@ public class GeographyQuizActivity extends AppCompatActivity {
 
         // Ensure currentQuestionIndex is within the actual loaded questions count
         if (currentQuestionIndex < totalQuestionsLoaded) {
-            tvQuestion.setText(questionsOrder.get(currentQuestionIndex)); // Set question text
+            tvQuestion.setText(quizSession.getQuestionText(currentQuestionIndex)); // Set question text
             tvQuestionNumber.setText("Current Question: " + (currentQuestionIndex + 1)
                     + "/" + totalQuestionsLoaded); // Update question number display
             setAnswersToRadioButton(); // Set answer options to radio buttons
@@ -366,10 +306,10 @@ public class GeographyQuizActivity extends AppCompatActivity {
     @SuppressLint("SetTextI18n") // Suppresses lint warning for string concatenation
     private void displayData() {
         // Only display if questions are loaded and available at the current index
-        if (questionsOrder != null && !questionsOrder.isEmpty() &&
+        if (quizSession != null && quizSession.size() > 0 &&
                 currentQuestionIndex < totalQuestionsLoaded) {
             radioGroup.clearCheck(); // Clear existing radio button selection
-            tvQuestion.setText(questionsOrder.get(currentQuestionIndex)); // Set question text
+            tvQuestion.setText(quizSession.getQuestionText(currentQuestionIndex)); // Set question text
             tvQuestionNumber.setText("Current Question: " + (currentQuestionIndex + 1) +
                     "/" + totalQuestionsLoaded); // Update question number display
             setAnswersToRadioButton(); // Set answer options
@@ -383,30 +323,17 @@ public class GeographyQuizActivity extends AppCompatActivity {
 
     /**
      * Populates the radio buttons with the answer options for the current question.
-     * It shuffles the options randomly to ensure variety in presentation.
-     * Handles cases where options might be invalid by skipping the question.
+     * The option order is the per-question permutation fixed by the {@link QuizSession}.
      */
     private void setAnswersToRadioButton() {
-        // Get the options map for the current question based on its text
-        Map<String, Boolean> currentOptionsMap = questionsAnswerMap.
-                get(questionsOrder.get(currentQuestionIndex));
-
-        // This check should almost always pass now due to validation in loadQuestions()
-        if (currentOptionsMap != null && currentOptionsMap.size() == 4) {
-            // Convert map keys (answer texts) to a list for easy access
-            List<String> answerTexts = new ArrayList<>(currentOptionsMap.keySet());
-            Collections.shuffle(answerTexts); // Shuffle the order of options
-
-            // Set the text for each radio button
-            radioButton1.setText(answerTexts.get(0));
-            radioButton2.setText(answerTexts.get(1));
-            radioButton3.setText(answerTexts.get(2));
-            radioButton4.setText(answerTexts.get(3));
+        // Options were shuffled once when the session was built; read them by slot
+        if (quizSession != null && currentQuestionIndex < quizSession.size()) {
+            radioButton1.setText(quizSession.getOptionText(currentQuestionIndex, 0));
+            radioButton2.setText(quizSession.getOptionText(currentQuestionIndex, 1));
+            radioButton3.setText(quizSession.getOptionText(currentQuestionIndex, 2));
+            radioButton4.setText(quizSession.getOptionText(currentQuestionIndex, 3));
         } else {
-            // This 'else' block serves as a final fallback.
-            // If you reach here, it implies an extreme edge case or a logic error
-            // where a question passed initial validation but still somehow
-            // resulted in invalid options during display.
+            // Final fallback for a logic error where the index outran the session.
             Toast.makeText(this,
                     "Internal Error: Question options corrupted. Ending quiz.",
                     Toast.LENGTH_LONG).show();
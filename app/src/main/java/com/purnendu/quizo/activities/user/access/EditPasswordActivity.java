@@ -1,11 +1,10 @@
 package com.purnendu.quizo.activities.user.access;
 
 import static com.purnendu.quizo.utilities.HashAlgo.hashPassword;
+import static com.purnendu.quizo.utilities.HashAlgo.verifyPassword;
 
 import android.content.pm.ActivityInfo;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageView;
@@ -17,15 +16,16 @@ import androidx.core.content.ContextCompat;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.component.AlertBox;
-import com.purnendu.quizo.databases.UserDatabase;
-import com.purnendu.quizo.dbclients.UserDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.User;
+import com.purnendu.quizo.utilities.HashAlgo;
 import com.purnendu.quizo.utilities.Keyboard;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity allows regular users to change their password within the Quizo application.
@@ -33,7 +33,7 @@ import java.util.concurrent.Executors;
  * {@link com.purnendu.quizo.utilities.HashAlgo}, and updates the user data in the
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
- * {@link com.purnendu.quizo.databases.UserDatabase} via {@link com.purnendu.quizo.dbclients.UserDatabaseClient}.
+ * {@link com.purnendu.quizo.databases.QuizoDatabase} via {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}.
  * <p>
  * The activity utilizes Android UI components such as {@link android.widget.EditText}, {@link android.widget.Button},
  * and {@link android.widget.ImageView}, along with utility classes like {@link com.purnendu.quizo.utilities.Keyboard},
@@ -103,9 +103,9 @@ public class EditPasswordActivity extends AppCompatActivity {
 
     /**
      * Attempts to change the user's password.
-     * It retrieves the current user from SharedPreferences, hashes the old and new passwords,
-     * validates the old password, and then updates the user's password in the database
-     * and SharedPreferences asynchronously.
+     * It retrieves the current user from SharedPreferences and, on a background thread, verifies the
+     * old password against the stored hash, hashes the new password and updates the user data in
+     * the database and SharedPreferences.
      *
      * @param oldPassword The old password entered by the user.
      * @param newPassword The new password entered by the user.
@@ -113,36 +113,35 @@ public class EditPasswordActivity extends AppCompatActivity {
     private void changePassword(String oldPassword, String newPassword) {
         // Retrieve the current user object from SharedPreferences
         User user = SharedPref.getInstance().getUser(this);
-        // Hash the old password entered by the user for comparison
-        String oldHash = hashPassword(oldPassword);
 
-        // Check if the entered old password matches the stored hashed password
-        if (!user.getPassword().equals(oldHash)) {
-            Toast.makeText(this, R.string.please_enter_the_right_password,
-                    Toast.LENGTH_SHORT).show();
-            return; // Exit if old password is incorrect
-        }
-
-        // Hash the new password
-        String newHash = hashPassword(newPassword);
-        // Set the new hashed password to the user object
-        user.setPassword(newHash);
-
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Password hashing dominates this work, so run it on the shared CPU pool
+        Executor executor = AppExecutors.getInstance().cpu();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
 
-        // Execute database update on a background thread
+        // Password hashing is deliberately slow, so verify and hash on a background thread
         executor.execute(() -> {
-            // Get the UserDatabaseClient instance and access the UserDao
-            UserDatabase userDatabaseClient = UserDatabaseClient.
+            // Check if the entered old password matches the stored hashed password
+            if (!verifyPassword(oldPassword, user.getPassword())) {
+                mainThread.execute(() -> Toast.makeText(EditPasswordActivity.this,
+                        R.string.please_enter_the_right_password, Toast.LENGTH_SHORT).show());
+                return; // Exit if old password is incorrect
+            }
+
+            // Hash the new password with a fresh salt
+            HashAlgo.calibrate(getApplicationContext());
+            String newHash = hashPassword(newPassword);
+            // Build a new user object; the cached session snapshot is never mutated
+            User updatedUser = new User(user.getUsername(), user.getEmail(), newHash);
+
+            // Get the QuizoDatabaseClient instance and access the UserDao
+            QuizoDatabase userDatabaseClient = QuizoDatabaseClient.
                     getInstance(getApplicationContext());
             // Update the user record in the database
-            userDatabaseClient.userDao().updateUser(user);
+            userDatabaseClient.userDao().updateUser(updatedUser);
 
             // Post UI updates back to the main thread
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 // Disable buttons and change text to indicate processing
                 btnBack.setEnabled(false);
                 btnSavePassword.setEnabled(false);
@@ -159,7 +158,7 @@ public class EditPasswordActivity extends AppCompatActivity {
                 Toast.makeText(EditPasswordActivity.this,
                         R.string.password_updated_successfully, Toast.LENGTH_SHORT).show();
                 // Update the user object in SharedPreferences with the new password
-                SharedPref.getInstance().setUser(EditPasswordActivity.this, user);
+                SharedPref.getInstance().setUser(EditPasswordActivity.this, updatedUser);
                 finish(); // Close the activity
             });
         });
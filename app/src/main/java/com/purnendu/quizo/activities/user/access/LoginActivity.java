@@ -1,12 +1,12 @@
 package com.purnendu.quizo.activities.user.access;
 
 import static com.purnendu.quizo.utilities.HashAlgo.hashPassword;
+import static com.purnendu.quizo.utilities.HashAlgo.needsRehash;
+import static com.purnendu.quizo.utilities.HashAlgo.verifyPassword;
 
 import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -21,22 +21,23 @@ import androidx.core.content.ContextCompat;
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.activities.admin.access.AdminLogin;
 import com.purnendu.quizo.activities.user.system.UserActivity;
-import com.purnendu.quizo.databases.UserDatabase;
-import com.purnendu.quizo.dbclients.UserDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.User;
+import com.purnendu.quizo.utilities.HashAlgo;
 import com.purnendu.quizo.utilities.Keyboard;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity handles the login process for regular users in the Quizo application.
  * It takes user credentials (email and password), hashes the password using {@link com.purnendu.quizo.utilities.HashAlgo},
- * and authenticates against the {@link com.purnendu.quizo.databases.UserDatabase} via
- * {@link com.purnendu.quizo.dbclients.UserDatabaseClient}.
+ * and authenticates against the {@link com.purnendu.quizo.databases.QuizoDatabase} via
+ * {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
  * Upon successful login, it navigates to {@link UserActivity}.
@@ -60,12 +61,12 @@ public class LoginActivity extends AppCompatActivity {
     private Button btnLogin;
 
     @Nullable
-    private static User getUser(String username, List<User> users, String hashedPassword) {
+    private static User getUser(String username, List<User> users, String password) {
         User matchedUser = null;
-        // Iterate through the list of users to find a match
+        // Iterate through the users with this username to find one whose stored hash verifies
         for (User user : users) {
             if (username.equals(user.getUsername()) &&
-                    hashedPassword.equals(user.getPassword())) {
+                    verifyPassword(password, user.getPassword())) {
                 matchedUser = user; // Found a matching user
                 break; // Exit loop once matched
             }
@@ -230,24 +231,28 @@ public class LoginActivity extends AppCompatActivity {
      * @param password The plaintext password provided by the user.
      */
     private void loginUser(String username, String password) {
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Password hashing dominates this work, so run it on the shared CPU pool
+        Executor executor = AppExecutors.getInstance().cpu();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
 
         // Execute the login logic on a background thread
         executor.execute(() -> {
-            // Get the UserDatabase instance
-            UserDatabase db = UserDatabaseClient.getInstance(getApplicationContext());
-            // Retrieve all users from the database (for demonstration; in a real app,
-            // you'd query for a specific user by username/email)
-            List<User> users = db.userDao().observeAllUser();
-            // Hash the provided password for comparison with stored hashed passwords
-            String hashedPassword = hashPassword(password);
+            // Get the QuizoDatabase instance
+            QuizoDatabase db = QuizoDatabaseClient.getInstance(getApplicationContext());
+            // Load (or measure on first run) the password hashing cost for this device
+            HashAlgo.calibrate(getApplicationContext());
+            // Look up only the users with this username through the username index
+            List<User> users = db.userDao().findByUsername(username);
 
-            User finalMatchedUser = getUser(username, users, hashedPassword);
+            User finalMatchedUser = getUser(username, users, password);
+            if (finalMatchedUser != null && needsRehash(finalMatchedUser.getPassword())) {
+                // Transparently upgrade a legacy or weaker hash now that the password is known
+                finalMatchedUser.setPassword(hashPassword(password));
+                db.userDao().updateUser(finalMatchedUser);
+            }
             // Post UI updates back to the main thread
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 if (finalMatchedUser != null) {
                     // If a user is matched, update UI to indicate success/processing
                     btnLogin.setEnabled(false);
@@ -4,8 +4,6 @@ import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.database.sqlite.SQLiteConstraintException;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.text.TextUtils;
 import android.util.Patterns;
 import android.widget.Button;
@@ -20,8 +18,9 @@ import androidx.core.content.ContextCompat;
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.activities.user.system.UserActivity;
 import com.purnendu.quizo.component.AlertBox;
-import com.purnendu.quizo.databases.UserDatabase;
-import com.purnendu.quizo.dbclients.UserDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.User;
 import com.purnendu.quizo.utilities.HashAlgo;
 import com.purnendu.quizo.utilities.Keyboard;
@@ -29,15 +28,14 @@ import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity facilitates the registration of new users for the Quizo application.
  * It collects user details such as username, email, and password, performs input validation
  * (e.g., email pattern check using {@link android.util.Patterns} and empty field checks using {@link android.text.TextUtils}),
  * and hashes the password using {@link com.purnendu.quizo.utilities.HashAlgo}.
- * The new user data is then inserted into the {@link com.purnendu.quizo.databases.UserDatabase}
- * via {@link com.purnendu.quizo.dbclients.UserDatabaseClient}. It handles potential
+ * The new user data is then inserted into the {@link com.purnendu.quizo.databases.QuizoDatabase}
+ * via {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}. It handles potential
  * {@link android.database.sqlite.SQLiteConstraintException} for duplicate entries.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
@@ -210,16 +208,18 @@ public class RegisterActivity extends AppCompatActivity {
      * @param password The plaintext password for the new user.
      */
     private void registerUser(String username, String email, String password) {
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Password hashing dominates this work, so run it on the shared CPU pool
+        Executor executor = AppExecutors.getInstance().cpu();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
 
         // Execute the registration logic on a background thread
         executor.execute(() -> {
-            // Get the UserDatabase instance
-            UserDatabase db = UserDatabaseClient.getInstance(getApplicationContext());
-            // Hash the password before storing it
+            // Get the QuizoDatabase instance
+            QuizoDatabase db = QuizoDatabaseClient.getInstance(getApplicationContext());
+            // Load (or measure on first run) the password hashing cost for this device
+            HashAlgo.calibrate(getApplicationContext());
+            // Hash the password with a fresh salt before storing it
             String hashedPassword = HashAlgo.hashPassword(password);
             // Create a new User object
             User user = new User(username, email, hashedPassword);
@@ -236,7 +236,7 @@ public class RegisterActivity extends AppCompatActivity {
             // Capture the success status for the UI thread
             boolean finalIsSuccess = isSuccess;
             // Post UI updates back to the main thread
-            handler.post(() -> {
+            mainThread.execute(() -> {
                 if (finalIsSuccess) {
                     // If registration is successful, update UI to indicate success
                     btnRegister.setEnabled(false);
@@ -1,54 +1,48 @@
 package com.purnendu.quizo.activities.user.system;
 
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.content.pm.ActivityInfo;
-import android.net.ConnectivityManager;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
-import android.view.View;
-import android.widget.Button;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.SetOptions;
 import com.purnendu.quizo.R;
-import com.purnendu.quizo.databases.UserDatabase;
-import com.purnendu.quizo.dbclients.UserDatabaseClient;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.engine.QuestionPoolCache;
+import com.purnendu.quizo.executors.AppExecutors;
 import com.purnendu.quizo.models.Attempt;
+import com.purnendu.quizo.sync.CloudSyncWorker;
 import com.purnendu.quizo.utilities.Constants;
 import com.purnendu.quizo.utilities.DateParser;
-import com.purnendu.quizo.utilities.NetworkListener;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This activity displays the final results of a quiz attempt to the user in the Quizo application.
  * It receives quiz performance data (correct/incorrect answers, subject, points earned) via an {@link android.content.Intent}.
  * The activity calculates and displays the overall score, and saves the quiz attempt details
- * as an {@link com.purnendu.quizo.models.Attempt} into the {@link com.purnendu.quizo.databases.UserDatabase}
+ * as an {@link com.purnendu.quizo.models.Attempt} into the {@link com.purnendu.quizo.databases.QuizoDatabase}
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
- * via {@link com.purnendu.quizo.dbclients.UserDatabaseClient}.
+ * via {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}.
  * <p>
  * It utilizes Android UI components such as {@link android.widget.TextView} to present the results.
  * Utility classes like {@link com.purnendu.quizo.utilities.Constants} for result keys,
  * {@link com.purnendu.quizo.utilities.DateParser} for formatting timestamps,
  * {@link com.purnendu.quizo.utilities.QuizoVibrator} for haptic feedback,
  * and {@link com.purnendu.quizo.utilities.SharedPref} for user session details are integrated.
- * Asynchronous database operations are handled using {@link java.util.concurrent.Executor} and {@link android.os.Handler}.
+ * Asynchronous database operations are handled using the shared {@link com.purnendu.quizo.executors.AppExecutors} pools.
+ * <p>
+ * The result is queued for the cloud leaderboard in the same transaction that records the attempt,
+ * and uploaded by the {@link com.purnendu.quizo.sync.CloudSyncWorker} in the background, so it
+ * reaches the leaderboard even if it was earned offline and the user leaves this screen at once.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -56,14 +50,8 @@ import java.util.concurrent.Executors;
 //Class for Final Result
 public class FinalResultActivity extends AppCompatActivity {
 
-    // Firebase Firestore instance
-    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
     // UI elements to display quiz results
     private TextView tvSubject, tvCorrect, tvIncorrect, tvEarned, tvDate;
-    private Button buttonFinish;
-
-    // Declare network listener
-    private NetworkListener networkListener;
 
     /**
      * Called when the activity is first created. This is where you should do all of your
@@ -90,7 +78,6 @@ public class FinalResultActivity extends AppCompatActivity {
         tvIncorrect = findViewById(R.id.textView27);
         tvEarned = findViewById(R.id.textView28);
         tvDate = findViewById(R.id.textView30);
-        buttonFinish = findViewById(R.id.btnFinishQuiz);
 
         // Get quiz results from the intent that started this activity
         Intent intent = getIntent();
@@ -118,6 +105,11 @@ public class FinalResultActivity extends AppCompatActivity {
             finish(); // Finish the current activity
         });
 
+        // Prepare the next quiz of this subject while the result is shown, for a quick replay
+        if (subject != null) {
+            QuestionPoolCache.getInstance(this).prefetch(subject);
+        }
+
         // Set click listener for the "Start Again" button
         findViewById(R.id.btnFinishQuiz).setOnClickListener(view -> {
             QuizoVibrator.vibratePhone(this); // Provide haptic feedback
@@ -147,81 +139,44 @@ public class FinalResultActivity extends AppCompatActivity {
                 email // User's email
         );
 
-        // This method will fetch overall points from DB, add current attempt's earned points,
-        // set the new total to the attempt object, save the attempt, and then display data.
+        // This method will record the attempt together with the user's updated totals,
+        // set the new overall points on the attempt object, and then display data.
         getOverallPointsAndSaveAttempt(attempt);
     }
 
     /**
-     * Fetches the user's previous overall points from the database, calculates the new total,
-     * updates the {@link com.purnendu.quizo.models.Attempt} object with this new total,
-     * saves the attempt to the database, and then calls {@link #displayData(Attempt)}
-     * to update the UI. This entire process runs on a background thread.
+     * Records the attempt through {@link com.purnendu.quizo.dao.UserDao#recordAttemptForSync(Attempt, String)},
+     * which updates the user's maintained totals, sets the new overall points on the
+     * {@link com.purnendu.quizo.models.Attempt}, inserts it and queues it for upload in a single
+     * transaction, then asks the {@link CloudSyncWorker} to upload it and calls
+     * {@link #displayData(Attempt)} to update the UI. The database work runs on a background thread.
      *
      * @param attempt The current {@link com.purnendu.quizo.models.Attempt} object to be saved.
      */
     private void getOverallPointsAndSaveAttempt(Attempt attempt) {
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+        // Use the shared disk I/O pool for background thread operations
+        Executor executor = AppExecutors.getInstance().diskIO();
+        // Deliver results to the main (UI) thread unless this activity has been destroyed
+        Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
+        String userName = SharedPref.getInstance().getUser(this).getUsername();
+        CloudSyncWorker cloudSyncWorker = CloudSyncWorker.getInstance(this);
 
         // Execute the database operations on a background thread
         executor.execute(() -> {
-            // Get the UserDatabaseClient instance
-            UserDatabase userDatabaseClient = UserDatabaseClient.
+            // Get the QuizoDatabaseClient instance
+            QuizoDatabase userDatabaseClient = QuizoDatabaseClient.
                     getInstance(getApplicationContext());
-            // Fetch the *previous* overall points for this user from all past attempts
-            long previousOverallPoints = userDatabaseClient.userDao().
-                    getOverAllPoints(attempt.getEmail());
-
-            // Calculate the new total overall points by adding current attempt's earned points
-            long newOverallPoints = previousOverallPoints + attempt.getEarned();
-
-            // Set this new total to the current attempt object
-            attempt.setOverallPoints(newOverallPoints);
-
-            // Insert the current attempt (which now contains the calculated new overall points)
-            userDatabaseClient.userDao().insertAttempt(attempt);
+            // Update the user's stats, stamp the new overall points, insert the attempt and queue
+            // it for the cloud leaderboard in one transaction
+            userDatabaseClient.userDao().recordAttemptForSync(attempt, userName);
+            // Upload in the background; retried until it succeeds, even after this screen is gone
+            cloudSyncWorker.requestSync();
 
             // Post the UI update back to the main thread with the updated attempt object
-            handler.post(() -> {
-                displayData(attempt); //Display quiz result
-
-                networkListener = new NetworkListener(this, new NetworkListener.NetworkChangeListener() {
-                    @Override
-                    public void onNetworkConnected() {
-                        // Re-Call the method to save user data to Firebase Firestore
-                        pushDataToCloud(attempt.getEmail(),
-                                SharedPref.getInstance().getUser(FinalResultActivity.this).getUsername(),
-                                attempt.getOverallPoints()
-                        );
-                    }
-
-                    @Override
-                    public void onNetworkDisconnected() {
-                    }
-                });
-                // Call the method to save user data to Firebase Firestore
-                pushDataToCloud(attempt.getEmail(),
-                        SharedPref.getInstance().getUser(FinalResultActivity.this).getUsername(),
-                        attempt.getOverallPoints()
-                );
-            });
+            mainThread.execute(() -> displayData(attempt)); //Display quiz result
         });
     }
 
-    /**
-     * Registers the {@link NetworkListener} when the activity becomes visible.
-     * This is crucial for receiving network broadcast updates.
-     */
-    @Override
-    protected void onResume() {
-        super.onResume();
-        IntentFilter intentFilter = new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION);
-        registerReceiver(networkListener, intentFilter);
-    }
-
     /**
      * Displays the quiz result data on the UI elements.
      *
@@ -235,41 +190,4 @@ public class FinalResultActivity extends AppCompatActivity {
         // Format and set the date of the attempt
         tvDate.setText(DateParser.formatDate(attempt.getCreatedTime()));
     }
-
-    /**
-     * Saves or updates the user's name and total points in Firebase.
-     * The user's email is used as the document ID for their data in the 'users' collection.
-     * It uses SetOptions.merge() to update fields without overwriting the entire document.
-     *
-     * @param email       The email of the user, used as the document ID.
-     * @param userName    The name of the user.
-     * @param totalPoints The total accumulated points for the user.
-     */
-    private void pushDataToCloud(String email, String userName, long totalPoints) {
-        // Initialize progress bar and blocking inputs
-        findViewById(R.id.progressBar).setVisibility(View.VISIBLE);
-        findViewById(R.id.imageViewFinalResultQuiz).setEnabled(false);
-        buttonFinish.setEnabled(false);
-        buttonFinish.setText(R.string.please_wait);
-
-        // Create a new map to store the user's data
-        Map<String, Object> userData = new HashMap<>();
-        userData.put("name", userName);
-        userData.put("totalPoints", totalPoints);
-        userData.put("lastUpdated", Calendar.getInstance().getTimeInMillis()); // Add a timestamp
-
-        // Get a reference to the 'users' collection and create/get a document with the user's email as ID
-        db.collection("users").document(email)
-                .set(userData, SetOptions.merge()) // Use merge to update existing fields or create if not exists
-                .addOnSuccessListener(aVoid -> {
-                    findViewById(R.id.progressBar).setVisibility(View.GONE);
-                    findViewById(R.id.imageViewFinalResultQuiz).setEnabled(true);
-                    buttonFinish.setEnabled(true);
-                    buttonFinish.setText(R.string.start_again);
-                    Toast.makeText(FinalResultActivity.this,
-                            "Data saved successfully!", Toast.LENGTH_SHORT).show();
-                })
-                .addOnFailureListener(e -> Toast.makeText(FinalResultActivity.this,
-                        "Something went wrong!", Toast.LENGTH_SHORT).show());
-    }
 }
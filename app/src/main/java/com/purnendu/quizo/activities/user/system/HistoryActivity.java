@@ -2,9 +2,10 @@ package com.purnendu.quizo.activities.user.system;
 
 import android.content.pm.ActivityInfo;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.Spinner;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
@@ -14,24 +15,27 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.adapters.HistoryAdapter;
-import com.purnendu.quizo.databases.UserDatabase;
-import com.purnendu.quizo.dbclients.UserDatabaseClient;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.dao.UserDao;
 import com.purnendu.quizo.models.Attempt;
+import com.purnendu.quizo.models.HistorySummary;
+import com.purnendu.quizo.models.UserStats;
+import com.purnendu.quizo.models.UserSubjectStats;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This activity allows users to view their quiz progress and past attempts in the Quizo application.
  * It retrieves a list of {@link com.purnendu.quizo.models.Attempt} records for the current user
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
- * from the {@link com.purnendu.quizo.databases.UserDatabase} via {@link com.purnendu.quizo.dbclients.UserDatabaseClient}.
+ * from the {@link com.purnendu.quizo.databases.QuizoDatabase} via {@link com.purnendu.quizo.dbclients.QuizoDatabaseClient}.
  * The attempts are displayed in a {@link androidx.recyclerview.widget.RecyclerView} using a
  * {@link com.purnendu.quizo.adapters.HistoryAdapter}.
  * <p>
@@ -39,8 +43,12 @@ import java.util.concurrent.Executors;
  * {@link androidx.recyclerview.widget.RecyclerView} with {@link androidx.recyclerview.widget.LinearLayoutManager}.
  * It integrates {@link com.purnendu.quizo.utilities.SharedPref} for retrieving user session data
  * and {@link com.purnendu.quizo.utilities.QuizoVibrator} for haptic feedback.
- * Asynchronous database operations are handled using {@link java.util.concurrent.Executor} and {@link android.os.Handler}.
- * It also includes sorting functionality for the attempts using {@link java.util.Comparator}.
+ * Asynchronous database operations are handled using the shared {@link com.purnendu.quizo.executors.AppExecutors} pools.
+ * <p>
+ * Attempts are loaded a page at a time, newest first, with keyset queries on the
+ * {@code (email, createdTimeAttempt)} index, so the first page costs the same for any history length.
+ * Two {@link android.widget.Spinner}s filter by subject and by date range; the totals shown above the
+ * list are computed in SQL for the active filters.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -48,10 +56,35 @@ import java.util.concurrent.Executors;
 //Class for History
 public class HistoryActivity extends AppCompatActivity {
 
+    // Paging configuration
+    private static final int PAGE_SIZE = 30; // Attempts fetched per query
+
+    // Date range filter choices, in the same order as the range spinner entries
+    private static final long[] RANGE_DAYS = {0, 7, 30, 365}; // 0 means all time
+
     // UI elements
     private RecyclerView rvHistory;
     private TextView tvTotalPoints, tvTotalAttempts, textAttempt;
-    private List<Attempt> attempts;
+    private Spinner spinnerSubject, spinnerRange;
+    private HistoryAdapter historyAdapter;
+
+    // Subjects shown in the subject spinner; index 0 is "All subjects"
+    private final List<String> subjects = new ArrayList<>();
+    private ArrayAdapter<String> subjectsAdapter;
+
+    // Serial view of the shared disk I/O pool, so pages arrive in the order they were requested
+    private final Executor executor = AppExecutors.serial(AppExecutors.getInstance().diskIO());
+    // Delivers results to the main (UI) thread unless this activity has been destroyed
+    private final Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
+
+    // Current user and filters
+    private UserDao userDao;
+    private String email;
+    private String selectedSubject = null; // null means every subject
+    private long fromTime = 0L;
+
+    // Bumped whenever the filters change, so pages for old filters are discarded
+    private int filterGeneration = 0;
 
     /**
      * Called when the activity is first created. This is where you should do all of your
@@ -72,87 +105,173 @@ public class HistoryActivity extends AppCompatActivity {
         getWindow().setNavigationBarColor(ContextCompat.
                 getColor(this, R.color.black));
 
-        // Initialize RecyclerView and set its layout manager
+        // Get the email of the current logged-in user from Shared Preferences
+        email = SharedPref.getInstance().getUser(this).getEmail();
+        userDao = QuizoDatabaseClient.getInstance(getApplicationContext()).userDao();
+
+        // Initialize RecyclerView with the paged adapter
         rvHistory = findViewById(R.id.rvHistory);
         rvHistory.setLayoutManager(new LinearLayoutManager(this));
+        historyAdapter = new HistoryAdapter(this::loadNextPage);
+        rvHistory.setAdapter(historyAdapter);
 
         // Initialize TextViews for displaying history summary
         tvTotalAttempts = findViewById(R.id.tvtotal_attemptsHistory);
         textAttempt = findViewById(R.id.total_attempts); // This TextView likely displays "Total Attempts" or "Total Attempt"
         tvTotalPoints = findViewById(R.id.tvOverAllPointsHistory);
 
+        // Subject filter, filled from the user's per-subject stats
+        spinnerSubject = findViewById(R.id.spinnerHistorySubject);
+        subjects.add(getString(R.string.all_subjects));
+        subjectsAdapter = new ArrayAdapter<>(this, R.layout.quizo_spinner,
+                android.R.id.text1, subjects);
+        subjectsAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerSubject.setAdapter(subjectsAdapter);
+
+        // Date range filter
+        spinnerRange = findViewById(R.id.spinnerHistoryRange);
+        ArrayAdapter<String> rangeAdapter = new ArrayAdapter<>(this, R.layout.quizo_spinner,
+                android.R.id.text1, new String[]{getString(R.string.all_time),
+                getString(R.string.last_7_days), getString(R.string.last_30_days),
+                getString(R.string.last_365_days)});
+        rangeAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerRange.setAdapter(rangeAdapter);
+
+        // Reload whenever either filter changes
+        AdapterView.OnItemSelectedListener filterListener = new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                applyFilters();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        };
+        spinnerSubject.setOnItemSelectedListener(filterListener);
+        spinnerRange.setOnItemSelectedListener(filterListener);
+
         // Set OnClickListener for the back ImageView
         findViewById(R.id.imageViewHistory).setOnClickListener(V -> {
             QuizoVibrator.vibratePhone(this); // Provide haptic feedback
             finish(); // Close the current activity
         });
 
-        // Load user's quiz attempts from the database
-        loadUserAttempts();
+        // Load the subjects for the filter
+        loadSubjects();
     }
 
     /**
-     * Loads all quiz attempts for the current logged-in user from the database asynchronously.
-     * It calculates total points and displays the attempts in a RecyclerView,
-     * along with a summary of total attempts and overall points.
+     * Loads the subjects the user has attempted from the maintained per-subject stats and adds them
+     * to the subject filter.
      */
-    private void loadUserAttempts() {
+    private void loadSubjects() {
+        executor.execute(() -> {
+            List<UserSubjectStats> stats = userDao.getUserSubjectStats(email);
+            mainThread.execute(() -> {
+                for (UserSubjectStats stat : stats) {
+                    if (!stat.getSubject().isEmpty()) {
+                        subjects.add(stat.getSubject());
+                    }
+                }
+                subjectsAdapter.notifyDataSetChanged();
+            });
+        });
+    }
 
-        // Get the email of the current logged-in user from Shared Preferences
-        String email = SharedPref.getInstance().getUser(this).getEmail();
-        // Create an Executor for background thread operations
-        Executor executor = Executors.newSingleThreadExecutor();
-        // Create a Handler to post results back to the main (UI) thread
-        Handler handler = new Handler(Looper.getMainLooper());
+    /**
+     * Reads the selected filters, clears the list and loads the summary and the first page.
+     */
+    private void applyFilters() {
+        int subjectPosition = spinnerSubject.getSelectedItemPosition();
+        selectedSubject = subjectPosition > 0 ? subjects.get(subjectPosition) : null;
+        long days = RANGE_DAYS[Math.max(0, spinnerRange.getSelectedItemPosition())];
+        fromTime = days == 0 ? 0L : System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+
+        filterGeneration++;
+        historyAdapter.clear();
+        loadSummary();
+        loadNextPage();
+    }
 
-        // Execute the database operation on a background thread
+    /**
+     * Loads the number of attempts and the points for the active filters and updates the summary.
+     * Without filters the maintained 'user_stats' row is used; otherwise the totals are computed
+     * in SQL over the indexed range.
+     */
+    private void loadSummary() {
+        final int generation = filterGeneration;
+        final String subject = selectedSubject;
+        final long from = fromTime;
         executor.execute(() -> {
-            // Get the UserDatabase instance
-            UserDatabase userDatabase = UserDatabaseClient.
-                    getInstance(getApplicationContext());
-            // Retrieve all attempts associated with the user's email
-            List<Attempt> fetchedAttempts = userDatabase.userDao().
-                    getUserAndAttemptsWithSameEmail(email);
-
-            // Post UI updates back to the main thread
-            handler.post(() -> {
-                // Ensure 'attempts' is updated with fetched data; handle null case for robustness
-                attempts = (fetchedAttempts != null) ? fetchedAttempts : new ArrayList<>();
-
-                if (attempts.size() > 1) {
+            int attemptCount;
+            long totalPoints;
+            if (subject == null && from == 0L) {
+                UserStats stats = userDao.getUserStats(email);
+                attemptCount = stats == null ? 0 : stats.getAttemptCount();
+                totalPoints = stats == null ? 0L : stats.getTotalPoints();
+            } else {
+                HistorySummary summary = userDao.getHistorySummary(email, subject, from, Long.MAX_VALUE);
+                attemptCount = summary.getAttemptCount();
+                totalPoints = summary.getTotalPoints();
+            }
+
+            mainThread.execute(() -> {
+                if (generation != filterGeneration) {
+                    return; // The filters changed meanwhile
+                }
+                if (attemptCount > 1) {
                     textAttempt.setText(R.string.total_attempts);
                 } else {
                     textAttempt.setText(R.string.total_attempt);
                 }
 
-                if (attempts.isEmpty()) {
+                if (attemptCount == 0) {
                     // Show "No Data" message and hide all other relevant UI
                     findViewById(R.id.textDataHolder).setVisibility(View.VISIBLE);
                     findViewById(R.id.overallpoints).setVisibility(View.INVISIBLE);
                     findViewById(R.id.total_attempts).setVisibility(View.INVISIBLE);
                     findViewById(R.id.tvOverAllPointsHistory).setVisibility(View.INVISIBLE);
                     findViewById(R.id.tvtotal_attemptsHistory).setVisibility(View.INVISIBLE);
-
                 } else {
-                    // Hide "No Data" message and hide all other relevant UI
+                    // Hide "No Data" message and show all other relevant UI
                     findViewById(R.id.textDataHolder).setVisibility(View.GONE);
                     findViewById(R.id.overallpoints).setVisibility(View.VISIBLE);
                     findViewById(R.id.total_attempts).setVisibility(View.VISIBLE);
                     findViewById(R.id.tvOverAllPointsHistory).setVisibility(View.VISIBLE);
                     findViewById(R.id.tvtotal_attemptsHistory).setVisibility(View.VISIBLE);
 
-                    long totalPoints = attempts.stream().mapToLong(Attempt::getEarned).sum();
+                    tvTotalAttempts.setText(String.valueOf(attemptCount));
+                    tvTotalPoints.setText(String.valueOf(totalPoints));
+                }
+            });
+        });
+    }
 
-                    attempts.sort(Comparator.comparingLong(Attempt::getCreatedTime).reversed());
+    /**
+     * Loads the page of attempts that follows the last loaded one, for the active filters,
+     * and appends it to the list.
+     */
+    private void loadNextPage() {
+        final int generation = filterGeneration;
+        final String subject = selectedSubject;
+        final long from = fromTime;
+        Attempt last = historyAdapter.getLastAttempt();
+        final long beforeTime = last == null ? Long.MAX_VALUE : last.getCreatedTime();
+        final long beforeId = last == null ? Long.MAX_VALUE : last.getId();
 
-                    handler.post(() -> {
-                        tvTotalAttempts.setText(String.valueOf(attempts.size()));
-                        tvTotalPoints.setText(String.valueOf(totalPoints));
+        executor.execute(() -> {
+            // Fetch one extra row to learn whether another page exists
+            List<Attempt> page = userDao.getAttemptsPage(email, subject, from, Long.MAX_VALUE,
+                    beforeTime, beforeId, PAGE_SIZE + 1);
+            boolean hasMore = page.size() > PAGE_SIZE;
+            List<Attempt> rows = hasMore ? page.subList(0, PAGE_SIZE) : page;
 
-                        HistoryAdapter adapter = new HistoryAdapter(attempts);
-                        rvHistory.setAdapter(adapter);
-                    });
+            mainThread.execute(() -> {
+                if (generation != filterGeneration) {
+                    return; // The filters changed meanwhile
                 }
+                historyAdapter.appendPage(rows, hasMore);
             });
         });
     }
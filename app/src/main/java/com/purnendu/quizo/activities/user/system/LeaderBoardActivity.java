@@ -1,40 +1,55 @@
 package com.purnendu.quizo.activities.user.system;
 
-import android.content.IntentFilter;
 import android.content.pm.ActivityInfo;
-import android.net.ConnectivityManager;
 import android.os.Bundle;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.adapters.LeaderBoardAdapter;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.leaderboard.LeaderboardCache;
+import com.purnendu.quizo.leaderboard.LeaderboardPage;
+import com.purnendu.quizo.leaderboard.LeaderboardRepository;
+import com.purnendu.quizo.leaderboard.PlayerStanding;
 import com.purnendu.quizo.models.LeaderBoard;
 import com.purnendu.quizo.utilities.Constants;
 import com.purnendu.quizo.utilities.NetworkListener;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
+import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * This activity displays the leaderboard for the Quizo application, showing users' total scores.
- * It fetches user data from Firebase Firestore, highlights the current user's score,
- * and lists other players' scores in descending order.
+ * It highlights the current user's score and lists other players' scores in descending order.
  * <p>
  * It utilizes {@link androidx.recyclerview.widget.RecyclerView} with {@link com.purnendu.quizo.adapters.LeaderBoardAdapter}
  * to present the leaderboard data, and a {@link android.widget.ProgressBar} to indicate loading status.
- * Data is retrieved from a Firebase Firestore instance.
+ * Data is read through a {@link com.purnendu.quizo.leaderboard.LeaderboardRepository}, a page at a
+ * time in rank order, so opening the screen downloads {@link #PAGE_SIZE} players plus the current
+ * user's standing instead of the whole collection; further pages load as the list is scrolled.
+ * The standing card shows the user's rank among all players, computed on the server with a
+ * {@code count()} aggregation, and the few players directly above and below.
+ * The first page renders immediately (and offline) from the
+ * {@link com.purnendu.quizo.leaderboard.LeaderboardCache} snapshot. While the activity is started, a
+ * snapshot listener keeps that page live: each change is applied incrementally and diffed by the
+ * adapter, so only the rows that moved or changed are rebound. The listener is removed in
+ * {@link #onStop()}.
  * It extends {@link androidx.appcompat.app.AppCompatActivity}
  * for standard Android activity lifecycle management.
  * <p>
@@ -47,17 +62,38 @@ import java.util.List;
 //Class for LeaderBoard
 public class LeaderBoardActivity extends AppCompatActivity {
 
+    // Paging configuration
+    private static final int PAGE_SIZE = LeaderboardCache.PAGE_SIZE; // Players fetched per query
+    private static final int NEIGHBOURS = 2; // Players shown on each side of the current user
+
     // UI elements
     private TextView tvCurrentUserScore;
+    private TextView tvCurrentUserRank;
+    private LinearLayout layoutNeighbours;
     private RecyclerView rvLeaderboard;
     private ProgressBar progressBarLeaderboard;
 
-    // Firebase Firestore instance
-    private FirebaseFirestore db;
+    // Cached first page, and the source of the pages after it
+    private LeaderboardCache cache;
+    private LeaderboardRepository repository;
     // Adapter for the RecyclerView
     private LeaderBoardAdapter LeaderBoardAdapter;
-    // List to hold leaderboard entries
-    private List<LeaderBoard> allLeaderboardEntries;
+    // Delivers results to the main (UI) thread unless this activity has been destroyed
+    private final Executor mainThread = AppExecutors.getInstance().mainThreadFor(this);
+
+    // The current user, who is shown in the card above the list rather than in it
+    private String currentUserEmail;
+    // Whether any first page (cached or live) has been displayed
+    private boolean firstPageShown = false;
+    // Whether the live listener has delivered, after which cached snapshots are ignored
+    private boolean liveReceived = false;
+    // Last player of the top page and of the last appended page, the cursors for the next page
+    private LeaderBoard topCursor = null;
+    private LeaderBoard tailCursor = null;
+    // Bumped when the appended pages are dropped, so pages still loading for them are ignored
+    private int pageGeneration = 0;
+    // The running live listener on the top of the leaderboard, while started
+    private LeaderboardRepository.Subscription topSubscription;
 
     // Declare network listener
     private NetworkListener networkListener;
@@ -80,17 +116,20 @@ public class LeaderBoardActivity extends AppCompatActivity {
 
         // Initialize UI elements
         tvCurrentUserScore = findViewById(R.id.tvCurrentUserScore);
+        tvCurrentUserRank = findViewById(R.id.tvCurrentUserRank);
+        layoutNeighbours = findViewById(R.id.layoutNeighbours);
         rvLeaderboard = findViewById(R.id.rvLeaderboard);
         progressBarLeaderboard = findViewById(R.id.progressBarLeaderboard);
 
-        // Configure RecyclerView
+        // Configure RecyclerView with the paged adapter
         rvLeaderboard.setLayoutManager(new LinearLayoutManager(this));
-        allLeaderboardEntries = new ArrayList<>();
-        LeaderBoardAdapter = new LeaderBoardAdapter(new ArrayList<>()); // Initialize with empty list
+        LeaderBoardAdapter = new LeaderBoardAdapter(this::loadNextPage);
         rvLeaderboard.setAdapter(LeaderBoardAdapter);
 
-        // Initialize Firebase Firestore
-        db = FirebaseFirestore.getInstance();
+        // Initialize the leaderboard source
+        cache = LeaderboardCache.getInstance(this);
+        repository = cache.getRemote();
+        currentUserEmail = SharedPref.getInstance().getUser(this).getEmail();
 
         // Handle back button click
         findViewById(R.id.imageViewLeaderboardBack).setOnClickListener(view -> {
@@ -101,31 +140,66 @@ public class LeaderBoardActivity extends AppCompatActivity {
         networkListener = new NetworkListener(this, new NetworkListener.NetworkChangeListener() {
             @Override
             public void onNetworkConnected() {
-                // When network is connected, attempt to fetch leaderboard data
-                fetchLeaderboardData(); // Re-fetch data
+                // The live listener reconnects by itself; only the user's standing needs a reload
+                loadCurrentUser();
             }
 
             @Override
             public void onNetworkDisconnected() {
-                // When network is disconnected, hide content and show a message (dialog is handled by NetworkListener)
-                rvLeaderboard.setVisibility(View.GONE);
-                findViewById(R.id.tvOtherPlayersLabel).setVisibility(View.GONE);
+                // Keep showing the cached leaderboard (dialog is handled by NetworkListener)
             }
         });
 
-        // Fetch and display leaderboard data
-        fetchLeaderboardData();
+        // Show the cached leaderboard until the live one arrives
+        showCachedLeaderboard();
+    }
+
+    /**
+     * Starts the live listener on the top of the leaderboard while the activity is visible.
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
+        topSubscription = repository.listenTop(PAGE_SIZE, mainThread, new LeaderboardRepository.TopListener() {
+            @Override
+            public void onChanged(LeaderboardPage top) {
+                liveReceived = true;
+                cache.store(top); // Keep the offline snapshot current
+                showTop(top);
+            }
+
+            @Override
+            public void onError(@NonNull Exception error) {
+                if (!firstPageShown) {
+                    // Nothing cached to fall back on
+                    progressBarLeaderboard.setVisibility(View.GONE); // Hide progress bar
+                    Toast.makeText(LeaderBoardActivity.this,
+                            getString(R.string.error_fetching_leaderboard), Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes the live listener when the activity is no longer visible.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        if (topSubscription != null) {
+            topSubscription.remove();
+            topSubscription = null;
+        }
     }
 
     /**
      * Registers the {@link NetworkListener} when the activity becomes visible.
-     * This is crucial for receiving network broadcast updates.
+     * This is crucial for receiving connectivity updates.
      */
     @Override
     protected void onResume() {
         super.onResume();
-        IntentFilter intentFilter = new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION);
-        registerReceiver(networkListener, intentFilter);
+        networkListener.register();
     }
 
     /**
@@ -135,76 +209,210 @@ public class LeaderBoardActivity extends AppCompatActivity {
     @Override
     protected void onPause() {
         super.onPause();
-        unregisterReceiver(networkListener);
-        // Dismiss the network disconnected dialog if it's showing to prevent WindowManager$BadTokenException
-        if (networkListener != null) {
-            networkListener.dismissNetworkDisconnectedDialog();
-        }
+        // Also dismisses the network disconnected dialog to prevent WindowManager$BadTokenException
+        networkListener.unregister();
     }
 
     /**
-     * Fetches all user data (name and totalPoints) from Firebase Firestore's "users" collection.
-     * It then separates the current user's score, sorts the rest, and updates the UI.
+     * Shows the cached first page of the leaderboard, if any, together with the current user's
+     * standing. Nothing is downloaded here; the live listener started in {@link #onStart()} replaces
+     * the snapshot as soon as it delivers.
      */
-    private void fetchLeaderboardData() {
+    private void showCachedLeaderboard() {
         findViewById(R.id.tvOtherPlayersLabel).setVisibility(View.GONE);
         findViewById(R.id.cardViewCurrentUser).setVisibility(View.GONE);
+        findViewById(R.id.textHolder).setVisibility(View.GONE);
         progressBarLeaderboard.setVisibility(View.VISIBLE); // Show progress bar
         rvLeaderboard.setVisibility(View.GONE); // Hide RecyclerView initially
-        // Get the current user's email from Shared Preferences
-        String currentUserEmail = SharedPref.getInstance().getUser(this).getEmail();
-
-        db.collection("users")
-                .get()
-                .addOnCompleteListener(task -> {
-                    findViewById(R.id.tvOtherPlayersLabel).setVisibility(View.VISIBLE);
-                    findViewById(R.id.cardViewCurrentUser).setVisibility(View.VISIBLE);
-                    progressBarLeaderboard.setVisibility(View.GONE); // Hide progress bar
-                    if (task.isSuccessful()) {
-                        allLeaderboardEntries.clear(); // Clear previous data
-                        LeaderBoard currentUserEntry = null;
-
-                        for (QueryDocumentSnapshot document : task.getResult()) {
-                            // Convert each document to a LeaderBoard object
-                            LeaderBoard entry = document.toObject(LeaderBoard.class);
-
-                            // Firestore document ID is the email, ensure it's set in the entry
-                            if (entry.getEmail() == null || entry.getEmail().isEmpty()) {
-                                entry.setEmail(document.getId());
-                            }
-
-                            // Identify current user's entry
-                            if (entry.getEmail() != null && entry.getEmail().equals(currentUserEmail)) {
-                                currentUserEntry = entry;
-                            } else {
-                                allLeaderboardEntries.add(entry); // Add other players to list
-                            }
-                        }
-
-                        // Display current user's score prominently
-                        if (currentUserEntry != null) {
-                            tvCurrentUserScore.setText(Constants.formatScore(currentUserEntry.getTotalPoints()));
-                        } else {
-                            tvCurrentUserScore.setText(String.valueOf(0L));
-                        }
-
-                        // Sort other players by totalPoints in descending order
-                        allLeaderboardEntries.sort((e1, e2) -> Long.compare(e2.getTotalPoints(), e1.getTotalPoints()));
-
-                        //Check for availability of players
-                        if (allLeaderboardEntries.isEmpty()) {
-                            findViewById(R.id.textHolder).setVisibility(View.VISIBLE);
-                            findViewById(R.id.tvOtherPlayersLabel).setVisibility(View.GONE);
-                            findViewById(R.id.cardViewCurrentUser).setVisibility(View.GONE);
-                        } else {
-                            // Update RecyclerView adapter
-                            LeaderBoardAdapter.updateData(allLeaderboardEntries);
-                            rvLeaderboard.setVisibility(View.VISIBLE); // Show RecyclerView
-                        }
-                    } else {
-                        Toast.makeText(LeaderBoardActivity.this,
-                                getString(R.string.error_fetching_leaderboard), Toast.LENGTH_SHORT).show();
-                    }
+
+        loadCurrentUser();
+        cache.peek(mainThread, (page, fresh) -> {
+            if (!liveReceived) {
+                showTop(page);
+            }
+        });
+    }
+
+    /**
+     * Loads the current user's standing and displays the score, the rank and the neighbouring
+     * players. Offline, the locally maintained total is shown instead, without a rank.
+     */
+    private void loadCurrentUser() {
+        repository.loadStanding(currentUserEmail, NEIGHBOURS, mainThread, new LeaderboardRepository.Callback<PlayerStanding>() {
+            @Override
+            public void onSuccess(PlayerStanding result) {
+                if (result == null) {
+                    // The user has not uploaded a score yet
+                    tvCurrentUserScore.setText(String.valueOf(0L));
+                    tvCurrentUserRank.setVisibility(View.GONE);
+                    layoutNeighbours.removeAllViews();
+                    return;
+                }
+                showStanding(result);
+            }
+
+            @Override
+            public void onError(@NonNull Exception error) {
+                AppExecutors.getInstance().diskIO().execute(() -> {
+                    long localPoints = QuizoDatabaseClient.getInstance(getApplicationContext())
+                            .userDao().getOverAllPoints(currentUserEmail);
+                    mainThread.execute(() -> tvCurrentUserScore.setText(Constants.formatScore(localPoints)));
                 });
+            }
+        });
+    }
+
+    /**
+     * Displays the current user's standing in the card above the list.
+     *
+     * @param standing The current user's standing.
+     */
+    private void showStanding(PlayerStanding standing) {
+        NumberFormat numberFormat = NumberFormat.getIntegerInstance();
+        tvCurrentUserScore.setText(Constants.formatScore(standing.getPlayer().getTotalPoints()));
+        tvCurrentUserRank.setText(getString(R.string.rank_of_players,
+                numberFormat.format(standing.getRank()), numberFormat.format(standing.getPlayerCount())));
+        tvCurrentUserRank.setVisibility(View.VISIBLE);
+
+        // Neighbours above, the user, then neighbours below, each with its rank
+        layoutNeighbours.removeAllViews();
+        long rank = standing.getRank() - standing.getAbove().size();
+        for (LeaderBoard entry : standing.getAbove()) {
+            addNeighbour(entry, rank++, numberFormat);
+        }
+        addNeighbour(standing.getPlayer(), rank++, numberFormat);
+        for (LeaderBoard entry : standing.getBelow()) {
+            addNeighbour(entry, rank++, numberFormat);
+        }
+    }
+
+    /**
+     * Adds one ranked player row to the neighbours list in the standing card.
+     *
+     * @param entry        The player.
+     * @param rank         The player's rank.
+     * @param numberFormat Formats the rank.
+     */
+    private void addNeighbour(LeaderBoard entry, long rank, NumberFormat numberFormat) {
+        View row = LayoutInflater.from(this).inflate(R.layout.item_leaderboard_entry, layoutNeighbours, false);
+        TextView tvPlayerName = row.findViewById(R.id.tvPlayerName);
+        TextView tvPlayerPoints = row.findViewById(R.id.tvPlayerPoints);
+        tvPlayerName.setText(getString(R.string.ranked_player, numberFormat.format(rank), entry.getName()));
+        tvPlayerPoints.setText(Constants.formatScore(entry.getTotalPoints()));
+        if (entry.getEmail().equals(currentUserEmail)) {
+            tvPlayerName.setTextColor(ContextCompat.getColor(this, R.color.white)); // Highlight the user
+        }
+        layoutNeighbours.addView(row);
+    }
+
+    /**
+     * Displays a new top of the leaderboard. The pages loaded after it are kept while the top still
+     * ends with the same player and points; otherwise players may have dropped out of the top into
+     * the gap before them, so they are dropped and loaded again after the new top.
+     *
+     * @param page The first page of the leaderboard.
+     */
+    private void showTop(LeaderboardPage page) {
+        firstPageShown = true;
+        LeaderBoard previousCursor = topCursor;
+        topCursor = page.getLast();
+        boolean keepTail = sameCursor(previousCursor, topCursor);
+        if (!keepTail) {
+            tailCursor = null;
+            pageGeneration++;
+        }
+        for (LeaderBoard entry : page.getEntries()) {
+            if (entry.getEmail().equals(currentUserEmail)) {
+                // A live top holding the current user also keeps the card current
+                tvCurrentUserScore.setText(Constants.formatScore(entry.getTotalPoints()));
+            }
+        }
+
+        List<LeaderBoard> others = withoutCurrentUser(page);
+        progressBarLeaderboard.setVisibility(View.GONE); // Hide progress bar
+        //Check for availability of players
+        if (others.isEmpty() && !page.hasMore()) {
+            findViewById(R.id.textHolder).setVisibility(View.VISIBLE);
+            findViewById(R.id.tvOtherPlayersLabel).setVisibility(View.GONE);
+            findViewById(R.id.cardViewCurrentUser).setVisibility(View.GONE);
+            rvLeaderboard.setVisibility(View.GONE);
+            LeaderBoardAdapter.clear();
+            tailCursor = null;
+            pageGeneration++;
+            return;
+        }
+        findViewById(R.id.textHolder).setVisibility(View.GONE);
+        findViewById(R.id.cardViewCurrentUser).setVisibility(View.VISIBLE);
+        findViewById(R.id.tvOtherPlayersLabel).setVisibility(View.VISIBLE);
+        rvLeaderboard.setVisibility(View.VISIBLE); // Show RecyclerView
+
+        LeaderBoardAdapter.submitTop(others, page.hasMore(), keepTail);
+        if (others.isEmpty() && tailCursor == null) {
+            loadNextPage(); // The page held only the current user, nothing was bound to prefetch
+        }
+    }
+
+    /**
+     * Loads the page of players that follows the last loaded one and appends the players other
+     * than the current user to the list.
+     */
+    private void loadNextPage() {
+        LeaderBoard cursor = tailCursor != null ? tailCursor : topCursor;
+        final int requested = pageGeneration;
+        repository.loadPage(cursor, PAGE_SIZE, mainThread, new LeaderboardRepository.Callback<LeaderboardPage>() {
+            @Override
+            public void onSuccess(LeaderboardPage page) {
+                if (requested != pageGeneration) {
+                    return; // Continues a top that has changed since
+                }
+                if (page.getLast() != null) {
+                    tailCursor = page.getLast();
+                }
+                List<LeaderBoard> others = withoutCurrentUser(page);
+                LeaderBoardAdapter.appendPage(others, page.hasMore());
+                if (others.isEmpty() && page.hasMore()) {
+                    loadNextPage(); // The page held only the current user, nothing was bound to prefetch
+                }
+            }
+
+            @Override
+            public void onError(@NonNull Exception error) {
+                if (requested != pageGeneration) {
+                    return;
+                }
+                Toast.makeText(LeaderBoardActivity.this,
+                        getString(R.string.error_fetching_leaderboard), Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    /**
+     * Tells whether two cursors continue the leaderboard from the same place.
+     *
+     * @param first  A cursor, or {@code null}.
+     * @param second Another cursor, or {@code null}.
+     * @return {@code true} if both are {@code null}, or have the same email and points.
+     */
+    private static boolean sameCursor(LeaderBoard first, LeaderBoard second) {
+        if (first == null || second == null) {
+            return first == second;
+        }
+        return first.getEmail().equals(second.getEmail()) && first.getTotalPoints() == second.getTotalPoints();
+    }
+
+    /**
+     * Returns the players of a page other than the current user, who is shown in the card above.
+     *
+     * @param page The page.
+     * @return The other players, in rank order.
+     */
+    private List<LeaderBoard> withoutCurrentUser(LeaderboardPage page) {
+        List<LeaderBoard> others = new ArrayList<>(page.getEntries().size());
+        for (LeaderBoard entry : page.getEntries()) {
+            if (!entry.getEmail().equals(currentUserEmail)) {
+                others.add(entry);
+            }
+        }
+        return others;
     }
 }
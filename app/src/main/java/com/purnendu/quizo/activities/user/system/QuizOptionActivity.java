@@ -13,6 +13,7 @@ import com.purnendu.quizo.activities.subjects.ComputerQuizActivity;
 import com.purnendu.quizo.activities.subjects.GeographyQuizActivity;
 import com.purnendu.quizo.activities.subjects.LiteratureQuizActivity;
 import com.purnendu.quizo.activities.subjects.MathQuizActivity;
+import com.purnendu.quizo.engine.QuestionPoolCache;
 import com.purnendu.quizo.utilities.Constants;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 
@@ -31,6 +32,9 @@ import com.purnendu.quizo.utilities.QuizoVibrator;
  * for topic selection. It passes the selected subject using {@link android.content.Intent}
  * and {@link com.purnendu.quizo.utilities.Constants}.
  * Haptic feedback is provided by {@link com.purnendu.quizo.utilities.QuizoVibrator}.
+ * <p>
+ * While the topics are shown, the {@link com.purnendu.quizo.engine.QuestionPoolCache} prepares a
+ * quiz for each of them in the background, so the chosen quiz starts without a database read.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -105,4 +109,18 @@ public class QuizOptionActivity extends AppCompatActivity {
             startActivity(intent); // Start the quiz activity
         });
     }
+
+    /**
+     * Warms the question pools of all quiz subjects whenever the topic list becomes visible.
+     * Subjects that are already warm cost nothing.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        QuestionPoolCache questionPoolCache = QuestionPoolCache.getInstance(this);
+        questionPoolCache.prefetch(getString(R.string.math));
+        questionPoolCache.prefetch(getString(R.string.geography));
+        questionPoolCache.prefetch(getString(R.string.literature));
+        questionPoolCache.prefetch(getString(R.string.computer));
+    }
 }
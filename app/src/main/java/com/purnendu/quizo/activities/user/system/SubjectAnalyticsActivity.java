@@ -0,0 +1,101 @@
+package com.purnendu.quizo.activities.user.system;
+
+import android.content.pm.ActivityInfo;
+import android.os.Bundle;
+import android.view.View;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.purnendu.quizo.R;
+import com.purnendu.quizo.adapters.SubjectAnalyticsAdapter;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.models.UserSubjectStats;
+import com.purnendu.quizo.utilities.QuizoVibrator;
+import com.purnendu.quizo.utilities.SharedPref;
+
+import java.util.List;
+
+/**
+ * This activity shows the current user's performance in each subject of the Quizo application:
+ * accuracy, best and average score, attempt totals, current and longest daily streak and the trend
+ * over the most recent attempts.
+ * It extends {@link androidx.appcompat.app.AppCompatActivity}
+ * for standard Android activity lifecycle management.
+ * <p>
+ * All values come from the {@link com.purnendu.quizo.models.UserSubjectStats} rows that
+ * {@link com.purnendu.quizo.dao.UserDao#recordAttempt(com.purnendu.quizo.models.Attempt)} keeps up to
+ * date, so the screen loads with one primary-key range read no matter how many attempts the user has;
+ * the 'attempt' table is never scanned. The rows are displayed with a
+ * {@link com.purnendu.quizo.adapters.SubjectAnalyticsAdapter}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for SubjectAnalytics
+public class SubjectAnalyticsActivity extends AppCompatActivity {
+
+    // UI elements
+    private RecyclerView rvSubjectAnalytics;
+    private SubjectAnalyticsAdapter analyticsAdapter;
+
+    /**
+     * Called when the activity is first created. Sets up the list and loads the user's stats.
+     *
+     * @param savedInstanceState If the activity is being re-initialized after
+     *                           previously being shut down then this Bundle contains the data it most
+     *                           recently supplied in {@link #onSaveInstanceState}.  <b><i>Note: Otherwise it is null.</i></b>
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        // Lock the screen orientation to prevent rotation issues
+        setRequestedOrientation(ActivityInfo.SCREEN_ORIENTATION_LOCKED);
+        setContentView(R.layout.activity_subject_analytics); // Set the layout for this activity
+
+        // Set the navigation bar color to black
+        getWindow().setNavigationBarColor(ContextCompat.
+                getColor(this, R.color.black));
+
+        // Initialize RecyclerView
+        rvSubjectAnalytics = findViewById(R.id.rvSubjectAnalytics);
+        rvSubjectAnalytics.setLayoutManager(new LinearLayoutManager(this));
+        analyticsAdapter = new SubjectAnalyticsAdapter();
+        rvSubjectAnalytics.setAdapter(analyticsAdapter);
+
+        // Set OnClickListener for the back ImageView
+        findViewById(R.id.imageViewSubjectAnalytics).setOnClickListener(V -> {
+            QuizoVibrator.vibratePhone(this); // Provide haptic feedback
+            finish(); // Close the current activity
+        });
+
+        loadAnalytics();
+    }
+
+    /**
+     * Loads the user's per-subject stats on the shared disk I/O pool and displays them.
+     */
+    private void loadAnalytics() {
+        String email = SharedPref.getInstance().getUser(this).getEmail();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            List<UserSubjectStats> stats = QuizoDatabaseClient.getInstance(getApplicationContext())
+                    .userDao().getUserSubjectStats(email);
+            long today = UserSubjectStats.toEpochDay(System.currentTimeMillis());
+
+            AppExecutors.getInstance().mainThreadFor(this).execute(() -> {
+                if (stats.isEmpty()) {
+                    // Show "No Data" message when the user has not attempted any quiz yet
+                    findViewById(R.id.textAnalyticsDataHolder).setVisibility(View.VISIBLE);
+                    rvSubjectAnalytics.setVisibility(View.GONE);
+                } else {
+                    findViewById(R.id.textAnalyticsDataHolder).setVisibility(View.GONE);
+                    rvSubjectAnalytics.setVisibility(View.VISIBLE);
+                    analyticsAdapter.updateData(stats, today);
+                }
+            });
+        });
+    }
+}
@@ -28,6 +28,7 @@ import com.purnendu.quizo.activities.user.access.EditPasswordActivity;
 import com.purnendu.quizo.activities.user.access.LoginActivity;
 import com.purnendu.quizo.activities.web.WebActivity;
 import com.purnendu.quizo.models.User;
+import com.purnendu.quizo.sync.CloudSyncWorker;
 import com.purnendu.quizo.utilities.QuizoVibrator;
 import com.purnendu.quizo.utilities.SharedPref;
 
@@ -121,6 +122,9 @@ public class UserActivity extends AppCompatActivity {
         getWindow().setNavigationBarColor(ContextCompat.getColor(this,
                 R.color.black));
 
+        // Upload any results left in the outbox by an earlier session
+        CloudSyncWorker.getInstance(this).requestSync();
+
         // Add a callback to block the default back button behavior
         getOnBackPressedDispatcher().addCallback(this, new
                 OnBackPressedCallback(true) {
@@ -241,6 +245,12 @@ public class UserActivity extends AppCompatActivity {
                     LeaderBoardActivity.class);
             startActivity(leaderIntent);
             return true;
+        } else if (id == R.id.action_analytics) {
+            // Navigate to the per-subject analytics
+            Intent analyticsIntent = new Intent(UserActivity.this,
+                    SubjectAnalyticsActivity.class);
+            startActivity(analyticsIntent);
+            return true;
         } else {
             return super.onOptionsItemSelected(item); // Let the superclass handle other menu items
         }
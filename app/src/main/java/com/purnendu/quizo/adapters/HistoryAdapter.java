@@ -3,6 +3,7 @@ package com.purnendu.quizo.adapters;
 
 import static com.purnendu.quizo.utilities.DateParser.formatDate;
 
+import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -15,6 +16,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.models.Attempt;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,6 +26,10 @@ import java.util.List;
  * showing details such as subject, earned points, and date.
  * The date formatting is handled by {@link com.purnendu.quizo.utilities.DateParser#formatDate(long)}.
  * <p>
+ * The adapter is paged: the activity appends one page at a time with
+ * {@link #appendPage(List, boolean)}, and the adapter asks for the next page through
+ * {@link OnLoadMoreListener} once a row within {@link #PREFETCH_DISTANCE} of the end is bound.
+ * <p>
  * The adapter utilizes {@link androidx.recyclerview.widget.RecyclerView.ViewHolder} pattern
  * for efficient view recycling and Android UI components like {@link android.widget.TextView}
  * and {@link androidx.cardview.widget.CardView} for item presentation.
@@ -33,16 +39,70 @@ import java.util.List;
  */
 public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.AttemptViewHolder> {
 
-    // List of quiz attempts to be displayed by the adapter
-    private final List<Attempt> attempts;
+    // Rows from the end at which the next page is requested
+    public static final int PREFETCH_DISTANCE = 10;
+
+    // Quiz attempts loaded so far, newest first
+    private final List<Attempt> attempts = new ArrayList<>();
+    // Callback that loads the next page
+    private final OnLoadMoreListener onLoadMoreListener;
+    // Whether more pages exist after the loaded rows
+    private boolean hasMore = false;
+    // Bumped by clear(), so load requests posted for the old rows are dropped
+    private int generation = 0;
+
+    /**
+     * Interface definition for a callback to be invoked when the list nears its end.
+     */
+    public interface OnLoadMoreListener {
+        /**
+         * Called when a row close to the end of the loaded attempts is bound and more pages exist.
+         * The adapter will not call it again until the next {@link #appendPage(List, boolean)},
+         * and drops a call still pending when {@link #clear()} runs.
+         */
+        void onLoadMore();
+    }
 
     /**
      * Constructor for the HistoryAdapter.
      *
-     * @param attempts The list of {@link com.purnendu.quizo.models.Attempt} objects to be displayed.
+     * @param onLoadMoreListener The callback that loads the next page of attempts.
+     */
+    public HistoryAdapter(OnLoadMoreListener onLoadMoreListener) {
+        this.onLoadMoreListener = onLoadMoreListener;
+    }
+
+    /**
+     * Removes every loaded attempt, for example when the filters change.
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    public void clear() {
+        attempts.clear();
+        hasMore = false;
+        generation++;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Appends a page of attempts to the end of the list.
+     *
+     * @param page    The attempts of the page, newest first.
+     * @param hasMore Whether further pages exist after this one.
+     */
+    public void appendPage(List<Attempt> page, boolean hasMore) {
+        int start = attempts.size();
+        attempts.addAll(page);
+        this.hasMore = hasMore;
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Returns the last loaded attempt, which is the keyset cursor for the next page.
+     *
+     * @return The last attempt, or {@code null} if nothing is loaded.
      */
-    public HistoryAdapter(List<Attempt> attempts) {
-        this.attempts = attempts;
+    public Attempt getLastAttempt() {
+        return attempts.isEmpty() ? null : attempts.get(attempts.size() - 1);
     }
 
     /**
@@ -88,6 +148,18 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.AttemptV
         holder.cvParent.setOnClickListener(view -> {
             // DO NOTHING - Placeholder for future item click handling
         });
+
+        // Ask for the next page before the user reaches the end of the loaded rows
+        if (hasMore && position >= attempts.size() - PREFETCH_DISTANCE) {
+            hasMore = false; // Re-armed by the next appendPage
+            final int requested = generation;
+            holder.itemView.post(() -> {
+                // After a clear() the caller has already requested the first page of the new rows
+                if (requested == generation) {
+                    onLoadMoreListener.onLoadMore();
+                }
+            });
+        }
     }
 
     /**
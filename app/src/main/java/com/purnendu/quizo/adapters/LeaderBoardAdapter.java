@@ -1,19 +1,27 @@
 package com.purnendu.quizo.adapters;
 
-import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.purnendu.quizo.R;
 import com.purnendu.quizo.models.LeaderBoard;
 import com.purnendu.quizo.utilities.Constants;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * `LeaderBoardAdapter` is a custom {@link RecyclerView.Adapter} used to display a list of
@@ -24,9 +32,15 @@ import java.util.List;
  * <ul>
  * <li>Inflating the layout for each leaderboard entry (defined in `R.layout.item_leaderboard_entry`).</li>
  * <li>Binding {@link LeaderBoard} data to the corresponding `TextView` elements in each list item.</li>
- * <li>Updating its data set efficiently when new leaderboard information becomes available.</li>
+ * <li>Showing the live top of the leaderboard ({@link #submitTop(List, boolean, boolean)}) followed by the
+ * pages loaded while scrolling ({@link #appendPage(List, boolean)}), and asking for the next page
+ * through {@link OnLoadMoreListener} once a row within {@link #PREFETCH_DISTANCE} of the end is bound.</li>
  * </ul>
  * <p>
+ * Every update is diffed off the main thread by an {@link androidx.recyclerview.widget.AsyncListDiffer}
+ * keyed by email, and rows have stable ids, so only the rows that moved or changed are rebound.
+ * Ids are only kept for the rows on display.
+ * <p>
  * The adapter uses an inner static {@link LeaderboardViewHolder} class to hold references
  * to the views for each item, promoting efficient view recycling.
  *
@@ -38,15 +52,60 @@ import java.util.List;
  */
 public class LeaderBoardAdapter extends RecyclerView.Adapter<LeaderBoardAdapter.LeaderboardViewHolder> {
 
-    private List<LeaderBoard> leaderboardList;
+    // Rows from the end at which the next page is requested
+    public static final int PREFETCH_DISTANCE = 10;
+
+    // The same player (by email) is the same row; it only needs rebinding if name or points changed
+    private static final DiffUtil.ItemCallback<LeaderBoard> DIFF_CALLBACK = new DiffUtil.ItemCallback<LeaderBoard>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull LeaderBoard oldItem, @NonNull LeaderBoard newItem) {
+            return oldItem.getEmail().equals(newItem.getEmail());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LeaderBoard oldItem, @NonNull LeaderBoard newItem) {
+            return oldItem.getTotalPoints() == newItem.getTotalPoints()
+                    && Objects.equals(oldItem.getName(), newItem.getName());
+        }
+    };
+
+    // Computes the row changes between successive lists off the main thread
+    private final AsyncListDiffer<LeaderBoard> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    // Stable row id per email of the displayed rows, assigned on first sight
+    private final Map<String, Long> rowIds = new HashMap<>();
+    // The id the next new row gets; ids are never reused
+    private long nextRowId = 0L;
+    // The live top of the leaderboard, in rank order
+    private List<LeaderBoard> top = Collections.emptyList();
+    // Pages loaded after the top, in rank order
+    private final List<LeaderBoard> tail = new ArrayList<>();
+    // Callback that loads the next page
+    private final OnLoadMoreListener onLoadMoreListener;
+    // Whether more pages exist after the loaded rows
+    private boolean hasMore = false;
+    // Bumped by clear(), so load requests posted for the old rows are dropped
+    private int generation = 0;
+
+    /**
+     * Interface definition for a callback to be invoked when the list nears its end.
+     */
+    public interface OnLoadMoreListener {
+        /**
+         * Called when a row close to the end of the loaded entries is bound and more pages exist.
+         * The adapter will not call it again until the next {@link #appendPage(List, boolean)},
+         * and drops a call still pending when {@link #clear()} runs.
+         */
+        void onLoadMore();
+    }
 
     /**
      * Constructor for the LeaderBoardAdapter.
      *
-     * @param leaderboardList The list of LeaderBoard objects to display.
+     * @param onLoadMoreListener The callback that loads the next page of entries.
      */
-    public LeaderBoardAdapter(List<LeaderBoard> leaderboardList) {
-        this.leaderboardList = leaderboardList;
+    public LeaderBoardAdapter(OnLoadMoreListener onLoadMoreListener) {
+        this.onLoadMoreListener = onLoadMoreListener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -58,32 +117,124 @@ public class LeaderBoardAdapter extends RecyclerView.Adapter<LeaderBoardAdapter.
         return new LeaderboardViewHolder(view);
     }
 
-    @SuppressLint("SetTextI18n")
     @Override
     public void onBindViewHolder(@NonNull LeaderboardViewHolder holder, int position) {
         // Get the LeaderBoard object for the current position
-        LeaderBoard entry = leaderboardList.get(position);
+        List<LeaderBoard> rows = differ.getCurrentList();
+        LeaderBoard entry = rows.get(position);
 
         // Bind the data to the TextViews in the ViewHolder
         holder.tvPlayerName.setText(entry.getName());
         holder.tvPlayerPoints.setText(Constants.formatScore(entry.getTotalPoints()));
+
+        // Ask for the next page before the user reaches the end of the loaded rows
+        if (hasMore && position >= rows.size() - PREFETCH_DISTANCE) {
+            hasMore = false; // Re-armed by the next appendPage
+            final int requested = generation;
+            holder.itemView.post(() -> {
+                // Pages requested for rows that have since been cleared are not wanted
+                if (requested == generation) {
+                    onLoadMoreListener.onLoadMore();
+                }
+            });
+        }
     }
 
     @Override
     public int getItemCount() {
         // Return the total number of items in the list
-        return leaderboardList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String email = differ.getCurrentList().get(position).getEmail();
+        Long id = rowIds.get(email);
+        if (id == null) {
+            id = nextRowId++;
+            rowIds.put(email, id);
+        }
+        return id;
+    }
+
+    /**
+     * Removes every loaded entry, for example before reloading from the first page.
+     */
+    public void clear() {
+        top = Collections.emptyList();
+        tail.clear();
+        hasMore = false;
+        generation++;
+        submit();
     }
 
     /**
-     * Updates the data set of the adapter and notifies the RecyclerView to refresh.
+     * Replaces the top of the leaderboard.
      *
-     * @param newLeaderboardList The new list of LeaderBoard objects.
+     * @param newTop   The top entries, in rank order.
+     * @param hasMore  Whether more entries follow the top; only used while no page is kept after it.
+     * @param keepTail Whether the pages loaded after the previous top still follow the new one. If
+     *                 not, they are dropped together with a load request still pending, and pages
+     *                 are requested again after the new top.
      */
-    @SuppressLint("NotifyDataSetChanged")
-    public void updateData(List<LeaderBoard> newLeaderboardList) {
-        this.leaderboardList = newLeaderboardList;
-        notifyDataSetChanged();
+    public void submitTop(List<LeaderBoard> newTop, boolean hasMore, boolean keepTail) {
+        top = newTop;
+        if (!keepTail) {
+            tail.clear();
+            generation++;
+        }
+        if (tail.isEmpty()) {
+            this.hasMore = hasMore;
+        }
+        submit();
+    }
+
+    /**
+     * Appends a page of entries after the loaded ones.
+     *
+     * @param page    The entries of the page, in rank order.
+     * @param hasMore Whether further pages exist after this one.
+     */
+    public void appendPage(List<LeaderBoard> page, boolean hasMore) {
+        tail.addAll(page);
+        this.hasMore = hasMore;
+        submit();
+    }
+
+    /**
+     * Hands the top followed by the loaded pages to the differ. A player who moved into the top
+     * since their page was loaded is only listed once, at their new place. Once the list is
+     * displayed, the row ids of players no longer shown are forgotten.
+     */
+    private void submit() {
+        List<LeaderBoard> rows = new ArrayList<>(top.size() + tail.size());
+        rows.addAll(top);
+        Set<String> seen = new HashSet<>();
+        for (LeaderBoard entry : top) {
+            seen.add(entry.getEmail());
+        }
+        for (LeaderBoard entry : tail) {
+            if (seen.add(entry.getEmail())) {
+                rows.add(entry);
+            }
+        }
+        differ.submitList(rows, this::forgetHiddenRowIds);
+    }
+
+    /**
+     * Keeps the row ids of the displayed rows only, so scrolling through a large leaderboard does
+     * not accumulate an id for every player ever shown.
+     */
+    private void forgetHiddenRowIds() {
+        List<LeaderBoard> rows = differ.getCurrentList();
+        if (rowIds.size() <= rows.size()) {
+            return;
+        }
+        Set<String> shown = new HashSet<>(rows.size() * 2);
+        for (LeaderBoard entry : rows) {
+            shown.add(entry.getEmail());
+        }
+        rowIds.keySet().retainAll(shown);
     }
 
     /**
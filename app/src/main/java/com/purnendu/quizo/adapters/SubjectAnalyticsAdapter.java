@@ -0,0 +1,125 @@
+package com.purnendu.quizo.adapters;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.purnendu.quizo.R;
+import com.purnendu.quizo.models.UserSubjectStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * `SubjectAnalyticsAdapter` is a custom {@link RecyclerView.Adapter} used to display a user's
+ * {@link com.purnendu.quizo.models.UserSubjectStats} in a {@link RecyclerView}, one card per subject.
+ * Each card shows the accuracy, best and average score, the attempt totals, the daily streak and a
+ * sparkline of the recent scores.
+ * <p>
+ * Everything is derived from the stats row itself, so binding a card never touches the database.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ * @see com.purnendu.quizo.models.UserSubjectStats
+ */
+public class SubjectAnalyticsAdapter extends RecyclerView.Adapter<SubjectAnalyticsAdapter.SubjectAnalyticsViewHolder> {
+
+    // Bar characters of the trend sparkline, lowest first
+    private static final char[] SPARKS = {'▁', '▂', '▃', '▄', '▅', '▆', '▇', '█'};
+
+    private List<UserSubjectStats> statsList = new ArrayList<>();
+
+    // Local epoch day used to decide whether a streak is still running
+    private long today;
+
+    @NonNull
+    @Override
+    public SubjectAnalyticsViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        // Inflate the item layout for each subject
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_subject_analytics, parent, false);
+        return new SubjectAnalyticsViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SubjectAnalyticsViewHolder holder, int position) {
+        UserSubjectStats stats = statsList.get(position);
+        Context context = holder.itemView.getContext();
+        long[] trend = stats.getTrend();
+
+        // Attempts recorded without a subject are grouped under "General"
+        holder.tvSubject.setText(stats.getSubject().isEmpty()
+                ? context.getString(R.string.general_subject) : stats.getSubject());
+        holder.tvScores.setText(context.getString(R.string.analytics_scores,
+                Math.round(stats.getAccuracy() * 100), stats.getBestEarned(), stats.getAverageEarned()));
+        holder.tvAttempts.setText(context.getString(R.string.analytics_attempts,
+                stats.getAttemptCount(), stats.getTotalPoints()));
+        holder.tvStreak.setText(context.getString(R.string.analytics_streak,
+                stats.getCurrentStreak(today), stats.getLongestStreak()));
+        holder.tvTrend.setText(context.getString(R.string.analytics_trend,
+                trend.length, sparkline(trend)));
+    }
+
+    @Override
+    public int getItemCount() {
+        return statsList.size();
+    }
+
+    /**
+     * Replaces the displayed stats.
+     *
+     * @param newStatsList The stats to display, one per subject.
+     * @param today        The current local epoch day, see {@link UserSubjectStats#toEpochDay(long)}.
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    public void updateData(List<UserSubjectStats> newStatsList, long today) {
+        this.statsList = newStatsList;
+        this.today = today;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Renders values as a row of bar characters scaled between their minimum and maximum.
+     *
+     * @param values The values, oldest first.
+     * @return The sparkline.
+     */
+    private static String sparkline(long[] values) {
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        StringBuilder out = new StringBuilder(values.length);
+        for (long value : values) {
+            int level = max == min ? SPARKS.length / 2
+                    : (int) ((value - min) * (SPARKS.length - 1) / (max - min));
+            out.append(SPARKS[level]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * ViewHolder class for the SubjectAnalyticsAdapter. Holds references to the UI elements
+     * of each subject card.
+     */
+    public static class SubjectAnalyticsViewHolder extends RecyclerView.ViewHolder {
+        TextView tvSubject, tvScores, tvAttempts, tvStreak, tvTrend;
+
+        SubjectAnalyticsViewHolder(@NonNull View itemView) {
+            super(itemView);
+            // Initialize TextViews from the item layout
+            tvSubject = itemView.findViewById(R.id.tvAnalyticsSubject);
+            tvScores = itemView.findViewById(R.id.tvAnalyticsScores);
+            tvAttempts = itemView.findViewById(R.id.tvAnalyticsAttempts);
+            tvStreak = itemView.findViewById(R.id.tvAnalyticsStreak);
+            tvTrend = itemView.findViewById(R.id.tvAnalyticsTrend);
+        }
+    }
+}
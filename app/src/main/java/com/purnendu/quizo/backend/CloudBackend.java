@@ -0,0 +1,115 @@
+package com.purnendu.quizo.backend;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.leaderboard.FirestoreLeaderboardRepository;
+import com.purnendu.quizo.leaderboard.InMemoryLeaderboardRepository;
+import com.purnendu.quizo.leaderboard.LeaderboardRepository;
+import com.purnendu.quizo.sync.CloudSync;
+import com.purnendu.quizo.sync.FirestoreCloudSync;
+import com.purnendu.quizo.sync.InMemoryCloudSync;
+
+/**
+ * The cloud backend of the Quizo application: the {@link LeaderboardRepository} leaderboard reads
+ * go through and the {@link CloudSync} score writes go through. Nothing else in the app talks to
+ * Firestore, so swapping the backend moves the leaderboard, ranking and sync paths together.
+ * <p>
+ * The default backend is Firebase Firestore. A local one, built with
+ * {@link #simulated(InMemoryLeaderboardRepository, SimulatedNetwork)} over a generated or
+ * file-loaded leaderboard of any size, can be installed with {@link #install(CloudBackend)} before
+ * the first use, so the leaderboard and sync paths can be load-tested without a network.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for CloudBackend
+public final class CloudBackend {
+
+    /**
+     * The backend in use, or {@code null} until the first use.
+     */
+    private static CloudBackend instance = null;
+
+    /**
+     * The source of leaderboard reads.
+     */
+    private final LeaderboardRepository leaderboardRepository;
+
+    /**
+     * The destination of score writes.
+     */
+    private final CloudSync cloudSync;
+
+    /**
+     * Constructs a new {@link CloudBackend}.
+     *
+     * @param leaderboardRepository The source of leaderboard reads.
+     * @param cloudSync             The destination of score writes.
+     */
+    public CloudBackend(@NonNull LeaderboardRepository leaderboardRepository, @NonNull CloudSync cloudSync) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.cloudSync = cloudSync;
+    }
+
+    /**
+     * Returns the backend in use. If none was installed, the Firestore backend is used from now on.
+     *
+     * @return The backend in use.
+     */
+    public static synchronized CloudBackend getInstance() {
+        if (instance == null) {
+            instance = new CloudBackend(FirestoreLeaderboardRepository.getInstance(),
+                    FirestoreCloudSync.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Installs the backend to use instead of Firestore. Must be called before anything reads the
+     * leaderboard or uploads a score, since the leaderboard cache and the sync worker keep the
+     * backend they were created with.
+     *
+     * @param backend The backend to use.
+     * @throws IllegalStateException If a backend is already in use.
+     */
+    public static synchronized void install(@NonNull CloudBackend backend) {
+        if (instance != null) {
+            throw new IllegalStateException("A cloud backend is already in use");
+        }
+        instance = backend;
+    }
+
+    /**
+     * Creates a local backend over an in-memory leaderboard, behind a simulated network. Uploaded
+     * scores are added to the same leaderboard the reads come from.
+     *
+     * @param players The players of the leaderboard, for example from
+     *                {@link InMemoryLeaderboardRepository#generate(int, long)} or
+     *                {@link InMemoryLeaderboardRepository#load(java.io.File)}.
+     * @param network The simulated network between the app and the leaderboard.
+     * @return The local backend.
+     */
+    public static CloudBackend simulated(@NonNull InMemoryLeaderboardRepository players,
+                                         @NonNull SimulatedNetwork network) {
+        return new CloudBackend(new SimulatedLeaderboardRepository(players, network),
+                new SimulatedCloudSync(new InMemoryCloudSync(players), network));
+    }
+
+    /**
+     * Returns the source of leaderboard reads.
+     *
+     * @return The leaderboard repository.
+     */
+    public LeaderboardRepository getLeaderboardRepository() {
+        return leaderboardRepository;
+    }
+
+    /**
+     * Returns the destination of score writes.
+     *
+     * @return The cloud sync.
+     */
+    public CloudSync getCloudSync() {
+        return cloudSync;
+    }
+}
@@ -0,0 +1,54 @@
+package com.purnendu.quizo.backend;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.sync.CloudSync;
+import com.purnendu.quizo.sync.ScoreUpdate;
+
+import java.io.IOException;
+
+/**
+ * A {@link CloudSync} that puts a {@link SimulatedNetwork} in front of another one, usually an
+ * {@link com.purnendu.quizo.sync.InMemoryCloudSync}: every write waits for the network's latency,
+ * may fail before reaching the backend, and may be applied but reported as failed because its
+ * acknowledgement was lost, which exercises the idempotency of retried uploads.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for SimulatedCloudSync
+public final class SimulatedCloudSync implements CloudSync {
+
+    /**
+     * The sync applying the writes.
+     */
+    private final CloudSync backend;
+
+    /**
+     * The simulated network in front of it.
+     */
+    private final SimulatedNetwork network;
+
+    /**
+     * Constructs a new {@link SimulatedCloudSync}.
+     *
+     * @param backend The sync applying the writes.
+     * @param network The simulated network in front of it.
+     */
+    public SimulatedCloudSync(@NonNull CloudSync backend, @NonNull SimulatedNetwork network) {
+        this.backend = backend;
+        this.network = network;
+    }
+
+    @Override
+    public void push(@NonNull ScoreUpdate update) throws Exception {
+        network.await();
+        if (network.nextCallFails()) {
+            throw new IOException("Simulated network failure");
+        }
+        backend.push(update);
+        if (network.nextAckLost()) {
+            throw new IOException("Simulated lost acknowledgement");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.purnendu.quizo.backend;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.leaderboard.LeaderboardPage;
+import com.purnendu.quizo.leaderboard.LeaderboardRepository;
+import com.purnendu.quizo.leaderboard.PlayerStanding;
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link LeaderboardRepository} that puts a {@link SimulatedNetwork} in front of another one,
+ * usually an {@link com.purnendu.quizo.leaderboard.InMemoryLeaderboardRepository}: every read waits
+ * for the network's latency and may fail with an {@link IOException}, and every live update is
+ * delayed, in order.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for SimulatedLeaderboardRepository
+public final class SimulatedLeaderboardRepository implements LeaderboardRepository {
+
+    /**
+     * The repository answering the reads.
+     */
+    private final LeaderboardRepository backend;
+
+    /**
+     * The simulated network in front of it.
+     */
+    private final SimulatedNetwork network;
+
+    /**
+     * Constructs a new {@link SimulatedLeaderboardRepository}.
+     *
+     * @param backend The repository answering the reads.
+     * @param network The simulated network in front of it.
+     */
+    public SimulatedLeaderboardRepository(@NonNull LeaderboardRepository backend, @NonNull SimulatedNetwork network) {
+        this.backend = backend;
+        this.network = network;
+    }
+
+    @Override
+    public void loadPage(@Nullable LeaderBoard after, int pageSize, @NonNull Executor deliverOn,
+                         @NonNull Callback<LeaderboardPage> callback) {
+        network.executor().execute(() -> {
+            if (arrives(deliverOn, callback)) {
+                backend.loadPage(after, pageSize, deliverOn, callback);
+            }
+        });
+    }
+
+    @Override
+    public void loadPlayer(@NonNull String email, @NonNull Executor deliverOn,
+                           @NonNull Callback<LeaderBoard> callback) {
+        network.executor().execute(() -> {
+            if (arrives(deliverOn, callback)) {
+                backend.loadPlayer(email, deliverOn, callback);
+            }
+        });
+    }
+
+    @Override
+    public void loadStanding(@NonNull String email, int neighbours, @NonNull Executor deliverOn,
+                             @NonNull Callback<PlayerStanding> callback) {
+        network.executor().execute(() -> {
+            if (arrives(deliverOn, callback)) {
+                backend.loadStanding(email, neighbours, deliverOn, callback);
+            }
+        });
+    }
+
+    @Override
+    public Subscription listenTop(int limit, @NonNull Executor deliverOn, @NonNull TopListener listener) {
+        // Delay every update by the latency, keeping their order
+        Executor serial = AppExecutors.serial(network.executor());
+        return backend.listenTop(limit, task -> serial.execute(() -> {
+            network.awaitQuietly();
+            deliverOn.execute(task);
+        }), listener);
+    }
+
+    /**
+     * Waits for the latency of a read and decides whether it reaches the backend, delivering the
+     * simulated failure if it does not.
+     *
+     * @param deliverOn The executor the callback is invoked on.
+     * @param callback  Receives the failure.
+     * @return {@code true} if the read should be passed to the backend.
+     */
+    private boolean arrives(Executor deliverOn, Callback<?> callback) {
+        network.awaitQuietly();
+        if (network.nextCallFails()) {
+            deliverOn.execute(() -> callback.onError(new IOException("Simulated network failure")));
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package com.purnendu.quizo.backend;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The behaviour of a simulated network between the app and a local backend: a random latency per
+ * call, a rate of calls that fail before reaching the backend, and a rate of writes that reach the
+ * backend but whose acknowledgement is lost. Randomness is seeded, so a load test is reproducible.
+ * <p>
+ * Simulated calls wait on this network's own daemon threads, never on the app's shared pools, so
+ * the latency does not distort the pools being measured.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for SimulatedNetwork
+public final class SimulatedNetwork {
+
+    /**
+     * The shortest latency of a call, in milliseconds.
+     */
+    private final long minLatencyMillis;
+
+    /**
+     * The longest latency of a call, in milliseconds.
+     */
+    private final long maxLatencyMillis;
+
+    /**
+     * The fraction of calls that fail before reaching the backend.
+     */
+    private final double failureRate;
+
+    /**
+     * The fraction of writes whose acknowledgement is lost after the backend applied them.
+     */
+    private final double lostAckRate;
+
+    /**
+     * The seeded source of latencies and failures.
+     */
+    private final Random random;
+
+    /**
+     * The threads simulated calls wait on.
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "simulated-network");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new {@link SimulatedNetwork}.
+     *
+     * @param minLatencyMillis The shortest latency of a call, in milliseconds.
+     * @param maxLatencyMillis The longest latency of a call, in milliseconds.
+     * @param failureRate      The fraction of calls, from 0 to 1, that fail before reaching the backend.
+     * @param lostAckRate      The fraction of writes, from 0 to 1, whose acknowledgement is lost.
+     * @param seed             The seed of the latencies and failures.
+     */
+    public SimulatedNetwork(long minLatencyMillis, long maxLatencyMillis, double failureRate,
+                            double lostAckRate, long seed) {
+        if (minLatencyMillis < 0 || maxLatencyMillis < minLatencyMillis) {
+            throw new IllegalArgumentException("Invalid latency range");
+        }
+        this.minLatencyMillis = minLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.failureRate = failureRate;
+        this.lostAckRate = lostAckRate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns a network without latency or failures, for measuring the backend alone.
+     *
+     * @return The perfect network.
+     */
+    public static SimulatedNetwork perfect() {
+        return new SimulatedNetwork(0L, 0L, 0.0, 0.0, 0L);
+    }
+
+    /**
+     * Returns the executor simulated calls wait on.
+     *
+     * @return The executor.
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Waits for the latency of one call.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void await() throws InterruptedException {
+        long latency;
+        synchronized (random) {
+            latency = minLatencyMillis + (long) (random.nextDouble() * (maxLatencyMillis - minLatencyMillis));
+        }
+        if (latency > 0) {
+            Thread.sleep(latency);
+        }
+    }
+
+    /**
+     * Waits for the latency of one call, restoring the interrupt flag if interrupted.
+     */
+    void awaitQuietly() {
+        try {
+            await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decides whether the next call fails before reaching the backend.
+     *
+     * @return {@code true} if the call fails.
+     */
+    public boolean nextCallFails() {
+        synchronized (random) {
+            return random.nextDouble() < failureRate;
+        }
+    }
+
+    /**
+     * Decides whether the acknowledgement of the next write is lost.
+     *
+     * @return {@code true} if the acknowledgement is lost.
+     */
+    public boolean nextAckLost() {
+        synchronized (random) {
+            return random.nextDouble() < lostAckRate;
+        }
+    }
+}
@@ -50,4 +50,15 @@ public interface AdminDao {
      */
     @Query("SELECT * FROM admin")
     List<Admin> observeAllAdmins();
+
+    /**
+     * Retrieves the {@link com.purnendu.quizo.models.Admin} records with the given username.
+     * The lookup is served by the 'index_admin_username' index, so its cost does not grow with
+     * the number of registered administrators. Usernames are not unique, hence a list is returned.
+     *
+     * @param username The username to look up.
+     * @return A {@link java.util.List} of matching admins, usually holding at most one element.
+     */
+    @Query("SELECT * FROM admin WHERE username = :username")
+    List<Admin> findByUsername(String username);
 }
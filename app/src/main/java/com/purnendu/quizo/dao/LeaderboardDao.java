@@ -0,0 +1,57 @@
+package com.purnendu.quizo.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.purnendu.quizo.models.LeaderboardSnapshotEntry;
+
+import java.util.List;
+
+/**
+ * This interface handles the data access object (DAO) for the cached leaderboard snapshot,
+ * stored as {@link com.purnendu.quizo.models.LeaderboardSnapshotEntry} rows.
+ * It leverages Room Persistence Library annotations such as {@link androidx.room.Dao},
+ * {@link androidx.room.Insert}, {@link androidx.room.Query} and {@link androidx.room.Transaction}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ * @see com.purnendu.quizo.leaderboard.LeaderboardCache
+ */
+@Dao
+public interface LeaderboardDao {
+
+    /**
+     * Retrieves the cached snapshot in rank order.
+     *
+     * @return A {@link java.util.List} of the cached rows, empty if nothing is cached.
+     */
+    @Query("SELECT * FROM leaderboard_snapshot ORDER BY position")
+    List<LeaderboardSnapshotEntry> getSnapshot();
+
+    /**
+     * Deletes the cached snapshot.
+     */
+    @Query("DELETE FROM leaderboard_snapshot")
+    void clearSnapshot();
+
+    /**
+     * Inserts rows of a snapshot.
+     *
+     * @param entries The rows to insert.
+     */
+    @Insert
+    void insertSnapshot(List<LeaderboardSnapshotEntry> entries);
+
+    /**
+     * Replaces the cached snapshot in one transaction, so readers never see a mix of two snapshots.
+     *
+     * @param entries The rows of the new snapshot.
+     */
+    @Transaction
+    default void replaceSnapshot(List<LeaderboardSnapshotEntry> entries) {
+        clearSnapshot();
+        insertSnapshot(entries);
+    }
+}
@@ -0,0 +1,50 @@
+package com.purnendu.quizo.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.purnendu.quizo.models.OutboxEntry;
+
+import java.util.List;
+
+/**
+ * This interface handles the data access object (DAO) for the cloud sync outbox, stored as
+ * {@link com.purnendu.quizo.models.OutboxEntry} rows. Rows are inserted together with their attempt
+ * by {@link UserDao#recordAttemptForSync(com.purnendu.quizo.models.Attempt, String)}; this DAO is
+ * what {@link com.purnendu.quizo.sync.CloudSyncWorker} drains them with.
+ * It leverages Room Persistence Library annotations such as {@link androidx.room.Dao} and
+ * {@link androidx.room.Query}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Dao
+public interface OutboxDao {
+
+    /**
+     * Retrieves the users that have results waiting to be uploaded.
+     *
+     * @return A {@link java.util.List} of emails, empty if the outbox is empty.
+     */
+    @Query("SELECT DISTINCT email FROM cloud_outbox")
+    List<String> getPendingEmails();
+
+    /**
+     * Retrieves the oldest results of a user waiting to be uploaded, oldest first.
+     * Served by the 'index_cloud_outbox_email_created_time' index.
+     *
+     * @param email The email of the user.
+     * @param limit The maximum number of entries to return.
+     * @return A {@link java.util.List} of the pending entries.
+     */
+    @Query("SELECT * FROM cloud_outbox WHERE email = :email ORDER BY created_time, attempt_key LIMIT :limit")
+    List<OutboxEntry> getPending(String email, int limit);
+
+    /**
+     * Deletes uploaded results.
+     *
+     * @param attemptKeys The idempotency keys of the uploaded attempts.
+     */
+    @Query("DELETE FROM cloud_outbox WHERE attempt_key IN (:attemptKeys)")
+    void delete(List<String> attemptKeys);
+}
@@ -5,10 +5,15 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
+import com.purnendu.quizo.models.ImportCheckpoint;
 import com.purnendu.quizo.models.Question;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This interface handles the data access object (DAO) for question-related operations,
@@ -26,18 +31,74 @@ public interface QuestionDao {
 
     /**
      * Inserts a new {@link com.purnendu.quizo.models.Question} into the database.
-     * If a conflict occurs (e.g., a question with the same primary key already exists),
-     * the existing question will be replaced with the new one.
+     * The question must be new (id 0, so an id is assigned). An existing id is rejected rather
+     * than replaced: SQLite's REPLACE deletes the old row without firing the delete triggers that
+     * keep 'topic_stats' and the full-text index in step.
      *
      * @param question The {@link com.purnendu.quizo.models.Question} object to insert.
-     * @return The row ID of the newly inserted row, or -1 if an error occurred.
+     * @return The row ID of the newly inserted row.
+     * @throws android.database.sqlite.SQLiteConstraintException If a question with that id exists.
      */
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    @Insert(onConflict = OnConflictStrategy.ABORT)
     long insertQuestion(Question question);
 
+    /**
+     * Inserts a batch of {@link com.purnendu.quizo.models.Question} objects in a single transaction.
+     * Used by the bulk importer so that each chunk costs one commit instead of one per question.
+     * Like {@link #insertQuestion(Question)}, the questions must be new.
+     *
+     * @param questions The questions to insert.
+     * @return The row IDs of the inserted rows, in the same order as {@code questions}.
+     * @throws android.database.sqlite.SQLiteConstraintException If a question with one of the ids exists.
+     */
+    @Insert(onConflict = OnConflictStrategy.ABORT)
+    long[] insertQuestions(List<Question> questions);
+
+    /**
+     * Saves how far an import has been committed, replacing the previous checkpoint of the source.
+     * Use {@link #insertImportBatch(List, String, long)} to save it together with its batch.
+     *
+     * @param checkpoint The {@link com.purnendu.quizo.models.ImportCheckpoint} to save.
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertImportCheckpoint(ImportCheckpoint checkpoint);
+
+    /**
+     * Inserts one batch of an import like {@link #insertQuestions(List)} and, in the same
+     * transaction, records the checkpoint reached with it. Either both are stored or neither is,
+     * so resuming from {@link #getImportCheckpoint(String)} never inserts a record twice.
+     *
+     * @param questions   The questions to insert.
+     * @param source      The imported document.
+     * @param recordsDone The number of source records consumed once this batch is committed.
+     */
+    @Transaction
+    default void insertImportBatch(List<Question> questions, String source, long recordsDone) {
+        insertQuestions(questions);
+        upsertImportCheckpoint(new ImportCheckpoint(source, recordsDone));
+    }
+
+    /**
+     * Retrieves the checkpoint of an interrupted import.
+     *
+     * @param source The imported document.
+     * @return The number of source records already committed, or {@code null} if there is none.
+     */
+    @Query("SELECT records_done FROM import_checkpoints WHERE source = :source")
+    Long getImportCheckpoint(String source);
+
+    /**
+     * Deletes the checkpoint of an import, once it has completed.
+     *
+     * @param source The imported document.
+     */
+    @Query("DELETE FROM import_checkpoints WHERE source = :source")
+    void deleteImportCheckpoint(String source);
+
     /**
      * Retrieves a random set of {@link com.purnendu.quizo.models.Question} objects for a specific topic.
-     * The questions are ordered randomly using `ORDER BY RANDOM()`.
+     * The questions are ordered randomly using `ORDER BY RANDOM()`, which sorts the entire topic;
+     * quiz sessions should come from {@link com.purnendu.quizo.engine.QuestionPoolCache} instead.
      *
      * @param topic The topic of the questions to retrieve.
      * @return A {@link java.util.List} of randomly ordered {@link com.purnendu.quizo.models.Question} objects.
@@ -45,6 +106,40 @@ public interface QuestionDao {
     @Query("SELECT * FROM questions WHERE topic = :topic ORDER BY RANDOM()")
     List<Question> getRandomQuestionsByTopic(String topic);
 
+    /**
+     * Retrieves the {@link com.purnendu.quizo.models.Question} rows with the given ids.
+     * The order of the returned list is not guaranteed to match {@code ids}.
+     *
+     * @param ids The ids of the questions to load.
+     * @return A {@link java.util.List} of the matching {@link com.purnendu.quizo.models.Question} objects.
+     */
+    @Query("SELECT * FROM questions WHERE id IN (:ids)")
+    List<Question> getQuestionsByIds(List<Integer> ids);
+
+    /**
+     * Loads the {@link com.purnendu.quizo.models.Question} rows with the given ids in one
+     * {@link #getQuestionsByIds(List)} call and returns them in the order of {@code ids}.
+     * Ids without a row (for example, deleted questions) are skipped.
+     *
+     * @param ids The ids of the questions to load, in the wanted order.
+     * @return A {@link java.util.List} of the matching questions, in the order of {@code ids}.
+     */
+    default List<Question> getQuestionsInOrder(List<Integer> ids) {
+        // IN (...) does not preserve order, so restore the requested order by id
+        Map<Integer, Question> byId = new HashMap<>();
+        for (Question question : getQuestionsByIds(ids)) {
+            byId.put(question.getId(), question);
+        }
+        List<Question> ordered = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            Question question = byId.get(id);
+            if (question != null) {
+                ordered.add(question);
+            }
+        }
+        return ordered;
+    }
+
     /**
      * Retrieves all {@link com.purnendu.quizo.models.Question} objects for a specific topic.
      * The order of questions is not guaranteed.
@@ -55,23 +150,81 @@ public interface QuestionDao {
     @Query("SELECT * FROM questions WHERE topic = :topic")
     List<Question> getQuestionsByTopic(String topic);
 
+    /**
+     * Retrieves the next page of questions in a topic using keyset pagination on {@code (topic, id)}.
+     * The topic index keeps rows in id order, so this is an index seek to {@code afterId}
+     * followed by a bounded scan, independent of how deep into the topic the page lies.
+     *
+     * @param topic   The topic of the questions to retrieve.
+     * @param afterId The id of the last question already loaded, or 0 for the first page.
+     * @param limit   The maximum number of questions to return.
+     * @return Up to {@code limit} questions with ids greater than {@code afterId}, in ascending id order.
+     */
+    @Query("SELECT * FROM questions WHERE topic = :topic AND id > :afterId ORDER BY id ASC LIMIT :limit")
+    List<Question> getQuestionsPageAfter(String topic, int afterId, int limit);
+
+    /**
+     * Retrieves the previous page of questions in a topic using keyset pagination on {@code (topic, id)}.
+     *
+     * @param topic    The topic of the questions to retrieve.
+     * @param beforeId The id of the first question currently loaded.
+     * @param limit    The maximum number of questions to return.
+     * @return Up to {@code limit} questions with ids less than {@code beforeId}, in <b>descending</b> id order.
+     */
+    @Query("SELECT * FROM questions WHERE topic = :topic AND id < :beforeId ORDER BY id DESC LIMIT :limit")
+    List<Question> getQuestionsPageBefore(String topic, int beforeId, int limit);
+
+    /**
+     * Searches the question text and all four options through the {@code questions_fts} index.
+     * Results are ranked by their number of term hits. FTS4 {@code offsets()} reports four integers
+     * per hit, so the hit count is the number of integers in that list divided by four. Rows
+     * matching more terms, or the same term in several columns, come first; ties keep id order.
+     * <p>
+     * {@code offsets()} re-reads and re-tokenizes each matched row, so only the first 1000 matches
+     * in id order are ranked. A term matching the whole bank then costs the same as one matching
+     * 1000 questions, at the price of ranking only those; the user narrows such a search anyway.
+     *
+     * @param match An FTS4 MATCH expression, typically built with
+     *              {@link com.purnendu.quizo.utilities.FtsQuery#prefixQuery(String)}.
+     * @param limit The maximum number of questions to return.
+     * @return Up to {@code limit} matching questions, best matches first.
+     */
+    @Query("SELECT questions.* FROM (SELECT rowid AS id, offsets(questions_fts) AS hits " +
+            "FROM questions_fts WHERE questions_fts MATCH :match LIMIT 1000) AS matched " +
+            "JOIN questions ON questions.id = matched.id " +
+            "ORDER BY (length(matched.hits) - length(replace(matched.hits, ' ', '')) + 1) / 4 DESC, " +
+            "questions.id ASC LIMIT :limit")
+    List<Question> searchQuestions(String match, int limit);
+
     /**
      * Retrieves the count of questions for a specific topic.
+     * The count is read from the trigger-maintained 'topic_stats' table, so this is a single
+     * primary-key lookup regardless of how many questions the topic holds.
      *
      * @param topic The topic for which to count questions.
-     * @return The number of questions associated with the given topic.
+     * @return The number of questions associated with the given topic, or 0 if none exist.
      */
-    @Query("SELECT COUNT(*) FROM questions WHERE topic = :topic")
+    @Query("SELECT COALESCE((SELECT question_count FROM topic_stats WHERE topic = :topic), 0)")
     int getQuestionCountByTopic(String topic);
 
     /**
      * Retrieves a list of all distinct topics present in the 'questions' table.
+     * Topics are read from the trigger-maintained 'topic_stats' table, which only holds
+     * topics with at least one question, instead of a DISTINCT scan of 'questions'.
      *
-     * @return A {@link java.util.List} of unique topic strings.
+     * @return A {@link java.util.List} of unique topic strings, in alphabetical order.
      */
-    @Query("SELECT DISTINCT topic FROM questions")
+    @Query("SELECT topic FROM topic_stats ORDER BY topic")
     List<String> getDistinctTopics();
 
+    /**
+     * Checks whether the 'questions' table holds any question, reading at most one row.
+     *
+     * @return {@code true} if there is at least one question.
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM questions)")
+    boolean hasQuestions();
+
     /**
      * Deletes a {@link com.purnendu.quizo.models.Question} from the database.
      * The question is identified by its primary key.
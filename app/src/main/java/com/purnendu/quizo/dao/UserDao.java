@@ -8,9 +8,14 @@ import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.purnendu.quizo.models.Attempt;
+import com.purnendu.quizo.models.HistorySummary;
+import com.purnendu.quizo.models.OutboxEntry;
 import com.purnendu.quizo.models.User;
+import com.purnendu.quizo.models.UserStats;
+import com.purnendu.quizo.models.UserSubjectStats;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * This interface handles the data access object (DAO) for user-related operations,
@@ -39,13 +44,100 @@ public interface UserDao {
 
     /**
      * Inserts a new {@link com.purnendu.quizo.models.Attempt} record into the database.
-     * If an attempt with the same primary key (createdTimeAttempt) already exists,
-     * the existing attempt will be replaced with the new one.
+     * The attempt id is auto-generated, so attempts recorded in the same millisecond are all kept.
+     * Use {@link #recordAttempt(Attempt)} to keep the user's stats in step.
      *
      * @param attempt The {@link com.purnendu.quizo.models.Attempt} object to insert.
+     * @return The generated attempt id.
+     */
+    @Insert
+    long insertAttempt(Attempt attempt);
+
+    /**
+     * Makes sure a 'user_stats' row exists for the given user.
+     *
+     * @param email The email of the user.
+     */
+    @Query("INSERT OR IGNORE INTO user_stats (email, total_points, attempt_count) VALUES (:email, 0, 0)")
+    void ensureUserStats(String email);
+
+    /**
+     * Adds one attempt and its points to the user's totals.
+     *
+     * @param email  The email of the user.
+     * @param earned The points earned in the attempt.
+     */
+    @Query("UPDATE user_stats SET total_points = total_points + :earned, " +
+            "attempt_count = attempt_count + 1 WHERE email = :email")
+    void addToUserStats(String email, long earned);
+
+    /**
+     * Retrieves the maintained stats of a user in one subject.
+     *
+     * @param email   The email of the user.
+     * @param subject The subject.
+     * @return The {@link com.purnendu.quizo.models.UserSubjectStats}, or {@code null} if there are none yet.
+     */
+    @Query("SELECT * FROM user_subject_stats WHERE email = :email AND subject = :subject")
+    UserSubjectStats getUserSubjectStats(String email, String subject);
+
+    /**
+     * Inserts or replaces the stats of a user in one subject.
+     *
+     * @param stats The {@link com.purnendu.quizo.models.UserSubjectStats} to store.
      */
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertAttempt(Attempt attempt);
+    void upsertUserSubjectStats(UserSubjectStats stats);
+
+    /**
+     * Records a finished quiz: updates the user's overall totals and per-subject analytics, stamps the new
+     * overall points on the attempt and inserts it, all in one transaction. The cost is constant
+     * no matter how many attempts the user already has, and concurrent completions cannot lose
+     * an update.
+     *
+     * @param attempt The attempt to record. Its id and overall points are set on return.
+     * @return The same attempt.
+     */
+    @Transaction
+    default Attempt recordAttempt(Attempt attempt) {
+        String email = attempt.getEmail();
+        String subject = attempt.getSubject() == null ? "" : attempt.getSubject();
+        ensureUserStats(email);
+        addToUserStats(email, attempt.getEarned());
+        // Fold the attempt into the subject's row; a single primary key read and write
+        upsertUserSubjectStats(UserSubjectStats.plus(getUserSubjectStats(email, subject), email,
+                subject, attempt.getCreatedTime(), attempt.getCorrect(), attempt.getIncorrect(),
+                attempt.getEarned()));
+        attempt.setOverallPoints(getOverAllPoints(email));
+        attempt.setId(insertAttempt(attempt));
+        return attempt;
+    }
+
+    /**
+     * Inserts a result waiting to be uploaded to the cloud leaderboard.
+     * Use {@link #recordAttemptForSync(Attempt, String)} to insert it together with its attempt.
+     *
+     * @param entry The {@link com.purnendu.quizo.models.OutboxEntry} to insert.
+     */
+    @Insert
+    void insertOutboxEntry(OutboxEntry entry);
+
+    /**
+     * Records a finished quiz like {@link #recordAttempt(Attempt)} and, in the same transaction,
+     * queues its result in the 'cloud_outbox' table for {@link com.purnendu.quizo.sync.CloudSyncWorker}.
+     * Either both are stored or neither is, so no recorded attempt is ever missing from the upload.
+     *
+     * @param attempt  The attempt to record. Its id and overall points are set on return.
+     * @param userName The display name of the user, shown on the leaderboard.
+     * @return The same attempt.
+     */
+    @Transaction
+    default Attempt recordAttemptForSync(Attempt attempt, String userName) {
+        recordAttempt(attempt);
+        insertOutboxEntry(new OutboxEntry(UUID.randomUUID().toString(), attempt.getEmail(), userName,
+                attempt.getEarned(), attempt.getOverallPoints(), attempt.getCreatedTime()));
+        return attempt;
+    }
 
     /**
      * Updates an existing {@link com.purnendu.quizo.models.User} record in the database.
@@ -64,6 +156,58 @@ public interface UserDao {
     @Query("SELECT * FROM user")
     List<User> observeAllUser();
 
+    /**
+     * Retrieves the {@link com.purnendu.quizo.models.User} records with the given username.
+     * The lookup is served by the 'index_user_username' index, so its cost does not grow with
+     * the number of registered users. Usernames are not unique, hence a list is returned.
+     *
+     * @param username The username to look up.
+     * @return A {@link java.util.List} of matching users, usually holding at most one element.
+     */
+    @Query("SELECT * FROM user WHERE username = :username")
+    List<User> findByUsername(String username);
+
+    /**
+     * Retrieves one page of a user's {@link com.purnendu.quizo.models.Attempt} records, newest first,
+     * optionally filtered by subject and by a creation-time range. Paging is keyset based: pass the
+     * creation time and id of the last attempt of the previous page (or {@link Long#MAX_VALUE} for
+     * both to start), so every page is a seek on the {@code (email, createdTimeAttempt)} index
+     * regardless of how deep the user has scrolled.
+     *
+     * @param email      The email address of the user.
+     * @param subject    The subject to keep, or {@code null} for every subject.
+     * @param fromTime   The earliest creation time to include (inclusive).
+     * @param toTime     The latest creation time to include (inclusive).
+     * @param beforeTime The creation time of the last attempt already shown.
+     * @param beforeId   The id of the last attempt already shown.
+     * @param limit      The maximum number of attempts to return.
+     * @return A {@link java.util.List} of up to {@code limit} attempts, newest first.
+     */
+    @Query("SELECT * FROM attempt WHERE email = :email " +
+            "AND (:subject IS NULL OR subject = :subject) " +
+            "AND createdTimeAttempt BETWEEN :fromTime AND :toTime " +
+            "AND createdTimeAttempt <= :beforeTime " +
+            "AND (createdTimeAttempt < :beforeTime OR id < :beforeId) " +
+            "ORDER BY createdTimeAttempt DESC, id DESC LIMIT :limit")
+    List<Attempt> getAttemptsPage(String email, String subject, long fromTime, long toTime,
+                                  long beforeTime, long beforeId, int limit);
+
+    /**
+     * Computes the number of attempts and the points earned by a user, with the same filters as
+     * {@link #getAttemptsPage(String, String, long, long, long, long, int)}.
+     *
+     * @param email    The email address of the user.
+     * @param subject  The subject to keep, or {@code null} for every subject.
+     * @param fromTime The earliest creation time to include (inclusive).
+     * @param toTime   The latest creation time to include (inclusive).
+     * @return The {@link com.purnendu.quizo.models.HistorySummary} of the matching attempts.
+     */
+    @Query("SELECT COUNT(*) AS attempt_count, COALESCE(SUM(earned), 0) AS total_points " +
+            "FROM attempt WHERE email = :email " +
+            "AND (:subject IS NULL OR subject = :subject) " +
+            "AND createdTimeAttempt BETWEEN :fromTime AND :toTime")
+    HistorySummary getHistorySummary(String email, String subject, long fromTime, long toTime);
+
     /**
      * Retrieves all {@link com.purnendu.quizo.models.Attempt} records associated with a specific user email.
      * This query uses a {@link androidx.room.Transaction} to ensure atomicity if multiple database
@@ -77,15 +221,32 @@ public interface UserDao {
     List<Attempt> getUserAndAttemptsWithSameEmail(String email);
 
     /**
-     * Calculates the sum of 'earned' points from all {@link com.purnendu.quizo.models.Attempt} records
-     * for a specific user email.
-     * This query uses a {@link androidx.room.Transaction} to ensure atomicity.
+     * Returns the sum of 'earned' points from all {@link com.purnendu.quizo.models.Attempt} records
+     * for a specific user email. The value is read from the maintained 'user_stats' row rather than
+     * summed over the user's history.
      *
-     * @param email The email address of the user whose total points are to be calculated.
+     * @param email The email address of the user whose total points are to be returned.
      * @return The sum of earned points for the specified user, or 0 if no attempts are found.
      */
-    @Transaction
-    @Query("SELECT SUM(earned) FROM attempt WHERE email = :email")
+    @Query("SELECT COALESCE((SELECT total_points FROM user_stats WHERE email = :email), 0)")
     long getOverAllPoints(String email);
 
+    /**
+     * Retrieves the maintained totals of a user.
+     *
+     * @param email The email address of the user.
+     * @return The {@link com.purnendu.quizo.models.UserStats}, or {@code null} if the user has no attempts.
+     */
+    @Query("SELECT * FROM user_stats WHERE email = :email")
+    UserStats getUserStats(String email);
+
+    /**
+     * Retrieves the maintained per-subject totals of a user, ordered by subject.
+     *
+     * @param email The email address of the user.
+     * @return A {@link java.util.List} of {@link com.purnendu.quizo.models.UserSubjectStats}.
+     */
+    @Query("SELECT * FROM user_subject_stats WHERE email = :email ORDER BY subject")
+    List<UserSubjectStats> getUserSubjectStats(String email);
+
 }
@@ -0,0 +1,219 @@
+package com.purnendu.quizo.databases;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteCantOpenDatabaseException;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Moves an existing install from the three database files the app used to have into the single
+ * {@link QuizoDatabase} file, once.
+ * <p>
+ * The former user database holds the most data and has the full migration history, so its file is
+ * adopted as is by {@link #adoptUserDatabase(Context, String)} before Room opens it, and Room then
+ * upgrades it with the regular migrations, {@link QuizoDatabase#MIGRATION_8_9} adding the shared tables. The rows of
+ * the former question and admin databases are then copied in by this callback when the database is
+ * opened, and each old file is deleted once its copy has committed. Their base tables never changed
+ * between versions, so files of any old version can be copied; the topic counters and the
+ * full-text index are filled by the triggers on 'questions' as the rows arrive.
+ * <p>
+ * Rows are inserted with {@code INSERT OR IGNORE} and keep their ids, so an import interrupted
+ * after its commit but before the old file was deleted is harmless when it runs again. An old file
+ * that cannot be opened is left for the next open; one without the table has nothing to import and
+ * is deleted. Any other failure rolls the copy back and is thrown to the caller opening the database.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for LegacyDatabaseImporter
+public final class LegacyDatabaseImporter extends RoomDatabase.Callback {
+
+    /**
+     * The file name of the former user database.
+     */
+    public static final String LEGACY_USER_DB_NAME = "com_quizo_user_db";
+
+    /**
+     * The file name of the former question database.
+     */
+    public static final String LEGACY_QUESTION_DB_NAME = "com_quizo_question_db";
+
+    /**
+     * The file name of the former admin database.
+     */
+    public static final String LEGACY_ADMIN_DB_NAME = "com_quizo_admin_db";
+
+    /**
+     * The columns of the 'questions' table, the same in every version of the question database.
+     */
+    private static final String[] QUESTION_COLUMNS = {"id", "topic", "question_text", "option_a",
+            "option_b", "option_c", "option_d", "correct_answer"};
+
+    /**
+     * The columns of the 'admin' table, the same in every version of the admin database.
+     */
+    private static final String[] ADMIN_COLUMNS = {"username", "email", "password"};
+
+    /**
+     * The application context, used to find and delete the old files.
+     */
+    private final Context context;
+
+    /**
+     * Constructs a new {@link LegacyDatabaseImporter}.
+     *
+     * @param context The application context.
+     */
+    public LegacyDatabaseImporter(@NonNull Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Renames the former user database file, with its write-ahead log or rollback journal, to the
+     * file of the merged database, unless the merged database already exists. Must be called
+     * before Room opens the merged database, while no connection to either file is open. The
+     * shared-memory index of the log is deleted instead of renamed; SQLite rebuilds it from the log.
+     *
+     * @param context The application context.
+     * @param dbName  The file name of the merged database.
+     */
+    public static void adoptUserDatabase(@NonNull Context context, @NonNull String dbName) {
+        File target = context.getDatabasePath(dbName);
+        File legacy = context.getDatabasePath(LEGACY_USER_DB_NAME);
+        if (target.exists() || !legacy.exists()) {
+            return; // Already merged, or a fresh install
+        }
+        // Move the log first, so a failure part way leaves the old database complete
+        for (String suffix : new String[]{"-wal", "-journal"}) {
+            File legacyLog = new File(legacy.getPath() + suffix);
+            if (legacyLog.exists() && !legacyLog.renameTo(new File(target.getPath() + suffix))) {
+                return;
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        new File(legacy.getPath() + "-shm").delete();
+        //noinspection ResultOfMethodCallIgnored
+        legacy.renameTo(target);
+    }
+
+    /**
+     * Copies the rows of the former question and admin databases, if their files still exist.
+     * Runs after the 'topic_stats' triggers are installed, outside any transaction.
+     *
+     * @param db The merged database.
+     */
+    @Override
+    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+        super.onOpen(db);
+        importTable(db, LEGACY_QUESTION_DB_NAME, "questions", QUESTION_COLUMNS);
+        importTable(db, LEGACY_ADMIN_DB_NAME, "admin", ADMIN_COLUMNS);
+    }
+
+    /**
+     * Copies one table from an old database file in a single transaction, then deletes the file.
+     * If the file cannot be opened it is kept, and the copy is tried again on the next open.
+     *
+     * @param db         The merged database.
+     * @param legacyName The file name of the old database.
+     * @param table      The table to copy; it has the same name and columns in both databases.
+     * @param columns    The columns to copy.
+     * @throws android.database.SQLException If reading the old file or writing the merged one fails;
+     *                                       the copy is rolled back and the old file is kept.
+     */
+    private void importTable(SupportSQLiteDatabase db, String legacyName, String table, String[] columns) {
+        File legacyFile = context.getDatabasePath(legacyName);
+        if (!legacyFile.exists()) {
+            return;
+        }
+        String columnList = String.join(", ", columns);
+        StringBuilder placeholders = new StringBuilder("?");
+        for (int i = 1; i < columns.length; i++) {
+            placeholders.append(", ?");
+        }
+
+        SQLiteDatabase legacy;
+        try {
+            legacy = SQLiteDatabase.openDatabase(legacyFile.getPath(), null,
+                    SQLiteDatabase.OPEN_READWRITE);
+        } catch (SQLiteCantOpenDatabaseException e) {
+            return; // Cannot be opened now; retried on next open
+        }
+
+        try (SQLiteDatabase source = legacy) {
+            if (!hasTable(source, table)) {
+                // Created but never written to, so there is nothing to import
+                context.deleteDatabase(legacyName);
+                return;
+            }
+            db.beginTransaction();
+            try (Cursor cursor = source.rawQuery("SELECT " + columnList + " FROM " + table, null);
+                 SupportSQLiteStatement insert = db.compileStatement("INSERT OR IGNORE INTO " + table +
+                         " (" + columnList + ") VALUES (" + placeholders + ")")) {
+                while (cursor.moveToNext()) {
+                    for (int i = 0; i < columns.length; i++) {
+                        bindColumn(insert, i + 1, cursor, i);
+                    }
+                    insert.executeInsert();
+                }
+                db.setTransactionSuccessful();
+            } catch (IOException e) {
+                // Only closing the insert statement declares this; report it like any SQLite failure
+                throw new SQLException("Failed to import " + table, e);
+            } finally {
+                db.endTransaction();
+            }
+        }
+        context.deleteDatabase(legacyName); // Also removes its journal files
+    }
+
+    /**
+     * Checks whether a database has a table of the given name.
+     *
+     * @param database The database.
+     * @param table    The table name.
+     * @return {@code true} if the table exists.
+     */
+    private static boolean hasTable(SQLiteDatabase database, String table) {
+        try (Cursor cursor = database.rawQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?", new String[]{table})) {
+            return cursor.moveToFirst();
+        }
+    }
+
+    /**
+     * Binds a column of the current cursor row to a statement argument, keeping its SQLite type.
+     *
+     * @param statement The statement.
+     * @param index     The 1-based argument index.
+     * @param cursor    The cursor, on a row.
+     * @param column    The 0-based column index.
+     */
+    private static void bindColumn(SupportSQLiteStatement statement, int index, Cursor cursor, int column) {
+        switch (cursor.getType(column)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                statement.bindLong(index, cursor.getLong(column));
+                break;
+            case Cursor.FIELD_TYPE_FLOAT:
+                statement.bindDouble(index, cursor.getDouble(column));
+                break;
+            case Cursor.FIELD_TYPE_STRING:
+                statement.bindString(index, cursor.getString(column));
+                break;
+            case Cursor.FIELD_TYPE_BLOB:
+                statement.bindBlob(index, cursor.getBlob(column));
+                break;
+            default:
+                statement.bindNull(index);
+                break;
+        }
+    }
+}
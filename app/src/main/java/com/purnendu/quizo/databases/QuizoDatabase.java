@@ -0,0 +1,393 @@
+package com.purnendu.quizo.databases;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Database;
+import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.purnendu.quizo.dao.AdminDao;
+import com.purnendu.quizo.dao.LeaderboardDao;
+import com.purnendu.quizo.dao.OutboxDao;
+import com.purnendu.quizo.dao.QuestionDao;
+import com.purnendu.quizo.dao.UserDao;
+import com.purnendu.quizo.models.Admin;
+import com.purnendu.quizo.models.Attempt;
+import com.purnendu.quizo.models.ImportCheckpoint;
+import com.purnendu.quizo.models.LeaderboardSnapshotEntry;
+import com.purnendu.quizo.models.OutboxEntry;
+import com.purnendu.quizo.models.Question;
+import com.purnendu.quizo.models.QuestionFts;
+import com.purnendu.quizo.models.TopicStats;
+import com.purnendu.quizo.models.User;
+import com.purnendu.quizo.models.UserStats;
+import com.purnendu.quizo.models.UserSubjectStats;
+
+/**
+ * The single Room database of the Quizo application, in one SQLite file, so the app pays for one
+ * connection pool, one page cache and one write-ahead log instead of three.
+ * It contains the {@link com.purnendu.quizo.models.User} and {@link com.purnendu.quizo.models.Attempt} entities,
+ * plus the {@link com.purnendu.quizo.models.UserStats} and {@link com.purnendu.quizo.models.UserSubjectStats} totals
+ * that are updated together with every attempt, the cached
+ * {@link com.purnendu.quizo.models.LeaderboardSnapshotEntry} leaderboard snapshot and the
+ * {@link com.purnendu.quizo.models.OutboxEntry} results waiting to be uploaded, the
+ * {@link com.purnendu.quizo.models.Question} bank with its {@link com.purnendu.quizo.models.TopicStats}
+ * counters, {@link com.purnendu.quizo.models.QuestionFts} full-text index and
+ * {@link com.purnendu.quizo.models.ImportCheckpoint} import checkpoints, and the
+ * {@link com.purnendu.quizo.models.Admin} accounts.
+ * <p>
+ * Configuration:
+ * <ul>
+ * <li>{@code entities}: Specifies all of the above classes as entities.</li>
+ * <li>{@code version}: Sets the database version to 10. Versions 2 to 8 are those of the former
+ * user database, whose file this database continues; {@link #MIGRATION_8_9} adds the question and
+ * admin tables, and {@link LegacyDatabaseImporter} moves the rows of the former question and admin
+ * databases in. {@link #MIGRATION_9_10} adds the import checkpoints.</li>
+ * <li>{@code exportSchema}: Set to {@code false} as schema export is not required for this application.</li>
+ * </ul>
+ * The 'topic_stats' table is maintained by SQLite triggers (see {@link #TOPIC_STATS_CALLBACK}),
+ * so topic counts and the topic list are primary-key lookups instead of scans of 'questions'.
+ * The database is tuned by {@link #PERFORMANCE_CALLBACK}.
+ * This class provides abstract methods to access the {@link com.purnendu.quizo.dao.UserDao}, the
+ * {@link com.purnendu.quizo.dao.LeaderboardDao}, the {@link com.purnendu.quizo.dao.OutboxDao}, the
+ * {@link com.purnendu.quizo.dao.QuestionDao} and the {@link com.purnendu.quizo.dao.AdminDao}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Database(
+        entities = {User.class, Attempt.class, UserStats.class, UserSubjectStats.class,
+                LeaderboardSnapshotEntry.class, OutboxEntry.class, Question.class, TopicStats.class,
+                QuestionFts.class, Admin.class, ImportCheckpoint.class},
+        version = 10,
+        exportSchema = false
+)
+//Class for QuizoDatabase
+public abstract class QuizoDatabase extends RoomDatabase {
+
+    /**
+     * {@code PRAGMA synchronous} for the write-ahead log. With {@code NORMAL} a commit no longer
+     * waits for an fsync of the log; the log is synced at checkpoints, so a power cut can lose the
+     * last commits but never corrupts the database. On host SQLite it halved the commit time of
+     * the attempt-recording transaction compared with {@code FULL}.
+     */
+    static final String SYNCHRONOUS = "NORMAL";
+
+    /**
+     * {@code PRAGMA mmap_size}, in bytes. On host SQLite, memory-mapped reads were no faster than
+     * the page cache for this workload, and an I/O error on a mapped page kills the process instead
+     * of failing the query, so mapping stays off.
+     */
+    static final long MMAP_SIZE_BYTES = 0L;
+
+    /**
+     * Trigger that counts a newly inserted question towards its topic.
+     */
+    private static final String TRIGGER_QUESTION_INSERT =
+            "CREATE TRIGGER IF NOT EXISTS trg_questions_insert AFTER INSERT ON questions " +
+                    "BEGIN " +
+                    "INSERT OR IGNORE INTO topic_stats (topic, question_count) VALUES (NEW.topic, 0); " +
+                    "UPDATE topic_stats SET question_count = question_count + 1 WHERE topic = NEW.topic; " +
+                    "END";
+
+    /**
+     * Trigger that removes a deleted question from its topic count and drops empty topics.
+     */
+    private static final String TRIGGER_QUESTION_DELETE =
+            "CREATE TRIGGER IF NOT EXISTS trg_questions_delete AFTER DELETE ON questions " +
+                    "BEGIN " +
+                    "UPDATE topic_stats SET question_count = question_count - 1 WHERE topic = OLD.topic; " +
+                    "DELETE FROM topic_stats WHERE topic = OLD.topic AND question_count <= 0; " +
+                    "END";
+
+    /**
+     * Trigger that moves a question's count when its topic changes.
+     */
+    private static final String TRIGGER_QUESTION_UPDATE_TOPIC =
+            "CREATE TRIGGER IF NOT EXISTS trg_questions_update_topic AFTER UPDATE OF topic ON questions " +
+                    "WHEN OLD.topic IS NOT NEW.topic " +
+                    "BEGIN " +
+                    "UPDATE topic_stats SET question_count = question_count - 1 WHERE topic = OLD.topic; " +
+                    "DELETE FROM topic_stats WHERE topic = OLD.topic AND question_count <= 0; " +
+                    "INSERT OR IGNORE INTO topic_stats (topic, question_count) VALUES (NEW.topic, 0); " +
+                    "UPDATE topic_stats SET question_count = question_count + 1 WHERE topic = NEW.topic; " +
+                    "END";
+
+    /**
+     * Migration from version 2 to 3: adds the index on 'user.username' used by login.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_user_username ON user (username)");
+        }
+    };
+
+    /**
+     * Migration from version 3 to 4: re-keys 'attempt' by an auto-generated id (keeping every
+     * existing row), and adds the 'user_stats' and 'user_subject_stats' tables backfilled from
+     * the existing attempts.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS attempt_new (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "createdTimeAttempt INTEGER NOT NULL, subject TEXT, correct INTEGER NOT NULL, " +
+                    "incorrect INTEGER NOT NULL, earned INTEGER NOT NULL, email TEXT, " +
+                    "overallPoints INTEGER NOT NULL)");
+            db.execSQL("INSERT INTO attempt_new (createdTimeAttempt, subject, correct, incorrect, " +
+                    "earned, email, overallPoints) SELECT createdTimeAttempt, subject, correct, " +
+                    "incorrect, earned, email, overallPoints FROM attempt ORDER BY createdTimeAttempt");
+            db.execSQL("DROP TABLE attempt");
+            db.execSQL("ALTER TABLE attempt_new RENAME TO attempt");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS user_stats (email TEXT NOT NULL, " +
+                    "total_points INTEGER NOT NULL, attempt_count INTEGER NOT NULL, PRIMARY KEY(email))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS user_subject_stats (email TEXT NOT NULL, " +
+                    "subject TEXT NOT NULL, total_points INTEGER NOT NULL, " +
+                    "attempt_count INTEGER NOT NULL, PRIMARY KEY(email, subject))");
+            db.execSQL("INSERT OR REPLACE INTO user_stats (email, total_points, attempt_count) " +
+                    "SELECT email, SUM(earned), COUNT(*) FROM attempt WHERE email IS NOT NULL " +
+                    "GROUP BY email");
+            db.execSQL("INSERT OR REPLACE INTO user_subject_stats (email, subject, total_points, " +
+                    "attempt_count) SELECT email, COALESCE(subject, ''), SUM(earned), COUNT(*) " +
+                    "FROM attempt WHERE email IS NOT NULL GROUP BY email, COALESCE(subject, '')");
+        }
+    };
+
+    /**
+     * Migration from version 4 to 5: adds the composite {@code (email, createdTimeAttempt)} index
+     * used by the paged attempt history.
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_attempt_email_createdTimeAttempt " +
+                    "ON attempt (email, createdTimeAttempt)");
+        }
+    };
+
+    /**
+     * Migration from version 5 to 6: adds the analytics columns to 'user_subject_stats' and fills
+     * them by replaying each user's attempts, oldest first, through
+     * {@link com.purnendu.quizo.models.UserSubjectStats#plus}. This is the only time the attempt
+     * history is read to build the analytics.
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN correct_count INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN answered_count INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN best_earned INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN last_attempt_day INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN current_streak INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN longest_streak INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE user_subject_stats ADD COLUMN recent_earned TEXT NOT NULL DEFAULT ''");
+
+            UserSubjectStats stats = null;
+            try (Cursor cursor = db.query("SELECT email, COALESCE(subject, ''), createdTimeAttempt, " +
+                    "correct, incorrect, earned FROM attempt WHERE email IS NOT NULL " +
+                    "ORDER BY email, COALESCE(subject, ''), createdTimeAttempt, id")) {
+                while (cursor.moveToNext()) {
+                    String email = cursor.getString(0);
+                    String subject = cursor.getString(1);
+                    if (stats != null && !(stats.getEmail().equals(email)
+                            && stats.getSubject().equals(subject))) {
+                        writeSubjectStats(db, stats); // Finished the previous (email, subject)
+                        stats = null;
+                    }
+                    stats = UserSubjectStats.plus(stats, email, subject, cursor.getLong(2),
+                            cursor.getInt(3), cursor.getInt(4), cursor.getLong(5));
+                }
+            }
+            if (stats != null) {
+                writeSubjectStats(db, stats);
+            }
+        }
+    };
+
+    /**
+     * Migration from version 6 to 7: adds the 'leaderboard_snapshot' table that caches the first
+     * page of the leaderboard for offline display.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS leaderboard_snapshot (position INTEGER NOT NULL, " +
+                    "email TEXT NOT NULL, name TEXT, total_points INTEGER NOT NULL, " +
+                    "has_more INTEGER NOT NULL, fetched_at INTEGER NOT NULL, PRIMARY KEY(position))");
+        }
+    };
+
+    /**
+     * Migration from version 7 to 8: adds the 'cloud_outbox' table of results waiting to be
+     * uploaded to the cloud leaderboard.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS cloud_outbox (attempt_key TEXT NOT NULL, " +
+                    "email TEXT NOT NULL, name TEXT, earned INTEGER NOT NULL, total_points INTEGER NOT NULL, " +
+                    "created_time INTEGER NOT NULL, PRIMARY KEY(attempt_key))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_cloud_outbox_email_created_time " +
+                    "ON cloud_outbox (email, created_time)");
+        }
+    };
+
+    /**
+     * Migration from version 8 to 9: adds the tables of the former question database (with the
+     * topic index, the 'topic_stats' counters and the external-content FTS4 index and its content
+     * sync triggers) and of the former admin database (with the username index). Their rows are
+     * moved in afterwards by {@link LegacyDatabaseImporter}, since SQLite cannot attach another
+     * database inside the migration's transaction.
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `questions` (`topic` TEXT, `question_text` TEXT, " +
+                    "`option_a` TEXT, `option_b` TEXT, `option_c` TEXT, `option_d` TEXT, " +
+                    "`correct_answer` TEXT, `id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_questions_topic` ON `questions` (`topic`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `topic_stats` (`topic` TEXT NOT NULL, " +
+                    "`question_count` INTEGER NOT NULL, PRIMARY KEY(`topic`))");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `questions_fts` USING FTS4(" +
+                    "`question_text` TEXT, `option_a` TEXT, `option_b` TEXT, `option_c` TEXT, " +
+                    "`option_d` TEXT, content=`questions`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_questions_fts_BEFORE_UPDATE " +
+                    "BEFORE UPDATE ON `questions` BEGIN DELETE FROM `questions_fts` " +
+                    "WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_questions_fts_BEFORE_DELETE " +
+                    "BEFORE DELETE ON `questions` BEGIN DELETE FROM `questions_fts` " +
+                    "WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_questions_fts_AFTER_UPDATE " +
+                    "AFTER UPDATE ON `questions` BEGIN INSERT INTO `questions_fts`(`docid`, " +
+                    "`question_text`, `option_a`, `option_b`, `option_c`, `option_d`) VALUES " +
+                    "(NEW.`rowid`, NEW.`question_text`, NEW.`option_a`, NEW.`option_b`, " +
+                    "NEW.`option_c`, NEW.`option_d`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_questions_fts_AFTER_INSERT " +
+                    "AFTER INSERT ON `questions` BEGIN INSERT INTO `questions_fts`(`docid`, " +
+                    "`question_text`, `option_a`, `option_b`, `option_c`, `option_d`) VALUES " +
+                    "(NEW.`rowid`, NEW.`question_text`, NEW.`option_a`, NEW.`option_b`, " +
+                    "NEW.`option_c`, NEW.`option_d`); END");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `admin` (`username` TEXT, `email` TEXT NOT NULL, " +
+                    "`password` TEXT, PRIMARY KEY(`email`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_admin_username` ON `admin` (`username`)");
+        }
+    };
+
+    /**
+     * Migration from version 9 to 10: adds the 'import_checkpoints' table, which records how far
+     * each question bank import has been committed, in the same transaction as its batches.
+     */
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `import_checkpoints` (`source` TEXT NOT NULL, " +
+                    "`records_done` INTEGER NOT NULL, PRIMARY KEY(`source`))");
+        }
+    };
+
+    /**
+     * Callback that installs the 'topic_stats' maintenance triggers every time the database is
+     * opened. Room does not create triggers for entities, and the statements are idempotent,
+     * so this covers fresh installs, migrated databases and destructive fallbacks alike.
+     */
+    public static final RoomDatabase.Callback TOPIC_STATS_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            super.onOpen(db);
+            db.execSQL(TRIGGER_QUESTION_INSERT);
+            db.execSQL(TRIGGER_QUESTION_DELETE);
+            db.execSQL(TRIGGER_QUESTION_UPDATE_TOPIC);
+        }
+    };
+
+    /**
+     * Callback that applies the performance profile ({@link #SYNCHRONOUS} and
+     * {@link #MMAP_SIZE_BYTES}) every time the database is opened. It runs outside any
+     * transaction, as {@code PRAGMA synchronous} requires, on the connection Room opens the
+     * database with, which is the one every write and transaction goes through. The journal mode
+     * is set to write-ahead logging by the builder.
+     * <p>
+     * The values were chosen from measurements with Python's sqlite3 module on a desktop host, not
+     * through Room on a device; their effect on Android storage has not been verified. The page
+     * cache size is left at the SQLite default of the device.
+     */
+    public static final RoomDatabase.Callback PERFORMANCE_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            super.onOpen(db);
+            // Some PRAGMAs answer with a row, so run them as queries
+            pragma(db, "PRAGMA synchronous = " + SYNCHRONOUS);
+            pragma(db, "PRAGMA mmap_size = " + MMAP_SIZE_BYTES);
+        }
+    };
+
+    /**
+     * Writes a replayed 'user_subject_stats' row during {@link #MIGRATION_5_6}.
+     *
+     * @param db    The database being migrated.
+     * @param stats The replayed stats.
+     */
+    private static void writeSubjectStats(SupportSQLiteDatabase db, UserSubjectStats stats) {
+        db.execSQL("INSERT OR REPLACE INTO user_subject_stats (email, subject, total_points, " +
+                        "attempt_count, correct_count, answered_count, best_earned, last_attempt_day, " +
+                        "current_streak, longest_streak, recent_earned) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new Object[]{stats.getEmail(), stats.getSubject(), stats.getTotalPoints(),
+                        stats.getAttemptCount(), stats.getCorrectCount(), stats.getAnsweredCount(),
+                        stats.getBestEarned(), stats.getLastAttemptDay(), stats.getCurrentStreak(),
+                        stats.getLongestStreak(), stats.getRecentEarned()});
+    }
+
+    /**
+     * Runs a PRAGMA through a query, so PRAGMAs that answer with a row work too.
+     *
+     * @param db  The database.
+     * @param sql The PRAGMA statement.
+     */
+    private static void pragma(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+        }
+    }
+
+    /**
+     * Provides the Data Access Object (DAO) for {@link com.purnendu.quizo.models.User} and
+     * {@link com.purnendu.quizo.models.Attempt} entities.
+     *
+     * @return An instance of {@link com.purnendu.quizo.dao.UserDao}.
+     */
+    public abstract UserDao userDao();
+
+    /**
+     * Provides the Data Access Object (DAO) for the cached leaderboard snapshot.
+     *
+     * @return An instance of {@link com.purnendu.quizo.dao.LeaderboardDao}.
+     */
+    public abstract LeaderboardDao leaderboardDao();
+
+    /**
+     * Provides access to the Data Access Object (DAO) for the cloud sync outbox.
+     *
+     * @return An instance of {@link com.purnendu.quizo.dao.OutboxDao}.
+     */
+    public abstract OutboxDao outboxDao();
+
+    /**
+     * Provides the Data Access Object (DAO) for {@link com.purnendu.quizo.models.Question} entities.
+     *
+     * @return An instance of {@link com.purnendu.quizo.dao.QuestionDao}.
+     */
+    public abstract QuestionDao questionDao();
+
+    /**
+     * Provides the Data Access Object (DAO) for {@link com.purnendu.quizo.models.Admin} entities.
+     *
+     * @return An instance of {@link com.purnendu.quizo.dao.AdminDao}.
+     */
+    public abstract AdminDao adminDao();
+}
@@ -0,0 +1,85 @@
+package com.purnendu.quizo.dbclients;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+import com.purnendu.quizo.databases.LegacyDatabaseImporter;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.executors.AppExecutors;
+
+/**
+ * A singleton client class for accessing the {@link com.purnendu.quizo.databases.QuizoDatabase}
+ * instance throughout the Quizo application.
+ * This ensures that only one instance of the database is created and managed,
+ * providing a consistent access point for user, attempt, question and admin data operations.
+ * <p>
+ * The database is built using Room's {@link androidx.room.Room#databaseBuilder(Context, Class, String)}
+ * with the {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_2_3},
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_3_4},
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_4_5},
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_5_6},
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_6_7},
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_7_8},
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_8_9} and
+ * {@link com.purnendu.quizo.databases.QuizoDatabase#MIGRATION_9_10} migrations, which add the username
+ * index, the maintained attempt stats, the history index, the subject analytics, the leaderboard
+ * cache, the cloud sync outbox, the question and admin tables and the import checkpoints without
+ * dropping existing accounts or history. The former question and admin databases are imported once by the
+ * {@link com.purnendu.quizo.databases.LegacyDatabaseImporter}. Only a database of version 1, for
+ * which no migration path exists, is recreated.
+ * <p>
+ * The database uses write-ahead logging, so reads proceed while an attempt is being written, and
+ * runs Room's own background queries on the dedicated {@link AppExecutors#roomQuery()} pool. That
+ * pool never rejects work, so a full disk I/O queue cannot make Room drop an invalidation.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for QuizoDatabaseClient
+public class QuizoDatabaseClient {
+
+    /**
+     * The name of the Room database file.
+     */
+    private static final String DB_NAME = "com_quizo_db";
+
+    /**
+     * The singleton instance of the {@link com.purnendu.quizo.databases.QuizoDatabase}.
+     */
+    private static QuizoDatabase instance;
+
+    /**
+     * Returns the synchronized singleton instance of the {@link com.purnendu.quizo.databases.QuizoDatabase}.
+     * If the instance does not exist, it is created using Room's database builder, after adopting
+     * the file of the former user database if this is the first start after the merge.
+     *
+     * @param context The application context, used to build the database.
+     * @return The singleton instance of {@link com.purnendu.quizo.databases.QuizoDatabase}.
+     */
+    public static synchronized QuizoDatabase getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            // The former user database becomes the merged one and is upgraded by the migrations
+            LegacyDatabaseImporter.adoptUserDatabase(appContext, DB_NAME);
+            instance = Room.databaseBuilder(appContext, QuizoDatabase.class, DB_NAME)
+                    .addMigrations(QuizoDatabase.MIGRATION_2_3, // Keep existing accounts when adding the username index
+                            QuizoDatabase.MIGRATION_3_4, // ...and their history when adding attempt stats
+                            QuizoDatabase.MIGRATION_4_5, // ...and when indexing it for paging
+                            QuizoDatabase.MIGRATION_5_6, // ...and when adding subject analytics
+                            QuizoDatabase.MIGRATION_6_7, // ...and when adding the leaderboard cache
+                            QuizoDatabase.MIGRATION_7_8, // ...and when adding the cloud sync outbox
+                            QuizoDatabase.MIGRATION_8_9, // ...and when merging in questions and admins
+                            QuizoDatabase.MIGRATION_9_10) // ...and when adding import checkpoints
+                    .addCallback(QuizoDatabase.PERFORMANCE_CALLBACK) // Tune the connection
+                    .addCallback(QuizoDatabase.TOPIC_STATS_CALLBACK) // Install topic_stats triggers
+                    .addCallback(new LegacyDatabaseImporter(appContext)) // Then copy in old questions and admins
+                    .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(AppExecutors.getInstance().roomQuery())
+                    .fallbackToDestructiveMigrationFrom(true, 1) // Version 1 never had a migration path
+                    .build();
+        }
+        return instance;
+    }
+}
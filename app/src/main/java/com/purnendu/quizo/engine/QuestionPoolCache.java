@@ -0,0 +1,422 @@
+package com.purnendu.quizo.engine;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+
+import com.purnendu.quizo.dao.QuestionDao;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.models.Question;
+import com.purnendu.quizo.questionpack.QuestionPack;
+import com.purnendu.quizo.utilities.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * An LRU cache of per-topic question pools, so starting a quiz does not have to scan and validate
+ * the topic first.
+ * <p>
+ * A pool holds the ids of every question of a topic that passes
+ * {@link QuizSession#isValidQuestion(Question)}; the topic is validated once, page by page, when
+ * the pool is built. Quizzes are then sampled from the pool in memory and only the chosen rows are
+ * loaded. {@link #prefetch(String)} additionally prepares the next {@link QuizSession} of a topic in
+ * the background, so a quiz screen opened afterwards can take it with {@link #takeSession(String)}
+ * and show the first question without touching the database.
+ * <p>
+ * A topic without any valid question in the database, as on a fresh install before the bundled
+ * {@link QuestionPack} has been copied in, is served from that pack instead.
+ * <p>
+ * Up to {@link #MAX_TOPICS} topics are kept, least recently used first out. Every write to the
+ * 'questions' table through Room drops all pools, as reported by the database's
+ * {@link InvalidationTracker}, and memory pressure reported through
+ * {@link ComponentCallbacks2#onTrimMemory(int)} trims them.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for QuestionPoolCache
+public final class QuestionPoolCache {
+
+    /**
+     * The most topics kept at once: one per quiz subject.
+     */
+    static final int MAX_TOPICS = 4;
+
+    /**
+     * The number of questions read per page while a topic is validated.
+     */
+    private static final int VALIDATION_PAGE_SIZE = 500;
+
+    /**
+     * The singleton instance of {@link QuestionPoolCache}.
+     */
+    private static QuestionPoolCache instance = null;
+
+    /**
+     * The source of questions.
+     */
+    private final QuestionDao questionDao;
+
+    /**
+     * Runs the prefetches.
+     */
+    private final Executor executor;
+
+    /**
+     * Supplies the pack that serves topics missing from the database; it may supply {@code null}.
+     */
+    private final Supplier<QuestionPack> fallbackPack;
+
+    /**
+     * The source of randomness for sampling and option order.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The pools by topic, least recently used first. Guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, TopicPool> pools =
+            new LinkedHashMap<String, TopicPool>(MAX_TOPICS + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TopicPool> eldest) {
+                    return size() > MAX_TOPICS;
+                }
+            };
+
+    /**
+     * Incremented whenever pools are dropped, so a pool or session built from rows read before
+     * that is not stored. Guarded by {@code this}.
+     */
+    private int generation = 0;
+
+    /**
+     * Constructs a new {@link QuestionPoolCache}.
+     *
+     * @param questionDao The source of questions.
+     * @param executor    Runs the prefetches; they block it while reading the database.
+     */
+    public QuestionPoolCache(@NonNull QuestionDao questionDao, @NonNull Executor executor) {
+        this(questionDao, executor, () -> null);
+    }
+
+    /**
+     * Constructs a new {@link QuestionPoolCache} that serves topics missing from the database from
+     * a question pack.
+     *
+     * @param questionDao  The source of questions.
+     * @param executor     Runs the prefetches; they block it while reading the database.
+     * @param fallbackPack Supplies the pack, or {@code null} if there is none; called on worker
+     *                     threads only.
+     */
+    public QuestionPoolCache(@NonNull QuestionDao questionDao, @NonNull Executor executor,
+                             @NonNull Supplier<QuestionPack> fallbackPack) {
+        this.questionDao = questionDao;
+        this.executor = executor;
+        this.fallbackPack = fallbackPack;
+    }
+
+    /**
+     * Returns the singleton instance of the {@link QuestionPoolCache} class.
+     * If the instance does not exist, it is created over the Quizo database and the bundled
+     * question pack, prefetching on the shared disk pool, and subscribed to the database's invalidations and to memory trims.
+     *
+     * @param context The context, used to open the database.
+     * @return The singleton instance of {@link QuestionPoolCache}.
+     */
+    public static synchronized QuestionPoolCache getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            QuizoDatabase database = QuizoDatabaseClient.getInstance(appContext);
+            QuestionPoolCache cache = new QuestionPoolCache(database.questionDao(),
+                    AppExecutors.getInstance().diskIO(), () -> QuestionPack.getBundled(appContext));
+
+            // Any insert, update or delete of a question may change a pool
+            database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("questions") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    cache.invalidate();
+                }
+            });
+
+            appContext.registerComponentCallbacks(new ComponentCallbacks2() {
+                @Override
+                public void onTrimMemory(int level) {
+                    cache.trimMemory(level);
+                }
+
+                @Override
+                public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                    // Pools do not depend on the configuration
+                }
+
+                @Override
+                public void onLowMemory() {
+                    cache.trimToSize(0);
+                }
+            });
+            instance = cache;
+        }
+        return instance;
+    }
+
+    /**
+     * Builds the pool of a topic and prepares its next session in the background, unless both are
+     * cached already. Safe to call from any thread, as often as needed.
+     *
+     * @param topic The topic to warm.
+     */
+    public void prefetch(@NonNull String topic) {
+        synchronized (this) {
+            TopicPool pool = pools.get(topic);
+            if (pool != null && pool.nextSession != null) {
+                return; // Already warm
+            }
+        }
+        executor.execute(() -> warm(topic));
+    }
+
+    /**
+     * Takes the session prepared for a topic by {@link #prefetch(String)}, if there is one, and
+     * starts preparing the one after it. Never touches the database.
+     *
+     * @param topic The topic of the quiz.
+     * @return The prepared session, or {@code null} if the topic is not warm; use
+     * {@link #loadSession(String)} then.
+     */
+    @MainThread
+    @Nullable
+    public QuizSession takeSession(@NonNull String topic) {
+        QuizSession session;
+        synchronized (this) {
+            TopicPool pool = pools.get(topic);
+            session = pool == null ? null : pool.nextSession;
+            if (session != null) {
+                pool.nextSession = null;
+            }
+        }
+        if (session != null) {
+            prefetch(topic); // Keep the topic warm for the next quiz
+        }
+        return session;
+    }
+
+    /**
+     * Returns a new session for a topic: the prepared one if there is one, otherwise one sampled
+     * from the topic's pool, which is built first if it is not cached.
+     *
+     * @param topic The topic of the quiz.
+     * @return A session of up to {@link Constants#QUESTIONS_PER_QUIZ} valid questions; empty if
+     * the topic has none.
+     */
+    @WorkerThread
+    @NonNull
+    public QuizSession loadSession(@NonNull String topic) {
+        synchronized (this) {
+            TopicPool pool = pools.get(topic);
+            if (pool != null && pool.nextSession != null) {
+                QuizSession session = pool.nextSession;
+                pool.nextSession = null;
+                return session;
+            }
+        }
+        return sampleSession(topic, getPool(topic));
+    }
+
+    /**
+     * Drops every pool and prepared session. Called when the 'questions' table changes.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        pools.clear();
+    }
+
+    /**
+     * Trims the cache for the memory pressure reported to
+     * {@link ComponentCallbacks2#onTrimMemory(int)}: once the UI is hidden only the most recently
+     * used topic is kept, and when memory runs low or the process is in the background nothing is.
+     *
+     * @param level The trim level.
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            trimToSize(0);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            trimToSize(1);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            trimToSize(0);
+        }
+    }
+
+    /**
+     * Drops the least recently used topics until at most {@code maxTopics} are left.
+     *
+     * @param maxTopics The number of topics to keep.
+     */
+    public synchronized void trimToSize(int maxTopics) {
+        if (maxTopics == 0) {
+            generation++; // Also discard pools being built right now
+        }
+        Iterator<String> eldestFirst = pools.keySet().iterator();
+        while (pools.size() > maxTopics && eldestFirst.hasNext()) {
+            eldestFirst.next();
+            eldestFirst.remove();
+        }
+    }
+
+    /**
+     * Builds the pool of a topic and its next session, if not cached, on the calling thread.
+     * This is what {@link #prefetch(String)} runs in the background.
+     *
+     * @param topic The topic to warm.
+     */
+    @WorkerThread
+    public void warm(@NonNull String topic) {
+        int startGeneration;
+        synchronized (this) {
+            TopicPool pool = pools.get(topic);
+            if (pool != null && pool.nextSession != null) {
+                return; // Prepared by an earlier prefetch
+            }
+            startGeneration = generation;
+        }
+        QuizSession session = sampleSession(topic, getPool(topic));
+        synchronized (this) {
+            TopicPool pool = pools.get(topic);
+            if (startGeneration == generation && pool != null && pool.nextSession == null
+                    && session.size() > 0) {
+                pool.nextSession = session;
+            }
+        }
+    }
+
+    /**
+     * Returns the pool of a topic, building and caching it if needed.
+     *
+     * @param topic The topic.
+     * @return The ids of the topic's valid questions, in id order.
+     */
+    private int[] getPool(String topic) {
+        int startGeneration;
+        synchronized (this) {
+            TopicPool pool = pools.get(topic);
+            if (pool != null) {
+                return pool.ids;
+            }
+            startGeneration = generation;
+        }
+        int[] ids = readValidIds(topic);
+        synchronized (this) {
+            // Rows read before an invalidation may be stale; use them once but do not keep them
+            if (startGeneration == generation && !pools.containsKey(topic)) {
+                pools.put(topic, new TopicPool(ids));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reads a topic page by page and collects the ids of its valid questions, so the topic is
+     * never held in memory as a whole.
+     *
+     * @param topic The topic.
+     * @return The ids of the topic's valid questions, in id order.
+     */
+    private int[] readValidIds(String topic) {
+        int[] ids = new int[Math.max(16, questionDao.getQuestionCountByTopic(topic))];
+        int count = 0;
+        int afterId = 0;
+        List<Question> page;
+        do {
+            page = questionDao.getQuestionsPageAfter(topic, afterId, VALIDATION_PAGE_SIZE);
+            for (Question question : page) {
+                if (QuizSession.isValidQuestion(question)) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2); // The count was stale
+                    }
+                    ids[count++] = question.getId();
+                }
+                afterId = question.getId();
+            }
+        } while (page.size() == VALIDATION_PAGE_SIZE);
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Samples up to {@link Constants#QUESTIONS_PER_QUIZ} distinct questions from a pool, loads only
+     * those rows and builds a session from them. An empty pool is sampled from the fallback pack.
+     *
+     * @param topic The topic of the pool.
+     * @param ids   The pool to sample from.
+     * @return The new session.
+     */
+    private QuizSession sampleSession(String topic, int[] ids) {
+        if (ids.length == 0) {
+            QuestionPack pack = fallbackPack.get();
+            if (pack != null) {
+                return QuizSession.fromQuestions(
+                        pack.sampleQuestions(topic, Constants.QUESTIONS_PER_QUIZ, random), random);
+            }
+        }
+        int sampleSize = Math.min(Constants.QUESTIONS_PER_QUIZ, ids.length);
+
+        // Floyd's algorithm: sampleSize distinct positions in [0, ids.length)
+        Set<Integer> positions = new HashSet<>();
+        for (int j = ids.length - sampleSize; j < ids.length; j++) {
+            int candidate = random.nextInt(j + 1);
+            positions.add(positions.contains(candidate) ? j : candidate);
+        }
+        List<Integer> chosen = new ArrayList<>(sampleSize);
+        for (int position : positions) {
+            chosen.add(ids[position]);
+        }
+        Collections.shuffle(chosen, random);
+
+        // Rows edited since the pool was built are validated again by the session
+        return QuizSession.fromQuestions(
+                chosen.isEmpty() ? new ArrayList<>() : questionDao.getQuestionsInOrder(chosen), random);
+    }
+
+    /**
+     * The cached state of one topic.
+     */
+    private static final class TopicPool {
+
+        /**
+         * The ids of the topic's valid questions, in id order.
+         */
+        final int[] ids;
+
+        /**
+         * A session prepared for the next quiz of the topic, or {@code null}.
+         */
+        QuizSession nextSession;
+
+        /**
+         * Constructs a new {@link TopicPool}.
+         *
+         * @param ids The ids of the topic's valid questions.
+         */
+        TopicPool(int[] ids) {
+            this.ids = ids;
+        }
+    }
+}
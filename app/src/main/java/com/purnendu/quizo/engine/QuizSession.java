@@ -0,0 +1,312 @@
+package com.purnendu.quizo.engine;
+
+import com.purnendu.quizo.models.Question;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A compact, Android-free quiz engine that holds a single quiz run in the Quizo application.
+ * Questions are stored by index in flat arrays (question ids, question texts, option texts,
+ * per-question option permutations and byte answer masks) rather than in maps keyed by text,
+ * so answer checking is a pair of array reads and performs no allocation per question.
+ * <p>
+ * Because nothing is keyed by text, two questions with the same wording, or a question with
+ * repeated option texts, are kept exactly as they were stored instead of silently collapsing.
+ * An answer is graded by its text, as the quiz always has: if the correct answer appears in more
+ * than one option, every option showing it is correct.
+ * <p>
+ * Option permutations are computed once when the session is built; the display order of
+ * a question's options is therefore stable for the lifetime of the session.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public final class QuizSession {
+
+    /**
+     * The number of options every question in a session carries.
+     */
+    public static final int OPTION_COUNT = 4;
+
+    /**
+     * Database ids of the questions, in display order.
+     */
+    private final int[] questionIds;
+
+    /**
+     * Question texts, in display order.
+     */
+    private final String[] questionTexts;
+
+    /**
+     * Option texts in stored order (A, B, C, D), flattened as {@code question * OPTION_COUNT + option}.
+     */
+    private final String[] optionTexts;
+
+    /**
+     * Display permutation per question, flattened as {@code question * OPTION_COUNT + slot}.
+     * Each value is the stored option index shown in that slot.
+     */
+    private final byte[] permutations;
+
+    /**
+     * The stored options whose text is the correct answer, for each question; bit {@code i} is
+     * set if option {@code i} (0 for A through 3 for D) is correct.
+     */
+    private final byte[] answerMasks;
+
+    /**
+     * The number of questions in this session.
+     */
+    private final int size;
+
+    /**
+     * Number of questions answered so far.
+     */
+    private int answered;
+
+    /**
+     * Number of questions answered correctly so far.
+     */
+    private int correct;
+
+    /**
+     * Private constructor; sessions are created through {@link #fromQuestions(List, Random)}.
+     * The arrays may be longer than {@code size} when malformed questions were skipped.
+     *
+     * @param size          The number of valid questions held in the arrays.
+     * @param questionIds   Question ids, in display order.
+     * @param questionTexts Question texts, in display order.
+     * @param optionTexts   Flattened option texts in stored order.
+     * @param permutations  Flattened per-question display permutations.
+     * @param answerMasks   Stored options equal to the correct answer, per question.
+     */
+    private QuizSession(int size, int[] questionIds, String[] questionTexts,
+                        String[] optionTexts, byte[] permutations, byte[] answerMasks) {
+        this.size = size;
+        this.questionIds = questionIds;
+        this.questionTexts = questionTexts;
+        this.optionTexts = optionTexts;
+        this.permutations = permutations;
+        this.answerMasks = answerMasks;
+    }
+
+    /**
+     * Builds a session from the given questions, keeping their order and skipping any question
+     * that fails {@link #isValidQuestion(Question)}. The options of every kept question are
+     * shuffled once using {@code random}.
+     *
+     * @param questions The questions to include, in display order. May be {@code null}.
+     * @param random    The source of randomness for option shuffling.
+     * @return A new {@link QuizSession}; its {@link #size()} may be smaller than the input.
+     */
+    public static QuizSession fromQuestions(List<Question> questions, Random random) {
+        int capacity = questions == null ? 0 : questions.size();
+        int[] ids = new int[capacity];
+        String[] texts = new String[capacity];
+        String[] options = new String[capacity * OPTION_COUNT];
+        byte[] permutations = new byte[capacity * OPTION_COUNT];
+        byte[] answerMasks = new byte[capacity];
+
+        int count = 0;
+        for (int i = 0; i < capacity; i++) {
+            Question q = questions.get(i);
+            int answerMask = answerMaskOf(q);
+            if (answerMask == 0) {
+                continue; // Malformed question, skip it
+            }
+
+            int base = count * OPTION_COUNT;
+            ids[count] = q.getId();
+            texts[count] = q.getQuestionText();
+            options[base] = q.getOptionA();
+            options[base + 1] = q.getOptionB();
+            options[base + 2] = q.getOptionC();
+            options[base + 3] = q.getOptionD();
+            answerMasks[count] = (byte) answerMask;
+
+            // Fisher-Yates shuffle of the identity permutation for this question
+            for (int slot = 0; slot < OPTION_COUNT; slot++) {
+                permutations[base + slot] = (byte) slot;
+            }
+            for (int slot = OPTION_COUNT - 1; slot > 0; slot--) {
+                int swap = random.nextInt(slot + 1);
+                byte tmp = permutations[base + slot];
+                permutations[base + slot] = permutations[base + swap];
+                permutations[base + swap] = tmp;
+            }
+            count++;
+        }
+
+        return new QuizSession(count, ids, texts, options, permutations, answerMasks);
+    }
+
+    /**
+     * Validates that a {@link Question} has all necessary data for a quiz: non-blank question text,
+     * four non-blank options and a non-blank correct answer that matches one of the options.
+     *
+     * @param q The question to validate.
+     * @return {@code true} if the question is valid, {@code false} otherwise.
+     */
+    public static boolean isValidQuestion(Question q) {
+        return answerMaskOf(q) != 0;
+    }
+
+    /**
+     * Returns the stored options (bit 0 for A through bit 3 for D) whose text equals the
+     * question's correct answer, or 0 if the question is malformed.
+     *
+     * @param q The question to inspect.
+     * @return The answer mask, or 0 if the question is not valid.
+     */
+    private static int answerMaskOf(Question q) {
+        if (q == null || isBlank(q.getQuestionText()) || isBlank(q.getOptionA()) ||
+                isBlank(q.getOptionB()) || isBlank(q.getOptionC()) ||
+                isBlank(q.getOptionD()) || isBlank(q.getCorrectAnswer())) {
+            return 0;
+        }
+        String answer = q.getCorrectAnswer();
+        int mask = 0;
+        if (answer.equals(q.getOptionA())) mask |= 1;
+        if (answer.equals(q.getOptionB())) mask |= 1 << 1;
+        if (answer.equals(q.getOptionC())) mask |= 1 << 2;
+        if (answer.equals(q.getOptionD())) mask |= 1 << 3;
+        return mask;
+    }
+
+    /**
+     * Checks whether a string is {@code null} or contains only whitespace.
+     *
+     * @param value The string to check.
+     * @return {@code true} if the string is blank.
+     */
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Returns the number of questions in this session.
+     *
+     * @return The session length.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the database id of the question at the given position.
+     *
+     * @param index The question position.
+     * @return The question id.
+     */
+    public int getQuestionId(int index) {
+        return questionIds[checkIndex(index)];
+    }
+
+    /**
+     * Returns the text of the question at the given position.
+     *
+     * @param index The question position.
+     * @return The question text.
+     */
+    public String getQuestionText(int index) {
+        return questionTexts[checkIndex(index)];
+    }
+
+    /**
+     * Returns the option text shown in the given display slot for a question.
+     *
+     * @param index The question position.
+     * @param slot  The display slot (0 to {@link #OPTION_COUNT} - 1).
+     * @return The option text displayed in that slot.
+     */
+    public String getOptionText(int index, int slot) {
+        int base = checkIndex(index) * OPTION_COUNT;
+        return optionTexts[base + permutations[base + checkSlot(slot)]];
+    }
+
+    /**
+     * Checks whether the option shown in {@code slot} is the correct answer, without recording it.
+     *
+     * @param index The question position.
+     * @param slot  The display slot chosen.
+     * @return {@code true} if the slot shows the text of the correct answer.
+     */
+    public boolean isCorrect(int index, int slot) {
+        int base = checkIndex(index) * OPTION_COUNT;
+        return (answerMasks[index] >> permutations[base + checkSlot(slot)] & 1) != 0;
+    }
+
+    /**
+     * Records an answer for the question at the given position and updates the score.
+     *
+     * @param index The question position.
+     * @param slot  The display slot chosen.
+     * @return {@code true} if the answer was correct.
+     */
+    public boolean answer(int index, int slot) {
+        boolean isCorrect = isCorrect(index, slot);
+        answered++;
+        if (isCorrect) {
+            correct++;
+        }
+        return isCorrect;
+    }
+
+    /**
+     * Returns the number of answers recorded through {@link #answer(int, int)}.
+     *
+     * @return The answered count.
+     */
+    public int getAnsweredCount() {
+        return answered;
+    }
+
+    /**
+     * Returns the number of correct answers recorded so far.
+     *
+     * @return The correct count.
+     */
+    public int getCorrectCount() {
+        return correct;
+    }
+
+    /**
+     * Returns the number of incorrect answers recorded so far.
+     *
+     * @return The incorrect count.
+     */
+    public int getIncorrectCount() {
+        return answered - correct;
+    }
+
+    /**
+     * Validates a question position against the session length.
+     *
+     * @param index The question position.
+     * @return The same index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Question index " + index +
+                    " out of range for session of " + size);
+        }
+        return index;
+    }
+
+    /**
+     * Validates an option slot.
+     *
+     * @param slot The display slot.
+     * @return The same slot.
+     * @throws IndexOutOfBoundsException if the slot is out of range.
+     */
+    private static int checkSlot(int slot) {
+        if (slot < 0 || slot >= OPTION_COUNT) {
+            throw new IndexOutOfBoundsException("Option slot " + slot + " out of range");
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,278 @@
+package com.purnendu.quizo.executors;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A singleton that owns every background thread pool of the Quizo application, so screens share a
+ * few long-lived threads instead of creating (and leaking) a new executor per operation.
+ * <p>
+ * Pools:
+ * <ul>
+ * <li>{@link #diskIO()}: Room queries, SharedPreferences and file access.</li>
+ * <li>{@link #roomQuery()}: Room's own background work (observable queries and invalidation
+ * tracking), which Room cannot retry if it is rejected.</li>
+ * <li>{@link #cpu()}: CPU-bound work such as password hashing, sized to the number of cores.</li>
+ * <li>{@link #network()}: blocking network calls.</li>
+ * </ul>
+ * Every pool is a {@link MeteredExecutor}, bounded except for {@link #roomQuery()};
+ * {@link #getMetrics()} reports queue depth, task latency and active threads for all of them.
+ * <p>
+ * Results are delivered with {@link #mainThreadFor(LifecycleOwner)}, which drops callbacks whose
+ * activity has already been destroyed instead of touching its views.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for AppExecutors
+public final class AppExecutors {
+
+    /**
+     * Threads for disk I/O. SQLite allows concurrent readers, but more threads than this
+     * only contend for the same file.
+     */
+    private static final int DISK_IO_THREADS = 3;
+
+    /**
+     * Threads for Room's own background work. This is the size of the I/O pool Room uses when no
+     * query executor is set; it has not been measured for this app.
+     */
+    private static final int ROOM_QUERY_THREADS = 4;
+
+    /**
+     * Threads for blocking network calls.
+     */
+    private static final int NETWORK_THREADS = 3;
+
+    /**
+     * Maximum number of tasks waiting in each pool's queue.
+     */
+    private static final int QUEUE_CAPACITY = 128;
+
+    /**
+     * The singleton instance of {@link AppExecutors}.
+     */
+    private static AppExecutors instance = null;
+
+    /**
+     * Pool for database and file access.
+     */
+    private final MeteredExecutor diskIO;
+
+    /**
+     * Pool for Room's own background work.
+     */
+    private final MeteredExecutor roomQuery;
+
+    /**
+     * Pool for CPU-bound work.
+     */
+    private final MeteredExecutor cpu;
+
+    /**
+     * Pool for blocking network calls.
+     */
+    private final MeteredExecutor network;
+
+    /**
+     * Handler bound to the main looper.
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Executor that posts to the main thread without any lifecycle check.
+     */
+    private final Executor mainThread = mainHandler::post;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private AppExecutors() {
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        diskIO = new MeteredExecutor("disk-io", DISK_IO_THREADS, QUEUE_CAPACITY);
+        roomQuery = new MeteredExecutor("room", ROOM_QUERY_THREADS, MeteredExecutor.UNBOUNDED);
+        cpu = new MeteredExecutor("cpu", cores, QUEUE_CAPACITY);
+        network = new MeteredExecutor("network", NETWORK_THREADS, QUEUE_CAPACITY);
+    }
+
+    /**
+     * Returns the singleton instance of the {@link AppExecutors} class.
+     * If the instance does not exist, it is created.
+     *
+     * @return The singleton instance of {@link AppExecutors}.
+     */
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the pool for database and file access.
+     *
+     * @return The disk I/O executor.
+     */
+    public MeteredExecutor diskIO() {
+        return diskIO;
+    }
+
+    /**
+     * Returns the pool for Room's own background work, for
+     * {@link androidx.room.RoomDatabase.Builder#setQueryExecutor(Executor)}. Its queue is unbounded,
+     * because Room has no way to recover from a rejected invalidation or observer refresh.
+     *
+     * @return The Room query executor.
+     */
+    public MeteredExecutor roomQuery() {
+        return roomQuery;
+    }
+
+    /**
+     * Returns the pool for CPU-bound work.
+     *
+     * @return The CPU executor.
+     */
+    public MeteredExecutor cpu() {
+        return cpu;
+    }
+
+    /**
+     * Returns the pool for blocking network calls.
+     *
+     * @return The network executor.
+     */
+    public MeteredExecutor network() {
+        return network;
+    }
+
+    /**
+     * Returns an executor that posts to the main thread unconditionally.
+     * Prefer {@link #mainThreadFor(LifecycleOwner)} for anything that touches an activity.
+     *
+     * @return The main thread executor.
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * Returns an executor that posts to the main thread and silently drops the task if
+     * {@code owner} has been destroyed by the time it runs.
+     *
+     * @param owner The activity (or other lifecycle owner) the callback belongs to.
+     * @return A lifecycle-aware main thread executor.
+     */
+    public Executor mainThreadFor(@NonNull LifecycleOwner owner) {
+        return task -> mainHandler.post(() -> {
+            if (owner.getLifecycle().getCurrentState() != Lifecycle.State.DESTROYED) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Returns an executor that runs tasks one at a time, in submission order, on {@code backing}.
+     * Use this when a screen needs ordered background work (for example paging) without owning
+     * a thread of its own.
+     *
+     * @param backing The pool that actually runs the tasks.
+     * @return A serial executor.
+     */
+    public static Executor serial(@NonNull Executor backing) {
+        return new SerialExecutor(backing);
+    }
+
+    /**
+     * Returns a snapshot of the metrics of every pool.
+     *
+     * @return The metrics of the disk I/O, Room query, CPU and network pools, in that order.
+     */
+    public List<MeteredExecutor.Metrics> getMetrics() {
+        return Arrays.asList(diskIO.getMetrics(), roomQuery.getMetrics(), cpu.getMetrics(),
+                network.getMetrics());
+    }
+
+    /**
+     * Runs submitted tasks one after another on a backing executor.
+     */
+    private static final class SerialExecutor implements Executor {
+
+        /**
+         * Tasks waiting for the previous one to finish.
+         */
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        /**
+         * The pool that runs the tasks.
+         */
+        private final Executor backing;
+
+        /**
+         * The task currently handed to {@link #backing}, or {@code null} when idle.
+         */
+        private Runnable active;
+
+        /**
+         * Constructs a new {@link SerialExecutor}.
+         *
+         * @param backing The pool that runs the tasks.
+         */
+        SerialExecutor(Executor backing) {
+            this.backing = backing;
+        }
+
+        @Override
+        public synchronized void execute(@NonNull Runnable command) {
+            Runnable task = () -> {
+                try {
+                    command.run();
+                } finally {
+                    try {
+                        scheduleNext();
+                    } catch (RejectedExecutionException e) {
+                        // The next task stays queued and is handed over again by the next execute()
+                    }
+                }
+            };
+            tasks.offer(task);
+            if (active == null) {
+                try {
+                    scheduleNext();
+                } catch (RejectedExecutionException e) {
+                    tasks.removeLastOccurrence(task); // The caller is told it was not accepted
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Hands the next queued task to the backing executor. If the backing executor rejects it,
+         * the task is put back at the head of the queue and this executor goes idle, so a later
+         * {@link #execute(Runnable)} can try again instead of waiting forever on a task that never ran.
+         *
+         * @throws RejectedExecutionException If the backing executor rejects the task.
+         */
+        private synchronized void scheduleNext() {
+            if ((active = tasks.poll()) != null) {
+                try {
+                    backing.execute(active);
+                } catch (RejectedExecutionException e) {
+                    tasks.addFirst(active);
+                    active = null;
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.purnendu.quizo.executors;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded {@link java.util.concurrent.ThreadPoolExecutor} that records how it is being used.
+ * Every task is timed from submission to start (queue wait) and from start to finish (run time),
+ * and the pool exposes its queue depth, active thread count and rejection count through
+ * {@link #getMetrics()}.
+ * <p>
+ * Threads are named after the pool, run at background priority and time out when idle, so an
+ * unused pool holds no threads. The work queue is normally bounded; a task submitted to a full
+ * queue is counted and rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+ * A pool created with {@link #UNBOUNDED} never rejects work while it is running.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for MeteredExecutor
+public final class MeteredExecutor extends ThreadPoolExecutor {
+
+    /**
+     * Queue capacity for a pool whose queue grows as needed instead of rejecting work.
+     */
+    static final int UNBOUNDED = 0;
+
+    /**
+     * Seconds an idle thread is kept alive before it exits.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    /**
+     * The pool name, used for thread names and in {@link Metrics#toString()}.
+     */
+    private final String name;
+
+    /**
+     * Number of tasks that have finished running.
+     */
+    private final AtomicLong completedTasks = new AtomicLong();
+
+    /**
+     * Number of tasks rejected because the queue was full.
+     */
+    private final AtomicLong rejectedTasks = new AtomicLong();
+
+    /**
+     * Sum of the time tasks spent waiting in the queue.
+     */
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * Sum of the time tasks spent running.
+     */
+    private final AtomicLong totalRunNanos = new AtomicLong();
+
+    /**
+     * Longest time a single task spent waiting in the queue.
+     */
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Longest time a single task spent running.
+     */
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    /**
+     * Constructs a new {@link MeteredExecutor}.
+     *
+     * @param name          The pool name, used as the thread name prefix.
+     * @param threads       The maximum number of threads.
+     * @param queueCapacity The maximum number of tasks waiting for a thread, or {@link #UNBOUNDED}.
+     */
+    MeteredExecutor(String name, int threads, int queueCapacity) {
+        super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                queueCapacity == UNBOUNDED ? new LinkedBlockingQueue<>() :
+                        new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(name));
+        this.name = name;
+        allowCoreThreadTimeOut(true); // Idle pools release their threads
+        setRejectedExecutionHandler((task, executor) -> {
+            rejectedTasks.incrementAndGet();
+            throw new RejectedExecutionException(name + " queue is full");
+        });
+    }
+
+    /**
+     * Submits a task, wrapping it so its queue wait and run time are recorded.
+     *
+     * @param command The task to run.
+     */
+    @Override
+    public void execute(@NonNull Runnable command) {
+        super.execute(new TimedTask(command));
+    }
+
+    /**
+     * Returns a snapshot of this pool's counters.
+     *
+     * @return The current {@link Metrics}.
+     */
+    public Metrics getMetrics() {
+        long completed = completedTasks.get();
+        return new Metrics(name, getQueue().size(), getActiveCount(), getPoolSize(),
+                completed, rejectedTasks.get(),
+                completed == 0 ? 0 : totalWaitNanos.get() / completed,
+                maxWaitNanos.get(),
+                completed == 0 ? 0 : totalRunNanos.get() / completed,
+                maxRunNanos.get());
+    }
+
+    /**
+     * Raises {@code max} to {@code value} if it is larger.
+     *
+     * @param max   The running maximum.
+     * @param value The new sample.
+     */
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A task wrapper that records its own queue wait and run time.
+     */
+    private final class TimedTask implements Runnable {
+
+        /**
+         * The wrapped task.
+         */
+        private final Runnable task;
+
+        /**
+         * When the task was submitted.
+         */
+        private final long submittedAt = System.nanoTime();
+
+        /**
+         * Constructs a new {@link TimedTask}.
+         *
+         * @param task The task to wrap.
+         */
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            long wait = startedAt - submittedAt;
+            totalWaitNanos.addAndGet(wait);
+            updateMax(maxWaitNanos, wait);
+            try {
+                task.run();
+            } finally {
+                long run = System.nanoTime() - startedAt;
+                totalRunNanos.addAndGet(run);
+                updateMax(maxRunNanos, run);
+                completedTasks.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Creates background-priority daemon threads named {@code quizo-<pool>-<n>}.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        /**
+         * The pool name.
+         */
+        private final String name;
+
+        /**
+         * Sequence number of the next thread.
+         */
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        /**
+         * Constructs a new {@link NamedThreadFactory}.
+         *
+         * @param name The pool name.
+         */
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                // Keep background work from competing with the UI thread
+                android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "quizo-" + name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * An immutable snapshot of a {@link MeteredExecutor}'s counters.
+     * Latencies are in nanoseconds.
+     */
+    public static final class Metrics {
+
+        /**
+         * The pool name.
+         */
+        public final String name;
+
+        /**
+         * Tasks currently waiting in the queue.
+         */
+        public final int queueDepth;
+
+        /**
+         * Threads currently running a task.
+         */
+        public final int activeThreads;
+
+        /**
+         * Threads currently alive in the pool.
+         */
+        public final int poolSize;
+
+        /**
+         * Tasks that have finished running.
+         */
+        public final long completedTasks;
+
+        /**
+         * Tasks rejected because the queue was full.
+         */
+        public final long rejectedTasks;
+
+        /**
+         * Average time a task waited in the queue.
+         */
+        public final long averageWaitNanos;
+
+        /**
+         * Longest time a task waited in the queue.
+         */
+        public final long maxWaitNanos;
+
+        /**
+         * Average time a task spent running.
+         */
+        public final long averageRunNanos;
+
+        /**
+         * Longest time a task spent running.
+         */
+        public final long maxRunNanos;
+
+        /**
+         * Constructs a new {@link Metrics} snapshot.
+         */
+        Metrics(String name, int queueDepth, int activeThreads, int poolSize, long completedTasks,
+                long rejectedTasks, long averageWaitNanos, long maxWaitNanos,
+                long averageRunNanos, long maxRunNanos) {
+            this.name = name;
+            this.queueDepth = queueDepth;
+            this.activeThreads = activeThreads;
+            this.poolSize = poolSize;
+            this.completedTasks = completedTasks;
+            this.rejectedTasks = rejectedTasks;
+            this.averageWaitNanos = averageWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.averageRunNanos = averageRunNanos;
+            this.maxRunNanos = maxRunNanos;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s: queue=%d active=%d/%d completed=%d rejected=%d " +
+                            "wait avg=%.1fms max=%.1fms run avg=%.1fms max=%.1fms",
+                    name, queueDepth, activeThreads, poolSize, completedTasks, rejectedTasks,
+                    averageWaitNanos / 1e6, maxWaitNanos / 1e6,
+                    averageRunNanos / 1e6, maxRunNanos / 1e6);
+        }
+    }
+}
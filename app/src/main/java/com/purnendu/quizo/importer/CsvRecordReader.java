@@ -0,0 +1,168 @@
+package com.purnendu.quizo.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A minimal streaming reader for RFC 4180 style CSV, used by {@link QuestionImporter}.
+ * Fields may be quoted with double quotes, in which case they can contain commas, line breaks
+ * and escaped quotes ({@code ""}). Records are produced one at a time, so memory use is bounded
+ * by the longest record rather than by the size of the file.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+final class CsvRecordReader {
+
+    /**
+     * Size of the internal character buffer.
+     */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The underlying character source.
+     */
+    private final Reader reader;
+
+    /**
+     * Internal read buffer.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Reusable builder for the field currently being read.
+     */
+    private final StringBuilder field = new StringBuilder();
+
+    /**
+     * Number of valid characters in {@link #buffer}.
+     */
+    private int limit;
+
+    /**
+     * Read position within {@link #buffer}.
+     */
+    private int position;
+
+    /**
+     * Number of line feeds read so far.
+     */
+    private long newlines;
+
+    /**
+     * The 1-based line on which the last record read started.
+     */
+    private long recordLine;
+
+    /**
+     * Constructs a new {@link CsvRecordReader}.
+     *
+     * @param reader The character source to read records from.
+     */
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record into {@code out}, replacing its previous contents.
+     * Blank lines are skipped.
+     *
+     * @param out The list that receives the record's fields.
+     * @return {@code true} if a record was read, {@code false} at end of input.
+     * @throws IOException If reading from the source fails or a quoted field is not terminated.
+     */
+    boolean readRecord(List<String> out) throws IOException {
+        out.clear();
+        int c;
+        // Skip blank lines between records
+        do {
+            c = read();
+        } while (c == '\r' || c == '\n');
+        if (c == -1) {
+            return false;
+        }
+        recordLine = newlines + 1;
+
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"'); // Escaped quote
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n' && next != -1) {
+                        position--; // Lone CR: leave the next character for the following record
+                    }
+                }
+                out.add(field.toString());
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Reads a single character from the buffered source.
+     *
+     * @return The character, or -1 at end of input.
+     * @throws IOException If reading from the source fails.
+     */
+    private int read() throws IOException {
+        if (position >= limit) {
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            newlines++;
+        }
+        return c;
+    }
+
+    /**
+     * Returns the line on which the last record read by {@link #readRecord(List)} started.
+     * Quoted fields may span lines, so a record can end on a later line.
+     *
+     * @return The 1-based line number, or 0 if no record has been read yet.
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Convenience factory for a reusable record list.
+     *
+     * @return A new empty list sized for a question record.
+     */
+    static List<String> newRecord() {
+        return new ArrayList<>(8);
+    }
+}
@@ -0,0 +1,641 @@
+package com.purnendu.quizo.importer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.purnendu.quizo.engine.QuizSession;
+import com.purnendu.quizo.models.Question;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A streaming bulk importer for quiz questions in the Quizo application.
+ * Questions are read from JSON-lines or CSV sources and flow through a two-stage pipeline:
+ * the calling thread parses and validates records into fixed-size batches, and a writer task on
+ * the executor passed in hands each batch to a {@link BatchWriter} (typically one Room transaction per batch).
+ * The writer task holds a thread of that executor for the whole import, so it should not be a
+ * small shared pool, and never the pool the calling thread belongs to.
+ * The stages are connected by a small bounded queue, so memory use is constant regardless of
+ * the size of the source.
+ * <p>
+ * Both formats use the 'questions' column names as field names: {@code topic},
+ * {@code question_text}, {@code option_a}, {@code option_b}, {@code option_c}, {@code option_d}
+ * and {@code correct_answer}. CSV sources must start with a header row naming these columns.
+ * Records are validated with the same rules the quiz uses ({@link QuizSession#isValidQuestion(Question)})
+ * plus a non-blank topic; invalid records are counted as rejected and skipped.
+ * <p>
+ * Every committed batch carries a checkpoint: the number of source records consumed so far.
+ * Passing the last saved checkpoint back to {@link #run(Reader, Format, long)} resumes an
+ * interrupted import without re-inserting the records already committed. When an import fails,
+ * the {@link ImportException} names the source line it stopped at.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public final class QuestionImporter {
+
+    /**
+     * Default number of questions written per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Number of parsed batches allowed to wait for the writer stage.
+     */
+    private static final int QUEUE_CAPACITY = 2;
+
+    /**
+     * Sentinel batch that tells the writer stage that the parser has finished.
+     */
+    private static final Batch END_OF_INPUT = new Batch(new ArrayList<>(), 0, 0, 0, 0);
+
+    /**
+     * Field names, in {@link Question} constructor order.
+     */
+    private static final String[] FIELDS = {"topic", "question_text", "option_a", "option_b",
+            "option_c", "option_d", "correct_answer"};
+
+    /**
+     * Runs the writer stage.
+     */
+    private final Executor writerExecutor;
+
+    /**
+     * The destination for validated batches.
+     */
+    private final BatchWriter writer;
+
+    /**
+     * Receives progress after each committed batch; may be {@code null}.
+     */
+    private final ProgressListener listener;
+
+    /**
+     * Number of questions per batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Constructs a new {@link QuestionImporter}.
+     *
+     * @param writerExecutor Runs the writer stage; it needs a thread besides the one calling
+     *                       {@link #run(Reader, Format, long)}.
+     * @param writer         The destination for validated batches.
+     * @param listener       Receives progress after each committed batch; may be {@code null}.
+     * @param batchSize      Number of questions per batch; must be positive.
+     */
+    public QuestionImporter(Executor writerExecutor, BatchWriter writer, ProgressListener listener,
+                            int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.writerExecutor = writerExecutor;
+        this.writer = writer;
+        this.listener = listener;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Checks whether a parsed question may be imported.
+     *
+     * @param question The question to validate.
+     * @return {@code true} if the question has a topic and passes the quiz validation rules.
+     */
+    public static boolean isImportable(Question question) {
+        return question != null && question.getTopic() != null &&
+                !question.getTopic().trim().isEmpty() && QuizSession.isValidQuestion(question);
+    }
+
+    /**
+     * Runs the import to completion on the calling thread (parse stage) and a writer task on
+     * the writer executor (insert stage). The reader is not closed.
+     *
+     * @param source     The character source to import from.
+     * @param format     The format of the source.
+     * @param resumeFrom The checkpoint of a previous, interrupted run, or 0 to start from scratch.
+     * @return The final {@link Progress} of the import.
+     * @throws ImportException      If reading the source or writing a batch fails, or the writer
+     *                              executor rejects the writer stage; committed batches remain committed.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public Progress run(Reader source, Format format, long resumeFrom)
+            throws ImportException, InterruptedException {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        WriterStage writerStage = new WriterStage(queue, resumeFrom);
+        try {
+            writerExecutor.execute(writerStage);
+        } catch (RejectedExecutionException e) {
+            throw new ImportException("The import could not be started", e, 0);
+        }
+
+        RecordSource records = format == Format.CSV ?
+                new CsvSource(source) : new JsonLinesSource(source);
+        try {
+            parse(records, resumeFrom, queue, writerStage);
+        } catch (IOException e) {
+            throw new ImportException("Failed to read line " + records.line(), e, records.line());
+        } finally {
+            // Always release the writer, even if parsing failed
+            enqueue(queue, END_OF_INPUT, writerStage);
+            writerStage.finished.await();
+        }
+
+        if (writerStage.failure != null) {
+            throw new ImportException("Failed to write the questions from line " +
+                    writerStage.failedLine, writerStage.failure, writerStage.failedLine);
+        }
+        return writerStage.progress;
+    }
+
+    /**
+     * The parse and validate stage: reads records, skips those already committed, and
+     * enqueues full batches for the writer stage.
+     *
+     * @param records     The record source.
+     * @param resumeFrom  Number of records to skip.
+     * @param queue       The queue feeding the writer stage.
+     * @param writerStage The writer stage, polled for failures.
+     * @throws IOException          If reading fails.
+     * @throws InterruptedException If interrupted while waiting for queue space.
+     */
+    private void parse(RecordSource records, long resumeFrom, BlockingQueue<Batch> queue,
+                       WriterStage writerStage) throws IOException, InterruptedException {
+        long consumed = 0;
+        while (consumed < resumeFrom && records.skip()) {
+            consumed++;
+        }
+
+        List<Question> batch = new ArrayList<>(batchSize);
+        long firstLine = 0;
+        long read = 0;
+        long rejected = 0;
+        while (writerStage.failure == null) {
+            Question question;
+            try {
+                question = records.next();
+            } catch (IllegalArgumentException malformed) {
+                // Record could not be parsed at all; count it and move on
+                consumed++;
+                read++;
+                rejected++;
+                continue;
+            }
+            if (question == null) {
+                break;
+            }
+            consumed++;
+            read++;
+            if (isImportable(question)) {
+                if (batch.isEmpty()) {
+                    firstLine = records.line();
+                }
+                batch.add(question);
+            } else {
+                rejected++;
+            }
+            if (batch.size() == batchSize) {
+                if (!enqueue(queue, new Batch(batch, consumed, read, rejected, firstLine),
+                        writerStage)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+                read = 0;
+                rejected = 0;
+            }
+        }
+        if (read > 0 || !batch.isEmpty()) {
+            enqueue(queue, new Batch(batch, consumed, read, rejected, firstLine), writerStage);
+        }
+    }
+
+    /**
+     * Hands a batch to the writer stage, waiting for queue space only while the writer is alive.
+     *
+     * @param queue       The queue feeding the writer stage.
+     * @param batch       The batch to enqueue.
+     * @param writerStage The writer stage, polled for failures.
+     * @return {@code true} if the batch was enqueued, {@code false} if the writer has failed.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private static boolean enqueue(BlockingQueue<Batch> queue, Batch batch,
+                                   WriterStage writerStage) throws InterruptedException {
+        while (writerStage.failure == null) {
+            if (queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a {@link Question} from field values in {@link #FIELDS} order.
+     *
+     * @param values The seven field values.
+     * @return A new, unsaved {@link Question}.
+     */
+    private static Question toQuestion(String[] values) {
+        return new Question(values[0], values[1], values[2], values[3], values[4],
+                values[5], values[6]);
+    }
+
+    /**
+     * Supported source formats.
+     */
+    public enum Format {
+        /**
+         * One JSON object per line.
+         */
+        JSON_LINES,
+        /**
+         * Comma-separated values with a header row.
+         */
+        CSV;
+
+        /**
+         * Guesses the format from a file name or MIME type.
+         *
+         * @param nameOrType A display name such as {@code bank.csv} or a MIME type such as {@code text/csv}.
+         * @return {@link #CSV} for CSV names and types, otherwise {@link #JSON_LINES}.
+         */
+        public static Format from(String nameOrType) {
+            if (nameOrType == null) {
+                return JSON_LINES;
+            }
+            String value = nameOrType.toLowerCase(Locale.ROOT);
+            return value.endsWith(".csv") || value.contains("csv") ? CSV : JSON_LINES;
+        }
+    }
+
+    /**
+     * Destination for validated batches. Implementations should write each batch atomically
+     * and persist the checkpoint only after the batch is committed.
+     */
+    public interface BatchWriter {
+        /**
+         * Writes one batch of validated questions.
+         *
+         * @param questions  The questions to insert.
+         * @param checkpoint The number of source records consumed once this batch is committed.
+         * @throws Exception If the batch could not be written.
+         */
+        void write(List<Question> questions, long checkpoint) throws Exception;
+    }
+
+    /**
+     * Callback for import progress. Invoked on the writer executor after each committed batch.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after a batch has been committed.
+         *
+         * @param progress The cumulative progress of the import.
+         */
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Cumulative progress of an import run.
+     */
+    public static final class Progress {
+
+        /**
+         * Records consumed from the source, including those skipped on resume.
+         */
+        private final long checkpoint;
+
+        /**
+         * Records read during this run.
+         */
+        private final long read;
+
+        /**
+         * Questions inserted during this run.
+         */
+        private final long imported;
+
+        /**
+         * Records rejected by validation during this run.
+         */
+        private final long rejected;
+
+        /**
+         * Constructs a new {@link Progress}.
+         *
+         * @param checkpoint Records consumed from the source.
+         * @param read       Records read during this run.
+         * @param imported   Questions inserted during this run.
+         * @param rejected   Records rejected during this run.
+         */
+        Progress(long checkpoint, long read, long imported, long rejected) {
+            this.checkpoint = checkpoint;
+            this.read = read;
+            this.imported = imported;
+            this.rejected = rejected;
+        }
+
+        /**
+         * Returns the resume checkpoint: the number of source records consumed so far.
+         *
+         * @return The checkpoint.
+         */
+        public long getCheckpoint() {
+            return checkpoint;
+        }
+
+        /**
+         * Returns the number of records read during this run.
+         *
+         * @return The read count.
+         */
+        public long getRead() {
+            return read;
+        }
+
+        /**
+         * Returns the number of questions inserted during this run.
+         *
+         * @return The imported count.
+         */
+        public long getImported() {
+            return imported;
+        }
+
+        /**
+         * Returns the number of records rejected during this run.
+         *
+         * @return The rejected count.
+         */
+        public long getRejected() {
+            return rejected;
+        }
+    }
+
+    /**
+     * Thrown when an import stops early. Batches committed before the failure stay committed,
+     * and {@link #getLine()} tells where in the source the import stopped.
+     */
+    public static final class ImportException extends Exception {
+
+        /**
+         * The source line the import stopped at, or 0 if it stopped before reading.
+         */
+        private final long line;
+
+        /**
+         * Constructs a new {@link ImportException}.
+         *
+         * @param message The detail message.
+         * @param cause   The read or write failure that stopped the import.
+         * @param line    The source line the import stopped at, or 0 if unknown.
+         */
+        ImportException(String message, Throwable cause, long line) {
+            super(message, cause);
+            this.line = line;
+        }
+
+        /**
+         * Returns the source line the import stopped at: the line that could not be read, or the
+         * first line of the batch that could not be written.
+         *
+         * @return The 1-based line number, or 0 if the import stopped before reading.
+         */
+        public long getLine() {
+            return line;
+        }
+    }
+
+    /**
+     * A batch of validated questions travelling from the parse stage to the writer stage.
+     */
+    private static final class Batch {
+        final List<Question> questions;
+        final long checkpoint;
+        final long read;
+        final long rejected;
+        final long firstLine;
+
+        Batch(List<Question> questions, long checkpoint, long read, long rejected,
+              long firstLine) {
+            this.questions = questions;
+            this.checkpoint = checkpoint;
+            this.read = read;
+            this.rejected = rejected;
+            this.firstLine = firstLine;
+        }
+    }
+
+    /**
+     * The insert stage: drains batches, writes them and reports progress.
+     */
+    private final class WriterStage implements Runnable {
+        private final BlockingQueue<Batch> queue;
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile Throwable failure;
+        volatile long failedLine;
+        volatile Progress progress;
+
+        WriterStage(BlockingQueue<Batch> queue, long resumeFrom) {
+            this.queue = queue;
+            this.progress = new Progress(resumeFrom, 0, 0, 0);
+        }
+
+        @Override
+        public void run() {
+            Batch batch = END_OF_INPUT;
+            try {
+                while (true) {
+                    batch = queue.take();
+                    if (batch == END_OF_INPUT) {
+                        return;
+                    }
+                    if (!batch.questions.isEmpty()) {
+                        writer.write(batch.questions, batch.checkpoint);
+                    }
+                    progress = new Progress(batch.checkpoint, progress.read + batch.read,
+                            progress.imported + batch.questions.size(),
+                            progress.rejected + batch.rejected);
+                    if (listener != null) {
+                        listener.onProgress(progress);
+                    }
+                }
+            } catch (InterruptedException e) {
+                failedLine = batch.firstLine;
+                failure = e;
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                failedLine = batch.firstLine;
+                failure = t;
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+
+    /**
+     * A source of question records in some format.
+     */
+    private interface RecordSource {
+        /**
+         * Parses the next record.
+         *
+         * @return The parsed question, or {@code null} at end of input.
+         * @throws IOException              If reading fails.
+         * @throws IllegalArgumentException If the record is malformed.
+         */
+        Question next() throws IOException;
+
+        /**
+         * Skips the next record without building a question.
+         *
+         * @return {@code true} if a record was skipped, {@code false} at end of input.
+         * @throws IOException If reading fails.
+         */
+        boolean skip() throws IOException;
+
+        /**
+         * Returns the source line on which the last record read or skipped started.
+         *
+         * @return The 1-based line number, or 0 before the first record.
+         */
+        long line();
+    }
+
+    /**
+     * Reads one JSON object per line.
+     */
+    private static final class JsonLinesSource implements RecordSource {
+        private final BufferedReader reader;
+        private final String[] values = new String[FIELDS.length];
+        private long lineNumber;
+
+        JsonLinesSource(Reader reader) {
+            this.reader = reader instanceof BufferedReader ?
+                    (BufferedReader) reader : new BufferedReader(reader);
+        }
+
+        /**
+         * Reads the next non-blank line.
+         *
+         * @return The line, or {@code null} at end of input.
+         * @throws IOException If reading fails.
+         */
+        private String nextLine() throws IOException {
+            String line;
+            do {
+                lineNumber++;
+                line = reader.readLine();
+            } while (line != null && line.trim().isEmpty());
+            return line;
+        }
+
+        @Override
+        public Question next() throws IOException {
+            String line = nextLine();
+            if (line == null) {
+                return null;
+            }
+            JsonObject object;
+            try {
+                JsonElement element = JsonParser.parseString(line);
+                if (!element.isJsonObject()) {
+                    throw new IllegalArgumentException("Not a JSON object");
+                }
+                object = element.getAsJsonObject();
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed JSON line", e);
+            }
+            for (int i = 0; i < FIELDS.length; i++) {
+                JsonElement value = object.get(FIELDS[i]);
+                values[i] = value == null || value.isJsonNull() || !value.isJsonPrimitive() ?
+                        null : value.getAsString();
+            }
+            return toQuestion(values);
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            return nextLine() != null;
+        }
+
+        @Override
+        public long line() {
+            return lineNumber;
+        }
+    }
+
+    /**
+     * Reads CSV records whose first row is a header naming the columns.
+     */
+    private static final class CsvSource implements RecordSource {
+        private final CsvRecordReader reader;
+        private final List<String> record = CsvRecordReader.newRecord();
+        private final String[] values = new String[FIELDS.length];
+        private int[] columns;
+
+        CsvSource(Reader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        /**
+         * Reads the header row on first use and maps each field to its column index.
+         *
+         * @return {@code true} if a header is available.
+         * @throws IOException If reading fails or the header lacks a required column.
+         */
+        private boolean ensureHeader() throws IOException {
+            if (columns != null) {
+                return true;
+            }
+            if (!reader.readRecord(record)) {
+                return false;
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < record.size(); i++) {
+                positions.put(record.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            columns = new int[FIELDS.length];
+            for (int i = 0; i < FIELDS.length; i++) {
+                Integer position = positions.get(FIELDS[i]);
+                if (position == null) {
+                    throw new IOException("CSV header is missing column '" + FIELDS[i] + "'");
+                }
+                columns[i] = position;
+            }
+            return true;
+        }
+
+        @Override
+        public Question next() throws IOException {
+            if (!ensureHeader() || !reader.readRecord(record)) {
+                return null;
+            }
+            for (int i = 0; i < FIELDS.length; i++) {
+                values[i] = columns[i] < record.size() ? record.get(columns[i]) : null;
+            }
+            return toQuestion(values);
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            return ensureHeader() && reader.readRecord(record);
+        }
+
+        @Override
+        public long line() {
+            return reader.getRecordLine();
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.purnendu.quizo.leaderboard;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link LeaderboardRepository} backed by the 'users' collection in Firebase Firestore, where
+ * each document id is the player's email.
+ * <p>
+ * Pages are ordered on the server with {@code orderBy("totalPoints", DESCENDING)} and
+ * {@code orderBy(documentId, DESCENDING)}, limited to one more document than requested (to learn
+ * whether another page exists) and continued with {@code startAfter(points, email)}. Both orderings
+ * are served by Firestore's automatic single-field index, so no composite index is needed.
+ * Snapshots are mapped to {@link LeaderBoard} field by field on the network pool, never by
+ * reflection on the main thread.
+ * <p>
+ * {@link #loadStanding(String, int, Executor, Callback)} never reads the players between the top and
+ * the current user: the rank is a server-side {@code count()} aggregation over the same ordered
+ * query ended before the player, billed per batch of index entries rather than per document, and
+ * the neighbours are two small range queries on either side of the player's cursor.
+ * <p>
+ * {@link #listenTop(int, Executor, TopListener)} attaches a snapshot listener to the same query and
+ * applies only the changed documents of each snapshot to a {@link RankedList}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for FirestoreLeaderboardRepository
+public final class FirestoreLeaderboardRepository implements LeaderboardRepository {
+
+    /**
+     * The Firestore collection holding one document per player.
+     */
+    public static final String USERS_COLLECTION = "users";
+
+    /**
+     * The field players are ranked by.
+     */
+    public static final String FIELD_TOTAL_POINTS = "totalPoints";
+
+    /**
+     * The field holding the player's display name.
+     */
+    public static final String FIELD_NAME = "name";
+
+    /**
+     * The singleton instance of {@link FirestoreLeaderboardRepository}.
+     */
+    private static FirestoreLeaderboardRepository instance = null;
+
+    /**
+     * The Firestore instance.
+     */
+    private final FirebaseFirestore db;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private FirestoreLeaderboardRepository() {
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Returns the singleton instance of the {@link FirestoreLeaderboardRepository} class.
+     * If the instance does not exist, it is created.
+     *
+     * @return The singleton instance of {@link FirestoreLeaderboardRepository}.
+     */
+    public static synchronized FirestoreLeaderboardRepository getInstance() {
+        if (instance == null) {
+            instance = new FirestoreLeaderboardRepository();
+        }
+        return instance;
+    }
+
+    @Override
+    public void loadPage(@Nullable LeaderBoard after, int pageSize, @NonNull Executor deliverOn,
+                         @NonNull Callback<LeaderboardPage> callback) {
+        Query query = rankedQuery();
+        if (after != null) {
+            query = query.startAfter(after.getTotalPoints(), after.getEmail());
+        }
+
+        query.limit(pageSize + 1).get().addOnCompleteListener(
+                AppExecutors.getInstance().network(), task -> {
+                    if (!task.isSuccessful()) {
+                        Exception error = task.getException();
+                        deliverOn.execute(() -> callback.onError(error != null ? error
+                                : new IllegalStateException("Leaderboard query failed")));
+                        return;
+                    }
+                    List<DocumentSnapshot> documents = task.getResult().getDocuments();
+                    List<LeaderBoard> entries = new ArrayList<>(Math.min(documents.size(), pageSize));
+                    for (int i = 0; i < documents.size() && i < pageSize; i++) {
+                        entries.add(fromDocument(documents.get(i)));
+                    }
+                    LeaderboardPage page = new LeaderboardPage(entries, documents.size() > pageSize);
+                    deliverOn.execute(() -> callback.onSuccess(page));
+                });
+    }
+
+    @Override
+    public void loadPlayer(@NonNull String email, @NonNull Executor deliverOn,
+                           @NonNull Callback<LeaderBoard> callback) {
+        db.collection(USERS_COLLECTION).document(email).get().addOnCompleteListener(
+                AppExecutors.getInstance().network(), task -> {
+                    if (!task.isSuccessful()) {
+                        Exception error = task.getException();
+                        deliverOn.execute(() -> callback.onError(error != null ? error
+                                : new IllegalStateException("Player query failed")));
+                        return;
+                    }
+                    DocumentSnapshot document = task.getResult();
+                    LeaderBoard player = document.exists() ? fromDocument(document) : null;
+                    deliverOn.execute(() -> callback.onSuccess(player));
+                });
+    }
+
+    @Override
+    public void loadStanding(@NonNull String email, int neighbours, @NonNull Executor deliverOn,
+                             @NonNull Callback<PlayerStanding> callback) {
+        Executor network = AppExecutors.getInstance().network();
+        loadPlayer(email, network, new Callback<LeaderBoard>() {
+            @Override
+            public void onSuccess(LeaderBoard player) {
+                if (player == null) {
+                    deliverOn.execute(() -> callback.onSuccess(null));
+                    return;
+                }
+                loadStandingOf(player, neighbours, deliverOn, callback);
+            }
+
+            @Override
+            public void onError(@NonNull Exception error) {
+                deliverOn.execute(() -> callback.onError(error));
+            }
+        });
+    }
+
+    /**
+     * Runs the four reads of a standing in parallel: the number of players ranked above, the number
+     * of players, and the neighbours on each side. The callback is invoked once all have completed.
+     *
+     * @param player     The player.
+     * @param neighbours The maximum number of players to return on each side.
+     * @param deliverOn  The executor the callback is invoked on.
+     * @param callback   Receives the standing or the first failure.
+     */
+    private void loadStandingOf(LeaderBoard player, int neighbours, Executor deliverOn,
+                                Callback<PlayerStanding> callback) {
+        Executor network = AppExecutors.getInstance().network();
+        Object[] cursor = {player.getTotalPoints(), player.getEmail()};
+        StandingReads reads = new StandingReads(player, deliverOn, callback);
+
+        // Players ranked above: points greater than the player's, or equal with a greater email
+        rankedQuery().endBefore(cursor).count().get(AggregateSource.SERVER).addOnCompleteListener(network, task -> {
+            if (task.isSuccessful()) {
+                reads.above = task.getResult().getCount();
+            }
+            reads.complete(task.getException());
+        });
+        db.collection(USERS_COLLECTION).count().get(AggregateSource.SERVER).addOnCompleteListener(network, task -> {
+            if (task.isSuccessful()) {
+                reads.total = task.getResult().getCount();
+            }
+            reads.complete(task.getException());
+        });
+        if (neighbours <= 0) {
+            reads.complete(null);
+            reads.complete(null);
+            return;
+        }
+        rankedQuery().endBefore(cursor).limitToLast(neighbours).get().addOnCompleteListener(network, task -> {
+            if (task.isSuccessful()) {
+                reads.neighboursAbove = fromDocuments(task.getResult().getDocuments());
+            }
+            reads.complete(task.getException());
+        });
+        rankedQuery().startAfter(cursor).limit(neighbours).get().addOnCompleteListener(network, task -> {
+            if (task.isSuccessful()) {
+                reads.neighboursBelow = fromDocuments(task.getResult().getDocuments());
+            }
+            reads.complete(task.getException());
+        });
+    }
+
+    @Override
+    public Subscription listenTop(int limit, @NonNull Executor deliverOn, @NonNull TopListener listener) {
+        RankedList ranked = new RankedList();
+        AtomicBoolean removed = new AtomicBoolean(false);
+        // Snapshots must be applied one at a time and in order
+        Executor serial = AppExecutors.serial(AppExecutors.getInstance().network());
+        ListenerRegistration registration = rankedQuery().limit(limit + 1).addSnapshotListener(serial,
+                (snapshot, error) -> {
+                    if (removed.get()) {
+                        return; // A snapshot that was queued before remove()
+                    }
+                    if (error != null || snapshot == null) {
+                        Exception failure = error != null ? error
+                                : new IllegalStateException("Leaderboard listener failed");
+                        deliverOn.execute(() -> listener.onError(failure));
+                        return;
+                    }
+                    // Apply only what changed since the previous snapshot
+                    for (DocumentChange change : snapshot.getDocumentChanges()) {
+                        if (change.getType() == DocumentChange.Type.REMOVED) {
+                            ranked.remove(change.getDocument().getId());
+                        } else {
+                            ranked.upsert(fromDocument(change.getDocument()));
+                        }
+                    }
+                    LeaderboardPage top = ranked.toPage(limit);
+                    deliverOn.execute(() -> listener.onChanged(top));
+                });
+        return () -> {
+            removed.set(true);
+            registration.remove();
+        };
+    }
+
+    /**
+     * Returns the 'users' collection in {@link LeaderboardRepository#RANK_ORDER}.
+     *
+     * @return The ordered query.
+     */
+    private Query rankedQuery() {
+        return db.collection(USERS_COLLECTION)
+                .orderBy(FIELD_TOTAL_POINTS, Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Maps player documents to {@link LeaderBoard} entries, keeping their order.
+     *
+     * @param documents The player documents.
+     * @return The leaderboard entries.
+     */
+    private static List<LeaderBoard> fromDocuments(List<DocumentSnapshot> documents) {
+        List<LeaderBoard> entries = new ArrayList<>(documents.size());
+        for (DocumentSnapshot document : documents) {
+            entries.add(fromDocument(document));
+        }
+        return entries;
+    }
+
+    /**
+     * Maps a player document to a {@link LeaderBoard}. The document id is the email.
+     *
+     * @param document The player document.
+     * @return The leaderboard entry.
+     */
+    static LeaderBoard fromDocument(DocumentSnapshot document) {
+        Long points = document.getLong(FIELD_TOTAL_POINTS);
+        return new LeaderBoard(document.getString(FIELD_NAME), document.getId(),
+                points == null ? 0L : points);
+    }
+
+    /**
+     * Collects the results of the parallel reads of {@link #loadStandingOf}. Each read stores its
+     * result and then calls {@link #complete(Exception)}; the last one delivers the standing.
+     */
+    private static final class StandingReads {
+
+        /**
+         * The number of reads of a standing.
+         */
+        private static final int READS = 4;
+
+        /**
+         * The player.
+         */
+        final LeaderBoard player;
+
+        /**
+         * The executor the callback is invoked on.
+         */
+        final Executor deliverOn;
+
+        /**
+         * Receives the standing or the first failure.
+         */
+        final Callback<PlayerStanding> callback;
+
+        /**
+         * The number of reads still running.
+         */
+        final AtomicInteger pending = new AtomicInteger(READS);
+
+        /**
+         * The first failure, if any.
+         */
+        volatile Exception failure = null;
+
+        /**
+         * The results of the reads.
+         */
+        volatile long above = 0L;
+        volatile long total = 0L;
+        volatile List<LeaderBoard> neighboursAbove = new ArrayList<>();
+        volatile List<LeaderBoard> neighboursBelow = new ArrayList<>();
+
+        /**
+         * Constructs a new {@link StandingReads}.
+         *
+         * @param player    The player.
+         * @param deliverOn The executor the callback is invoked on.
+         * @param callback  Receives the standing or the first failure.
+         */
+        StandingReads(LeaderBoard player, Executor deliverOn, Callback<PlayerStanding> callback) {
+            this.player = player;
+            this.deliverOn = deliverOn;
+            this.callback = callback;
+        }
+
+        /**
+         * Marks one read as completed, delivering the result after the last one.
+         *
+         * @param error The failure of the read, or {@code null} if it succeeded.
+         */
+        void complete(Exception error) {
+            if (error != null && failure == null) {
+                failure = error;
+            }
+            if (pending.decrementAndGet() > 0) {
+                return;
+            }
+            Exception firstFailure = failure;
+            if (firstFailure != null) {
+                deliverOn.execute(() -> callback.onError(firstFailure));
+                return;
+            }
+            // The player is counted in total, but the count may lag a concurrent write
+            PlayerStanding standing = new PlayerStanding(player, above + 1, Math.max(total, above + 1),
+                    neighboursAbove, neighboursBelow);
+            deliverOn.execute(() -> callback.onSuccess(standing));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.purnendu.quizo.leaderboard;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link LeaderboardRepository} that keeps every player in memory, for exercising the leaderboard
+ * screen, paging, ranking and cloud sync without Firestore. Players are kept in a {@link RankedList}
+ * in {@link LeaderboardRepository#RANK_ORDER}, so a page is a binary search for the cursor followed
+ * by {@code pageSize} reads, and a rank is a single binary search, just as cheap as the Firestore
+ * queries at a million players. Callbacks run directly on the {@code deliverOn} executor, and live
+ * listeners are notified after every change.
+ * <p>
+ * Large leaderboards are created with {@link #generate(int, long)}, and can be saved to and loaded
+ * from a compact binary file with {@link #save(File)} and {@link #load(File)}, so a fixture of a
+ * million players is generated once and reused. Wrap the repository in a
+ * {@link com.purnendu.quizo.backend.SimulatedLeaderboardRepository} to add latency and failures.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for InMemoryLeaderboardRepository
+public class InMemoryLeaderboardRepository implements LeaderboardRepository {
+
+    /**
+     * Identifies a file written by {@link #save(File)} ("QZLB").
+     */
+    private static final int FILE_MAGIC = 0x515A4C42;
+
+    /**
+     * The version of the file format written by {@link #save(File)}.
+     */
+    private static final int FILE_VERSION = 1;
+
+    /**
+     * Players in rank order.
+     */
+    private final RankedList ranked = new RankedList();
+
+    /**
+     * The running {@link #listenTop(int, Executor, TopListener)} registrations.
+     */
+    private final List<LiveTop> liveTops = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a repository holding {@code count} synthetic players with reproducible names, emails
+     * and points. Points follow a long-tailed distribution with many ties, like a real leaderboard.
+     *
+     * @param count The number of players.
+     * @param seed  The seed of the random points.
+     * @return The populated repository.
+     */
+    public static InMemoryLeaderboardRepository generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<LeaderBoard> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long points = (long) (-Math.log(1.0 - random.nextDouble()) * 500.0);
+            players.add(new LeaderBoard("Player " + i, "player" + i + "@quizo.test", points));
+        }
+        InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+        repository.putAll(players);
+        return repository;
+    }
+
+    /**
+     * Creates a repository holding the players saved by {@link #save(File)}.
+     *
+     * @param file The file to read.
+     * @return The populated repository.
+     * @throws IOException If the file cannot be read or is not a saved leaderboard.
+     */
+    public static InMemoryLeaderboardRepository load(@NonNull File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Not a saved leaderboard: " + file);
+            }
+            int count = in.readInt();
+            List<LeaderBoard> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String email = in.readUTF();
+                String name = in.readBoolean() ? in.readUTF() : null;
+                players.add(new LeaderBoard(name, email, in.readLong()));
+            }
+            InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+            repository.putAll(players);
+            return repository;
+        }
+    }
+
+    /**
+     * Saves every player to a binary file, in rank order, to be read back with {@link #load(File)}.
+     *
+     * @param file The file to write; it is replaced.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(@NonNull File file) throws IOException {
+        List<LeaderBoard> players;
+        synchronized (this) {
+            players = ranked.toList();
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(players.size());
+            for (LeaderBoard player : players) {
+                out.writeUTF(player.getEmail());
+                out.writeBoolean(player.getName() != null);
+                if (player.getName() != null) {
+                    out.writeUTF(player.getName());
+                }
+                out.writeLong(player.getTotalPoints());
+            }
+        }
+    }
+
+    /**
+     * Adds a player or replaces the player with the same email.
+     *
+     * @param player The player; its email must not be {@code null}.
+     */
+    public synchronized void put(@NonNull LeaderBoard player) {
+        ranked.upsert(player);
+        notifyLiveTops();
+    }
+
+    /**
+     * Replaces every player with the given ones, sorting them once.
+     *
+     * @param players The players, with distinct emails.
+     */
+    public synchronized void putAll(@NonNull List<LeaderBoard> players) {
+        ranked.replaceAll(players);
+        notifyLiveTops();
+    }
+
+    /**
+     * Adds points to a player's total, creating the player if needed, like a
+     * {@code FieldValue.increment} on the player's document.
+     *
+     * @param email  The email of the player.
+     * @param name   The display name of the player.
+     * @param points The points to add.
+     * @return The player's new total.
+     */
+    public synchronized long addPoints(@NonNull String email, String name, long points) {
+        LeaderBoard previous = ranked.find(email);
+        long total = (previous == null ? 0L : previous.getTotalPoints()) + points;
+        put(new LeaderBoard(name, email, total));
+        return total;
+    }
+
+    /**
+     * Returns the player with the given email.
+     *
+     * @param email The email of the player.
+     * @return The player, or {@code null} if the player has no leaderboard entry.
+     */
+    @Nullable
+    public synchronized LeaderBoard getPlayer(@NonNull String email) {
+        return ranked.find(email);
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return The number of players.
+     */
+    public synchronized int size() {
+        return ranked.size();
+    }
+
+    /**
+     * Removes every player.
+     */
+    public synchronized void clear() {
+        ranked.clear();
+        notifyLiveTops();
+    }
+
+    @Override
+    public void loadPage(@Nullable LeaderBoard after, int pageSize, @NonNull Executor deliverOn,
+                         @NonNull Callback<LeaderboardPage> callback) {
+        LeaderboardPage page;
+        synchronized (this) {
+            int from = 0;
+            if (after != null) {
+                // Skip the cursor itself if it is still present
+                from = ranked.countBefore(after);
+                if (from < ranked.size() && LeaderboardRepository.RANK_ORDER.compare(ranked.get(from), after) == 0) {
+                    from++;
+                }
+            }
+            page = new LeaderboardPage(ranked.slice(from, from + pageSize), from + pageSize < ranked.size());
+        }
+        deliverOn.execute(() -> callback.onSuccess(page));
+    }
+
+    @Override
+    public void loadPlayer(@NonNull String email, @NonNull Executor deliverOn,
+                           @NonNull Callback<LeaderBoard> callback) {
+        LeaderBoard player = getPlayer(email);
+        deliverOn.execute(() -> callback.onSuccess(player));
+    }
+
+    @Override
+    public void loadStanding(@NonNull String email, int neighbours, @NonNull Executor deliverOn,
+                             @NonNull Callback<PlayerStanding> callback) {
+        PlayerStanding standing = null;
+        synchronized (this) {
+            LeaderBoard player = ranked.find(email);
+            if (player != null) {
+                int index = ranked.countBefore(player);
+                standing = new PlayerStanding(player, index + 1L, ranked.size(),
+                        ranked.slice(index - neighbours, index), ranked.slice(index + 1, index + 1 + neighbours));
+            }
+        }
+        PlayerStanding result = standing;
+        deliverOn.execute(() -> callback.onSuccess(result));
+    }
+
+    @Override
+    public Subscription listenTop(int limit, @NonNull Executor deliverOn, @NonNull TopListener listener) {
+        LiveTop liveTop = new LiveTop(limit, deliverOn, listener);
+        synchronized (this) {
+            liveTops.add(liveTop);
+            liveTop.deliver(); // The initial top
+        }
+        return () -> liveTops.remove(liveTop);
+    }
+
+    /**
+     * Sends the current top to every live listener. Called while holding the lock.
+     */
+    private void notifyLiveTops() {
+        for (LiveTop liveTop : liveTops) {
+            liveTop.deliver();
+        }
+    }
+
+    /**
+     * A running {@link #listenTop(int, Executor, TopListener)} registration.
+     */
+    private final class LiveTop {
+
+        /**
+         * The number of players to keep live.
+         */
+        final int limit;
+
+        /**
+         * The executor the listener is invoked on.
+         */
+        final Executor deliverOn;
+
+        /**
+         * The listener.
+         */
+        final TopListener listener;
+
+        /**
+         * Constructs a new {@link LiveTop}.
+         *
+         * @param limit     The number of players to keep live.
+         * @param deliverOn The executor the listener is invoked on.
+         * @param listener  The listener.
+         */
+        LiveTop(int limit, Executor deliverOn, TopListener listener) {
+            this.limit = limit;
+            this.deliverOn = deliverOn;
+            this.listener = listener;
+        }
+
+        /**
+         * Copies the current top and delivers it. Must be called while holding the lock.
+         */
+        void deliver() {
+            LeaderboardPage page = ranked.toPage(limit);
+            deliverOn.execute(() -> listener.onChanged(page));
+        }
+    }
+}
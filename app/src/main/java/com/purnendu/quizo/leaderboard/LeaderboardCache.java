@@ -0,0 +1,294 @@
+package com.purnendu.quizo.leaderboard;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.backend.CloudBackend;
+import com.purnendu.quizo.dao.LeaderboardDao;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.models.LeaderBoard;
+import com.purnendu.quizo.models.LeaderboardSnapshotEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A persisted snapshot of the first page of the leaderboard, so the screen renders instantly and
+ * also works offline.
+ * <p>
+ * The screen keeps the first page live with a listener, renders the last snapshot with
+ * {@link #peek(Executor, Listener)} until the listener delivers, and saves every page it receives
+ * with {@link #store(LeaderboardPage)}. Stored pages are kept in memory at once and written to the
+ * 'leaderboard_snapshot' table at most once per {@link #STORE_INTERVAL_MILLIS}; the latest page of
+ * an interval is always written at its end, so a page replaced within the interval (such as a
+ * listener's first page served from the local cache) never stays the persisted one.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for LeaderboardCache
+public final class LeaderboardCache {
+
+    /**
+     * Number of players in the cached first page.
+     */
+    public static final int PAGE_SIZE = 25;
+
+    /**
+     * Age after which a snapshot is reported as stale.
+     */
+    public static final long TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * Minimum time between two writes of a stored page to the database.
+     */
+    private static final long STORE_INTERVAL_MILLIS = 30 * 1000L;
+
+    /**
+     * The singleton instance of {@link LeaderboardCache}.
+     */
+    private static LeaderboardCache instance = null;
+
+    /**
+     * The source of fresh pages.
+     */
+    private final LeaderboardRepository remote;
+
+    /**
+     * The persisted snapshot.
+     */
+    private final LeaderboardDao leaderboardDao;
+
+    /**
+     * Runs snapshot reads and writes.
+     */
+    private final Executor diskIO = AppExecutors.getInstance().diskIO();
+
+    /**
+     * Delays the write of a page stored within {@link #STORE_INTERVAL_MILLIS} of the last write.
+     */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Guards the write state below and the first fill of {@link #memoryPage}.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The last snapshot read or stored, or {@code null} until the first one.
+     */
+    private volatile LeaderboardPage memoryPage = null;
+
+    /**
+     * When {@link #memoryPage} was received, in epoch milliseconds.
+     */
+    private volatile long memoryFetchedAt = 0L;
+
+    /**
+     * The stored page not yet written to the database, or {@code null} if it is up to date.
+     */
+    private LeaderboardPage unwrittenPage = null;
+
+    /**
+     * When {@link #unwrittenPage} was received, in epoch milliseconds.
+     */
+    private long unwrittenFetchedAt = 0L;
+
+    /**
+     * Whether a write of {@link #unwrittenPage} is queued or scheduled.
+     */
+    private boolean writePending = false;
+
+    /**
+     * When the database was last written, in epoch milliseconds.
+     */
+    private long lastWrittenAt = 0L;
+
+    /**
+     * Constructs a new {@link LeaderboardCache}.
+     *
+     * @param context The application context, used to open the database.
+     * @param remote  The source of fresh pages.
+     */
+    private LeaderboardCache(Context context, LeaderboardRepository remote) {
+        this.remote = remote;
+        this.leaderboardDao = QuizoDatabaseClient.getInstance(context).leaderboardDao();
+    }
+
+    /**
+     * Returns the singleton instance of the {@link LeaderboardCache} class.
+     * If the instance does not exist, it is created over the repository of the {@link CloudBackend}
+     * in use, Firestore by default.
+     *
+     * @param context The context, used to open the database.
+     * @return The singleton instance of {@link LeaderboardCache}.
+     */
+    public static synchronized LeaderboardCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new LeaderboardCache(context.getApplicationContext(),
+                    CloudBackend.getInstance().getLeaderboardRepository());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the repository used for fresh pages, for loading the pages after the cached one.
+     *
+     * @return The remote repository.
+     */
+    public LeaderboardRepository getRemote() {
+        return remote;
+    }
+
+    /**
+     * Delivers the cached first page, if any, without downloading anything. The listener is not
+     * called when nothing is cached.
+     *
+     * @param deliverOn The executor the listener is invoked on.
+     * @param listener  Receives the snapshot.
+     */
+    public void peek(@NonNull Executor deliverOn, @NonNull Listener listener) {
+        diskIO.execute(() -> {
+            if (memoryPage != null || readSnapshot()) {
+                LeaderboardPage page = memoryPage;
+                boolean fresh = System.currentTimeMillis() - memoryFetchedAt < TTL_MILLIS;
+                deliverOn.execute(() -> listener.onSnapshot(page, fresh));
+            }
+        });
+    }
+
+    /**
+     * Saves a first page obtained elsewhere (for example from a live listener) as the snapshot.
+     * The page is kept in memory at once. It is written to the database right away if the last
+     * write is at least {@link #STORE_INTERVAL_MILLIS} old, and otherwise when the interval ends,
+     * together with any later page, so a busy live leaderboard does not rewrite the table on every
+     * change and the latest page is always the one persisted.
+     *
+     * @param page The first page of the leaderboard.
+     */
+    public void store(@NonNull LeaderboardPage page) {
+        long fetchedAt = System.currentTimeMillis();
+        memoryPage = page;
+        memoryFetchedAt = fetchedAt;
+        long delay;
+        synchronized (lock) {
+            unwrittenPage = page;
+            unwrittenFetchedAt = fetchedAt;
+            if (writePending) {
+                return; // The pending write picks up this page
+            }
+            writePending = true;
+            delay = lastWrittenAt + STORE_INTERVAL_MILLIS - fetchedAt;
+        }
+        if (delay > 0) {
+            handler.postDelayed(this::queueWrite, delay);
+        } else {
+            queueWrite();
+        }
+    }
+
+    /**
+     * Queues the write of the latest stored page on the disk I/O pool. If the pool is saturated the
+     * write is dropped, and the next stored page writes again.
+     */
+    private void queueWrite() {
+        try {
+            diskIO.execute(this::writeUnwritten);
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                writePending = false;
+            }
+        }
+    }
+
+    /**
+     * Writes the latest stored page, then schedules the write of any page stored meanwhile for the
+     * end of the interval. Must run on the disk I/O pool.
+     */
+    private void writeUnwritten() {
+        LeaderboardPage page;
+        long fetchedAt;
+        synchronized (lock) {
+            page = unwrittenPage;
+            fetchedAt = unwrittenFetchedAt;
+            unwrittenPage = null;
+            lastWrittenAt = System.currentTimeMillis();
+        }
+        try {
+            if (page != null) {
+                writeSnapshot(page, fetchedAt);
+            }
+        } finally {
+            long delay;
+            synchronized (lock) {
+                if (unwrittenPage == null) {
+                    writePending = false;
+                    return;
+                }
+                // Stored while writing; writes never overlap, so an older page cannot land last
+                delay = Math.max(0L, lastWrittenAt + STORE_INTERVAL_MILLIS - System.currentTimeMillis());
+            }
+            handler.postDelayed(this::queueWrite, delay);
+        }
+    }
+
+    /**
+     * Loads the persisted snapshot into memory, unless a newer one is already there.
+     * Must run on the disk I/O pool.
+     *
+     * @return {@code true} if a snapshot is now in memory.
+     */
+    private boolean readSnapshot() {
+        List<LeaderboardSnapshotEntry> rows = leaderboardDao.getSnapshot();
+        if (rows.isEmpty()) {
+            return memoryPage != null;
+        }
+        List<LeaderBoard> entries = new ArrayList<>(rows.size());
+        for (LeaderboardSnapshotEntry row : rows) {
+            entries.add(new LeaderBoard(row.getName(), row.getEmail(), row.getTotalPoints()));
+        }
+        synchronized (lock) {
+            if (memoryPage == null) {
+                memoryPage = new LeaderboardPage(entries, rows.get(0).hasMore());
+                memoryFetchedAt = rows.get(0).getFetchedAt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the persisted snapshot. Must run on the disk I/O pool.
+     *
+     * @param page      The first page of the leaderboard.
+     * @param fetchedAt When the page was downloaded.
+     */
+    private void writeSnapshot(LeaderboardPage page, long fetchedAt) {
+        List<LeaderboardSnapshotEntry> rows = new ArrayList<>(page.getEntries().size());
+        for (int i = 0; i < page.getEntries().size(); i++) {
+            LeaderBoard entry = page.getEntries().get(i);
+            rows.add(new LeaderboardSnapshotEntry(i, entry.getEmail(), entry.getName(),
+                    entry.getTotalPoints(), page.hasMore(), fetchedAt));
+        }
+        leaderboardDao.replaceSnapshot(rows);
+    }
+
+    /**
+     * Receives the snapshot from {@link #peek(Executor, Listener)}.
+     */
+    public interface Listener {
+
+        /**
+         * Called with a snapshot of the first page.
+         *
+         * @param page  The first page of the leaderboard.
+         * @param fresh {@code false} if the snapshot is older than {@link #TTL_MILLIS}.
+         */
+        void onSnapshot(LeaderboardPage page, boolean fresh);
+    }
+}
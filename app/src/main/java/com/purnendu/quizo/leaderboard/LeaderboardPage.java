@@ -0,0 +1,67 @@
+package com.purnendu.quizo.leaderboard;
+
+import androidx.annotation.Nullable;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of the leaderboard returned by {@link LeaderboardRepository#loadPage}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for LeaderboardPage
+public final class LeaderboardPage {
+
+    /**
+     * The players of this page, in rank order.
+     */
+    private final List<LeaderBoard> entries;
+
+    /**
+     * Whether more players follow this page.
+     */
+    private final boolean hasMore;
+
+    /**
+     * Constructs a new {@link LeaderboardPage}.
+     *
+     * @param entries The players of this page, in rank order.
+     * @param hasMore Whether more players follow this page.
+     */
+    public LeaderboardPage(List<LeaderBoard> entries, boolean hasMore) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Returns the players of this page, in rank order.
+     *
+     * @return The players.
+     */
+    public List<LeaderBoard> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns whether more players follow this page.
+     *
+     * @return {@code true} if another page can be loaded.
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Returns the last player of this page, which is the cursor for the next page.
+     *
+     * @return The last player, or {@code null} if the page is empty.
+     */
+    @Nullable
+    public LeaderBoard getLast() {
+        return entries.isEmpty() ? null : entries.get(entries.size() - 1);
+    }
+}
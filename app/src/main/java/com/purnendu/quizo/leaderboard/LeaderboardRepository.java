@@ -0,0 +1,139 @@
+package com.purnendu.quizo.leaderboard;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+
+/**
+ * Read access to the Quizo leaderboard. Players are ranked by total points, highest first, with the
+ * email (the player's document id) breaking ties in descending order, see {@link #RANK_ORDER}.
+ * <p>
+ * Pages are keyset based: the last {@link LeaderBoard} of one page is the cursor for the next, so a
+ * page costs the same number of documents however far the user has scrolled.
+ * {@link #listenTop(int, Executor, TopListener)} additionally keeps the first page live.
+ * <p>
+ * Implementations:
+ * <ul>
+ * <li>{@link FirestoreLeaderboardRepository}: the 'users' collection in Firebase Firestore.</li>
+ * <li>{@link InMemoryLeaderboardRepository}: a local stand-in that needs no network.</li>
+ * <li>{@link com.purnendu.quizo.backend.SimulatedLeaderboardRepository}: adds latency and failures
+ * in front of another implementation.</li>
+ * </ul>
+ * The implementation in use is chosen by {@link com.purnendu.quizo.backend.CloudBackend}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public interface LeaderboardRepository {
+
+    /**
+     * The leaderboard order: total points descending, then email descending.
+     */
+    Comparator<LeaderBoard> RANK_ORDER = (first, second) -> {
+        int byPoints = Long.compare(second.getTotalPoints(), first.getTotalPoints());
+        return byPoints != 0 ? byPoints : second.getEmail().compareTo(first.getEmail());
+    };
+
+    /**
+     * Loads the page of players that follows {@code after} in {@link #RANK_ORDER}.
+     *
+     * @param after     The last player of the previous page, or {@code null} for the first page.
+     * @param pageSize  The maximum number of players to return.
+     * @param deliverOn The executor the callback is invoked on.
+     * @param callback  Receives the page or the failure.
+     */
+    void loadPage(@Nullable LeaderBoard after, int pageSize, @NonNull Executor deliverOn,
+                  @NonNull Callback<LeaderboardPage> callback);
+
+    /**
+     * Loads a single player by email.
+     *
+     * @param email     The email of the player.
+     * @param deliverOn The executor the callback is invoked on.
+     * @param callback  Receives the player, or {@code null} if the player has no leaderboard entry.
+     */
+    void loadPlayer(@NonNull String email, @NonNull Executor deliverOn,
+                    @NonNull Callback<LeaderBoard> callback);
+
+    /**
+     * Loads a player's rank among all players together with up to {@code neighbours} players
+     * directly above and below, without reading the players in between.
+     *
+     * @param email      The email of the player.
+     * @param neighbours The maximum number of players to return on each side.
+     * @param deliverOn  The executor the callback is invoked on.
+     * @param callback   Receives the standing, or {@code null} if the player has no leaderboard entry.
+     */
+    void loadStanding(@NonNull String email, int neighbours, @NonNull Executor deliverOn,
+                      @NonNull Callback<PlayerStanding> callback);
+
+    /**
+     * Starts listening to the top of the leaderboard. The listener receives the current top
+     * {@code limit} players at once and again after every change, until the returned
+     * {@link Subscription} is removed.
+     *
+     * @param limit     The number of players to keep live.
+     * @param deliverOn The executor the listener is invoked on.
+     * @param listener  Receives the top players.
+     * @return The handle that stops the updates.
+     */
+    Subscription listenTop(int limit, @NonNull Executor deliverOn, @NonNull TopListener listener);
+
+    /**
+     * Receives the live top of the leaderboard from {@link #listenTop(int, Executor, TopListener)}.
+     */
+    interface TopListener {
+
+        /**
+         * Called with the top of the leaderboard, first on start and then after each change.
+         * Every call receives a new page; earlier pages are never modified.
+         *
+         * @param top The top players, in rank order.
+         */
+        void onChanged(LeaderboardPage top);
+
+        /**
+         * Called when the updates fail. No further updates are delivered.
+         *
+         * @param error The failure.
+         */
+        void onError(@NonNull Exception error);
+    }
+
+    /**
+     * A handle to a running {@link #listenTop(int, Executor, TopListener)}.
+     */
+    interface Subscription {
+
+        /**
+         * Stops the updates. Calling it more than once has no effect.
+         */
+        void remove();
+    }
+
+    /**
+     * Receives the result of an asynchronous leaderboard read.
+     *
+     * @param <T> The type of the result.
+     */
+    interface Callback<T> {
+
+        /**
+         * Called when the read succeeds.
+         *
+         * @param result The result.
+         */
+        void onSuccess(T result);
+
+        /**
+         * Called when the read fails.
+         *
+         * @param error The failure.
+         */
+        void onError(@NonNull Exception error);
+    }
+}
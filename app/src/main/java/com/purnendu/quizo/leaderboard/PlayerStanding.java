@@ -0,0 +1,107 @@
+package com.purnendu.quizo.leaderboard;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A player's place on the leaderboard, returned by {@link LeaderboardRepository#loadStanding}:
+ * the player's rank among all players, and the players ranked directly above and below.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for PlayerStanding
+public final class PlayerStanding {
+
+    /**
+     * The player.
+     */
+    private final LeaderBoard player;
+
+    /**
+     * The player's rank, starting at 1 for the leader.
+     */
+    private final long rank;
+
+    /**
+     * The number of players on the leaderboard.
+     */
+    private final long playerCount;
+
+    /**
+     * The players ranked directly above, in rank order.
+     */
+    private final List<LeaderBoard> above;
+
+    /**
+     * The players ranked directly below, in rank order.
+     */
+    private final List<LeaderBoard> below;
+
+    /**
+     * Constructs a new {@link PlayerStanding}.
+     *
+     * @param player      The player.
+     * @param rank        The player's rank, starting at 1 for the leader.
+     * @param playerCount The number of players on the leaderboard.
+     * @param above       The players ranked directly above, in rank order.
+     * @param below       The players ranked directly below, in rank order.
+     */
+    public PlayerStanding(LeaderBoard player, long rank, long playerCount,
+                          List<LeaderBoard> above, List<LeaderBoard> below) {
+        this.player = player;
+        this.rank = rank;
+        this.playerCount = playerCount;
+        this.above = Collections.unmodifiableList(above);
+        this.below = Collections.unmodifiableList(below);
+    }
+
+    /**
+     * Returns the player.
+     *
+     * @return The player.
+     */
+    public LeaderBoard getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the player's rank.
+     *
+     * @return The rank, starting at 1 for the leader.
+     */
+    public long getRank() {
+        return rank;
+    }
+
+    /**
+     * Returns the number of players on the leaderboard.
+     *
+     * @return The number of players.
+     */
+    public long getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Returns the players ranked directly above the player, in rank order. The last one is
+     * ranked {@code getRank() - 1}.
+     *
+     * @return The players above.
+     */
+    public List<LeaderBoard> getAbove() {
+        return above;
+    }
+
+    /**
+     * Returns the players ranked directly below the player, in rank order. The first one is
+     * ranked {@code getRank() + 1}.
+     *
+     * @return The players below.
+     */
+    public List<LeaderBoard> getBelow() {
+        return below;
+    }
+}
@@ -0,0 +1,160 @@
+package com.purnendu.quizo.leaderboard;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of players kept in {@link LeaderboardRepository#RANK_ORDER} that is updated one player at
+ * a time, for applying the added, modified and removed documents of a live query without re-sorting.
+ * Each update is a binary search plus one array shift, and a player's rank is a binary search, so
+ * the list also serves as an indexed leaderboard of a million players.
+ * <p>
+ * This class is not thread-safe; feed it from a single (or serial) executor.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for RankedList
+final class RankedList {
+
+    /**
+     * The players, in rank order.
+     */
+    private final ArrayList<LeaderBoard> entries = new ArrayList<>();
+
+    /**
+     * The players by email, to find the entry an update replaces.
+     */
+    private final Map<String, LeaderBoard> byEmail = new HashMap<>();
+
+    /**
+     * Adds a player, or moves and updates the player with the same email.
+     *
+     * @param player The player.
+     */
+    void upsert(LeaderBoard player) {
+        LeaderBoard previous = byEmail.put(player.getEmail(), player);
+        if (previous != null) {
+            entries.remove(Collections.binarySearch(entries, previous, LeaderboardRepository.RANK_ORDER));
+        }
+        int index = Collections.binarySearch(entries, player, LeaderboardRepository.RANK_ORDER);
+        entries.add(index < 0 ? -index - 1 : index, player);
+    }
+
+    /**
+     * Replaces the contents with the given players, sorting them once. Much faster than upserting
+     * them one by one when loading a large leaderboard.
+     *
+     * @param players The players, in any order, with distinct emails.
+     */
+    void replaceAll(Collection<LeaderBoard> players) {
+        entries.clear();
+        byEmail.clear();
+        entries.ensureCapacity(players.size());
+        entries.addAll(players);
+        entries.sort(LeaderboardRepository.RANK_ORDER);
+        for (LeaderBoard player : entries) {
+            byEmail.put(player.getEmail(), player);
+        }
+    }
+
+    /**
+     * Removes every player.
+     */
+    void clear() {
+        entries.clear();
+        byEmail.clear();
+    }
+
+    /**
+     * Removes the player with the given email, if present.
+     *
+     * @param email The email of the player.
+     */
+    void remove(String email) {
+        LeaderBoard previous = byEmail.remove(email);
+        if (previous != null) {
+            entries.remove(Collections.binarySearch(entries, previous, LeaderboardRepository.RANK_ORDER));
+        }
+    }
+
+    /**
+     * Returns the player with the given email.
+     *
+     * @param email The email of the player.
+     * @return The player, or {@code null} if absent.
+     */
+    LeaderBoard find(String email) {
+        return byEmail.get(email);
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return The size of the list.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the player at a zero-based position in rank order.
+     *
+     * @param index The position.
+     * @return The player.
+     */
+    LeaderBoard get(int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * Returns the number of players ranked before {@code player}, whether or not it is in the list.
+     * This is the player's zero-based position if present, and the position it would take otherwise.
+     *
+     * @param player The player, or a cursor with the same points and email.
+     * @return The number of players ranked before it.
+     */
+    int countBefore(LeaderBoard player) {
+        int index = Collections.binarySearch(entries, player, LeaderboardRepository.RANK_ORDER);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * Returns a copy of the players from position {@code from} (inclusive) to {@code to} (exclusive),
+     * clamped to the list.
+     *
+     * @param from The first position.
+     * @param to   The position after the last one.
+     * @return The players, in rank order.
+     */
+    List<LeaderBoard> slice(int from, int to) {
+        int start = Math.max(0, Math.min(from, entries.size()));
+        int end = Math.max(start, Math.min(to, entries.size()));
+        return new ArrayList<>(entries.subList(start, end));
+    }
+
+    /**
+     * Returns a copy of all players, in rank order.
+     *
+     * @return The players.
+     */
+    List<LeaderBoard> toList() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Returns a copy of the first {@code limit} players as a page.
+     *
+     * @param limit The page size.
+     * @return The page; {@link LeaderboardPage#hasMore()} is set if more than {@code limit} players are held.
+     */
+    LeaderboardPage toPage(int limit) {
+        return new LeaderboardPage(slice(0, limit), entries.size() > limit);
+    }
+}
@@ -6,6 +6,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import java.util.Objects;
@@ -13,7 +14,8 @@ import java.util.Objects;
 /**
  * Represents an administrator entity in the Quizo application, used for authentication and management.
  * This class is designed as a Room {@link androidx.room.Entity} for database persistence,
- * with fields for username, email, and password. The email serves as the {@link androidx.room.PrimaryKey}.
+ * with fields for username, email, and password. The email serves as the {@link androidx.room.PrimaryKey}
+ * and the username is indexed so login can look an administrator up without scanning the table.
  * It also implements {@link android.os.Parcelable} to allow efficient data transfer between Android components.
  * <p>
  * Key fields include:
@@ -26,7 +28,7 @@ import java.util.Objects;
  * @author Purnendu Guha
  * @version 2.0.1
  */
-@Entity(tableName = "admin")
+@Entity(tableName = "admin", indices = {@Index(value = {"username"})})
 public class Admin implements Parcelable {
 
     /**
@@ -5,18 +5,22 @@ import android.os.Parcelable;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
  * Represents a single quiz attempt by a user in the Quizo application.
  * This class is designed as a Room {@link androidx.room.Entity} for database persistence,
  * storing details about when the attempt was made, the subject, performance, and points.
- * The {@code createdTime} serves as the {@link androidx.room.PrimaryKey}.
+ * An auto-generated {@code id} serves as the {@link androidx.room.PrimaryKey}, so two attempts recorded
+ * in the same millisecond are both kept. A composite index on {@code (email, createdTime)} serves the
+ * user's newest-first, paged history.
  * It also implements {@link android.os.Parcelable} for efficient data transfer between Android components.
  * <p>
  * Key fields include:
  * <ul>
- * <li>{@code createdTime}: The timestamp (in milliseconds) when the quiz attempt was recorded, serving as the primary key.</li>
+ * <li>{@code id}: The auto-generated row id, serving as the primary key.</li>
+ * <li>{@code createdTime}: The timestamp (in milliseconds) when the quiz attempt was recorded.</li>
  * <li>{@code subject}: The topic of the quiz (e.g., "Math", "Geography").</li>
  * <li>{@code correct}: The number of questions answered correctly.</li>
  * <li>{@code incorrect}: The number of questions answered incorrectly.</li>
@@ -28,7 +32,7 @@ import androidx.room.PrimaryKey;
  * @author Purnendu Guha
  * @version 2.0.1
  */
-@Entity(tableName = "attempt")
+@Entity(tableName = "attempt", indices = {@Index(value = {"email", "createdTimeAttempt"})})
 public class Attempt implements Parcelable {
 
     /**
@@ -59,10 +63,16 @@ public class Attempt implements Parcelable {
     };
 
     /**
-     * The timestamp (in milliseconds) when the quiz attempt was created.
+     * The auto-generated id of the attempt.
      * This serves as the primary key for the attempt table.
      */
-    @PrimaryKey()
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "id")
+    private long id;
+
+    /**
+     * The timestamp (in milliseconds) when the quiz attempt was created.
+     */
     @ColumnInfo(name = "createdTimeAttempt")
     private final long createdTime;
 
@@ -129,6 +139,7 @@ public class Attempt implements Parcelable {
      * @param in The Parcel containing the Attempt object's data.
      */
     protected Attempt(Parcel in) {
+        id = in.readLong();
         createdTime = in.readLong();
         subject = in.readString();
         correct = in.readInt();
@@ -138,6 +149,24 @@ public class Attempt implements Parcelable {
         overallPoints = in.readLong();
     }
 
+    /**
+     * Returns the auto-generated id of the attempt, or 0 if it has not been inserted yet.
+     *
+     * @return The attempt id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the attempt. Used by Room and after an insert.
+     *
+     * @param id The attempt id.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
     /**
      * Returns the timestamp when the quiz attempt was created.
      *
@@ -219,6 +248,7 @@ public class Attempt implements Parcelable {
      */
     @Override
     public void writeToParcel(Parcel dest, int flags) {
+        dest.writeLong(id);
         dest.writeLong(createdTime);
         dest.writeString(subject);
         dest.writeInt(correct);
@@ -0,0 +1,57 @@
+package com.purnendu.quizo.models;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Holds the totals of a filtered range of a user's quiz attempts in the Quizo application.
+ * This is a plain result class for Room queries (see
+ * {@link com.purnendu.quizo.dao.UserDao#getHistorySummary(String, String, long, long)}); it is not
+ * stored in its own table. The totals are computed in SQL, so the history screen never has to load
+ * every attempt to show them.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class HistorySummary {
+
+    /**
+     * The number of attempts in the range.
+     */
+    @ColumnInfo(name = "attempt_count")
+    private final int attemptCount;
+
+    /**
+     * The sum of the points earned in the range.
+     */
+    @ColumnInfo(name = "total_points")
+    private final long totalPoints;
+
+    /**
+     * Constructs a new {@link HistorySummary} object.
+     *
+     * @param attemptCount The number of attempts in the range.
+     * @param totalPoints  The sum of the points earned in the range.
+     */
+    public HistorySummary(int attemptCount, long totalPoints) {
+        this.attemptCount = attemptCount;
+        this.totalPoints = totalPoints;
+    }
+
+    /**
+     * Returns the number of attempts in the range.
+     *
+     * @return The attempt count.
+     */
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    /**
+     * Returns the sum of the points earned in the range.
+     *
+     * @return The total points.
+     */
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+}
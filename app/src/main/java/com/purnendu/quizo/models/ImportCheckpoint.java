@@ -0,0 +1,73 @@
+package com.purnendu.quizo.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Represents how far a question bank import has been committed in the Quizo application.
+ * This class is designed as a Room {@link androidx.room.Entity}. The row is written in the same
+ * transaction as each imported batch (see
+ * {@link com.purnendu.quizo.dao.QuestionDao#insertImportBatch(java.util.List, String, long)}), so
+ * the checkpoint never runs ahead of or behind the questions actually stored, and resuming an
+ * interrupted import neither skips nor repeats a record.
+ * <p>
+ * Key fields include:
+ * <ul>
+ * <li>{@code source}: The imported document, such as its URI, used as the primary key.</li>
+ * <li>{@code recordsDone}: The number of source records consumed by the committed batches.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ * @see com.purnendu.quizo.importer.QuestionImporter
+ */
+@Entity(tableName = "import_checkpoints")
+public class ImportCheckpoint {
+
+    /**
+     * The imported document.
+     * Serves as the primary key in the database.
+     */
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "source")
+    private final String source;
+
+    /**
+     * The number of source records consumed by the committed batches.
+     */
+    @ColumnInfo(name = "records_done")
+    private final long recordsDone;
+
+    /**
+     * Constructs a new {@link ImportCheckpoint} object.
+     *
+     * @param source      The imported document.
+     * @param recordsDone The number of source records consumed by the committed batches.
+     */
+    public ImportCheckpoint(@NonNull String source, long recordsDone) {
+        this.source = source;
+        this.recordsDone = recordsDone;
+    }
+
+    /**
+     * Returns the imported document.
+     *
+     * @return The source.
+     */
+    @NonNull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of source records consumed by the committed batches.
+     *
+     * @return The checkpoint to resume from.
+     */
+    public long getRecordsDone() {
+        return recordsDone;
+    }
+}
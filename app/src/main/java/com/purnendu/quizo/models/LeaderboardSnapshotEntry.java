@@ -0,0 +1,141 @@
+package com.purnendu.quizo.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Represents one row of the locally cached first page of the leaderboard in the Quizo application.
+ * This class is designed as a Room {@link androidx.room.Entity}. The whole snapshot is replaced in
+ * one transaction, so every row of it carries the same {@code fetchedAt} and {@code hasMore}.
+ * <p>
+ * Key fields include:
+ * <ul>
+ * <li>{@code position}: The zero-based position in rank order, used as the primary key.</li>
+ * <li>{@code email}, {@code name} and {@code totalPoints}: The player.</li>
+ * <li>{@code hasMore}: Whether more players followed the snapshot when it was fetched.</li>
+ * <li>{@code fetchedAt}: When the snapshot was downloaded, in epoch milliseconds.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ * @see com.purnendu.quizo.leaderboard.LeaderboardCache
+ */
+@Entity(tableName = "leaderboard_snapshot")
+public class LeaderboardSnapshotEntry {
+
+    /**
+     * The zero-based position of the player in rank order.
+     * Serves as the primary key in the database.
+     */
+    @PrimaryKey
+    @ColumnInfo(name = "position")
+    private final int position;
+
+    /**
+     * The email of the player.
+     */
+    @NonNull
+    @ColumnInfo(name = "email")
+    private final String email;
+
+    /**
+     * The display name of the player.
+     */
+    @ColumnInfo(name = "name")
+    private final String name;
+
+    /**
+     * The total points of the player.
+     */
+    @ColumnInfo(name = "total_points")
+    private final long totalPoints;
+
+    /**
+     * Whether more players followed the snapshot.
+     */
+    @ColumnInfo(name = "has_more")
+    private final boolean hasMore;
+
+    /**
+     * When the snapshot was downloaded, in epoch milliseconds.
+     */
+    @ColumnInfo(name = "fetched_at")
+    private final long fetchedAt;
+
+    /**
+     * Constructs a new {@link LeaderboardSnapshotEntry} object.
+     *
+     * @param position    The zero-based position of the player in rank order.
+     * @param email       The email of the player.
+     * @param name        The display name of the player.
+     * @param totalPoints The total points of the player.
+     * @param hasMore     Whether more players followed the snapshot.
+     * @param fetchedAt   When the snapshot was downloaded.
+     */
+    public LeaderboardSnapshotEntry(int position, @NonNull String email, String name, long totalPoints,
+                                    boolean hasMore, long fetchedAt) {
+        this.position = position;
+        this.email = email;
+        this.name = name;
+        this.totalPoints = totalPoints;
+        this.hasMore = hasMore;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Returns the zero-based position of the player in rank order.
+     *
+     * @return The position.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the email of the player.
+     *
+     * @return The email.
+     */
+    @NonNull
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the display name of the player.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the total points of the player.
+     *
+     * @return The total points.
+     */
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * Returns whether more players followed the snapshot.
+     *
+     * @return {@code true} if the snapshot was not the whole leaderboard.
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Returns when the snapshot was downloaded.
+     *
+     * @return The download time, in epoch milliseconds.
+     */
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,148 @@
+package com.purnendu.quizo.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Represents one attempt result waiting to be uploaded to the cloud leaderboard in the Quizo
+ * application. This class is designed as a Room {@link androidx.room.Entity}. A row is inserted in
+ * the same transaction that records the {@link Attempt} (see
+ * {@link com.purnendu.quizo.dao.UserDao#recordAttemptForSync(Attempt, String)}), so a result earned
+ * offline survives until {@link com.purnendu.quizo.sync.CloudSyncWorker} has uploaded it, and is
+ * deleted only after the upload succeeded.
+ * <p>
+ * Key fields include:
+ * <ul>
+ * <li>{@code attemptKey}: A random key generated once per attempt, used as the primary key and as
+ * the idempotency key of the upload, so a retried upload is recognised as the same attempt.</li>
+ * <li>{@code email} and {@code name}: The user the result belongs to.</li>
+ * <li>{@code earned}: The points earned in the attempt, which the cloud total is incremented by.</li>
+ * <li>{@code totalPoints}: The user's overall points on this device after the attempt.</li>
+ * <li>{@code createdTime}: When the attempt was recorded, in epoch milliseconds.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Entity(tableName = "cloud_outbox", indices = {@Index(value = {"email", "created_time"})})
+public class OutboxEntry {
+
+    /**
+     * The idempotency key of the attempt.
+     * Serves as the primary key in the database.
+     */
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "attempt_key")
+    private final String attemptKey;
+
+    /**
+     * The email of the user.
+     */
+    @NonNull
+    @ColumnInfo(name = "email")
+    private final String email;
+
+    /**
+     * The display name of the user.
+     */
+    @ColumnInfo(name = "name")
+    private final String name;
+
+    /**
+     * The points earned in the attempt.
+     */
+    @ColumnInfo(name = "earned")
+    private final long earned;
+
+    /**
+     * The user's overall points after the attempt.
+     */
+    @ColumnInfo(name = "total_points")
+    private final long totalPoints;
+
+    /**
+     * When the attempt was recorded, in epoch milliseconds.
+     */
+    @ColumnInfo(name = "created_time")
+    private final long createdTime;
+
+    /**
+     * Constructs a new {@link OutboxEntry} object.
+     *
+     * @param attemptKey  The idempotency key of the attempt.
+     * @param email       The email of the user.
+     * @param name        The display name of the user.
+     * @param earned      The points earned in the attempt.
+     * @param totalPoints The user's overall points after the attempt.
+     * @param createdTime When the attempt was recorded.
+     */
+    public OutboxEntry(@NonNull String attemptKey, @NonNull String email, String name, long earned,
+                       long totalPoints, long createdTime) {
+        this.attemptKey = attemptKey;
+        this.email = email;
+        this.name = name;
+        this.earned = earned;
+        this.totalPoints = totalPoints;
+        this.createdTime = createdTime;
+    }
+
+    /**
+     * Returns the idempotency key of the attempt.
+     *
+     * @return The attempt key.
+     */
+    @NonNull
+    public String getAttemptKey() {
+        return attemptKey;
+    }
+
+    /**
+     * Returns the email of the user.
+     *
+     * @return The email.
+     */
+    @NonNull
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the display name of the user.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the points earned in the attempt.
+     *
+     * @return The earned points.
+     */
+    public long getEarned() {
+        return earned;
+    }
+
+    /**
+     * Returns the user's overall points after the attempt.
+     *
+     * @return The overall points.
+     */
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * Returns when the attempt was recorded.
+     *
+     * @return The creation time, in epoch milliseconds.
+     */
+    public long getCreatedTime() {
+        return createdTime;
+    }
+}
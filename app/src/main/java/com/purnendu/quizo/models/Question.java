@@ -2,13 +2,15 @@ package com.purnendu.quizo.models;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
  * Represents a quiz question entity in the Quizo application.
  * This class is designed as a Room {@link androidx.room.Entity} for database persistence,
  * storing all details required for a multiple-choice question.
- * Each question has a unique auto-generated primary key.
+ * Each question has a unique auto-generated primary key, and the {@code topic} column is indexed
+ * so per-topic lookups do not scan the whole table.
  * <p>
  * Key fields include:
  * <ul>
@@ -22,7 +24,7 @@ import androidx.room.PrimaryKey;
  * @author Purnendu Guha
  * @version 2.0.1
  */
-@Entity(tableName = "questions")
+@Entity(tableName = "questions", indices = {@Index(value = {"topic"})})
 public class Question {
 
     /**
@@ -0,0 +1,119 @@
+package com.purnendu.quizo.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text search index over the 'questions' table in the Quizo application.
+ * This class is a Room {@link androidx.room.Fts4} entity declared with
+ * {@code contentEntity = Question.class}, so the virtual table stores no copy of the text;
+ * Room installs triggers that keep the index in sync with every insert, update and delete
+ * on {@link Question}. Rows share their {@code rowid} with the question they index.
+ * <p>
+ * Indexed columns:
+ * <ul>
+ * <li>{@code question_text}: The text of the question.</li>
+ * <li>{@code option_a}, {@code option_b}, {@code option_c}, {@code option_d}: The four answer choices.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Fts4(contentEntity = Question.class)
+@Entity(tableName = "questions_fts")
+public class QuestionFts {
+
+    /**
+     * The indexed question text.
+     */
+    @ColumnInfo(name = "question_text")
+    private final String questionText;
+
+    /**
+     * The indexed text of option A.
+     */
+    @ColumnInfo(name = "option_a")
+    private final String optionA;
+
+    /**
+     * The indexed text of option B.
+     */
+    @ColumnInfo(name = "option_b")
+    private final String optionB;
+
+    /**
+     * The indexed text of option C.
+     */
+    @ColumnInfo(name = "option_c")
+    private final String optionC;
+
+    /**
+     * The indexed text of option D.
+     */
+    @ColumnInfo(name = "option_d")
+    private final String optionD;
+
+    /**
+     * Constructs a new {@link QuestionFts} row. Used by Room only.
+     *
+     * @param questionText The question text.
+     * @param optionA      The text of option A.
+     * @param optionB      The text of option B.
+     * @param optionC      The text of option C.
+     * @param optionD      The text of option D.
+     */
+    public QuestionFts(String questionText, String optionA, String optionB,
+                       String optionC, String optionD) {
+        this.questionText = questionText;
+        this.optionA = optionA;
+        this.optionB = optionB;
+        this.optionC = optionC;
+        this.optionD = optionD;
+    }
+
+    /**
+     * Returns the indexed question text.
+     *
+     * @return The question text.
+     */
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    /**
+     * Returns the indexed text of option A.
+     *
+     * @return The text of option A.
+     */
+    public String getOptionA() {
+        return optionA;
+    }
+
+    /**
+     * Returns the indexed text of option B.
+     *
+     * @return The text of option B.
+     */
+    public String getOptionB() {
+        return optionB;
+    }
+
+    /**
+     * Returns the indexed text of option C.
+     *
+     * @return The text of option C.
+     */
+    public String getOptionC() {
+        return optionC;
+    }
+
+    /**
+     * Returns the indexed text of option D.
+     *
+     * @return The text of option D.
+     */
+    public String getOptionD() {
+        return optionD;
+    }
+}
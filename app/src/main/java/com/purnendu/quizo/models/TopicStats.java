@@ -0,0 +1,71 @@
+package com.purnendu.quizo.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Represents the maintained per-topic counters for the 'questions' table in the Quizo application.
+ * This class is designed as a Room {@link androidx.room.Entity}. Its rows are never written by
+ * application code; SQLite triggers installed by {@link com.purnendu.quizo.databases.QuizoDatabase}
+ * keep them in sync whenever a {@link Question} is inserted, deleted or moved to another topic.
+ * <p>
+ * Key fields include:
+ * <ul>
+ * <li>{@code topic}: The subject category, used as the primary key.</li>
+ * <li>{@code questionCount}: The number of questions currently stored for the topic.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Entity(tableName = "topic_stats")
+public class TopicStats {
+
+    /**
+     * The subject category these counters belong to.
+     * Serves as the primary key in the database.
+     */
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "topic")
+    private final String topic;
+
+    /**
+     * The number of questions stored for the topic.
+     * Stored as a column in the database.
+     */
+    @ColumnInfo(name = "question_count")
+    private final int questionCount;
+
+    /**
+     * Constructs a new {@link TopicStats} object.
+     *
+     * @param topic         The subject category.
+     * @param questionCount The number of questions stored for the topic.
+     */
+    public TopicStats(@NonNull String topic, int questionCount) {
+        this.topic = topic;
+        this.questionCount = questionCount;
+    }
+
+    /**
+     * Returns the topic these counters belong to.
+     *
+     * @return The topic.
+     */
+    @NonNull
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Returns the number of questions stored for the topic.
+     *
+     * @return The question count.
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
+}
@@ -0,0 +1,89 @@
+package com.purnendu.quizo.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Represents the running totals of a user's quiz attempts in the Quizo application.
+ * This class is designed as a Room {@link androidx.room.Entity}. Its row is updated in the same
+ * transaction that inserts each {@link Attempt} (see
+ * {@link com.purnendu.quizo.dao.UserDao#recordAttempt(Attempt)}), so a user's overall points are
+ * a primary-key lookup instead of a sum over their whole history.
+ * <p>
+ * Key fields include:
+ * <ul>
+ * <li>{@code email}: The email of the user, used as the primary key.</li>
+ * <li>{@code totalPoints}: The sum of the points earned over all attempts.</li>
+ * <li>{@code attemptCount}: The number of attempts recorded.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Entity(tableName = "user_stats")
+public class UserStats {
+
+    /**
+     * The email of the user these totals belong to.
+     * Serves as the primary key in the database.
+     */
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "email")
+    private final String email;
+
+    /**
+     * The sum of the points earned over all attempts.
+     */
+    @ColumnInfo(name = "total_points")
+    private final long totalPoints;
+
+    /**
+     * The number of attempts recorded.
+     */
+    @ColumnInfo(name = "attempt_count")
+    private final int attemptCount;
+
+    /**
+     * Constructs a new {@link UserStats} object.
+     *
+     * @param email        The email of the user.
+     * @param totalPoints  The sum of the points earned over all attempts.
+     * @param attemptCount The number of attempts recorded.
+     */
+    public UserStats(@NonNull String email, long totalPoints, int attemptCount) {
+        this.email = email;
+        this.totalPoints = totalPoints;
+        this.attemptCount = attemptCount;
+    }
+
+    /**
+     * Returns the email of the user.
+     *
+     * @return The email.
+     */
+    @NonNull
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the sum of the points earned over all attempts.
+     *
+     * @return The total points.
+     */
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * Returns the number of attempts recorded.
+     *
+     * @return The attempt count.
+     */
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+}
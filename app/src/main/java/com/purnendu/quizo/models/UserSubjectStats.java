@@ -0,0 +1,372 @@
+package com.purnendu.quizo.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+import java.util.TimeZone;
+
+/**
+ * Represents the running totals and analytics of a user's quiz attempts in one subject in the Quizo
+ * application. This class is designed as a Room {@link androidx.room.Entity} with the composite primary
+ * key {@code (email, subject)}. Like {@link UserStats}, its row is updated in the same transaction that
+ * inserts each {@link Attempt}, by folding the attempt in with {@link #plus(String, String, long, int, int, long)}.
+ * Every value shown on the analytics screen is therefore read from this one row; the attempt history
+ * is never scanned.
+ * <p>
+ * Key fields include:
+ * <ul>
+ * <li>{@code email}: The email of the user.</li>
+ * <li>{@code subject}: The subject of the attempts.</li>
+ * <li>{@code totalPoints}: The sum of the points earned in this subject.</li>
+ * <li>{@code attemptCount}: The number of attempts recorded in this subject.</li>
+ * <li>{@code correctCount} and {@code answeredCount}: The answers given, for the accuracy.</li>
+ * <li>{@code bestEarned}: The most points earned in a single attempt.</li>
+ * <li>{@code lastAttemptDay}, {@code currentStreak} and {@code longestStreak}: The daily streak.</li>
+ * <li>{@code recentEarned}: The points of the last {@link #TREND_LENGTH} attempts, oldest first.</li>
+ * </ul>
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@Entity(tableName = "user_subject_stats", primaryKeys = {"email", "subject"})
+public class UserSubjectStats {
+
+    /**
+     * Number of recent attempts kept for the trend.
+     */
+    public static final int TREND_LENGTH = 10;
+
+    /**
+     * Milliseconds in a day.
+     */
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    /**
+     * The email of the user these totals belong to.
+     */
+    @NonNull
+    @ColumnInfo(name = "email")
+    private final String email;
+
+    /**
+     * The subject these totals belong to.
+     */
+    @NonNull
+    @ColumnInfo(name = "subject")
+    private final String subject;
+
+    /**
+     * The sum of the points earned in this subject.
+     */
+    @ColumnInfo(name = "total_points")
+    private final long totalPoints;
+
+    /**
+     * The number of attempts recorded in this subject.
+     */
+    @ColumnInfo(name = "attempt_count")
+    private final int attemptCount;
+
+    /**
+     * The number of correct answers given in this subject.
+     */
+    @ColumnInfo(name = "correct_count")
+    private final long correctCount;
+
+    /**
+     * The number of answers (correct and incorrect) given in this subject.
+     */
+    @ColumnInfo(name = "answered_count")
+    private final long answeredCount;
+
+    /**
+     * The most points earned in a single attempt.
+     */
+    @ColumnInfo(name = "best_earned")
+    private final long bestEarned;
+
+    /**
+     * The local day (days since the epoch) of the latest attempt.
+     */
+    @ColumnInfo(name = "last_attempt_day")
+    private final long lastAttemptDay;
+
+    /**
+     * The number of consecutive days, ending on {@link #lastAttemptDay}, with at least one attempt.
+     */
+    @ColumnInfo(name = "current_streak")
+    private final int currentStreak;
+
+    /**
+     * The longest run of consecutive days with at least one attempt.
+     */
+    @ColumnInfo(name = "longest_streak")
+    private final int longestStreak;
+
+    /**
+     * The points of the last {@link #TREND_LENGTH} attempts, comma separated, oldest first.
+     */
+    @NonNull
+    @ColumnInfo(name = "recent_earned")
+    private final String recentEarned;
+
+    /**
+     * Constructs a new {@link UserSubjectStats} object.
+     *
+     * @param email          The email of the user.
+     * @param subject        The subject.
+     * @param totalPoints    The sum of the points earned in this subject.
+     * @param attemptCount   The number of attempts recorded in this subject.
+     * @param correctCount   The number of correct answers.
+     * @param answeredCount  The number of answers given.
+     * @param bestEarned     The most points earned in a single attempt.
+     * @param lastAttemptDay The local epoch day of the latest attempt.
+     * @param currentStreak  The streak ending on {@code lastAttemptDay}.
+     * @param longestStreak  The longest streak.
+     * @param recentEarned   The comma separated points of the recent attempts, oldest first.
+     */
+    public UserSubjectStats(@NonNull String email, @NonNull String subject, long totalPoints,
+                            int attemptCount, long correctCount, long answeredCount, long bestEarned,
+                            long lastAttemptDay, int currentStreak, int longestStreak,
+                            @NonNull String recentEarned) {
+        this.email = email;
+        this.subject = subject;
+        this.totalPoints = totalPoints;
+        this.attemptCount = attemptCount;
+        this.correctCount = correctCount;
+        this.answeredCount = answeredCount;
+        this.bestEarned = bestEarned;
+        this.lastAttemptDay = lastAttemptDay;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+        this.recentEarned = recentEarned;
+    }
+
+    /**
+     * Returns the stats with one more attempt folded in. The receiver is not modified, and
+     * {@code previous} may be {@code null} for the user's first attempt in the subject.
+     * Attempts are expected in creation order; an attempt on an earlier day than the latest one
+     * still counts towards the totals but does not change the streak.
+     *
+     * @param previous    The current stats, or {@code null} if there are none yet.
+     * @param email       The email of the user.
+     * @param subject     The subject of the attempt.
+     * @param createdTime The creation time of the attempt, in epoch milliseconds.
+     * @param correct     The number of correct answers in the attempt.
+     * @param incorrect   The number of incorrect answers in the attempt.
+     * @param earned      The points earned in the attempt.
+     * @return The updated stats.
+     */
+    public static UserSubjectStats plus(@Nullable UserSubjectStats previous, @NonNull String email,
+                                        @NonNull String subject, long createdTime, int correct,
+                                        int incorrect, long earned) {
+        long day = toEpochDay(createdTime);
+        if (previous == null) {
+            return new UserSubjectStats(email, subject, earned, 1, correct,
+                    (long) correct + incorrect, earned, day, 1, 1, String.valueOf(earned));
+        }
+
+        long lastDay = previous.lastAttemptDay;
+        int streak = previous.currentStreak;
+        if (day == lastDay + 1) {
+            streak++; // Continued the streak
+        } else if (day > lastDay + 1) {
+            streak = 1; // Missed a day, start over
+        } else {
+            day = lastDay; // Same day (or out of order), the streak is unchanged
+        }
+
+        return new UserSubjectStats(email, subject,
+                previous.totalPoints + earned,
+                previous.attemptCount + 1,
+                previous.correctCount + correct,
+                previous.answeredCount + correct + incorrect,
+                Math.max(previous.bestEarned, earned),
+                day, streak, Math.max(previous.longestStreak, streak),
+                appendRecent(previous.recentEarned, earned));
+    }
+
+    /**
+     * Converts a time to the number of days since the epoch in the device's time zone, so a streak
+     * day runs from local midnight to local midnight.
+     *
+     * @param timeMillis The time, in epoch milliseconds.
+     * @return The local epoch day.
+     */
+    public static long toEpochDay(long timeMillis) {
+        return Math.floorDiv(timeMillis + TimeZone.getDefault().getOffset(timeMillis), DAY_MILLIS);
+    }
+
+    /**
+     * Appends a value to the recent points, dropping the oldest once {@link #TREND_LENGTH} are kept.
+     *
+     * @param recent The comma separated recent points.
+     * @param earned The points to append.
+     * @return The new comma separated recent points.
+     */
+    private static String appendRecent(String recent, long earned) {
+        if (recent.isEmpty()) {
+            return String.valueOf(earned);
+        }
+        int count = 1;
+        for (int i = 0; i < recent.length(); i++) {
+            if (recent.charAt(i) == ',') {
+                count++;
+            }
+        }
+        if (count >= TREND_LENGTH) {
+            recent = recent.substring(recent.indexOf(',') + 1);
+        }
+        return recent + ',' + earned;
+    }
+
+    /**
+     * Returns the email of the user.
+     *
+     * @return The email.
+     */
+    @NonNull
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the subject.
+     *
+     * @return The subject.
+     */
+    @NonNull
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Returns the sum of the points earned in this subject.
+     *
+     * @return The total points.
+     */
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * Returns the number of attempts recorded in this subject.
+     *
+     * @return The attempt count.
+     */
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    /**
+     * Returns the number of correct answers given in this subject.
+     *
+     * @return The correct answer count.
+     */
+    public long getCorrectCount() {
+        return correctCount;
+    }
+
+    /**
+     * Returns the number of answers given in this subject.
+     *
+     * @return The answered count.
+     */
+    public long getAnsweredCount() {
+        return answeredCount;
+    }
+
+    /**
+     * Returns the most points earned in a single attempt.
+     *
+     * @return The best score.
+     */
+    public long getBestEarned() {
+        return bestEarned;
+    }
+
+    /**
+     * Returns the local epoch day of the latest attempt.
+     *
+     * @return The day of the latest attempt.
+     */
+    public long getLastAttemptDay() {
+        return lastAttemptDay;
+    }
+
+    /**
+     * Returns the streak as of the latest attempt. Use {@link #getCurrentStreak(long)} to display it.
+     *
+     * @return The stored streak.
+     */
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    /**
+     * Returns the streak as seen on the given day: the stored streak if the latest attempt was
+     * today or yesterday, and 0 once a whole day has passed without an attempt.
+     *
+     * @param today The local epoch day, see {@link #toEpochDay(long)}.
+     * @return The current streak.
+     */
+    public int getCurrentStreak(long today) {
+        return today - lastAttemptDay <= 1 ? currentStreak : 0;
+    }
+
+    /**
+     * Returns the longest run of consecutive days with at least one attempt.
+     *
+     * @return The longest streak.
+     */
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    /**
+     * Returns the comma separated points of the recent attempts, oldest first.
+     *
+     * @return The recent points.
+     */
+    @NonNull
+    public String getRecentEarned() {
+        return recentEarned;
+    }
+
+    /**
+     * Returns the share of correct answers.
+     *
+     * @return The accuracy between 0 and 1, or 0 if no answers were given.
+     */
+    public double getAccuracy() {
+        return answeredCount == 0 ? 0d : (double) correctCount / answeredCount;
+    }
+
+    /**
+     * Returns the average points earned per attempt.
+     *
+     * @return The average score, or 0 if there are no attempts.
+     */
+    public double getAverageEarned() {
+        return attemptCount == 0 ? 0d : (double) totalPoints / attemptCount;
+    }
+
+    /**
+     * Returns the points of the recent attempts, oldest first.
+     *
+     * @return Up to {@link #TREND_LENGTH} values.
+     */
+    public long[] getTrend() {
+        if (recentEarned.isEmpty()) {
+            return new long[0];
+        }
+        String[] parts = recentEarned.split(",");
+        long[] trend = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            trend[i] = Long.parseLong(parts[i]);
+        }
+        return trend;
+    }
+}
@@ -0,0 +1,354 @@
+package com.purnendu.quizo.questionpack;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.purnendu.quizo.models.Question;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A read-only question bank served straight from a memory-mapped question pack, laid out as
+ * described by {@link QuestionPackFormat}.
+ * <p>
+ * Opening a pack maps it with {@link FileChannel#map(FileChannel.MapMode, long, long)} and checks
+ * its header; only the topic names are decoded up front. Every other string is decoded when its
+ * question is asked for, so opening takes the same few milliseconds and almost no heap however
+ * large the pack is, and the pages of the pack belong to the page cache rather than the app.
+ * The bundled pack is mapped straight out of the APK, which stores it uncompressed.
+ * <p>
+ * Questions served from a pack are not in the database and have id 0. A pack is immutable, so an
+ * instance is safe to use from any thread.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for QuestionPack
+public final class QuestionPack {
+
+    /**
+     * The bundled pack, once {@link #bundledLoaded} is set; {@code null} if there is none.
+     */
+    private static QuestionPack bundled = null;
+
+    /**
+     * Whether opening the bundled pack has been attempted.
+     */
+    private static boolean bundledLoaded = false;
+
+    /**
+     * The mapped pack. Only read through absolute gets and duplicates, never moved.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The pack id: a CRC-32 of the pack's content, written by the build.
+     */
+    private final int packId;
+
+    /**
+     * The number of questions.
+     */
+    private final int questionCount;
+
+    /**
+     * The number of strings.
+     */
+    private final int stringCount;
+
+    /**
+     * The offset of the question index.
+     */
+    private final int questionsOffset;
+
+    /**
+     * The offset of the string offsets.
+     */
+    private final int stringOffsetsOffset;
+
+    /**
+     * The offset of the string data.
+     */
+    private final int stringDataOffset;
+
+    /**
+     * The topic names, in pack order.
+     */
+    private final String[] topics;
+
+    /**
+     * The index of the first question of each topic.
+     */
+    private final int[] topicFirst;
+
+    /**
+     * The number of questions of each topic.
+     */
+    private final int[] topicCount;
+
+    /**
+     * Constructs a new {@link QuestionPack} over a mapped pack, checking its header.
+     *
+     * @param buffer The pack, positioned at its first byte.
+     * @throws IOException If the buffer does not hold a pack of a supported version.
+     */
+    QuestionPack(@NonNull ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.slice();
+        int size = this.buffer.capacity();
+        if (size < QuestionPackFormat.HEADER_SIZE || this.buffer.getInt(0) != QuestionPackFormat.MAGIC) {
+            throw new IOException("Not a question pack");
+        }
+        if (this.buffer.getInt(4) != QuestionPackFormat.VERSION) {
+            throw new IOException("Unsupported question pack version " + this.buffer.getInt(4));
+        }
+        packId = this.buffer.getInt(QuestionPackFormat.PACK_ID_POSITION);
+        int topicCount = this.buffer.getInt(12);
+        questionCount = this.buffer.getInt(16);
+        stringCount = this.buffer.getInt(20);
+        int topicsOffset = this.buffer.getInt(24);
+        questionsOffset = this.buffer.getInt(28);
+        stringOffsetsOffset = this.buffer.getInt(32);
+        stringDataOffset = this.buffer.getInt(36);
+
+        // Sections must follow each other exactly, so no later read can leave the buffer
+        if (topicCount < 0 || questionCount < 0 || stringCount < 0
+                || topicsOffset != QuestionPackFormat.HEADER_SIZE
+                || questionsOffset != topicsOffset + (long) topicCount * QuestionPackFormat.TOPIC_FIELDS * 4
+                || stringOffsetsOffset != questionsOffset + (long) questionCount * QuestionPackFormat.QUESTION_FIELDS * 4
+                || stringDataOffset != stringOffsetsOffset + ((long) stringCount + 1) * 4
+                || stringDataOffset > size
+                || stringDataOffset + (long) this.buffer.getInt(stringOffsetsOffset + stringCount * 4) > size) {
+            throw new IOException("Corrupt question pack");
+        }
+
+        topics = new String[topicCount];
+        topicFirst = new int[topicCount];
+        this.topicCount = new int[topicCount];
+        for (int i = 0; i < topicCount; i++) {
+            int base = topicsOffset + i * QuestionPackFormat.TOPIC_FIELDS * 4;
+            topics[i] = readString(this.buffer.getInt(base));
+            topicFirst[i] = this.buffer.getInt(base + 4);
+            this.topicCount[i] = this.buffer.getInt(base + 8);
+            if (topicFirst[i] < 0 || this.topicCount[i] < 0
+                    || (long) topicFirst[i] + this.topicCount[i] > questionCount) {
+                throw new IOException("Corrupt question pack");
+            }
+        }
+    }
+
+    /**
+     * Returns the pack bundled with the app, opening it on first use.
+     *
+     * @param context The context, used to open the asset.
+     * @return The bundled pack, or {@code null} if the app has none or it cannot be read.
+     */
+    @WorkerThread
+    @Nullable
+    public static synchronized QuestionPack getBundled(Context context) {
+        if (!bundledLoaded) {
+            bundledLoaded = true;
+            try {
+                bundled = openAsset(context, QuestionPackFormat.ASSET_NAME);
+            } catch (IOException e) {
+                // No pack in this build, or stored compressed; quizzes use the database only
+                bundled = null;
+            }
+        }
+        return bundled;
+    }
+
+    /**
+     * Maps a pack stored uncompressed in the app's assets.
+     *
+     * @param context   The context, used to open the asset.
+     * @param assetName The name of the asset.
+     * @return The pack.
+     * @throws IOException If the asset is missing, compressed or not a pack.
+     */
+    @WorkerThread
+    @NonNull
+    public static QuestionPack openAsset(Context context, String assetName) throws IOException {
+        try (AssetFileDescriptor descriptor = context.getAssets().openFd(assetName);
+             FileInputStream in = new FileInputStream(descriptor.getFileDescriptor())) {
+            // The mapping stays valid after the descriptor is closed
+            return new QuestionPack(in.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                    descriptor.getStartOffset(), descriptor.getLength()));
+        }
+    }
+
+    /**
+     * Maps a pack file.
+     *
+     * @param file The pack file.
+     * @return The pack.
+     * @throws IOException If the file cannot be read or is not a pack.
+     */
+    @WorkerThread
+    @NonNull
+    public static QuestionPack open(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            return new QuestionPack(in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length()));
+        }
+    }
+
+    /**
+     * Returns the pack id, a checksum of its content; a different id means different questions.
+     *
+     * @return The pack id.
+     */
+    public int getPackId() {
+        return packId;
+    }
+
+    /**
+     * Returns the number of questions in the pack.
+     *
+     * @return The question count.
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * Returns the number of questions of a topic.
+     *
+     * @param topic The topic.
+     * @return The question count; 0 if the pack has no such topic.
+     */
+    public int getQuestionCount(@NonNull String topic) {
+        int i = indexOfTopic(topic);
+        return i < 0 ? 0 : topicCount[i];
+    }
+
+    /**
+     * Returns a question, decoding its strings.
+     *
+     * @param index The index of the question in the pack, from 0 to {@link #getQuestionCount()}.
+     * @return The question, with id 0.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    @NonNull
+    public Question getQuestion(int index) {
+        if (index < 0 || index >= questionCount) {
+            throw new IndexOutOfBoundsException("Question " + index + " of " + questionCount);
+        }
+        return readQuestion(topicOf(index), index);
+    }
+
+    /**
+     * Samples up to {@code limit} distinct questions of a topic in random order, decoding only
+     * those.
+     *
+     * @param topic  The topic.
+     * @param limit  The maximum number of questions to return (the quiz session length).
+     * @param random The source of randomness.
+     * @return The sampled questions; empty if the pack has no such topic.
+     */
+    @NonNull
+    public List<Question> sampleQuestions(@NonNull String topic, int limit, @NonNull Random random) {
+        int t = indexOfTopic(topic);
+        int count = t < 0 ? 0 : topicCount[t];
+        int sampleSize = Math.min(limit, count);
+        List<Question> questions = new ArrayList<>(Math.max(0, sampleSize));
+        if (sampleSize <= 0) {
+            return questions;
+        }
+
+        // Floyd's algorithm: sampleSize distinct positions in [0, count)
+        Set<Integer> positions = new HashSet<>();
+        for (int j = count - sampleSize; j < count; j++) {
+            int candidate = random.nextInt(j + 1);
+            positions.add(positions.contains(candidate) ? j : candidate);
+        }
+        for (int position : positions) {
+            questions.add(readQuestion(t, topicFirst[t] + position));
+        }
+        Collections.shuffle(questions, random);
+        return questions;
+    }
+
+    /**
+     * Decodes a question.
+     *
+     * @param topic The index of the question's topic.
+     * @param index The index of the question.
+     * @return The question.
+     */
+    private Question readQuestion(int topic, int index) {
+        int base = questionsOffset + index * QuestionPackFormat.QUESTION_FIELDS * 4;
+        int text = buffer.getInt(base);
+        String[] options = new String[QuestionPackFormat.OPTION_COUNT];
+        for (int slot = 0; slot < options.length; slot++) {
+            options[slot] = readString(buffer.getInt(base + (slot + 1) * 4));
+        }
+        String answer = options[text >>> QuestionPackFormat.ANSWER_SHIFT];
+        return new Question(topics[topic], readString(text & QuestionPackFormat.STRING_INDEX_MASK),
+                options[0], options[1], options[2], options[3], answer);
+    }
+
+    /**
+     * Decodes a string of the string table.
+     *
+     * @param index The index of the string.
+     * @return The string.
+     * @throws IndexOutOfBoundsException If the pack refers to a string it does not have.
+     */
+    private String readString(int index) {
+        if (index < 0 || index >= stringCount) {
+            throw new IndexOutOfBoundsException("String " + index + " of " + stringCount);
+        }
+        int start = buffer.getInt(stringOffsetsOffset + index * 4);
+        int end = buffer.getInt(stringOffsetsOffset + (index + 1) * 4);
+        byte[] bytes = new byte[end - start];
+        ByteBuffer view = buffer.duplicate(); // Independent position, so threads never interfere
+        view.position(stringDataOffset + start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the index of a topic.
+     *
+     * @param topic The topic.
+     * @return Its index, or -1 if the pack has no such topic.
+     */
+    private int indexOfTopic(String topic) {
+        for (int i = 0; i < topics.length; i++) {
+            if (topics[i].equals(topic)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the topic a question belongs to.
+     *
+     * @param index The index of the question.
+     * @return The index of its topic.
+     */
+    private int topicOf(int index) {
+        for (int i = 0; i < topics.length; i++) {
+            if (index >= topicFirst[i] && index < topicFirst[i] + topicCount[i]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Question " + index + " has no topic");
+    }
+}
@@ -0,0 +1,86 @@
+package com.purnendu.quizo.questionpack;
+
+/**
+ * The layout of a question pack: the compact, read-only question bank bundled with the app as
+ * {@link #ASSET_NAME}, written at build time by {@link QuestionPackWriter} and memory-mapped at
+ * run time by {@link QuestionPack}.
+ * <p>
+ * All integers are big-endian 32-bit values. A pack consists of, in order:
+ * <ol>
+ * <li>The header: {@link #MAGIC}, {@link #VERSION}, the pack id (a CRC-32 of everything after the
+ * header), the topic, question and string counts, and the offsets of the four sections below.</li>
+ * <li>The topic table: per topic, the string index of its name, its first question and its
+ * question count. Questions are grouped by topic, so each topic is one range of the index.</li>
+ * <li>The question index: per question, {@link #QUESTION_FIELDS} string indices, for the text and
+ * options A to D. The slot of the correct option is stored in the top two bits of the text's
+ * index.</li>
+ * <li>The string offsets: {@code stringCount + 1} offsets into the string data, so string
+ * {@code i} spans {@code [offset[i], offset[i + 1])}.</li>
+ * <li>The string data: every distinct string once, UTF-8 encoded.</li>
+ * </ol>
+ * This class only holds constants. It depends on nothing but the JDK, since the build compiles it
+ * too.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for QuestionPackFormat
+public final class QuestionPackFormat {
+
+    /**
+     * The name of the pack in the app's assets. The extension is stored uncompressed, so the pack
+     * can be mapped straight out of the APK.
+     */
+    public static final String ASSET_NAME = "questions.qpk";
+
+    /**
+     * The first four bytes of every pack: "QPK1".
+     */
+    public static final int MAGIC = 0x51504B31;
+
+    /**
+     * The layout version written by {@link QuestionPackWriter}.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 40;
+
+    /**
+     * The header position of the pack id.
+     */
+    public static final int PACK_ID_POSITION = 8;
+
+    /**
+     * The number of integers per topic in the topic table.
+     */
+    public static final int TOPIC_FIELDS = 3;
+
+    /**
+     * The number of integers per question in the question index.
+     */
+    public static final int QUESTION_FIELDS = 5;
+
+    /**
+     * The number of options of every question.
+     */
+    public static final int OPTION_COUNT = 4;
+
+    /**
+     * The shift of the correct option's slot within the question text's string index.
+     */
+    public static final int ANSWER_SHIFT = 30;
+
+    /**
+     * The mask of the string index within the question text's field.
+     */
+    public static final int STRING_INDEX_MASK = (1 << ANSWER_SHIFT) - 1;
+
+    /**
+     * Private constructor; this class only holds constants.
+     */
+    private QuestionPackFormat() {
+    }
+}
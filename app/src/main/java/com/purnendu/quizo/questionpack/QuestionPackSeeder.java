@@ -0,0 +1,138 @@
+package com.purnendu.quizo.questionpack;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.purnendu.quizo.databases.LegacyDatabaseImporter;
+import com.purnendu.quizo.databases.QuizoDatabase;
+import com.purnendu.quizo.models.Question;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies a {@link QuestionPack} into the 'questions' table of a fresh install, so the bundled
+ * questions can be searched and edited by admins like any other.
+ * <p>
+ * A pack is only copied into an empty table, in a single transaction, so a partly seeded table is
+ * never left behind and an install whose admins have added or removed questions is never touched.
+ * The id of every pack considered is recorded, so each pack is looked at once: questions an admin
+ * deletes do not come back, and an app update with a new pack seeds it only if the table is still
+ * empty. Until the copy commits, quizzes are served from the pack itself by the
+ * {@link com.purnendu.quizo.engine.QuestionPoolCache}.
+ * <p>
+ * Nothing is seeded while the former question database still exists: its rows are still to be
+ * copied in by the {@link LegacyDatabaseImporter}, keeping their ids, and pack questions seeded
+ * first would take those ids and make the copy drop the old questions.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for QuestionPackSeeder
+public final class QuestionPackSeeder {
+
+    /**
+     * The name of the SharedPreferences file that records the packs already considered.
+     */
+    private static final String sharedPreferencesName = "com_quizo_question_pack";
+
+    /**
+     * The key of the id of the last pack considered.
+     */
+    private static final String KEY_SEEDED_PACK_ID = "seeded_pack_id";
+
+    /**
+     * The key of whether {@link #KEY_SEEDED_PACK_ID} is set, since any int is a valid pack id.
+     */
+    private static final String KEY_SEEDED = "seeded";
+
+    /**
+     * The number of questions decoded and inserted at a time, bounding the heap used by seeding.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * The database to seed.
+     */
+    private final QuizoDatabase database;
+
+    /**
+     * Records the packs already considered.
+     */
+    private final SharedPreferences pref;
+
+    /**
+     * The file of the former question database, which must be imported before any seeding.
+     */
+    private final File legacyQuestionDatabase;
+
+    /**
+     * Constructs a new {@link QuestionPackSeeder}.
+     *
+     * @param database               The database to seed.
+     * @param pref                   Records the packs already considered.
+     * @param legacyQuestionDatabase The file of the former question database.
+     */
+    public QuestionPackSeeder(@NonNull QuizoDatabase database, @NonNull SharedPreferences pref,
+                              @NonNull File legacyQuestionDatabase) {
+        this.database = database;
+        this.pref = pref;
+        this.legacyQuestionDatabase = legacyQuestionDatabase;
+    }
+
+    /**
+     * Constructs a new {@link QuestionPackSeeder} recording packs in the app's own preferences.
+     *
+     * @param context  The context, used to open the preferences.
+     * @param database The database to seed.
+     */
+    public QuestionPackSeeder(@NonNull Context context, @NonNull QuizoDatabase database) {
+        this(database, context.getApplicationContext().getSharedPreferences(sharedPreferencesName,
+                Context.MODE_PRIVATE),
+                context.getDatabasePath(LegacyDatabaseImporter.LEGACY_QUESTION_DB_NAME));
+    }
+
+    /**
+     * Copies a pack into the database if it has not been considered before and the 'questions'
+     * table is empty. While the former question database is still waiting to be imported, the
+     * pack is skipped without being recorded, so it is considered again on a later start.
+     *
+     * @param pack The pack.
+     * @return The number of questions copied; 0 if the pack was skipped.
+     */
+    @WorkerThread
+    public int seed(@NonNull QuestionPack pack) {
+        if (pref.getBoolean(KEY_SEEDED, false) && pref.getInt(KEY_SEEDED_PACK_ID, 0) == pack.getPackId()) {
+            return 0;
+        }
+        // Opening the database runs the legacy import first, so a file still here failed to import
+        database.getOpenHelper().getWritableDatabase();
+        if (legacyQuestionDatabase.exists()) {
+            return 0; // Its questions keep their ids; seeding now would take those ids
+        }
+        Integer copied = database.runInTransaction(() -> {
+            // Checked inside the transaction, so an admin's first question is never mixed in
+            if (database.questionDao().hasQuestions()) {
+                return 0;
+            }
+            List<Question> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < pack.getQuestionCount(); i++) {
+                batch.add(pack.getQuestion(i));
+                if (batch.size() == BATCH_SIZE) {
+                    database.questionDao().insertQuestions(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                database.questionDao().insertQuestions(batch);
+            }
+            return pack.getQuestionCount();
+        });
+        pref.edit().putBoolean(KEY_SEEDED, true).putInt(KEY_SEEDED_PACK_ID, pack.getPackId()).apply();
+        return copied == null ? 0 : copied;
+    }
+}
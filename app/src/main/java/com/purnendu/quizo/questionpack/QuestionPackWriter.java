@@ -0,0 +1,201 @@
+package com.purnendu.quizo.questionpack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compiles questions into a question pack laid out as described by {@link QuestionPackFormat}.
+ * Used by the build to turn the bundled question bank into an asset.
+ * <p>
+ * Questions are validated with the same rules as the quiz: a non-blank text, four non-blank
+ * options and a correct answer equal to one of them. Topics keep the order in which they first
+ * appear, and questions keep their order within a topic. Every distinct string is stored once, so
+ * answers, which always repeat an option, cost nothing.
+ * <p>
+ * This class depends on nothing but the JDK, since the build compiles it too.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for QuestionPackWriter
+public final class QuestionPackWriter {
+
+    /**
+     * The questions of each topic, as {@link QuestionPackFormat#QUESTION_FIELDS} encoded fields.
+     */
+    private final Map<String, List<int[]>> topics = new LinkedHashMap<>();
+
+    /**
+     * The index of every string added so far.
+     */
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+
+    /**
+     * The distinct strings, in index order.
+     */
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * The number of questions added so far.
+     */
+    private int questionCount = 0;
+
+    /**
+     * Adds a question to the pack.
+     *
+     * @param topic         The topic of the question.
+     * @param questionText  The text of the question.
+     * @param optionA       Option A.
+     * @param optionB       Option B.
+     * @param optionC       Option C.
+     * @param optionD       Option D.
+     * @param correctAnswer The correct answer; must equal one of the options.
+     * @throws IllegalArgumentException If the question is not valid.
+     */
+    public void add(String topic, String questionText, String optionA, String optionB,
+                    String optionC, String optionD, String correctAnswer) {
+        String[] options = {optionA, optionB, optionC, optionD};
+        if (isBlank(topic) || isBlank(questionText) || isBlank(correctAnswer)) {
+            throw new IllegalArgumentException("Question needs a topic, a text and an answer");
+        }
+        int answerSlot = -1;
+        for (int slot = options.length - 1; slot >= 0; slot--) {
+            if (isBlank(options[slot])) {
+                throw new IllegalArgumentException("Question needs four options: " + questionText);
+            }
+            if (options[slot].equals(correctAnswer)) {
+                answerSlot = slot; // The first match wins; any match restores the same answer text
+            }
+        }
+        if (answerSlot < 0) {
+            throw new IllegalArgumentException("Answer is not one of the options: " + questionText);
+        }
+
+        int[] fields = new int[QuestionPackFormat.QUESTION_FIELDS];
+        fields[0] = intern(questionText) | answerSlot << QuestionPackFormat.ANSWER_SHIFT;
+        for (int slot = 0; slot < options.length; slot++) {
+            fields[slot + 1] = intern(options[slot]);
+        }
+        List<int[]> questions = topics.get(topic);
+        if (questions == null) {
+            intern(topic);
+            questions = new ArrayList<>();
+            topics.put(topic, questions);
+        }
+        questions.add(fields);
+        questionCount++;
+    }
+
+    /**
+     * Returns the number of questions added so far.
+     *
+     * @return The question count.
+     */
+    public int size() {
+        return questionCount;
+    }
+
+    /**
+     * Writes the pack. The stream is not closed.
+     *
+     * @param out The destination.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[][] encoded = new byte[strings.size()][];
+        int stringDataSize = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringDataSize += encoded[i].length;
+        }
+
+        int topicsOffset = QuestionPackFormat.HEADER_SIZE;
+        int questionsOffset = topicsOffset + topics.size() * QuestionPackFormat.TOPIC_FIELDS * 4;
+        int stringOffsetsOffset = questionsOffset + questionCount * QuestionPackFormat.QUESTION_FIELDS * 4;
+        int stringDataOffset = stringOffsetsOffset + (encoded.length + 1) * 4;
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(stringDataOffset + stringDataSize);
+        DataOutputStream data = new DataOutputStream(body);
+        int first = 0;
+        for (Map.Entry<String, List<int[]>> topic : topics.entrySet()) {
+            data.writeInt(stringIndex.get(topic.getKey()));
+            data.writeInt(first);
+            data.writeInt(topic.getValue().size());
+            first += topic.getValue().size();
+        }
+        for (List<int[]> questions : topics.values()) {
+            for (int[] fields : questions) {
+                for (int field : fields) {
+                    data.writeInt(field);
+                }
+            }
+        }
+        int offset = 0;
+        for (byte[] string : encoded) {
+            data.writeInt(offset);
+            offset += string.length;
+        }
+        data.writeInt(offset);
+        for (byte[] string : encoded) {
+            data.write(string);
+        }
+        data.flush();
+
+        byte[] bytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(QuestionPackFormat.MAGIC);
+        header.writeInt(QuestionPackFormat.VERSION);
+        header.writeInt((int) crc.getValue());
+        header.writeInt(topics.size());
+        header.writeInt(questionCount);
+        header.writeInt(encoded.length);
+        header.writeInt(topicsOffset);
+        header.writeInt(questionsOffset);
+        header.writeInt(stringOffsetsOffset);
+        header.writeInt(stringDataOffset);
+        header.write(bytes);
+        header.flush();
+    }
+
+    /**
+     * Returns the index of a string, adding it to the string table if it is new.
+     *
+     * @param value The string.
+     * @return Its index.
+     * @throws IllegalStateException If the string table is full.
+     */
+    private int intern(String value) {
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            if (strings.size() > QuestionPackFormat.STRING_INDEX_MASK) {
+                throw new IllegalStateException("Too many distinct strings for a question pack");
+            }
+            index = strings.size();
+            strings.add(value);
+            stringIndex.put(value, index);
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether a string is {@code null} or contains only whitespace.
+     *
+     * @param value The string to check.
+     * @return {@code true} if the string is blank.
+     */
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
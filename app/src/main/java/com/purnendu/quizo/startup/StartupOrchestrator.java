@@ -0,0 +1,507 @@
+package com.purnendu.quizo.startup;
+
+import android.content.Context;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.R;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.engine.QuestionPoolCache;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.questionpack.QuestionPack;
+import com.purnendu.quizo.questionpack.QuestionPackSeeder;
+import com.purnendu.quizo.sync.CloudSyncWorker;
+import com.purnendu.quizo.utilities.SharedPref;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the initializers of the app as a dependency graph of {@link StartupTask}s, so independent
+ * work proceeds in parallel on background threads and the splash screen is dismissed as soon as
+ * the work it needs is done, instead of after a fixed delay.
+ * <p>
+ * Each task is submitted to the executor once all of its dependencies have succeeded; a task whose
+ * dependency failed is skipped, along with its own dependants. The critical path is every critical
+ * task and everything it depends on; {@link #whenCriticalPathComplete(Executor, Runnable)} is
+ * called once all of those have ended, whatever their outcome, so a failed initializer never
+ * keeps the user on the splash screen. Non-critical tasks keep running afterwards.
+ * <p>
+ * Every phase is recorded in a {@link StartupTrace}. The app's instance appends it to
+ * {@link #TRACE_FILE_NAME} in the files directory once all tasks have ended.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for StartupOrchestrator
+public final class StartupOrchestrator {
+
+    /**
+     * Opens the Quizo database, running any pending migration and legacy import. Critical.
+     */
+    public static final String TASK_DATABASE = "database";
+
+    /**
+     * Decodes the saved user and admin sessions. Critical.
+     */
+    public static final String TASK_SESSION = "session";
+
+    /**
+     * Copies the bundled question pack into the database of a fresh install.
+     */
+    public static final String TASK_QUESTION_PACK = "question-pack";
+
+    /**
+     * Builds the question pool and first quiz of every subject.
+     */
+    public static final String TASK_QUESTION_POOLS = "question-pools";
+
+    /**
+     * Initializes the cloud backend (Firestore) and drains the sync outbox, once the critical
+     * path is done so it never competes with it.
+     */
+    public static final String TASK_CLOUD = "cloud";
+
+    /**
+     * The name of the trace file in the app's files directory.
+     */
+    static final String TRACE_FILE_NAME = "startup_trace.txt";
+
+    /**
+     * The subjects whose question pools are warmed at startup.
+     */
+    private static final int[] SUBJECTS = {R.string.math, R.string.geography, R.string.literature,
+            R.string.computer};
+
+    /**
+     * The singleton instance of {@link StartupOrchestrator}.
+     */
+    private static StartupOrchestrator instance = null;
+
+    /**
+     * Runs the tasks; it should have a few threads, so independent tasks overlap.
+     */
+    private final Executor executor;
+
+    /**
+     * The timeline of this start.
+     */
+    private final StartupTrace trace = new StartupTrace();
+
+    /**
+     * The tasks by name, in the order they were added. Guarded by {@code this}.
+     */
+    private final Map<String, StartupTask> tasks = new LinkedHashMap<>();
+
+    /**
+     * The tasks that depend on each task. Guarded by {@code this}.
+     */
+    private final Map<String, List<StartupTask>> dependants = new HashMap<>();
+
+    /**
+     * The number of dependencies each task is still waiting for. Guarded by {@code this}.
+     */
+    private final Map<String, Integer> pendingDependencies = new HashMap<>();
+
+    /**
+     * The tasks on the critical path. Guarded by {@code this}.
+     */
+    private final Set<String> criticalPath = new HashSet<>();
+
+    /**
+     * The tasks that have ended, successfully or not. Guarded by {@code this}.
+     */
+    private final Set<String> ended = new HashSet<>();
+
+    /**
+     * The callbacks waiting for the critical path or for all tasks. Guarded by {@code this}.
+     */
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    /**
+     * Whether {@link #start()} has been called. Guarded by {@code this}.
+     */
+    private boolean started = false;
+
+    /**
+     * Whether the trace has recorded the end of the critical path. Guarded by {@code this}.
+     */
+    private boolean criticalPathMarked = false;
+
+    /**
+     * Whether the trace has recorded the end of all tasks. Guarded by {@code this}.
+     */
+    private boolean completeMarked = false;
+
+    /**
+     * Constructs a new {@link StartupOrchestrator} without tasks.
+     *
+     * @param executor Runs the tasks.
+     */
+    public StartupOrchestrator(@NonNull Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the singleton instance of the {@link StartupOrchestrator} class.
+     * If the instance does not exist, it is created with the app's initializers on the shared
+     * disk pool:
+     * <ul>
+     * <li>{@link #TASK_DATABASE} and {@link #TASK_SESSION}, critical, in parallel.</li>
+     * <li>{@link #TASK_QUESTION_PACK}, after the database.</li>
+     * <li>{@link #TASK_QUESTION_POOLS}, after the question pack.</li>
+     * <li>{@link #TASK_CLOUD}, after the critical path.</li>
+     * </ul>
+     *
+     * @param context The context, used to open the database and read the sessions.
+     * @return The singleton instance of {@link StartupOrchestrator}.
+     */
+    public static synchronized StartupOrchestrator getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            StartupOrchestrator startup = new StartupOrchestrator(AppExecutors.getInstance().diskIO());
+
+            // Room opens lazily; open it here so migrations never run on the first screen's query
+            startup.add(new StartupTask(TASK_DATABASE, true, () ->
+                    QuizoDatabaseClient.getInstance(appContext).getOpenHelper().getWritableDatabase()));
+            // The login screen reads the session on the main thread
+            startup.add(new StartupTask(TASK_SESSION, true, () ->
+                    SharedPref.getInstance().preload(appContext)));
+            startup.add(new StartupTask(TASK_QUESTION_PACK, false, () -> {
+                QuestionPack pack = QuestionPack.getBundled(appContext);
+                if (pack != null) {
+                    new QuestionPackSeeder(appContext, QuizoDatabaseClient.getInstance(appContext)).seed(pack);
+                }
+            }, TASK_DATABASE));
+            // Pools built before the pack is copied in would be dropped by its insert
+            startup.add(new StartupTask(TASK_QUESTION_POOLS, false, () -> {
+                QuestionPoolCache questionPoolCache = QuestionPoolCache.getInstance(appContext);
+                for (int subject : SUBJECTS) {
+                    questionPoolCache.warm(appContext.getString(subject));
+                }
+            }, TASK_QUESTION_PACK));
+            startup.add(new StartupTask(TASK_CLOUD, false, () ->
+                    CloudSyncWorker.getInstance(appContext).requestSync(), TASK_DATABASE, TASK_SESSION));
+
+            startup.whenComplete(AppExecutors.getInstance().diskIO(), () -> {
+                try {
+                    startup.trace.appendTo(new File(appContext.getFilesDir(), TRACE_FILE_NAME));
+                } catch (IOException e) {
+                    // The trace is diagnostics only; losing one start is harmless
+                }
+            });
+            instance = startup;
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a task to the graph.
+     *
+     * @param task The task.
+     * @throws IllegalStateException If the graph has started, or a task of that name exists.
+     */
+    public synchronized void add(@NonNull StartupTask task) {
+        if (started) {
+            throw new IllegalStateException("Startup has already started");
+        }
+        if (tasks.put(task.getName(), task) != null) {
+            throw new IllegalStateException("Duplicate startup task: " + task.getName());
+        }
+    }
+
+    /**
+     * Starts every task without dependencies. Does nothing if already started, so every entry
+     * point may call it.
+     *
+     * @throws IllegalStateException If a task depends on an unknown task, or the graph has a cycle.
+     */
+    public void start() {
+        List<StartupTask> ready = new ArrayList<>();
+        List<Waiter> due;
+        synchronized (this) {
+            if (started) {
+                return;
+            }
+            buildGraph();
+            started = true;
+            trace.mark("startup started");
+            for (StartupTask task : tasks.values()) {
+                if (task.getDependencies().isEmpty()) {
+                    ready.add(task);
+                }
+            }
+            due = takeDueWaiters(); // Only if there are no tasks at all
+        }
+        for (StartupTask task : ready) {
+            dispatch(task);
+        }
+        runWaiters(due);
+    }
+
+    /**
+     * Runs a callback once every task on the critical path has ended, or right away if they
+     * already have.
+     *
+     * @param callbackExecutor The executor to run the callback on.
+     * @param callback         The callback.
+     */
+    public void whenCriticalPathComplete(@NonNull Executor callbackExecutor, @NonNull Runnable callback) {
+        addWaiter(new Waiter(true, callbackExecutor, callback));
+    }
+
+    /**
+     * Runs a callback once every task has ended, or right away if they already have.
+     *
+     * @param callbackExecutor The executor to run the callback on.
+     * @param callback         The callback.
+     */
+    public void whenComplete(@NonNull Executor callbackExecutor, @NonNull Runnable callback) {
+        addWaiter(new Waiter(false, callbackExecutor, callback));
+    }
+
+    /**
+     * Returns the timeline of this start.
+     *
+     * @return The trace.
+     */
+    @NonNull
+    public StartupTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Links every task to its dependants, counts its dependencies, verifies the graph is acyclic
+     * with Kahn's algorithm, and collects the critical path.
+     */
+    private void buildGraph() {
+        for (StartupTask task : tasks.values()) {
+            for (String dependency : task.getDependencies()) {
+                if (!tasks.containsKey(dependency)) {
+                    throw new IllegalStateException("Startup task " + task.getName() +
+                            " depends on unknown task " + dependency);
+                }
+                List<StartupTask> list = dependants.get(dependency);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    dependants.put(dependency, list);
+                }
+                list.add(task);
+            }
+            pendingDependencies.put(task.getName(), task.getDependencies().size());
+        }
+
+        // Kahn's algorithm: every task is reached only if no cycle blocks it
+        Map<String, Integer> remaining = new HashMap<>(pendingDependencies);
+        Deque<String> queue = new ArrayDeque<>();
+        for (Map.Entry<String, Integer> entry : remaining.entrySet()) {
+            if (entry.getValue() == 0) {
+                queue.add(entry.getKey());
+            }
+        }
+        int reached = 0;
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            reached++;
+            for (StartupTask dependant : dependantsOf(name)) {
+                if (remaining.merge(dependant.getName(), -1, Integer::sum) == 0) {
+                    queue.add(dependant.getName());
+                }
+            }
+        }
+        if (reached != tasks.size()) {
+            throw new IllegalStateException("Startup tasks have a dependency cycle");
+        }
+
+        // A critical task waits for its dependencies, so they are critical as well
+        Deque<StartupTask> critical = new ArrayDeque<>();
+        for (StartupTask task : tasks.values()) {
+            if (task.isCritical()) {
+                critical.add(task);
+            }
+        }
+        while (!critical.isEmpty()) {
+            StartupTask task = critical.poll();
+            if (criticalPath.add(task.getName())) {
+                for (String dependency : task.getDependencies()) {
+                    critical.add(tasks.get(dependency));
+                }
+            }
+        }
+    }
+
+    /**
+     * Submits a task whose dependencies have all succeeded.
+     *
+     * @param task The task.
+     */
+    private void dispatch(StartupTask task) {
+        trace.taskReady(task.getName());
+        executor.execute(() -> run(task));
+    }
+
+    /**
+     * Runs a task on the calling thread, records it, and releases or skips its dependants.
+     *
+     * @param task The task.
+     */
+    private void run(StartupTask task) {
+        Exception error = null;
+        Trace.beginSection("startup:" + task.getName());
+        try {
+            trace.taskStarted(task.getName());
+            task.run();
+        } catch (Exception e) {
+            error = e;
+        } finally {
+            Trace.endSection();
+        }
+
+        List<StartupTask> ready = new ArrayList<>();
+        List<Waiter> due;
+        synchronized (this) {
+            end(task, error == null ? "ok" : "failed: " + error, error == null, ready);
+            due = takeDueWaiters();
+        }
+        for (StartupTask dependant : ready) {
+            dispatch(dependant);
+        }
+        runWaiters(due);
+    }
+
+    /**
+     * Marks a task as ended, then either collects the dependants it was the last dependency of, or
+     * skips all its dependants if it did not succeed. Called with the lock held.
+     *
+     * @param task      The task.
+     * @param status    The outcome, for the trace.
+     * @param succeeded Whether the task succeeded.
+     * @param ready     Receives the dependants that can now run.
+     */
+    private void end(StartupTask task, String status, boolean succeeded, List<StartupTask> ready) {
+        ended.add(task.getName());
+        trace.taskEnded(task.getName(), status);
+        for (StartupTask dependant : dependantsOf(task.getName())) {
+            if (ended.contains(dependant.getName())) {
+                continue; // Already skipped through another dependency
+            }
+            if (!succeeded) {
+                end(dependant, "skipped", false, ready);
+            } else if (pendingDependencies.merge(dependant.getName(), -1, Integer::sum) == 0) {
+                ready.add(dependant);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks that depend on a task.
+     *
+     * @param name The name of the task.
+     * @return Its dependants; empty if none.
+     */
+    private List<StartupTask> dependantsOf(String name) {
+        List<StartupTask> list = dependants.get(name);
+        return list == null ? new ArrayList<>() : list;
+    }
+
+    /**
+     * Registers a waiter, running it right away if what it waits for is already complete.
+     *
+     * @param waiter The waiter.
+     */
+    private void addWaiter(Waiter waiter) {
+        List<Waiter> due;
+        synchronized (this) {
+            waiters.add(waiter);
+            due = takeDueWaiters();
+        }
+        runWaiters(due);
+    }
+
+    /**
+     * Removes and returns the waiters whose condition now holds, marking the milestones reached.
+     * Called with the lock held.
+     *
+     * @return The waiters to run.
+     */
+    private List<Waiter> takeDueWaiters() {
+        List<Waiter> due = new ArrayList<>();
+        if (!started) {
+            return due;
+        }
+        boolean criticalPathComplete = ended.containsAll(criticalPath);
+        boolean complete = ended.size() == tasks.size();
+        if (criticalPathComplete && !criticalPathMarked) {
+            criticalPathMarked = true;
+            trace.mark("critical path complete");
+        }
+        if (complete && !completeMarked) {
+            completeMarked = true;
+            trace.mark("all tasks complete");
+        }
+        for (int i = waiters.size() - 1; i >= 0; i--) {
+            Waiter waiter = waiters.get(i);
+            if (waiter.criticalOnly ? criticalPathComplete : complete) {
+                due.add(0, waiter);
+                waiters.remove(i);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Runs waiters on their executors. Called without the lock.
+     *
+     * @param due The waiters to run.
+     */
+    private static void runWaiters(List<Waiter> due) {
+        for (Waiter waiter : due) {
+            waiter.executor.execute(waiter.callback);
+        }
+    }
+
+    /**
+     * A callback waiting for the critical path or for all tasks.
+     */
+    private static final class Waiter {
+
+        /**
+         * Whether the callback waits only for the critical path.
+         */
+        final boolean criticalOnly;
+
+        /**
+         * The executor to run the callback on.
+         */
+        final Executor executor;
+
+        /**
+         * The callback.
+         */
+        final Runnable callback;
+
+        /**
+         * Constructs a new {@link Waiter}.
+         *
+         * @param criticalOnly Whether the callback waits only for the critical path.
+         * @param executor     The executor to run the callback on.
+         * @param callback     The callback.
+         */
+        Waiter(boolean criticalOnly, Executor executor, Runnable callback) {
+            this.criticalOnly = criticalOnly;
+            this.executor = executor;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.purnendu.quizo.startup;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One initializer of the startup graph run by {@link StartupOrchestrator}: a named step, the names
+ * of the tasks it depends on, and whether the splash screen waits for it.
+ * <p>
+ * A task starts as soon as all of its dependencies have succeeded, in parallel with every other
+ * task that is ready. If a dependency fails, the task is skipped.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for StartupTask
+public final class StartupTask {
+
+    /**
+     * The unique name of the task, used for dependencies and in the trace.
+     */
+    private final String name;
+
+    /**
+     * Whether the splash screen waits for this task.
+     */
+    private final boolean critical;
+
+    /**
+     * The names of the tasks that must succeed before this one starts.
+     */
+    private final List<String> dependencies;
+
+    /**
+     * The work of the task.
+     */
+    private final Step step;
+
+    /**
+     * Constructs a new {@link StartupTask}.
+     *
+     * @param name         The unique name of the task.
+     * @param critical     Whether the splash screen waits for this task.
+     * @param step         The work of the task; it runs on a background thread.
+     * @param dependencies The names of the tasks that must succeed before this one starts.
+     */
+    public StartupTask(@NonNull String name, boolean critical, @NonNull Step step,
+                       @NonNull String... dependencies) {
+        this.name = name;
+        this.critical = critical;
+        this.step = step;
+        this.dependencies = Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    /**
+     * Returns the unique name of the task.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether the splash screen waits for this task.
+     *
+     * @return {@code true} if the task is on the critical path.
+     */
+    public boolean isCritical() {
+        return critical;
+    }
+
+    /**
+     * Returns the names of the tasks that must succeed before this one starts.
+     *
+     * @return The dependencies.
+     */
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Runs the work of the task on the calling thread.
+     *
+     * @throws Exception If the work fails.
+     */
+    void run() throws Exception {
+        step.run();
+    }
+
+    /**
+     * The work of a {@link StartupTask}.
+     */
+    public interface Step {
+
+        /**
+         * Runs the work. Called once, on a background thread.
+         *
+         * @throws Exception If the work fails; the dependants of the task are then skipped.
+         */
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,158 @@
+package com.purnendu.quizo.startup;
+
+import android.os.Process;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The timeline of one app start, recorded by {@link StartupOrchestrator}: when each startup task
+ * became ready, started and ended, on which thread and with which outcome, plus milestones such as
+ * the splash screen being dismissed.
+ * <p>
+ * Times are milliseconds since the process was started, taken from
+ * {@link SystemClock#elapsedRealtime()} against {@link Process#getStartElapsedRealtime()}, so the
+ * trace also shows how long the process took to reach the first task. The same phases appear as
+ * {@code startup:<task>} sections in system traces.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for StartupTrace
+public final class StartupTrace {
+
+    /**
+     * The number of app starts kept in the trace file.
+     */
+    static final int MAX_RUNS = 20;
+
+    /**
+     * The line that starts every run in the trace file.
+     */
+    private static final String RUN_HEADER = "--- startup";
+
+    /**
+     * The elapsed realtime at which the process was started.
+     */
+    private final long processStart = Process.getStartElapsedRealtime();
+
+    /**
+     * The recorded events, in order. Guarded by {@code this}.
+     */
+    private final List<String> events = new ArrayList<>();
+
+    /**
+     * Records a milestone of the start.
+     *
+     * @param milestone What happened, e.g. "splash dismissed".
+     */
+    public void mark(@NonNull String milestone) {
+        record(milestone);
+    }
+
+    /**
+     * Records that all dependencies of a task have succeeded.
+     *
+     * @param task The name of the task.
+     */
+    void taskReady(String task) {
+        record(task + " ready");
+    }
+
+    /**
+     * Records that a task has started on the calling thread.
+     *
+     * @param task The name of the task.
+     */
+    void taskStarted(String task) {
+        record(task + " started on " + Thread.currentThread().getName());
+    }
+
+    /**
+     * Records that a task has ended.
+     *
+     * @param task   The name of the task.
+     * @param status "ok", "failed: <error>" or "skipped".
+     */
+    void taskEnded(String task, String status) {
+        record(task + " " + status);
+    }
+
+    /**
+     * Returns the recorded events, one per line, each prefixed with its time.
+     *
+     * @return The trace of this start.
+     */
+    @NonNull
+    public synchronized String format() {
+        StringBuilder builder = new StringBuilder();
+        for (String event : events) {
+            builder.append(event).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends this start to a trace file, dropping the oldest starts beyond {@link #MAX_RUNS}.
+     *
+     * @param file The trace file; created if missing.
+     * @throws IOException If the file cannot be read or written.
+     */
+    @WorkerThread
+    public void appendTo(@NonNull File file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+        }
+        lines.add(RUN_HEADER);
+        synchronized (this) {
+            lines.addAll(events);
+        }
+
+        // Keep the newest runs only, cutting at a run header
+        int runs = 0;
+        int keepFrom = 0;
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            if (lines.get(i).equals(RUN_HEADER) && ++runs == MAX_RUNS) {
+                keepFrom = i;
+                break;
+            }
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            for (String line : lines.subList(keepFrom, lines.size())) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Appends an event with the current time.
+     *
+     * @param event The event.
+     */
+    private synchronized void record(String event) {
+        long sinceStart = SystemClock.elapsedRealtime() - processStart;
+        events.add(String.format(Locale.US, "+%6d ms  %s", sinceStart, event));
+    }
+}
@@ -0,0 +1,34 @@
+package com.purnendu.quizo.sync;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Write access to the cloud copy of users' scores, used by {@link CloudSyncWorker} to upload the
+ * outbox. Calls block until the write is acknowledged, so they must run on a background pool.
+ * <p>
+ * Updates add the points earned per attempt to the user's cloud total. An update may be delivered
+ * more than once, for example when an acknowledgement is lost and the worker retries, possibly
+ * coalesced with newer attempts; implementations must add each attempt key's points only once.
+ * <p>
+ * Implementations:
+ * <ul>
+ * <li>{@link FirestoreCloudSync}: the 'users' collection in Firebase Firestore.</li>
+ * <li>{@link InMemoryCloudSync}: a local stand-in with injectable failures.</li>
+ * <li>{@link com.purnendu.quizo.backend.SimulatedCloudSync}: adds latency, failures and lost
+ * acknowledgements in front of another implementation.</li>
+ * </ul>
+ * The implementation in use is chosen by {@link com.purnendu.quizo.backend.CloudBackend}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public interface CloudSync {
+
+    /**
+     * Writes a coalesced score update.
+     *
+     * @param update The update.
+     * @throws Exception If the write failed or could not be confirmed; the update is retried.
+     */
+    void push(@NonNull ScoreUpdate update) throws Exception;
+}
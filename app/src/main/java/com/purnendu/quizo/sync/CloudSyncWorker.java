@@ -0,0 +1,286 @@
+package com.purnendu.quizo.sync;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.backend.CloudBackend;
+import com.purnendu.quizo.dao.OutboxDao;
+import com.purnendu.quizo.dbclients.QuizoDatabaseClient;
+import com.purnendu.quizo.executors.AppExecutors;
+import com.purnendu.quizo.models.OutboxEntry;
+import com.purnendu.quizo.utilities.ConnectivityMonitor;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Uploads the results waiting in the 'cloud_outbox' table to the cloud leaderboard in the background,
+ * independent of which screen is open.
+ * <p>
+ * A drain uploads each user's pending results as one coalesced {@link ScoreUpdate} and deletes the
+ * rows only once the write is acknowledged, so results survive process death and are retried on
+ * the next start. Drains never overlap: requests that arrive during one are folded into a single
+ * follow-up drain. When a write fails, the next drain is scheduled after an exponential backoff
+ * with jitter (see {@link #backoffMillis(int, Random)}), so many devices coming back online at
+ * once do not retry in lockstep; an explicit {@link #requestSync()} (a new result, or the network
+ * coming back) skips the wait. A drain that fails for any other reason (a database error, or the
+ * executor rejecting it) is retried the same way, so the worker never stays stuck as running.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for CloudSyncWorker
+public final class CloudSyncWorker {
+
+    /**
+     * The backoff after the first failure.
+     */
+    static final long BASE_BACKOFF_MILLIS = 2_000L;
+
+    /**
+     * The longest backoff between two retries.
+     */
+    static final long MAX_BACKOFF_MILLIS = 15 * 60 * 1000L;
+
+    /**
+     * The most attempts coalesced into one update. Firestore allows 500 writes per batch, and
+     * every attempt adds its applied record to the batch.
+     */
+    static final int MAX_ATTEMPTS_PER_UPDATE = 400;
+
+    /**
+     * The singleton instance of {@link CloudSyncWorker}.
+     */
+    private static CloudSyncWorker instance = null;
+
+    /**
+     * The outbox being drained.
+     */
+    private final OutboxDao outboxDao;
+
+    /**
+     * The destination of the uploads.
+     */
+    private final CloudSync cloudSync;
+
+    /**
+     * Runs the drains.
+     */
+    private final Executor executor;
+
+    /**
+     * Schedules retries after a backoff.
+     */
+    private final DelayScheduler scheduler;
+
+    /**
+     * The source of the backoff jitter.
+     */
+    private final Random random = new Random();
+
+    /**
+     * Guards the drain state below.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Whether a drain is running.
+     */
+    private boolean running = false;
+
+    /**
+     * Whether another drain was requested while one was running.
+     */
+    private boolean requested = false;
+
+    /**
+     * The number of consecutive failed drains.
+     */
+    private int failures = 0;
+
+    /**
+     * Incremented on every request, so a scheduled retry that was overtaken does nothing.
+     */
+    private int retryGeneration = 0;
+
+    /**
+     * Constructs a new {@link CloudSyncWorker}.
+     *
+     * @param outboxDao The outbox to drain.
+     * @param cloudSync The destination of the uploads.
+     * @param executor  Runs the drains; the uploads block it.
+     * @param scheduler Schedules retries after a backoff.
+     */
+    public CloudSyncWorker(@NonNull OutboxDao outboxDao, @NonNull CloudSync cloudSync,
+                           @NonNull Executor executor, @NonNull DelayScheduler scheduler) {
+        this.outboxDao = outboxDao;
+        this.cloudSync = cloudSync;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns the singleton instance of the {@link CloudSyncWorker} class.
+     * If the instance does not exist, it is created over the sync of the {@link CloudBackend} in use
+     * (Firestore by default), draining on the shared network pool and scheduling retries on the
+     * main looper. It also subscribes to the {@link ConnectivityMonitor}, so every time the device
+     * comes back online the outbox is drained without waiting for the backoff.
+     *
+     * @param context The context, used to open the database.
+     * @return The singleton instance of {@link CloudSyncWorker}.
+     */
+    public static synchronized CloudSyncWorker getInstance(Context context) {
+        if (instance == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+            instance = new CloudSyncWorker(
+                    QuizoDatabaseClient.getInstance(context.getApplicationContext()).outboxDao(),
+                    CloudBackend.getInstance().getCloudSync(), AppExecutors.getInstance().network(),
+                    handler::postDelayed);
+            CloudSyncWorker worker = instance;
+            ConnectivityMonitor.getInstance(context).addListener(online -> {
+                if (online) {
+                    worker.requestSync();
+                }
+            });
+        }
+        return instance;
+    }
+
+    /**
+     * Starts a drain of the outbox now, or right after the running one. Any waiting backoff is
+     * skipped. Safe to call from any thread, as often as needed.
+     */
+    public void requestSync() {
+        synchronized (lock) {
+            retryGeneration++; // Overtakes any scheduled retry
+            if (running) {
+                requested = true;
+                return;
+            }
+            running = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                // The pool is saturated, so nothing can drain now: go idle and retry after the backoff
+                requested = false;
+                finishDrain(false);
+            }
+        }
+    }
+
+    /**
+     * Drains the outbox until it is empty or a write fails, then either runs the follow-up drain
+     * that was requested meanwhile, or schedules a retry.
+     */
+    private void drain() {
+        boolean succeeded;
+        do {
+            try {
+                succeeded = drainOnce();
+            } catch (RuntimeException e) {
+                succeeded = false; // A database error; the rows are still there for the retry
+            }
+        } while (!finishDrain(succeeded));
+    }
+
+    /**
+     * Records the outcome of a drain and decides what follows it. Always leaves the worker either
+     * draining again or idle, with a retry scheduled if the drain failed.
+     *
+     * @param succeeded Whether the drain emptied the outbox.
+     * @return {@code true} if the worker is now idle, {@code false} if a follow-up drain was
+     * requested meanwhile and should run on the calling thread.
+     */
+    private boolean finishDrain(boolean succeeded) {
+        synchronized (lock) {
+            failures = succeeded ? 0 : failures + 1;
+            if (requested) {
+                requested = false;
+                return false; // Results were added, or the network came back, during this drain
+            }
+            running = false;
+            if (!succeeded) {
+                int generation = ++retryGeneration;
+                scheduler.schedule(() -> retry(generation), backoffMillis(failures, random));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Uploads every user's pending results, one coalesced write per user (or per
+     * {@link #MAX_ATTEMPTS_PER_UPDATE} results).
+     *
+     * @return {@code true} if the outbox was emptied, {@code false} if a write failed.
+     */
+    private boolean drainOnce() {
+        for (String email : outboxDao.getPendingEmails()) {
+            List<OutboxEntry> entries;
+            do {
+                entries = outboxDao.getPending(email, MAX_ATTEMPTS_PER_UPDATE);
+                if (entries.isEmpty()) {
+                    break;
+                }
+                ScoreUpdate update = ScoreUpdate.coalesce(entries);
+                try {
+                    cloudSync.push(update);
+                } catch (Exception e) {
+                    return false; // Keep the rows; the same keys are sent again on retry
+                }
+                outboxDao.delete(update.getAttemptKeys());
+            } while (entries.size() == MAX_ATTEMPTS_PER_UPDATE);
+        }
+        return true;
+    }
+
+    /**
+     * Runs a scheduled retry, unless a request has been made since it was scheduled.
+     *
+     * @param generation The {@link #retryGeneration} the retry was scheduled in.
+     */
+    private void retry(int generation) {
+        synchronized (lock) {
+            if (generation != retryGeneration) {
+                return;
+            }
+        }
+        requestSync();
+    }
+
+    /**
+     * Returns the delay before retrying after {@code failures} consecutive failures: the
+     * exponential backoff {@code BASE * 2^(failures - 1)}, capped at {@link #MAX_BACKOFF_MILLIS},
+     * of which a random upper half is used ("equal jitter").
+     *
+     * @param failures The number of consecutive failures, at least 1.
+     * @param random   The source of the jitter.
+     * @return The delay in milliseconds.
+     */
+    static long backoffMillis(int failures, Random random) {
+        int doublings = Math.min(Math.max(failures - 1, 0), 30);
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << doublings);
+        long half = backoff / 2;
+        return half + (long) (random.nextDouble() * (backoff - half));
+    }
+
+    /**
+     * Runs a task after a delay. On Android this is {@link Handler#postDelayed(Runnable, long)}.
+     */
+    public interface DelayScheduler {
+
+        /**
+         * Runs a task after a delay.
+         *
+         * @param task        The task.
+         * @param delayMillis The delay in milliseconds.
+         */
+        void schedule(@NonNull Runnable task, long delayMillis);
+    }
+}
@@ -0,0 +1,182 @@
+package com.purnendu.quizo.sync;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.purnendu.quizo.leaderboard.FirestoreLeaderboardRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link CloudSync} backed by the 'users' collection in Firebase Firestore, where each document
+ * id is the user's email.
+ * <p>
+ * An update is one batched write that creates an 'appliedAttempts/{attemptKey}' record under the
+ * user's document for every coalesced attempt, and adds their points to the user's total with
+ * {@code FieldValue.increment}. The server applies the increment, so two devices of one account
+ * never overwrite each other's points, and no read is needed before the write.
+ * <p>
+ * The security rules ('firestore.rules') only allow a user document write when the batch creates
+ * the applied record of its {@code lastAttemptKey}, and never allow an applied record to be
+ * rewritten. A replayed update therefore fails as a whole with {@code PERMISSION_DENIED}; only then
+ * are the applied records read, and the attempts that were not applied yet are written again.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for FirestoreCloudSync
+public final class FirestoreCloudSync implements CloudSync {
+
+    /**
+     * The sub-collection of a user's document holding one record per applied attempt.
+     */
+    static final String APPLIED_ATTEMPTS_COLLECTION = "appliedAttempts";
+
+    /**
+     * The field holding the time of the newest uploaded result.
+     */
+    static final String FIELD_LAST_UPDATED = "lastUpdated";
+
+    /**
+     * The field holding the idempotency key of the newest uploaded attempt.
+     */
+    static final String FIELD_LAST_ATTEMPT_KEY = "lastAttemptKey";
+
+    /**
+     * The field of an applied record holding the points the attempt added.
+     */
+    static final String FIELD_EARNED = "earned";
+
+    /**
+     * How long to wait for the server to acknowledge a write.
+     */
+    private static final long WRITE_TIMEOUT_SECONDS = 30L;
+
+    /**
+     * The singleton instance of {@link FirestoreCloudSync}.
+     */
+    private static FirestoreCloudSync instance = null;
+
+    /**
+     * The Firestore instance.
+     */
+    private final FirebaseFirestore db;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private FirestoreCloudSync() {
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Returns the singleton instance of the {@link FirestoreCloudSync} class.
+     * If the instance does not exist, it is created.
+     *
+     * @return The singleton instance of {@link FirestoreCloudSync}.
+     */
+    public static synchronized FirestoreCloudSync getInstance() {
+        if (instance == null) {
+            instance = new FirestoreCloudSync();
+        }
+        return instance;
+    }
+
+    @Override
+    public void push(@NonNull ScoreUpdate update) throws Exception {
+        try {
+            commit(update);
+        } catch (ExecutionException e) {
+            if (!isPermissionDenied(e.getCause())) {
+                throw e;
+            }
+            // Possibly a replay: an earlier write applied some attempts but its acknowledgement was lost
+            List<String> applied = findApplied(update);
+            if (applied.isEmpty()) {
+                throw e;
+            }
+            ScoreUpdate remaining = update.without(applied);
+            if (remaining != null) {
+                commit(remaining);
+            }
+        }
+    }
+
+    /**
+     * Writes the applied records and the increment of an update in one batch.
+     *
+     * @param update The update.
+     * @throws Exception If the batch failed or was not acknowledged in time.
+     */
+    private void commit(ScoreUpdate update) throws Exception {
+        DocumentReference userDocument = userDocument(update.getEmail());
+        WriteBatch batch = db.batch();
+        for (Map.Entry<String, Long> attempt : update.getEarnedByAttempt().entrySet()) {
+            Map<String, Object> applied = new HashMap<>();
+            applied.put(FIELD_EARNED, attempt.getValue());
+            applied.put(FIELD_LAST_UPDATED, update.getLastUpdated());
+            batch.set(userDocument.collection(APPLIED_ATTEMPTS_COLLECTION).document(attempt.getKey()), applied);
+        }
+
+        Map<String, Object> userData = new HashMap<>();
+        userData.put(FirestoreLeaderboardRepository.FIELD_NAME, update.getName());
+        userData.put(FirestoreLeaderboardRepository.FIELD_TOTAL_POINTS, FieldValue.increment(update.getEarned()));
+        userData.put(FIELD_LAST_UPDATED, update.getLastUpdated());
+        userData.put(FIELD_LAST_ATTEMPT_KEY, update.getLastAttemptKey());
+        // Merge, so fields written by other parts of the app are kept
+        batch.set(userDocument, userData, SetOptions.merge());
+
+        Tasks.await(batch.commit(), WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reads which attempts of an update already have an applied record.
+     *
+     * @param update The update.
+     * @return The idempotency keys of the applied attempts.
+     * @throws Exception If a read failed.
+     */
+    private List<String> findApplied(ScoreUpdate update) throws Exception {
+        DocumentReference userDocument = userDocument(update.getEmail());
+        List<String> applied = new ArrayList<>();
+        for (String attemptKey : update.getAttemptKeys()) {
+            if (Tasks.await(userDocument.collection(APPLIED_ATTEMPTS_COLLECTION).document(attemptKey).get(),
+                    WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS).exists()) {
+                applied.add(attemptKey);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Returns the cloud document of a user.
+     *
+     * @param email The email of the user.
+     * @return The user's document.
+     */
+    private DocumentReference userDocument(String email) {
+        return db.collection(FirestoreLeaderboardRepository.USERS_COLLECTION).document(email);
+    }
+
+    /**
+     * Returns whether a failure is Firestore's {@code PERMISSION_DENIED}.
+     *
+     * @param error The failure.
+     * @return {@code true} if the security rules rejected the write.
+     */
+    private static boolean isPermissionDenied(Throwable error) {
+        return error instanceof FirebaseFirestoreException
+                && ((FirebaseFirestoreException) error).getCode() == FirebaseFirestoreException.Code.PERMISSION_DENIED;
+    }
+}
@@ -0,0 +1,114 @@
+package com.purnendu.quizo.sync;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.leaderboard.InMemoryLeaderboardRepository;
+import com.purnendu.quizo.models.LeaderBoard;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link CloudSync} that writes into an {@link InMemoryLeaderboardRepository}, for exercising
+ * {@link CloudSyncWorker} and the leaderboard together without Firestore: uploaded points show up in
+ * the repository's pages, ranks and live listeners. Like {@link FirestoreCloudSync}, it adds the
+ * points of each attempt to the user's total once, skipping attempt keys it has applied before, and
+ * {@link #failNext(int)} makes the next writes fail to exercise the worker's retries.
+ * Wrap it in a {@link com.purnendu.quizo.backend.SimulatedCloudSync} to add latency and random failures.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for InMemoryCloudSync
+public class InMemoryCloudSync implements CloudSync {
+
+    /**
+     * The leaderboard the scores are written to.
+     */
+    private final InMemoryLeaderboardRepository leaderboard;
+
+    /**
+     * The attempt keys applied so far.
+     */
+    private final Set<String> appliedKeys = new HashSet<>();
+
+    /**
+     * The number of updates that applied at least one attempt.
+     */
+    private int writeCount = 0;
+
+    /**
+     * The number of upcoming writes that will fail.
+     */
+    private int failuresToInject = 0;
+
+    /**
+     * Constructs a new {@link InMemoryCloudSync} over an empty leaderboard.
+     */
+    public InMemoryCloudSync() {
+        this(new InMemoryLeaderboardRepository());
+    }
+
+    /**
+     * Constructs a new {@link InMemoryCloudSync}.
+     *
+     * @param leaderboard The leaderboard the scores are written to.
+     */
+    public InMemoryCloudSync(@NonNull InMemoryLeaderboardRepository leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Makes the next {@code count} writes fail with an {@link IOException}.
+     *
+     * @param count The number of writes to fail.
+     */
+    public synchronized void failNext(int count) {
+        failuresToInject = count;
+    }
+
+    @Override
+    public synchronized void push(@NonNull ScoreUpdate update) throws IOException {
+        if (failuresToInject > 0) {
+            failuresToInject--;
+            throw new IOException("Simulated write failure");
+        }
+        ScoreUpdate remaining = update.without(appliedKeys);
+        if (remaining == null) {
+            return; // A retry of an update that was already applied
+        }
+        appliedKeys.addAll(remaining.getAttemptKeys());
+        leaderboard.addPoints(update.getEmail(), update.getName(), remaining.getEarned());
+        writeCount++;
+    }
+
+    /**
+     * Returns the leaderboard the scores are written to.
+     *
+     * @return The leaderboard.
+     */
+    public InMemoryLeaderboardRepository getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Returns the stored overall points of a user.
+     *
+     * @param email The email of the user.
+     * @return The overall points, or {@code null} if the user has no leaderboard entry.
+     */
+    public Long getTotalPoints(String email) {
+        LeaderBoard player = leaderboard.getPlayer(email);
+        return player == null ? null : player.getTotalPoints();
+    }
+
+    /**
+     * Returns the number of updates applied, not counting failed writes and fully repeated updates.
+     *
+     * @return The number of applied writes.
+     */
+    public synchronized int getWriteCount() {
+        return writeCount;
+    }
+}
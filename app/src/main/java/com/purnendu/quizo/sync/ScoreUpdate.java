@@ -0,0 +1,166 @@
+package com.purnendu.quizo.sync;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.purnendu.quizo.models.OutboxEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One upload of a user's score to the cloud leaderboard, coalesced from the results of that user
+ * waiting in the outbox. However many quizzes were finished offline, the user costs one write.
+ * <p>
+ * The update carries the points earned per attempt rather than a total, so the cloud total is
+ * incremented by exactly what each attempt earned, whichever devices the attempts came from.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for ScoreUpdate
+public final class ScoreUpdate {
+
+    /**
+     * The email of the user, the id of the user's cloud document.
+     */
+    private final String email;
+
+    /**
+     * The display name of the user, taken from the newest result.
+     */
+    private final String name;
+
+    /**
+     * When the newest result was recorded, in epoch milliseconds.
+     */
+    private final long lastUpdated;
+
+    /**
+     * The points earned per attempt, by idempotency key, oldest first.
+     */
+    private final Map<String, Long> earnedByAttempt;
+
+    /**
+     * Constructs a new {@link ScoreUpdate}.
+     *
+     * @param email           The email of the user.
+     * @param name            The display name of the user.
+     * @param lastUpdated     When the newest result was recorded.
+     * @param earnedByAttempt The points earned per attempt, by idempotency key, oldest first; must
+     *                        not be empty.
+     */
+    public ScoreUpdate(@NonNull String email, String name, long lastUpdated,
+                       @NonNull LinkedHashMap<String, Long> earnedByAttempt) {
+        this.email = email;
+        this.name = name;
+        this.lastUpdated = lastUpdated;
+        this.earnedByAttempt = Collections.unmodifiableMap(earnedByAttempt);
+    }
+
+    /**
+     * Coalesces pending results of one user into a single update.
+     *
+     * @param entries The pending results of one user, oldest first; must not be empty.
+     * @return The update carrying every attempt and the newest name.
+     */
+    public static ScoreUpdate coalesce(@NonNull List<OutboxEntry> entries) {
+        OutboxEntry newest = entries.get(entries.size() - 1);
+        LinkedHashMap<String, Long> earnedByAttempt = new LinkedHashMap<>();
+        for (OutboxEntry entry : entries) {
+            earnedByAttempt.put(entry.getAttemptKey(), entry.getEarned());
+        }
+        return new ScoreUpdate(newest.getEmail(), newest.getName(), newest.getCreatedTime(), earnedByAttempt);
+    }
+
+    /**
+     * Returns this update without the given attempts, for example because an earlier write whose
+     * acknowledgement was lost had already applied them.
+     *
+     * @param attemptKeys The idempotency keys of the attempts to leave out.
+     * @return The remaining update, or {@code null} if no attempt remains.
+     */
+    @Nullable
+    public ScoreUpdate without(@NonNull Collection<String> attemptKeys) {
+        LinkedHashMap<String, Long> remaining = new LinkedHashMap<>(earnedByAttempt);
+        remaining.keySet().removeAll(attemptKeys);
+        return remaining.isEmpty() ? null : new ScoreUpdate(email, name, lastUpdated, remaining);
+    }
+
+    /**
+     * Returns the email of the user.
+     *
+     * @return The email.
+     */
+    @NonNull
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the display name of the user.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns when the newest result was recorded.
+     *
+     * @return The time, in epoch milliseconds.
+     */
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+
+    /**
+     * Returns the points earned per attempt, by idempotency key, oldest first.
+     *
+     * @return The earned points per attempt.
+     */
+    @NonNull
+    public Map<String, Long> getEarnedByAttempt() {
+        return earnedByAttempt;
+    }
+
+    /**
+     * Returns the sum of the points earned in the coalesced attempts, the amount the cloud total
+     * is incremented by.
+     *
+     * @return The earned points.
+     */
+    public long getEarned() {
+        long earned = 0L;
+        for (long points : earnedByAttempt.values()) {
+            earned += points;
+        }
+        return earned;
+    }
+
+    /**
+     * Returns the idempotency keys of the coalesced attempts, oldest first.
+     *
+     * @return The attempt keys.
+     */
+    @NonNull
+    public List<String> getAttemptKeys() {
+        return new ArrayList<>(earnedByAttempt.keySet());
+    }
+
+    /**
+     * Returns the idempotency key of the newest coalesced attempt.
+     *
+     * @return The newest attempt key.
+     */
+    @NonNull
+    public String getLastAttemptKey() {
+        List<String> attemptKeys = getAttemptKeys();
+        return attemptKeys.get(attemptKeys.size() - 1);
+    }
+}
@@ -0,0 +1,231 @@
+package com.purnendu.quizo.utilities;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A process-wide monitor of internet connectivity, built on
+ * {@link ConnectivityManager#registerDefaultNetworkCallback(ConnectivityManager.NetworkCallback)}.
+ * <p>
+ * The device counts as online when its default network has {@code NET_CAPABILITY_INTERNET} and
+ * has been validated by the system ({@code NET_CAPABILITY_VALIDATED}), so a Wi-Fi network behind a
+ * captive portal or without upstream connectivity counts as offline. Changes are debounced by
+ * {@link #DEBOUNCE_MILLIS}: a state must hold that long before listeners hear of it, so a flapping
+ * connection produces one transition instead of a burst. Listeners are only told about actual
+ * transitions, never the current state on registration; use {@link #isOnline()} for that.
+ * <p>
+ * All listeners share a single system callback, registered while at least one listener is added.
+ * Listeners are called on the main thread.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ * @see NetworkListener
+ */
+//Class for ConnectivityMonitor
+public final class ConnectivityMonitor {
+
+    /**
+     * How long a new state must hold before it is reported.
+     */
+    static final long DEBOUNCE_MILLIS = 1500L;
+
+    /**
+     * The singleton instance of {@link ConnectivityMonitor}.
+     */
+    private static ConnectivityMonitor instance = null;
+
+    /**
+     * The system connectivity service.
+     */
+    private final ConnectivityManager connectivityManager;
+
+    /**
+     * Handler bound to the main looper; all state transitions happen on it.
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * The registered listeners.
+     */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The single system callback shared by all listeners. The system calls it on its own thread.
+     */
+    private final ConnectivityManager.NetworkCallback networkCallback = new ConnectivityManager.NetworkCallback() {
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+            boolean validated = isValidatedInternet(capabilities);
+            mainHandler.post(() -> onObserved(validated));
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            mainHandler.post(() -> onObserved(false));
+        }
+    };
+
+    /**
+     * Reports {@link #observed} once it has held for {@link #DEBOUNCE_MILLIS}.
+     */
+    private final Runnable commitObserved = this::commitObserved;
+
+    /**
+     * Whether {@link #networkCallback} is registered.
+     */
+    private boolean registered = false;
+
+    /**
+     * The last reported (stable) state.
+     */
+    private volatile boolean online;
+
+    /**
+     * The latest state seen by {@link #networkCallback}, not yet stable. Main thread only.
+     */
+    private boolean observed;
+
+    /**
+     * Constructs a new {@link ConnectivityMonitor}.
+     *
+     * @param context The application context.
+     */
+    private ConnectivityMonitor(Context context) {
+        connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        online = readOnline();
+        observed = online;
+    }
+
+    /**
+     * Returns the singleton instance of the {@link ConnectivityMonitor} class.
+     * If the instance does not exist, it is created.
+     *
+     * @param context The context, used to access the connectivity service.
+     * @return The singleton instance of {@link ConnectivityMonitor}.
+     */
+    public static synchronized ConnectivityMonitor getInstance(Context context) {
+        if (instance == null) {
+            instance = new ConnectivityMonitor(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns whether the device is online. While no listener is added this reads the current
+     * state directly; otherwise it is the last stable state.
+     *
+     * @return {@code true} if the default network has validated internet access.
+     */
+    public boolean isOnline() {
+        synchronized (this) {
+            if (!registered) {
+                return readOnline();
+            }
+        }
+        return online;
+    }
+
+    /**
+     * Adds a listener for connectivity transitions, registering the system callback if it is the
+     * first one. The listener is not called with the current state.
+     *
+     * @param listener The listener, called on the main thread.
+     */
+    public synchronized void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+        if (!registered && connectivityManager != null) {
+            registered = true;
+            online = readOnline();
+            mainHandler.post(() -> observed = online);
+            connectivityManager.registerDefaultNetworkCallback(networkCallback);
+        }
+    }
+
+    /**
+     * Removes a listener, unregistering the system callback if it was the last one.
+     *
+     * @param listener The listener.
+     */
+    public synchronized void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+        if (registered && listeners.isEmpty()) {
+            registered = false;
+            connectivityManager.unregisterNetworkCallback(networkCallback);
+            mainHandler.removeCallbacks(commitObserved);
+        }
+    }
+
+    /**
+     * Records a state seen by the system callback and (re)starts the debounce. Main thread only.
+     *
+     * @param validated Whether the default network now has validated internet access.
+     */
+    private void onObserved(boolean validated) {
+        observed = validated;
+        mainHandler.removeCallbacks(commitObserved);
+        if (observed != online) {
+            mainHandler.postDelayed(commitObserved, DEBOUNCE_MILLIS);
+        }
+    }
+
+    /**
+     * Reports the observed state if it differs from the last reported one. Main thread only.
+     */
+    private void commitObserved() {
+        if (observed == online) {
+            return; // Flapped back before the debounce ran out
+        }
+        online = observed;
+        for (Listener listener : listeners) {
+            listener.onConnectivityChanged(online);
+        }
+    }
+
+    /**
+     * Reads whether the current default network has validated internet access.
+     *
+     * @return {@code true} if online.
+     */
+    private boolean readOnline() {
+        if (connectivityManager == null) {
+            return false;
+        }
+        NetworkCapabilities capabilities =
+                connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork());
+        return capabilities != null && isValidatedInternet(capabilities);
+    }
+
+    /**
+     * Returns whether a network offers internet access that the system has validated.
+     *
+     * @param capabilities The capabilities of the network.
+     * @return {@code true} if the network is usable for internet traffic.
+     */
+    private static boolean isValidatedInternet(NetworkCapabilities capabilities) {
+        return capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED);
+    }
+
+    /**
+     * Interface definition for a callback to be invoked on a stable connectivity transition.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the main thread when the device has become online or offline, after the new
+         * state has held for {@link #DEBOUNCE_MILLIS}.
+         *
+         * @param online {@code true} if the device is now online.
+         */
+        void onConnectivityChanged(boolean online);
+    }
+}
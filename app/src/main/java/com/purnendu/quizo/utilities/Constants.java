@@ -49,6 +49,11 @@ public class Constants {
     public static final String TOTAL_QUESTIONS_ATTEMPTED =
             "com_quizo_total_questions_attempted";
 
+    /**
+     * Maximum number of questions drawn from a topic for a single quiz session.
+     */
+    public static final int QUESTIONS_PER_QUIZ = 10;
+
     /**
      * Points deducted for each incorrect answer.
      */
@@ -0,0 +1,48 @@
+package com.purnendu.quizo.utilities;
+
+import java.util.Locale;
+
+/**
+ * A utility class for turning free-form search input into a safe SQLite FTS4 {@code MATCH} expression.
+ * Input is split into letter and digit tokens; every other character, including FTS operators and
+ * quotes, acts as a separator, so user input can never produce a syntax error. Each token becomes a
+ * prefix term ({@code token*}) and terms are implicitly AND-ed.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for FtsQuery
+public class FtsQuery {
+
+    /**
+     * Builds a prefix-matching FTS4 query from user input.
+     * For example, {@code "capital of fra"} becomes {@code "capital* of* fra*"}.
+     *
+     * @param input The raw search text.
+     * @return The MATCH expression, or {@code null} if the input contains no searchable tokens.
+     */
+    public static String prefixQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder(input.length() + 8);
+        boolean inToken = false;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (!inToken && query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append(c);
+                inToken = true;
+            } else if (inToken) {
+                query.append('*');
+                inToken = false;
+            }
+        }
+        if (inToken) {
+            query.append('*');
+        }
+        return query.length() == 0 ? null : query.toString().toLowerCase(Locale.ROOT);
+    }
+}
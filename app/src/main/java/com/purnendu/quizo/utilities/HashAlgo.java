@@ -1,47 +1,375 @@
 package com.purnendu.quizo.utilities;
 
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.WorkerThread;
+
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 /**
- * A utility class for hashing passwords using the SHA-256 algorithm.
- * This class provides a static method to securely hash a given password string,
- * which is essential for storing passwords in a database without storing them in plaintext.
+ * A utility class for hashing and verifying passwords in the Quizo application.
+ * New hashes use salted PBKDF2 with HMAC-SHA256. The iteration count is calibrated once per device
+ * so that a single hash takes about {@link #TARGET_MILLIS} milliseconds.
+ * <p>
+ * Stored hashes are versioned by an algorithm prefix:
+ * <ul>
+ * <li>{@code pbkdf2-sha256$<iterations>$<salt hex>$<hash hex>}: the current format.</li>
+ * <li>64 hex characters without a prefix: the legacy unsalted single-pass SHA-256 format.</li>
+ * </ul>
+ * Legacy hashes still verify. {@link #needsRehash(String)} tells the login screens to replace them
+ * transparently with the current format once the password is known.
+ * <p>
+ * All hashing is deliberately slow and must run on a background thread.
  *
  * @author Purnendu Guha
  * @version 2.0.1
  */
 //Class for Hashing
 public class HashAlgo {
+
+    /**
+     * Algorithm prefix of the current hash format.
+     */
+    private static final String PBKDF2_PREFIX = "pbkdf2-sha256";
+
+    /**
+     * Separator between the fields of a prefixed hash.
+     */
+    private static final char SEPARATOR = '$';
+
+    /**
+     * Target duration of a single password hash on this device.
+     */
+    public static final long TARGET_MILLIS = 150L;
+
+    /**
+     * Lowest iteration count ever used, regardless of how fast the device is.
+     */
+    private static final int MIN_ITERATIONS = 10_000;
+
+    /**
+     * Highest iteration count calibration may choose.
+     */
+    private static final int MAX_ITERATIONS = 2_000_000;
+
+    /**
+     * Iteration count timed during calibration.
+     */
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+
+    /**
+     * Number of consecutive timed calibration runs that must not beat the fastest one before
+     * calibration stops.
+     */
+    private static final int CALIBRATION_RUNS = 5;
+
+    /**
+     * Longest time calibration may spend timing runs.
+     */
+    private static final long CALIBRATION_BUDGET_MILLIS = 3_000L;
+
+    /**
+     * Length in bytes of the random salt.
+     */
+    private static final int SALT_LENGTH = 16;
+
+    /**
+     * Length in bytes of a SHA-256 output, which is also the derived key length.
+     */
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * SharedPreferences file holding the calibrated iteration count.
+     */
+    private static final String sharedPreferencesNameKdf = "com.purnendu.quizo.data.kdf";
+
+    /**
+     * Key of the calibrated iteration count.
+     */
+    private static final String KEY_ITERATIONS = "pbkdf2_iterations";
+
+    /**
+     * Lower-case hexadecimal digits used by {@link #toHex(byte[])}.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Source of password salts.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * The iteration count used for new hashes, or 0 until calibrated.
+     */
+    private static volatile int iterations = 0;
+
+    /**
+     * Private constructor; this is a static utility class.
+     */
+    private HashAlgo() {
+    }
+
+    /**
+     * Loads the calibrated iteration count for this device, calibrating and persisting it on first run.
+     * Call this before hashing so the cost is measured once per install instead of once per process.
+     *
+     * @param context The application context.
+     * @return The iteration count used for new hashes.
+     */
+    @WorkerThread
+    public static synchronized int calibrate(Context context) {
+        if (iterations > 0) {
+            return iterations;
+        }
+        SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameKdf,
+                Context.MODE_PRIVATE);
+        int stored = pref.getInt(KEY_ITERATIONS, 0);
+        if (stored >= MIN_ITERATIONS) {
+            iterations = stored;
+        } else {
+            iterations = measureIterations(TARGET_MILLIS);
+            pref.edit().putInt(KEY_ITERATIONS, iterations).apply();
+        }
+        return iterations;
+    }
+
+    /**
+     * Returns the iteration count for new hashes. If {@link #calibrate(Context)} has not run, the
+     * count is measured for this process only.
+     *
+     * @return The iteration count.
+     */
+    private static int currentIterations() {
+        int current = iterations;
+        if (current > 0) {
+            return current;
+        }
+        synchronized (HashAlgo.class) {
+            if (iterations == 0) {
+                iterations = measureIterations(TARGET_MILLIS);
+            }
+            return iterations;
+        }
+    }
+
     /**
-     * Hashes the given password string using the SHA-256 algorithm.
-     * The input password string is converted to bytes using UTF-8 encoding,
-     * then digested, and finally converted into a hexadecimal string representation.
+     * Times runs of {@link #CALIBRATION_ITERATIONS} rounds of PBKDF2 until
+     * {@link #CALIBRATION_RUNS} runs in a row are no faster (for at most
+     * {@link #CALIBRATION_BUDGET_MILLIS}), and scales the fastest linearly so one hash takes about
+     * {@code targetMillis}. A single run would mostly time the JIT warming up and calibrate far too
+     * few rounds. The result is rounded to a multiple of 1000 and clamped to
+     * [{@link #MIN_ITERATIONS}, {@link #MAX_ITERATIONS}].
+     *
+     * @param targetMillis The desired duration of one hash.
+     * @return The iteration count that meets the target on this device.
+     */
+    public static int measureIterations(long targetMillis) {
+        byte[] password = "calibration".getBytes(StandardCharsets.UTF_8);
+        byte[] salt = new byte[SALT_LENGTH];
+        // The first runs are still being compiled, so keep timing runs until the fastest stops
+        // improving (or the time budget runs out) and use it
+        long deadline = System.nanoTime() + CALIBRATION_BUDGET_MILLIS * 1_000_000L;
+        long elapsed = Long.MAX_VALUE;
+        int runsWithoutImprovement = 0;
+        while (runsWithoutImprovement < CALIBRATION_RUNS && System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            pbkdf2(password, salt, CALIBRATION_ITERATIONS);
+            long run = Math.max(1L, System.nanoTime() - start);
+            if (run < elapsed - elapsed / 20) {
+                runsWithoutImprovement = 0; // At least 5% faster
+            } else {
+                runsWithoutImprovement++;
+            }
+            elapsed = Math.min(elapsed, run);
+        }
+
+        long scaled = CALIBRATION_ITERATIONS * (targetMillis * 1_000_000L) / elapsed;
+        scaled = (scaled / 1000L) * 1000L;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, scaled));
+    }
+
+    /**
+     * Hashes the given password with a fresh random salt and the calibrated iteration count.
      *
      * @param password The plaintext password string to be hashed.
-     * @return The SHA-256 hashed password as a hexadecimal string.
-     * @throws RuntimeException if the SHA-256 algorithm is not available (a {@link java.security.NoSuchAlgorithmException}).
+     * @return The hash in the {@code pbkdf2-sha256$iterations$salt$hash} format.
      */
+    @WorkerThread
     public static String hashPassword(String password) {
+        return hashPassword(password, currentIterations());
+    }
+
+    /**
+     * Hashes the given password with a fresh random salt and the given iteration count.
+     *
+     * @param password The plaintext password string to be hashed.
+     * @param rounds   The iteration count.
+     * @return The hash in the {@code pbkdf2-sha256$iterations$salt$hash} format.
+     */
+    @WorkerThread
+    static String hashPassword(String password, int rounds) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password.getBytes(StandardCharsets.UTF_8), salt, rounds);
+        return PBKDF2_PREFIX + SEPARATOR + rounds + SEPARATOR + toHex(salt) + SEPARATOR + toHex(hash);
+    }
+
+    /**
+     * Checks a plaintext password against a stored hash in either the current or the legacy format.
+     * Digests are compared in constant time.
+     *
+     * @param password The plaintext password entered by the user.
+     * @param stored   The stored hash.
+     * @return {@code true} if the password matches, {@code false} if it does not or the hash is malformed.
+     */
+    @WorkerThread
+    public static boolean verifyPassword(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        if (!stored.startsWith(PBKDF2_PREFIX + SEPARATOR)) {
+            byte[] expected = fromHex(stored);
+            return expected != null && MessageDigest.isEqual(expected, sha256(passwordBytes));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        int rounds;
+        try {
+            rounds = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        byte[] salt = fromHex(parts[2]);
+        byte[] expected = fromHex(parts[3]);
+        if (rounds <= 0 || salt == null || expected == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, pbkdf2(passwordBytes, salt, rounds));
+    }
+
+    /**
+     * Tells whether a stored hash should be replaced after a successful login, either because it is
+     * in the legacy format or because it uses fewer iterations than this device is calibrated for.
+     *
+     * @param stored The stored hash.
+     * @return {@code true} if the hash should be upgraded.
+     */
+    public static boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PBKDF2_PREFIX + SEPARATOR)) {
+            return true;
+        }
+        int start = PBKDF2_PREFIX.length() + 1;
+        int end = stored.indexOf(SEPARATOR, start);
+        if (end < 0) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(stored.substring(start, end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Derives a single-block PBKDF2-HMAC-SHA256 key (RFC 8018). It is implemented over
+     * {@link javax.crypto.Mac} because {@code PBKDF2WithHmacSHA256} is only provided from API 26.
+     * The loop reuses one buffer per round and allocates nothing.
+     *
+     * @param password The password bytes, used as the HMAC key.
+     * @param salt     The salt.
+     * @param rounds   The iteration count.
+     * @return The 32-byte derived key.
+     */
+    private static byte[] pbkdf2(byte[] password, byte[] salt, int rounds) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            // An empty password is not a valid HMAC key spec, HMAC treats it as a single zero byte
+            mac.init(new SecretKeySpec(password.length == 0 ? new byte[1] : password, "HmacSHA256"));
+
+            byte[] u = new byte[HASH_LENGTH];
+            byte[] result = new byte[HASH_LENGTH];
+            mac.update(salt);
+            mac.update(new byte[]{0, 0, 0, 1}); // Block index 1
+            mac.doFinal(u, 0);
+            System.arraycopy(u, 0, result, 0, HASH_LENGTH);
+
+            for (int i = 1; i < rounds; i++) {
+                mac.update(u);
+                mac.doFinal(u, 0);
+                for (int j = 0; j < HASH_LENGTH; j++) {
+                    result[j] ^= u[j];
+                }
             }
+            return result;
+        } catch (GeneralSecurityException e) {
+            // HmacSHA256 is a standard algorithm and should always be available.
+            throw new RuntimeException("Error during password hashing", e);
+        }
+    }
 
-            return hexString.toString();
+    /**
+     * Computes the legacy single-pass SHA-256 digest.
+     *
+     * @param input The bytes to digest.
+     * @return The digest.
+     */
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
         } catch (NoSuchAlgorithmException e) {
             // This exception should ideally not occur as SHA-256 is a standard algorithm.
             throw new RuntimeException("SHA-256 algorithm not found", e);
-        } catch (Exception e) {
-            // Catch any other unexpected exceptions during the hashing process.
-            throw new RuntimeException("Error during password hashing", e);
         }
     }
+
+    /**
+     * Encodes bytes as lower-case hexadecimal using a single char array.
+     *
+     * @param bytes The bytes to encode.
+     * @return The hexadecimal string.
+     */
+    public static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            out[j++] = HEX_DIGITS[b >>> 4];
+            out[j++] = HEX_DIGITS[b & 0x0f];
+        }
+        return new String(out);
+    }
+
+    /**
+     * Decodes a hexadecimal string.
+     *
+     * @param hex The string to decode, in either case.
+     * @return The decoded bytes, or {@code null} if the string is not valid hexadecimal.
+     */
+    private static byte[] fromHex(String hex) {
+        int length = hex.length();
+        if (length == 0 || (length & 1) != 0) {
+            return null;
+        }
+        byte[] out = new byte[length / 2];
+        for (int i = 0; i < length; i += 2) {
+            int high = Character.digit(hex.charAt(i), 16);
+            int low = Character.digit(hex.charAt(i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            out[i / 2] = (byte) ((high << 4) | low);
+        }
+        return out;
+    }
 }
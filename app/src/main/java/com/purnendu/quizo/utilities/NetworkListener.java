@@ -1,46 +1,45 @@
 package com.purnendu.quizo.utilities;
 
 import android.app.Activity;
-import android.content.BroadcastReceiver;
-import android.content.Context;
-import android.content.Intent;
-import android.net.ConnectivityManager;
-import android.net.NetworkCapabilities;
 
 import androidx.appcompat.app.AlertDialog;
 
 import com.purnendu.quizo.R;
 
 /**
- * A {@link BroadcastReceiver} that listens for network connectivity changes and notifies
- * registered listeners. This class manages the display and dismissal of an
- * {@link AlertDialog} to inform the user about network disconnection.
+ * Connects an {@link Activity} to the process-wide {@link ConnectivityMonitor}: forwards its
+ * connectivity transitions to a {@link NetworkChangeListener} and manages the display and dismissal
+ * of an {@link AlertDialog} that informs the user about network disconnection.
  *
  * <p>It requires an {@link Activity} context to properly display UI-related elements like
- * {@link AlertDialog} and to ensure UI operations run on the main thread.</p>
+ * {@link AlertDialog}.</p>
  *
- * <p>To use this class, register an instance of it in your {@link Activity}'s
- * {@code onResume()} or {@code onStart()} method using an {@link android.content.IntentFilter}
- * for {@link ConnectivityManager#CONNECTIVITY_ACTION}, and unregister it in
- * {@code onPause()} or {@code onStop()} to prevent memory leaks.</p>
+ * <p>To use this class, call {@link #register()} in your {@link Activity}'s {@code onResume()} or
+ * {@code onStart()} method and {@link #unregister()} in {@code onPause()} or {@code onStop()} to
+ * prevent memory leaks. All activities share the monitor's single system callback, and transitions
+ * are debounced, so a flapping connection does not toggle the dialog or the callbacks.</p>
  *
  * @author Purnendu Guha
  * @version 2.0.1
  * @see NetworkChangeListener
- * @see ConnectivityManager
+ * @see ConnectivityMonitor
  * @see AlertDialog
  */
-public class NetworkListener extends BroadcastReceiver {
+public class NetworkListener implements ConnectivityMonitor.Listener {
 
     /**
      * An interface to provide callbacks for network connection status changes.
      */
     private final NetworkChangeListener networkChangeListener;
     /**
-     * The {@link Activity} context associated with this receiver. Used for UI operations
-     * like displaying dialogs and running on the UI thread.
+     * The {@link Activity} context associated with this listener. Used for UI operations
+     * like displaying dialogs.
      */
     private final Activity activity;
+    /**
+     * The shared connectivity monitor.
+     */
+    private final ConnectivityMonitor connectivityMonitor;
     /**
      * The {@link AlertDialog} instance used to display network disconnection messages.
      * Managed to prevent multiple dialogs and ensure proper dismissal.
@@ -58,25 +57,44 @@ public class NetworkListener extends BroadcastReceiver {
     public NetworkListener(Activity activity, NetworkChangeListener networkChangeListener) {
         this.networkChangeListener = networkChangeListener;
         this.activity = activity;
+        this.connectivityMonitor = ConnectivityMonitor.getInstance(activity);
+    }
+
+    /**
+     * Starts receiving connectivity transitions. If the device is offline right now, the
+     * network disconnected dialog is shown at once; the {@link NetworkChangeListener} is only
+     * called on later transitions.
+     */
+    public void register() {
+        connectivityMonitor.addListener(this);
+        if (!connectivityMonitor.isOnline()) {
+            showNetworkDisconnectedDialog();
+        }
     }
 
     /**
-     * Called when the {@link BroadcastReceiver} is receiving an {@link Intent} broadcast.
-     * This method checks the current network connectivity status and triggers the
-     * appropriate callbacks on the {@link NetworkChangeListener}. It also manages
-     * the display and dismissal of the network disconnected dialog.
+     * Stops receiving connectivity transitions and dismisses the network disconnected dialog.
+     */
+    public void unregister() {
+        connectivityMonitor.removeListener(this);
+        dismissNetworkDisconnectedDialog();
+    }
+
+    /**
+     * Called by the {@link ConnectivityMonitor} on the main thread when connectivity has changed.
+     * This method triggers the appropriate callbacks on the {@link NetworkChangeListener} and
+     * manages the display and dismissal of the network disconnected dialog.
      *
-     * @param context The {@link Context} in which the receiver is running.
-     * @param intent  The {@link Intent} being received.
+     * @param online {@code true} if the device is now online.
      */
     @Override
-    public void onReceive(Context context, Intent intent) {
+    public void onConnectivityChanged(boolean online) {
         // Ensure the activity is still alive and not finishing/destroyed before performing UI operations.
         if (activity == null || activity.isFinishing() || activity.isDestroyed()) {
             return;
         }
 
-        if (isConnected(context)) {
+        if (online) {
             networkChangeListener.onNetworkConnected();
             dismissNetworkDisconnectedDialog();
         } else {
@@ -85,26 +103,6 @@ public class NetworkListener extends BroadcastReceiver {
         }
     }
 
-    /**
-     * Checks if the device is currently connected to a network (Wi-Fi, Cellular, or Ethernet).
-     *
-     * @param context The {@link Context} used to access system services.
-     * @return {@code true} if connected to Wi-Fi, Cellular, or Ethernet; {@code false} otherwise.
-     */
-    private boolean isConnected(Context context) {
-        ConnectivityManager connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
-
-        if (connectivityManager != null) {
-            NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork());
-            return capabilities != null && (
-                    capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI) ||
-                            capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) ||
-                            capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)
-            );
-        }
-        return false;
-    }
-
     /**
      * Displays an {@link AlertDialog} to inform the user that they are not connected to the internet.
      * The dialog is shown on the UI thread and is not dismissible by the user via outside tap or back button.
@@ -0,0 +1,281 @@
+package com.purnendu.quizo.utilities;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A hand-written serializer for the session records stored by {@link SharedPref}.
+ * A session is encoded as a flat JSON object with the string fields {@code username},
+ * {@code email} and {@code password}. This is the same layout Gson produced for
+ * {@link com.purnendu.quizo.models.User} and {@link com.purnendu.quizo.models.Admin}, so sessions
+ * saved by earlier versions still decode. Unlike Gson, no reflection and no intermediate tree is used.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for SessionCodec
+final class SessionCodec {
+
+    /**
+     * Index of the username in a decoded record.
+     */
+    static final int USERNAME = 0;
+
+    /**
+     * Index of the email in a decoded record.
+     */
+    static final int EMAIL = 1;
+
+    /**
+     * Index of the password hash in a decoded record.
+     */
+    static final int PASSWORD = 2;
+
+    /**
+     * Private constructor; this is a static utility class.
+     */
+    private SessionCodec() {
+    }
+
+    /**
+     * Encodes a session record.
+     *
+     * @param username The username, may be {@code null}.
+     * @param email    The email, may be {@code null}.
+     * @param password The password hash, may be {@code null}.
+     * @return The JSON text.
+     */
+    static String encode(String username, String email, String password) {
+        StringBuilder out = new StringBuilder(64 + length(username) + length(email) + length(password));
+        out.append('{');
+        appendField(out, "username", username, false);
+        appendField(out, "email", email, true);
+        appendField(out, "password", password, true);
+        return out.append('}').toString();
+    }
+
+    /**
+     * Decodes a session record.
+     *
+     * @param json The JSON text.
+     * @return The username, email and password at {@link #USERNAME}, {@link #EMAIL} and
+     * {@link #PASSWORD}, or {@code null} if the text is empty, malformed or has no email.
+     */
+    @Nullable
+    static String[] decode(@Nullable String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        String[] record = new String[3];
+        int[] position = {skipWhitespace(json, 0)};
+        try {
+            expect(json, position, '{');
+            if (peek(json, position) == '}') {
+                return null; // Empty object, no session
+            }
+            while (true) {
+                String name = readString(json, position);
+                expect(json, position, ':');
+                String value = readValue(json, position);
+                switch (name) {
+                    case "username":
+                        record[USERNAME] = value;
+                        break;
+                    case "email":
+                        record[EMAIL] = value;
+                        break;
+                    case "password":
+                        record[PASSWORD] = value;
+                        break;
+                    default:
+                        break; // Unknown fields are ignored
+                }
+                char next = peek(json, position);
+                position[0]++;
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    return null;
+                }
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null; // Truncated or malformed record
+        }
+        return record[EMAIL] == null ? null : record;
+    }
+
+    /**
+     * Appends {@code "name":"value"} (or {@code null}) to the output.
+     *
+     * @param out   The output buffer.
+     * @param name  The field name.
+     * @param value The field value.
+     * @param comma Whether to prefix the field with a comma.
+     */
+    private static void appendField(StringBuilder out, String name, String value, boolean comma) {
+        if (comma) {
+            out.append(',');
+        }
+        out.append('"').append(name).append("\":");
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Reads a string or {@code null} value.
+     *
+     * @param json     The JSON text.
+     * @param position The read position, advanced past the value.
+     * @return The value, or {@code null} for a JSON null.
+     */
+    private static String readValue(String json, int[] position) {
+        if (peek(json, position) == 'n') {
+            if (!json.startsWith("null", position[0])) {
+                throw new IllegalArgumentException("Expected null");
+            }
+            position[0] += 4;
+            return null;
+        }
+        return readString(json, position);
+    }
+
+    /**
+     * Reads a quoted string, resolving escapes.
+     *
+     * @param json     The JSON text.
+     * @param position The read position, advanced past the closing quote.
+     * @return The unescaped string.
+     */
+    private static String readString(String json, int[] position) {
+        expect(json, position, '"');
+        int start = position[0];
+        // Fast path: no escapes, return a plain substring
+        int end = start;
+        while (json.charAt(end) != '"' && json.charAt(end) != '\\') {
+            end++;
+        }
+        if (json.charAt(end) == '"') {
+            position[0] = end + 1;
+            return json.substring(start, end);
+        }
+
+        StringBuilder out = new StringBuilder(json.substring(start, end));
+        int i = end;
+        while (true) {
+            char c = json.charAt(i++);
+            if (c == '"') {
+                break;
+            }
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            char escaped = json.charAt(i++);
+            switch (escaped) {
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'u':
+                    out.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+                    i += 4;
+                    break;
+                default:
+                    out.append(escaped); // \" \\ \/
+            }
+        }
+        position[0] = i;
+        return out.toString();
+    }
+
+    /**
+     * Skips whitespace and consumes the expected character.
+     *
+     * @param json     The JSON text.
+     * @param position The read position.
+     * @param expected The character that must come next.
+     */
+    private static void expect(String json, int[] position, char expected) {
+        if (peek(json, position) != expected) {
+            throw new IllegalArgumentException("Expected " + expected);
+        }
+        position[0]++;
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     *
+     * @param json     The JSON text.
+     * @param position The read position, advanced past any whitespace.
+     * @return The next character.
+     */
+    private static char peek(String json, int[] position) {
+        position[0] = skipWhitespace(json, position[0]);
+        return json.charAt(position[0]);
+    }
+
+    /**
+     * Returns the index of the first non-whitespace character at or after {@code from}.
+     *
+     * @param json The JSON text.
+     * @param from The start index.
+     * @return The index of the next non-whitespace character.
+     */
+    private static int skipWhitespace(String json, int from) {
+        while (from < json.length() && Character.isWhitespace(json.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Null-safe string length.
+     *
+     * @param value The string.
+     * @return Its length, or 0 for {@code null}.
+     */
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
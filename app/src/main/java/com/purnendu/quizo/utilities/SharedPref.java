@@ -4,16 +4,23 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 
-import com.google.gson.Gson;
 import com.purnendu.quizo.models.Admin;
 import com.purnendu.quizo.models.User;
 
 /**
- * A singleton utility class for managing data persistence using Android's {@link android.content.SharedPreferences}.
+ * A singleton utility class for managing the logged-in session using Android's {@link android.content.SharedPreferences}.
  * This class provides methods to store and retrieve {@link com.purnendu.quizo.models.User} and
- * {@link com.purnendu.quizo.models.Admin} objects as JSON strings, as well as clear stored data.
- * It uses {@link com.google.gson.Gson} for object serialization and deserialization.
+ * {@link com.purnendu.quizo.models.Admin} sessions, as well as clear stored data.
+ * <p>
+ * Each session is decoded at most once per process with the reflection-free {@link SessionCodec} and then
+ * kept in memory, so reads after {@link #preload(Context)} perform no I/O and allocate nothing. The cached
+ * objects are shared snapshots and must not be mutated; to change a session, build a new object and pass it
+ * to {@link #setUser(Context, User)} or {@link #setAdmin(Context, Admin)}. Writes update the cache
+ * immediately and are persisted with {@link SharedPreferences.Editor#apply()}, which keeps them in
+ * order and writes the file in the background.
  *
  * @author Purnendu Guha
  * @version 2.0.1
@@ -37,6 +44,26 @@ public class SharedPref {
      */
     private static SharedPref instance = null;
 
+    /**
+     * The cached user session, valid once {@link #userLoaded} is {@code true}.
+     */
+    private volatile User cachedUser;
+
+    /**
+     * Whether the user session has been read from disk (or set) in this process.
+     */
+    private volatile boolean userLoaded;
+
+    /**
+     * The cached admin session, valid once {@link #adminLoaded} is {@code true}.
+     */
+    private volatile Admin cachedAdmin;
+
+    /**
+     * Whether the admin session has been read from disk (or set) in this process.
+     */
+    private volatile boolean adminLoaded;
+
     /**
      * Private constructor to enforce the singleton pattern.
      */
@@ -49,7 +76,7 @@ public class SharedPref {
      *
      * @return The singleton instance of {@link SharedPref}.
      */
-    public static SharedPref getInstance() {
+    public static synchronized SharedPref getInstance() {
         if (instance == null) {
             instance = new SharedPref();
         }
@@ -57,84 +84,130 @@ public class SharedPref {
     }
 
     /**
-     * Stores a {@link com.purnendu.quizo.models.User} object in SharedPreferences.
-     * The object is converted to a JSON string using Gson before saving.
+     * Decodes both stored sessions into memory so later reads on the main thread never touch disk.
+     * Safe to call more than once.
+     *
+     * @param context The application context.
+     */
+    @WorkerThread
+    public void preload(Context context) {
+        getUser(context);
+        getAdmin(context);
+    }
+
+    /**
+     * Stores a {@link com.purnendu.quizo.models.User} session.
+     * The cache is updated immediately; the encoded record is applied and written in the background.
      *
      * @param context The application context.
      * @param user    The {@link com.purnendu.quizo.models.User} object to store.
      */
     public void setUser(Context context, User user) {
+        synchronized (this) {
+            cachedUser = user;
+            userLoaded = true;
+        }
         SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameUser,
                 Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = pref.edit();
-        editor.putString(Constants.USER, new Gson().toJson(user));
-        editor.apply();
+        pref.edit().putString(Constants.USER, user == null ? null :
+                SessionCodec.encode(user.getUsername(), user.getEmail(),
+                        user.getPassword())).apply();
     }
 
     /**
-     * Retrieves a {@link com.purnendu.quizo.models.User} object from SharedPreferences.
-     * The JSON string is converted back to a {@link com.purnendu.quizo.models.User} object using Gson.
+     * Retrieves the {@link com.purnendu.quizo.models.User} session.
+     * The stored record is decoded on the first call only; later calls return the cached snapshot.
      *
      * @param context The application context.
-     * @return The retrieved {@link com.purnendu.quizo.models.User} object, or {@code null} if not found or parsing fails.
+     * @return The cached {@link com.purnendu.quizo.models.User} object, or {@code null} if not found or parsing fails.
      */
+    @Nullable
     public User getUser(Context context) {
-        SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameUser,
-                Context.MODE_PRIVATE);
-        return new Gson().fromJson(pref.getString(Constants.USER, ""), User.class);
+        if (userLoaded) {
+            return cachedUser;
+        }
+        synchronized (this) {
+            if (!userLoaded) {
+                SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameUser,
+                        Context.MODE_PRIVATE);
+                String[] record = SessionCodec.decode(pref.getString(Constants.USER, ""));
+                cachedUser = record == null ? null : new User(record[SessionCodec.USERNAME],
+                        record[SessionCodec.EMAIL], record[SessionCodec.PASSWORD]);
+                userLoaded = true;
+            }
+            return cachedUser;
+        }
     }
 
     /**
-     * Stores an {@link com.purnendu.quizo.models.Admin} object in SharedPreferences.
-     * The object is converted to a JSON string using Gson before saving.
+     * Stores an {@link com.purnendu.quizo.models.Admin} session.
+     * The cache is updated immediately; the encoded record is applied and written in the background.
      *
      * @param context The application context.
      * @param admin   The {@link com.purnendu.quizo.models.Admin} object to store.
      */
     public void setAdmin(Context context, Admin admin) {
+        synchronized (this) {
+            cachedAdmin = admin;
+            adminLoaded = true;
+        }
         SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameAdmin,
                 Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = pref.edit();
-        editor.putString(Constants.ADMIN, new Gson().toJson(admin));
-        editor.apply();
+        pref.edit().putString(Constants.ADMIN, admin == null ? null :
+                SessionCodec.encode(admin.getUsername(), admin.getEmail(),
+                        admin.getPassword())).apply();
     }
 
     /**
-     * Retrieves an {@link com.purnendu.quizo.models.Admin} object from SharedPreferences.
-     * The JSON string is converted back to an {@link com.purnendu.quizo.models.Admin} object using Gson.
+     * Retrieves the {@link com.purnendu.quizo.models.Admin} session.
+     * The stored record is decoded on the first call only; later calls return the cached snapshot.
      *
      * @param context The application context.
-     * @return The retrieved {@link com.purnendu.quizo.models.Admin} object, or {@code null} if not found or parsing fails.
+     * @return The cached {@link com.purnendu.quizo.models.Admin} object, or {@code null} if not found or parsing fails.
      */
+    @Nullable
     public Admin getAdmin(Context context) {
-        SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameAdmin,
-                Context.MODE_PRIVATE);
-        return new Gson().fromJson(pref.getString(Constants.ADMIN, ""), Admin.class);
+        if (adminLoaded) {
+            return cachedAdmin;
+        }
+        synchronized (this) {
+            if (!adminLoaded) {
+                SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameAdmin,
+                        Context.MODE_PRIVATE);
+                String[] record = SessionCodec.decode(pref.getString(Constants.ADMIN, ""));
+                cachedAdmin = record == null ? null : new Admin(record[SessionCodec.USERNAME],
+                        record[SessionCodec.EMAIL], record[SessionCodec.PASSWORD]);
+                adminLoaded = true;
+            }
+            return cachedAdmin;
+        }
     }
 
     /**
-     * Clears all user-related data from the corresponding SharedPreferences file.
+     * Clears all user-related data from the cache and from the corresponding SharedPreferences file.
      *
      * @param context The application context.
      */
     public void clearSharedPrefUser(@NonNull Context context) {
-        SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameUser,
-                Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = pref.edit();
-        editor.clear();
-        editor.apply();
+        synchronized (this) {
+            cachedUser = null;
+            userLoaded = true;
+        }
+        context.getSharedPreferences(sharedPreferencesNameUser, Context.MODE_PRIVATE)
+                .edit().clear().apply();
     }
 
     /**
-     * Clears all admin-related data from the corresponding SharedPreferences file.
+     * Clears all admin-related data from the cache and from the corresponding SharedPreferences file.
      *
      * @param context The application context.
      */
     public void clearSharedPrefAdmin(@NonNull Context context) {
-        SharedPreferences pref = context.getSharedPreferences(sharedPreferencesNameAdmin,
-                Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = pref.edit();
-        editor.clear();
-        editor.apply();
+        synchronized (this) {
+            cachedAdmin = null;
+            adminLoaded = true;
+        }
+        context.getSharedPreferences(sharedPreferencesNameAdmin, Context.MODE_PRIVATE)
+                .edit().clear().apply();
     }
 }
@@ -0,0 +1,166 @@
+package com.purnendu.quizo.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.purnendu.quizo.leaderboard.InMemoryLeaderboardRepository;
+import com.purnendu.quizo.leaderboard.LeaderboardPage;
+import com.purnendu.quizo.leaderboard.LeaderboardRepository;
+import com.purnendu.quizo.leaderboard.PlayerStanding;
+import com.purnendu.quizo.models.LeaderBoard;
+import com.purnendu.quizo.sync.CloudSyncWorker;
+import com.purnendu.quizo.sync.FakeOutboxDao;
+import com.purnendu.quizo.sync.RecordingScheduler;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Load tests of the leaderboard and sync paths through {@link CloudBackend#simulated}, over a
+ * generated leaderboard of a million players behind a {@link SimulatedNetwork} that drops calls
+ * and acknowledgements.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class CloudBackendLoadTest {
+
+    private static final int PLAYER_COUNT = 1_000_000;
+
+    private static final int PAGE_SIZE = 500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void pagesAndRanksAMillionPlayers() throws Exception {
+        // Generated once, saved and loaded back, as a reusable fixture would be
+        File fixture = folder.newFile("leaderboard.bin");
+        InMemoryLeaderboardRepository.generate(PLAYER_COUNT, 7L).save(fixture);
+        InMemoryLeaderboardRepository players = InMemoryLeaderboardRepository.load(fixture);
+        assertEquals(PLAYER_COUNT, players.size());
+
+        // One read in ten fails before reaching the leaderboard
+        CloudBackend backend = CloudBackend.simulated(players, new SimulatedNetwork(0L, 0L, 0.1, 0.0, 11L));
+        LeaderboardRepository repository = backend.getLeaderboardRepository();
+
+        int[] sampled = {0, 1, PAGE_SIZE - 1, PAGE_SIZE, 123_457, PLAYER_COUNT - 1};
+        Map<Integer, LeaderBoard> atPosition = new HashMap<>();
+        int[] failedReads = {0};
+        int position = 0;
+        LeaderBoard cursor = null;
+        LeaderboardPage page;
+        do {
+            LeaderBoard after = cursor;
+            page = read(failedReads, callback -> repository.loadPage(after, PAGE_SIZE, Runnable::run, callback));
+            for (LeaderBoard player : page.getEntries()) {
+                if (cursor != null) {
+                    assertTrue("out of order at " + position,
+                            LeaderboardRepository.RANK_ORDER.compare(cursor, player) < 0);
+                }
+                for (int index : sampled) {
+                    if (index == position) {
+                        atPosition.put(index, player);
+                    }
+                }
+                cursor = player;
+                position++;
+            }
+        } while (page.hasMore());
+
+        // Strictly increasing in rank order and as many as there are players: no gaps, no duplicates
+        assertEquals(PLAYER_COUNT, position);
+        assertTrue(failedReads[0] > 0);
+
+        for (int index : sampled) {
+            String email = atPosition.get(index).getEmail();
+            PlayerStanding standing = read(failedReads,
+                    callback -> repository.loadStanding(email, 2, Runnable::run, callback));
+            assertEquals(email, index + 1L, standing.getRank());
+            assertEquals(PLAYER_COUNT, standing.getPlayerCount());
+        }
+    }
+
+    @Test
+    public void syncAppliesEveryResultOnceThroughFailuresAndLostAcks() throws Exception {
+        InMemoryLeaderboardRepository players = InMemoryLeaderboardRepository.generate(PLAYER_COUNT, 7L);
+        // A third of the writes fail, and a third of those that arrive lose their acknowledgement
+        SimulatedNetwork network = new SimulatedNetwork(0L, 0L, 0.3, 0.3, 13L);
+        CloudBackend backend = CloudBackend.simulated(players, network);
+        FakeOutboxDao outbox = new FakeOutboxDao();
+        RecordingScheduler scheduler = new RecordingScheduler();
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, backend.getCloudSync(), Runnable::run, scheduler);
+
+        String[] emails = {"player0@quizo.test", "player1@quizo.test", "player999999@quizo.test",
+                "new@quizo.test"};
+        Map<String, Long> expected = new HashMap<>();
+        for (String email : emails) {
+            LeaderBoard player = players.getPlayer(email);
+            expected.put(email, player == null ? 0L : player.getTotalPoints());
+        }
+        Random random = new Random(17L);
+        for (int i = 0; i < 2_000; i++) {
+            String email = emails[random.nextInt(emails.length)];
+            long earned = random.nextInt(100);
+            outbox.add("attempt" + i, email, earned, i);
+            expected.merge(email, earned, Long::sum);
+            worker.requestSync();
+            if (random.nextInt(10) == 0) {
+                scheduler.runNext(); // Some retries fire while results are still coming in
+            }
+        }
+        while (scheduler.runNext()) {
+            // Retry until every write is acknowledged
+        }
+
+        assertEquals(0, outbox.size());
+        assertTrue(scheduler.getDelays().size() > 0);
+        for (String email : emails) {
+            assertEquals(email, expected.get(email), Long.valueOf(players.getPlayer(email).getTotalPoints()));
+        }
+        assertEquals(PLAYER_COUNT + 1, players.size());
+    }
+
+    /**
+     * Runs a read until it succeeds, counting the simulated failures.
+     *
+     * @param failedReads Incremented on every failure.
+     * @param read        Starts the read with the given callback.
+     * @return The result of the first successful read.
+     */
+    private static <T> T read(int[] failedReads, Consumer<LeaderboardRepository.Callback<T>> read)
+            throws InterruptedException, TimeoutException {
+        while (true) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            read.accept(new LeaderboardRepository.Callback<T>() {
+                @Override
+                public void onSuccess(T value) {
+                    result.complete(value);
+                }
+
+                @Override
+                public void onError(@NonNull Exception error) {
+                    result.completeExceptionally(error);
+                }
+            });
+            try {
+                return result.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failedReads[0]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.purnendu.quizo.engine;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.purnendu.quizo.models.Question;
+import com.purnendu.quizo.utilities.Constants;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of a quiz of {@link Constants#QUESTIONS_PER_QUIZ} questions: building the
+ * {@link QuizSession} against building the per-activity maps it replaced, and playing every
+ * question (showing its options and checking an answer) with each.
+ * <p>
+ * The map approach is reproduced from the quiz activities before the engine: a
+ * {@code Map<String, Map<String, Boolean>>} keyed by question text, whose option keys are copied
+ * into a new list and shuffled each time a question is shown, and looked up by the chosen label.
+ * <p>
+ * Skipped unless run with {@code ./gradlew testDebugUnitTest -Pquizo.benchmark=true
+ * --tests '*QuizSessionBenchmark'}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(0)
+public class QuizSessionBenchmark {
+
+    private final Random random = new Random(42);
+
+    private List<Question> questions;
+
+    private QuizSession session;
+
+    private List<String> questionsOrder;
+
+    private Map<String, Map<String, Boolean>> questionsAnswerMap;
+
+    @Setup
+    public void setUp() {
+        questions = new ArrayList<>();
+        for (int i = 0; i < Constants.QUESTIONS_PER_QUIZ; i++) {
+            Question question = new Question("Mathematics", "What is " + i + " + " + i + "?",
+                    String.valueOf(2 * i), String.valueOf(2 * i + 1), String.valueOf(2 * i + 2),
+                    String.valueOf(2 * i + 3), String.valueOf(2 * i));
+            question.setId(i + 1);
+            questions.add(question);
+        }
+        session = QuizSession.fromQuestions(questions, random);
+        buildMaps();
+    }
+
+    @Benchmark
+    public QuizSession buildSession() {
+        return QuizSession.fromQuestions(questions, random);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Boolean>> buildMaps() {
+        Map<String, Map<String, Boolean>> answerMap = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        for (Question q : questions) {
+            Map<String, Boolean> options = new HashMap<>();
+            options.put(q.getOptionA(), q.getOptionA().equals(q.getCorrectAnswer()));
+            options.put(q.getOptionB(), q.getOptionB().equals(q.getCorrectAnswer()));
+            options.put(q.getOptionC(), q.getOptionC().equals(q.getCorrectAnswer()));
+            options.put(q.getOptionD(), q.getOptionD().equals(q.getCorrectAnswer()));
+            if (!answerMap.containsKey(q.getQuestionText())) {
+                answerMap.put(q.getQuestionText(), options);
+                order.add(q.getQuestionText());
+            }
+        }
+        questionsAnswerMap = answerMap;
+        questionsOrder = order;
+        return answerMap;
+    }
+
+    @Benchmark
+    public int playSession(Blackhole blackhole) {
+        int correct = 0;
+        for (int i = 0; i < session.size(); i++) {
+            blackhole.consume(session.getQuestionText(i));
+            for (int slot = 0; slot < QuizSession.OPTION_COUNT; slot++) {
+                blackhole.consume(session.getOptionText(i, slot));
+            }
+            if (session.isCorrect(i, i % QuizSession.OPTION_COUNT)) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    @Benchmark
+    public int playMaps(Blackhole blackhole) {
+        int correct = 0;
+        for (int i = 0; i < questionsOrder.size(); i++) {
+            String questionText = questionsOrder.get(i);
+            blackhole.consume(questionText);
+            Map<String, Boolean> options = questionsAnswerMap.get(questionText);
+            List<String> answerTexts = new ArrayList<>(options.keySet());
+            Collections.shuffle(answerTexts);
+            for (String answerText : answerTexts) {
+                blackhole.consume(answerText);
+            }
+            if (Boolean.TRUE.equals(options.get(answerTexts.get(i % QuizSession.OPTION_COUNT)))) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        assumeTrue(Boolean.getBoolean("quizo.benchmark"));
+        new Runner(new OptionsBuilder().include(QuizSessionBenchmark.class.getName()).build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.purnendu.quizo.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.purnendu.quizo.models.Question;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link QuizSession}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class QuizSessionTest {
+
+    @Test
+    public void everySlotShowingTheAnswerTextIsCorrect() {
+        Question question = new Question("Math", "Which is even?", "2", "3", "2", "5", "2");
+        QuizSession session = QuizSession.fromQuestions(Arrays.asList(question), new Random(7));
+
+        int correctSlots = 0;
+        for (int slot = 0; slot < QuizSession.OPTION_COUNT; slot++) {
+            boolean correct = session.isCorrect(0, slot);
+            assertEquals(session.getOptionText(0, slot).equals("2"), correct);
+            if (correct) {
+                correctSlots++;
+            }
+        }
+        assertEquals(2, correctSlots);
+    }
+
+    @Test
+    public void duplicateQuestionTextsAreKept() {
+        Question first = new Question("Math", "Same?", "a", "b", "c", "d", "a");
+        Question second = new Question("Math", "Same?", "w", "x", "y", "z", "z");
+        QuizSession session = QuizSession.fromQuestions(Arrays.asList(first, second), new Random(7));
+
+        assertEquals(2, session.size());
+        assertEquals("a", correctOption(session, 0));
+        assertEquals("z", correctOption(session, 1));
+    }
+
+    @Test
+    public void invalidQuestionsAreSkipped() {
+        Question noAnswer = new Question("Math", "Q", "a", "b", "c", "d", "e");
+        Question blankOption = new Question("Math", "Q", "a", " ", "c", "d", "a");
+        Question valid = new Question("Math", "Q", "a", "b", "c", "d", "d");
+
+        assertFalse(QuizSession.isValidQuestion(noAnswer));
+        assertFalse(QuizSession.isValidQuestion(blankOption));
+        assertTrue(QuizSession.isValidQuestion(valid));
+        assertEquals(1, QuizSession.fromQuestions(Arrays.asList(noAnswer, blankOption, valid),
+                new Random(7)).size());
+    }
+
+    @Test
+    public void answersUpdateTheScore() {
+        Question question = new Question("Math", "Q", "a", "b", "c", "d", "c");
+        QuizSession session = QuizSession.fromQuestions(Arrays.asList(question, question), new Random(7));
+
+        int right = slotOf(session, 0, "c");
+        assertTrue(session.answer(0, right));
+        assertFalse(session.answer(1, (slotOf(session, 1, "c") + 1) % QuizSession.OPTION_COUNT));
+        assertEquals(2, session.getAnsweredCount());
+        assertEquals(1, session.getCorrectCount());
+        assertEquals(1, session.getIncorrectCount());
+    }
+
+    /**
+     * Returns the text of the first slot graded correct.
+     */
+    private static String correctOption(QuizSession session, int index) {
+        for (int slot = 0; slot < QuizSession.OPTION_COUNT; slot++) {
+            if (session.isCorrect(index, slot)) {
+                return session.getOptionText(index, slot);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the slot showing an option text.
+     */
+    private static int slotOf(QuizSession session, int index, String text) {
+        for (int slot = 0; slot < QuizSession.OPTION_COUNT; slot++) {
+            if (session.getOptionText(index, slot).equals(text)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.purnendu.quizo.leaderboard;
+
+import static com.purnendu.quizo.leaderboard.RankedListTest.emails;
+import static com.purnendu.quizo.leaderboard.RankedListTest.player;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link InMemoryLeaderboardRepository} paging and ranking.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class InMemoryLeaderboardRepositoryTest {
+
+    @Test
+    public void pagingVisitsEveryPlayerOnceInRankOrder() {
+        // Totals of 0 to 3 only, so every page boundary falls inside a run of ties
+        Random random = new Random(3);
+        List<LeaderBoard> players = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            players.add(player("player" + i + "@quizo.test", random.nextInt(4)));
+        }
+        InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+        repository.putAll(players);
+        List<LeaderBoard> expected = new ArrayList<>(players);
+        expected.sort(LeaderboardRepository.RANK_ORDER);
+
+        for (int pageSize : new int[]{1, 7, 50, 999, 1_000, 1_001}) {
+            List<LeaderBoard> visited = readAll(repository, pageSize);
+            assertEquals("page size " + pageSize, emails(expected), emails(visited));
+            assertEquals(players.size(), new HashSet<>(emails(visited)).size());
+        }
+    }
+
+    @Test
+    public void lastPageReportsNoMore() {
+        InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+        repository.putAll(Arrays.asList(player("a@quizo.test", 1), player("b@quizo.test", 2),
+                player("c@quizo.test", 3), player("d@quizo.test", 4)));
+
+        LeaderboardPage first = loadPage(repository, null, 2);
+        LeaderboardPage second = loadPage(repository, first.getLast(), 2);
+        LeaderboardPage third = loadPage(repository, second.getLast(), 2);
+
+        assertTrue(first.hasMore());
+        assertFalse(second.hasMore());
+        assertTrue(third.getEntries().isEmpty());
+    }
+
+    @Test
+    public void removedCursorContinuesWithTheNextPlayer() {
+        InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+        repository.putAll(Arrays.asList(player("a@quizo.test", 5), player("b@quizo.test", 5),
+                player("c@quizo.test", 5), player("d@quizo.test", 1)));
+        LeaderBoard cursor = loadPage(repository, null, 2).getLast(); // c, b | a, d
+
+        repository.putAll(Arrays.asList(player("a@quizo.test", 5), player("c@quizo.test", 5),
+                player("d@quizo.test", 1)));
+
+        assertEquals(Arrays.asList("a@quizo.test", "d@quizo.test"),
+                emails(loadPage(repository, cursor, 2).getEntries()));
+    }
+
+    @Test
+    public void cursorKeepsItsOldPositionWhenThePlayerMoves() {
+        InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+        repository.putAll(Arrays.asList(player("a@quizo.test", 30), player("b@quizo.test", 20),
+                player("c@quizo.test", 10)));
+        LeaderBoard cursor = loadPage(repository, null, 2).getLast(); // b at 20
+
+        repository.addPoints("b@quizo.test", "b", 100);
+
+        // Like startAfter(20, "b@quizo.test"): the cursor's values decide, not the player's new total
+        assertEquals(Arrays.asList("c@quizo.test"), emails(loadPage(repository, cursor, 2).getEntries()));
+    }
+
+    @Test
+    public void standingCountsPlayersRankedBefore() {
+        InMemoryLeaderboardRepository repository = new InMemoryLeaderboardRepository();
+        repository.putAll(Arrays.asList(player("a@quizo.test", 10), player("b@quizo.test", 10),
+                player("c@quizo.test", 20), player("d@quizo.test", 5)));
+
+        PlayerStanding[] standing = new PlayerStanding[1];
+        repository.loadStanding("a@quizo.test", 1, Runnable::run, new Recorder<PlayerStanding>() {
+            @Override
+            public void onSuccess(PlayerStanding result) {
+                standing[0] = result;
+            }
+        });
+
+        assertEquals(3, standing[0].getRank());
+        assertEquals(4, standing[0].getPlayerCount());
+        assertEquals(Arrays.asList("b@quizo.test"), emails(standing[0].getAbove()));
+        assertEquals(Arrays.asList("d@quizo.test"), emails(standing[0].getBelow()));
+    }
+
+    /**
+     * Reads every page, each continued from the last player of the previous one.
+     */
+    static List<LeaderBoard> readAll(LeaderboardRepository repository, int pageSize) {
+        List<LeaderBoard> visited = new ArrayList<>();
+        LeaderBoard cursor = null;
+        LeaderboardPage page;
+        do {
+            page = loadPage(repository, cursor, pageSize);
+            visited.addAll(page.getEntries());
+            cursor = page.getLast();
+        } while (page.hasMore());
+        return visited;
+    }
+
+    /**
+     * Loads one page, delivered on the calling thread.
+     */
+    static LeaderboardPage loadPage(LeaderboardRepository repository, LeaderBoard after, int pageSize) {
+        LeaderboardPage[] page = new LeaderboardPage[1];
+        repository.loadPage(after, pageSize, Runnable::run, new Recorder<LeaderboardPage>() {
+            @Override
+            public void onSuccess(LeaderboardPage result) {
+                page[0] = result;
+            }
+        });
+        return page[0];
+    }
+
+    /**
+     * A callback that fails the test on error.
+     */
+    abstract static class Recorder<T> implements LeaderboardRepository.Callback<T> {
+
+        @Override
+        public void onError(Exception error) {
+            throw new AssertionError(error);
+        }
+    }
+}
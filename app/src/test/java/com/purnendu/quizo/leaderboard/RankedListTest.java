@@ -0,0 +1,122 @@
+package com.purnendu.quizo.leaderboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.purnendu.quizo.models.LeaderBoard;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link RankedList}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class RankedListTest {
+
+    @Test
+    public void ordersByPointsThenEmailDescending() {
+        RankedList ranked = new RankedList();
+        ranked.upsert(player("a@quizo.test", 10));
+        ranked.upsert(player("c@quizo.test", 5));
+        ranked.upsert(player("b@quizo.test", 10));
+        ranked.upsert(player("d@quizo.test", 20));
+
+        // Like orderBy(totalPoints, DESCENDING).orderBy(documentId, DESCENDING)
+        assertEquals(Arrays.asList("d@quizo.test", "b@quizo.test", "a@quizo.test", "c@quizo.test"),
+                emails(ranked.toList()));
+    }
+
+    @Test
+    public void upsertMovesThePlayerWithTheSameEmail() {
+        RankedList ranked = new RankedList();
+        ranked.upsert(player("a@quizo.test", 10));
+        ranked.upsert(player("b@quizo.test", 20));
+        ranked.upsert(player("a@quizo.test", 30));
+
+        assertEquals(2, ranked.size());
+        assertEquals(Arrays.asList("a@quizo.test", "b@quizo.test"), emails(ranked.toList()));
+        assertEquals(30, ranked.find("a@quizo.test").getTotalPoints());
+    }
+
+    @Test
+    public void removeDropsOnlyThatPlayer() {
+        RankedList ranked = new RankedList();
+        ranked.upsert(player("a@quizo.test", 10));
+        ranked.upsert(player("b@quizo.test", 10));
+        ranked.remove("b@quizo.test");
+        ranked.remove("missing@quizo.test");
+
+        assertEquals(Collections.singletonList("a@quizo.test"), emails(ranked.toList()));
+        assertNull(ranked.find("b@quizo.test"));
+    }
+
+    @Test
+    public void countBeforeIsThePositionOfPresentAndAbsentPlayers() {
+        RankedList ranked = new RankedList();
+        ranked.upsert(player("a@quizo.test", 10));
+        ranked.upsert(player("c@quizo.test", 10));
+        ranked.upsert(player("e@quizo.test", 5));
+
+        assertEquals(1, ranked.countBefore(player("a@quizo.test", 10)));
+        assertEquals(1, ranked.countBefore(player("b@quizo.test", 10)));
+        assertEquals(0, ranked.countBefore(player("z@quizo.test", 10)));
+        assertEquals(3, ranked.countBefore(player("a@quizo.test", 1)));
+    }
+
+    @Test
+    public void randomUpsertsMatchAFullSort() {
+        Random random = new Random(42);
+        RankedList ranked = new RankedList();
+        List<LeaderBoard> latest = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            latest.add(null);
+        }
+        for (int step = 0; step < 5_000; step++) {
+            int id = random.nextInt(latest.size());
+            // Few distinct totals, so most positions are decided by the email
+            LeaderBoard player = player("player" + id + "@quizo.test", random.nextInt(8));
+            latest.set(id, player);
+            ranked.upsert(player);
+        }
+        List<LeaderBoard> expected = new ArrayList<>();
+        for (LeaderBoard player : latest) {
+            if (player != null) {
+                expected.add(player);
+            }
+        }
+        expected.sort(LeaderboardRepository.RANK_ORDER);
+
+        assertEquals(emails(expected), emails(ranked.toList()));
+    }
+
+    @Test
+    public void replaceAllSortsOnce() {
+        RankedList ranked = new RankedList();
+        ranked.upsert(player("old@quizo.test", 99));
+        ranked.replaceAll(Arrays.asList(player("a@quizo.test", 1), player("b@quizo.test", 1),
+                player("c@quizo.test", 2)));
+
+        assertEquals(Arrays.asList("c@quizo.test", "b@quizo.test", "a@quizo.test"), emails(ranked.toList()));
+        assertNull(ranked.find("old@quizo.test"));
+    }
+
+    static LeaderBoard player(String email, long points) {
+        return new LeaderBoard(email, email, points);
+    }
+
+    static List<String> emails(List<LeaderBoard> players) {
+        List<String> emails = new ArrayList<>(players.size());
+        for (LeaderBoard player : players) {
+            emails.add(player.getEmail());
+        }
+        return emails;
+    }
+}
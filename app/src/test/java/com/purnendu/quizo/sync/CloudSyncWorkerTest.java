@@ -0,0 +1,240 @@
+package com.purnendu.quizo.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Unit tests for {@link CloudSyncWorker}. Drains run on the calling thread and retries are recorded
+ * instead of scheduled, so every interleaving is deterministic.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class CloudSyncWorkerTest {
+
+    private final FakeOutboxDao outbox = new FakeOutboxDao();
+
+    private final InMemoryCloudSync cloud = new InMemoryCloudSync();
+
+    private final RecordingScheduler scheduler = new RecordingScheduler();
+
+    @Test
+    public void requestsDuringADrainFoldIntoOneFollowUpDrain() {
+        outbox.add("k1", "a@quizo.test", 10, 1);
+        CloudSyncWorker[] worker = new CloudSyncWorker[1];
+        CloudSync requestingSync = new CloudSync() {
+            boolean first = true;
+
+            @Override
+            public void push(@NonNull ScoreUpdate update) throws Exception {
+                cloud.push(update);
+                if (first) {
+                    first = false;
+                    // A new result and two connectivity events while the upload is in flight
+                    outbox.add("k2", "a@quizo.test", 5, 2);
+                    worker[0].requestSync();
+                    worker[0].requestSync();
+                    worker[0].requestSync();
+                }
+            }
+        };
+        worker[0] = new CloudSyncWorker(outbox, requestingSync, Runnable::run, scheduler);
+
+        worker[0].requestSync();
+
+        assertEquals(2, outbox.getDrainCount());
+        assertEquals(0, outbox.size());
+        assertEquals(Long.valueOf(15), cloud.getTotalPoints("a@quizo.test"));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void rowsAreDeletedOnlyAfterAnAcknowledgedWrite() {
+        outbox.add("k1", "a@quizo.test", 10, 1);
+        outbox.add("k2", "b@quizo.test", 20, 2);
+        List<Boolean> pendingDuringPush = new ArrayList<>();
+        CloudSync checkingSync = update -> {
+            for (String key : update.getAttemptKeys()) {
+                pendingDuringPush.add(outbox.contains(key));
+            }
+            cloud.push(update);
+        };
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, checkingSync, Runnable::run, scheduler);
+
+        cloud.failNext(1);
+        worker.requestSync();
+
+        // The first write failed before the second user was reached: nothing was deleted
+        assertTrue(outbox.contains("k1"));
+        assertTrue(outbox.contains("k2"));
+        assertEquals(1, scheduler.pendingCount());
+
+        assertTrue(scheduler.runNext());
+
+        assertEquals(0, outbox.size());
+        assertFalse(pendingDuringPush.contains(false));
+        assertEquals(Long.valueOf(10), cloud.getTotalPoints("a@quizo.test"));
+        assertEquals(Long.valueOf(20), cloud.getTotalPoints("b@quizo.test"));
+    }
+
+    @Test
+    public void largeOutboxesAreUploadedInBoundedUpdates() {
+        int count = CloudSyncWorker.MAX_ATTEMPTS_PER_UPDATE + 1;
+        for (int i = 0; i < count; i++) {
+            outbox.add(String.format("k%04d", i), "a@quizo.test", 1, i);
+        }
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, cloud, Runnable::run, scheduler);
+
+        worker.requestSync();
+
+        assertEquals(0, outbox.size());
+        assertEquals(2, cloud.getWriteCount());
+        assertEquals(Long.valueOf(count), cloud.getTotalPoints("a@quizo.test"));
+    }
+
+    @Test
+    public void backoffDoublesWithinItsJitterUpToTheCap() {
+        Random lowest = new FixedRandom(0.0);
+        Random highest = new FixedRandom(Math.nextDown(1.0));
+        long expected = CloudSyncWorker.BASE_BACKOFF_MILLIS;
+        for (int failures = 1; failures <= 64; failures++) {
+            long low = CloudSyncWorker.backoffMillis(failures, lowest);
+            long high = CloudSyncWorker.backoffMillis(failures, highest);
+            assertEquals("failures " + failures, expected / 2, low);
+            assertTrue("failures " + failures, high <= expected && high >= expected - 1);
+            expected = Math.min(expected * 2, CloudSyncWorker.MAX_BACKOFF_MILLIS);
+        }
+        assertEquals(CloudSyncWorker.MAX_BACKOFF_MILLIS / 2, CloudSyncWorker.backoffMillis(Integer.MAX_VALUE, lowest));
+        assertEquals(CloudSyncWorker.BASE_BACKOFF_MILLIS / 2, CloudSyncWorker.backoffMillis(0, lowest));
+    }
+
+    @Test
+    public void consecutiveFailuresBackOffAndASuccessResetsThem() {
+        outbox.add("k1", "a@quizo.test", 10, 1);
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, cloud, Runnable::run, scheduler);
+
+        cloud.failNext(3);
+        worker.requestSync();
+        while (scheduler.runNext()) {
+            // Retry until the write goes through
+        }
+        outbox.add("k2", "a@quizo.test", 5, 2);
+        cloud.failNext(1);
+        worker.requestSync();
+
+        List<Long> delays = scheduler.getDelays();
+        assertEquals(4, delays.size());
+        assertBetween(1_000, 2_000, delays.get(0));
+        assertBetween(2_000, 4_000, delays.get(1));
+        assertBetween(4_000, 8_000, delays.get(2));
+        assertBetween(1_000, 2_000, delays.get(3));
+    }
+
+    @Test
+    public void aRejectedDrainIsRetriedAndDoesNotLeaveTheWorkerRunning() {
+        outbox.add("k1", "a@quizo.test", 10, 1);
+        RejectingExecutor executor = new RejectingExecutor(1);
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, cloud, executor, scheduler);
+
+        worker.requestSync();
+
+        assertEquals(0, outbox.getDrainCount());
+        assertEquals(1, scheduler.pendingCount());
+
+        assertTrue(scheduler.runNext());
+
+        assertEquals(1, outbox.getDrainCount());
+        assertEquals(0, outbox.size());
+
+        // Still idle, so a new result starts a drain right away
+        outbox.add("k2", "a@quizo.test", 5, 2);
+        worker.requestSync();
+        assertEquals(2, outbox.getDrainCount());
+        assertEquals(Long.valueOf(15), cloud.getTotalPoints("a@quizo.test"));
+    }
+
+    @Test
+    public void aDatabaseErrorIsRetriedAndDoesNotLeaveTheWorkerRunning() {
+        outbox.add("k1", "a@quizo.test", 10, 1);
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, cloud, Runnable::run, scheduler);
+
+        outbox.failNextReads(1);
+        worker.requestSync();
+
+        assertEquals(1, scheduler.pendingCount());
+        assertEquals(1, outbox.size());
+
+        assertTrue(scheduler.runNext());
+
+        assertEquals(0, outbox.size());
+        assertEquals(Long.valueOf(10), cloud.getTotalPoints("a@quizo.test"));
+    }
+
+    @Test
+    public void aRequestOvertakesAScheduledRetry() {
+        outbox.add("k1", "a@quizo.test", 10, 1);
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, cloud, Runnable::run, scheduler);
+
+        cloud.failNext(1);
+        worker.requestSync();
+        worker.requestSync(); // The network came back
+        assertEquals(2, outbox.getDrainCount());
+
+        assertTrue(scheduler.runNext()); // The stale retry
+        assertEquals(2, outbox.getDrainCount());
+    }
+
+    private static void assertBetween(long low, long high, long actual) {
+        assertTrue(actual + " not in [" + low + ", " + high + "]", actual >= low && actual <= high);
+    }
+
+    /**
+     * A {@link Random} whose {@link #nextDouble()} always returns the same value.
+     */
+    private static final class FixedRandom extends Random {
+
+        private final double value;
+
+        FixedRandom(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double nextDouble() {
+            return value;
+        }
+    }
+
+    /**
+     * An executor that rejects its first tasks, like a saturated bounded pool, then runs the rest
+     * on the calling thread.
+     */
+    private static final class RejectingExecutor implements Executor {
+
+        private int rejections;
+
+        RejectingExecutor(int rejections) {
+            this.rejections = rejections;
+        }
+
+        @Override
+        public void execute(@NonNull Runnable task) {
+            if (rejections > 0) {
+                rejections--;
+                throw new RejectedExecutionException("Pool saturated");
+            }
+            task.run();
+        }
+    }
+}
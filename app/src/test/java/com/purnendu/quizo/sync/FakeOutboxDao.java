@@ -0,0 +1,117 @@
+package com.purnendu.quizo.sync;
+
+import com.purnendu.quizo.dao.OutboxDao;
+import com.purnendu.quizo.models.OutboxEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link OutboxDao} over a map, with the same ordering as the 'cloud_outbox' queries, that
+ * counts drains and can fail the next read like a database error.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for FakeOutboxDao
+public class FakeOutboxDao implements OutboxDao {
+
+    /**
+     * The pending rows, by attempt key.
+     */
+    private final Map<String, OutboxEntry> rows = new LinkedHashMap<>();
+
+    /**
+     * The number of {@link #getPendingEmails()} calls, one per drain.
+     */
+    private int drainCount = 0;
+
+    /**
+     * The number of upcoming {@link #getPendingEmails()} calls that will throw.
+     */
+    private int readFailuresToInject = 0;
+
+    /**
+     * Adds a pending result, like {@code recordAttemptForSync}.
+     *
+     * @param attemptKey The idempotency key of the attempt.
+     * @param email      The email of the user.
+     * @param earned     The points earned in the attempt.
+     * @param time       When the attempt was recorded.
+     */
+    public synchronized void add(String attemptKey, String email, long earned, long time) {
+        rows.put(attemptKey, new OutboxEntry(attemptKey, email, email, earned, 0L, time));
+    }
+
+    /**
+     * Makes the next {@code count} drains fail with a {@link RuntimeException}.
+     *
+     * @param count The number of reads to fail.
+     */
+    public synchronized void failNextReads(int count) {
+        readFailuresToInject = count;
+    }
+
+    /**
+     * Returns whether a result is still pending.
+     *
+     * @param attemptKey The idempotency key of the attempt.
+     * @return {@code true} if its row has not been deleted.
+     */
+    public synchronized boolean contains(String attemptKey) {
+        return rows.containsKey(attemptKey);
+    }
+
+    /**
+     * Returns the number of pending results.
+     *
+     * @return The number of rows.
+     */
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns the number of drains started so far.
+     *
+     * @return The number of {@link #getPendingEmails()} calls.
+     */
+    public synchronized int getDrainCount() {
+        return drainCount;
+    }
+
+    @Override
+    public synchronized List<String> getPendingEmails() {
+        drainCount++;
+        if (readFailuresToInject > 0) {
+            readFailuresToInject--;
+            throw new IllegalStateException("Simulated database error");
+        }
+        LinkedHashSet<String> emails = new LinkedHashSet<>();
+        for (OutboxEntry entry : rows.values()) {
+            emails.add(entry.getEmail());
+        }
+        return new ArrayList<>(emails);
+    }
+
+    @Override
+    public synchronized List<OutboxEntry> getPending(String email, int limit) {
+        List<OutboxEntry> pending = new ArrayList<>();
+        for (OutboxEntry entry : rows.values()) {
+            if (entry.getEmail().equals(email)) {
+                pending.add(entry);
+            }
+        }
+        pending.sort(Comparator.comparingLong(OutboxEntry::getCreatedTime).thenComparing(OutboxEntry::getAttemptKey));
+        return new ArrayList<>(pending.subList(0, Math.min(limit, pending.size())));
+    }
+
+    @Override
+    public synchronized void delete(List<String> attemptKeys) {
+        rows.keySet().removeAll(attemptKeys);
+    }
+}
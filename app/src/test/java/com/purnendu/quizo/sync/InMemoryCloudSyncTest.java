@@ -0,0 +1,85 @@
+package com.purnendu.quizo.sync;
+
+import static com.purnendu.quizo.sync.ScoreUpdateTest.update;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+/**
+ * Unit tests for the idempotent writes of {@link InMemoryCloudSync}, alone and behind
+ * {@link CloudSyncWorker} when acknowledgements are lost.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class InMemoryCloudSyncTest {
+
+    private final InMemoryCloudSync cloud = new InMemoryCloudSync();
+
+    @Test
+    public void aRepeatedUpdateIsAppliedOnce() throws Exception {
+        cloud.push(update("k1", 10, "k2", 5));
+        cloud.push(update("k1", 10, "k2", 5));
+
+        assertEquals(Long.valueOf(15), cloud.getTotalPoints("a@quizo.test"));
+        assertEquals(1, cloud.getWriteCount());
+    }
+
+    @Test
+    public void anOverlappingUpdateAppliesOnlyItsNewAttempts() throws Exception {
+        cloud.push(update("k1", 10));
+        cloud.push(update("k1", 10, "k2", 5, "k3", 1));
+        cloud.push(update("k3", 1));
+
+        assertEquals(Long.valueOf(16), cloud.getTotalPoints("a@quizo.test"));
+        assertEquals(2, cloud.getWriteCount());
+    }
+
+    @Test
+    public void aFailedWriteAppliesNothing() throws Exception {
+        cloud.failNext(1);
+        try {
+            cloud.push(update("k1", 10));
+            fail("The write should have failed");
+        } catch (IOException expected) {
+            // Injected
+        }
+        assertNull(cloud.getTotalPoints("a@quizo.test"));
+
+        cloud.push(update("k1", 10));
+        assertEquals(Long.valueOf(10), cloud.getTotalPoints("a@quizo.test"));
+    }
+
+    @Test
+    public void lostAcknowledgementsAreRetriedWithoutCountingTwice() {
+        FakeOutboxDao outbox = new FakeOutboxDao();
+        RecordingScheduler scheduler = new RecordingScheduler();
+        int[] acksToLose = {3};
+        CloudSync lossySync = update -> {
+            cloud.push(update);
+            if (acksToLose[0] > 0) {
+                acksToLose[0]--;
+                throw new IOException("Acknowledgement lost");
+            }
+        };
+        CloudSyncWorker worker = new CloudSyncWorker(outbox, lossySync, Runnable::run, scheduler);
+
+        long expected = 0;
+        for (int i = 0; i < 5; i++) {
+            outbox.add("k" + i, "a@quizo.test", i + 1, i);
+            expected += i + 1;
+            worker.requestSync(); // Each retry also carries the results added since
+        }
+        while (scheduler.runNext()) {
+            // Retry until an acknowledgement arrives
+        }
+
+        assertEquals(0, acksToLose[0]);
+        assertEquals(0, outbox.size());
+        assertEquals(Long.valueOf(expected), cloud.getTotalPoints("a@quizo.test"));
+    }
+}
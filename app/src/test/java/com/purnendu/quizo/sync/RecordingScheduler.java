@@ -0,0 +1,68 @@
+package com.purnendu.quizo.sync;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link CloudSyncWorker.DelayScheduler} that records the scheduled retries instead of waiting,
+ * so a test decides when they run.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for RecordingScheduler
+public class RecordingScheduler implements CloudSyncWorker.DelayScheduler {
+
+    /**
+     * The retries not yet run, oldest first.
+     */
+    private final List<Runnable> pending = new ArrayList<>();
+
+    /**
+     * The delay of every retry scheduled so far, oldest first.
+     */
+    private final List<Long> delays = new ArrayList<>();
+
+    @Override
+    public synchronized void schedule(@NonNull Runnable task, long delayMillis) {
+        pending.add(task);
+        delays.add(delayMillis);
+    }
+
+    /**
+     * Runs the oldest pending retry.
+     *
+     * @return {@code false} if no retry was pending.
+     */
+    public boolean runNext() {
+        Runnable task;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return false;
+            }
+            task = pending.remove(0);
+        }
+        task.run();
+        return true;
+    }
+
+    /**
+     * Returns the number of retries not yet run.
+     *
+     * @return The number of pending retries.
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the delay of every retry scheduled so far.
+     *
+     * @return The delays in milliseconds, oldest first.
+     */
+    public synchronized List<Long> getDelays() {
+        return new ArrayList<>(delays);
+    }
+}
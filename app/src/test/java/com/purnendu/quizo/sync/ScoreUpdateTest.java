@@ -0,0 +1,79 @@
+package com.purnendu.quizo.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.purnendu.quizo.models.OutboxEntry;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ScoreUpdate}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class ScoreUpdateTest {
+
+    @Test
+    public void coalesceKeepsEveryAttemptAndTheNewestName() {
+        ScoreUpdate update = ScoreUpdate.coalesce(Arrays.asList(
+                new OutboxEntry("k1", "a@quizo.test", "Old name", 10, 10, 1),
+                new OutboxEntry("k2", "a@quizo.test", "New name", 5, 15, 2)));
+
+        assertEquals(Arrays.asList("k1", "k2"), update.getAttemptKeys());
+        assertEquals(15, update.getEarned());
+        assertEquals("New name", update.getName());
+        assertEquals(2, update.getLastUpdated());
+        assertEquals("k2", update.getLastAttemptKey());
+    }
+
+    @Test
+    public void coalesceCountsARepeatedAttemptKeyOnce() {
+        ScoreUpdate update = ScoreUpdate.coalesce(Arrays.asList(
+                new OutboxEntry("k1", "a@quizo.test", "A", 10, 10, 1),
+                new OutboxEntry("k1", "a@quizo.test", "A", 10, 10, 1)));
+
+        assertEquals(Collections.singletonList("k1"), update.getAttemptKeys());
+        assertEquals(10, update.getEarned());
+    }
+
+    @Test
+    public void withoutLeavesOutTheGivenAttemptsInOrder() {
+        ScoreUpdate update = update("k1", 1, "k2", 2, "k3", 4, "k4", 8);
+
+        ScoreUpdate remaining = update.without(Arrays.asList("k3", "k1", "unknown"));
+
+        assertEquals(Arrays.asList("k2", "k4"), remaining.getAttemptKeys());
+        assertEquals(10, remaining.getEarned());
+        assertEquals(update.getEmail(), remaining.getEmail());
+        assertEquals(update.getLastUpdated(), remaining.getLastUpdated());
+        // The original is unchanged
+        assertEquals(15, update.getEarned());
+    }
+
+    @Test
+    public void withoutEveryAttemptIsNull() {
+        ScoreUpdate update = update("k1", 1, "k2", 2);
+
+        assertNull(update.without(Arrays.asList("k2", "k1")));
+        assertEquals(update.getAttemptKeys(), update.without(Collections.emptyList()).getAttemptKeys());
+    }
+
+    /**
+     * Creates an update of user a from alternating attempt keys and earned points, oldest first.
+     */
+    static ScoreUpdate update(Object... keysAndPoints) {
+        List<OutboxEntry> entries = new ArrayList<>();
+        for (int i = 0; i < keysAndPoints.length; i += 2) {
+            entries.add(new OutboxEntry((String) keysAndPoints[i], "a@quizo.test", "A",
+                    ((Number) keysAndPoints[i + 1]).longValue(), 0L, i));
+        }
+        return ScoreUpdate.coalesce(entries);
+    }
+}
@@ -0,0 +1,54 @@
+package com.purnendu.quizo.utilities;
+
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link HashAlgo#hashPassword(String)} across iteration counts, the curve
+ * {@link HashAlgo#measureIterations(long)} assumes to be linear when it scales one timed run to
+ * {@link HashAlgo#TARGET_MILLIS}.
+ * <p>
+ * Skipped unless run with {@code ./gradlew testDebugUnitTest -Pquizo.benchmark=true
+ * --tests '*HashAlgoBenchmark'}.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(0)
+public class HashAlgoBenchmark {
+
+    @Param({"10000", "20000", "50000", "100000", "200000", "500000"})
+    public int rounds;
+
+    @Benchmark
+    public String hashPassword() {
+        return HashAlgo.hashPassword("correct horse battery staple", rounds);
+    }
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        assumeTrue(Boolean.getBoolean("quizo.benchmark"));
+        new Runner(new OptionsBuilder().include(HashAlgoBenchmark.class.getName()).build()).run();
+    }
+}
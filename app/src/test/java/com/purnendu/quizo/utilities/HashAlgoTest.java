@@ -0,0 +1,101 @@
+package com.purnendu.quizo.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Unit tests for {@link HashAlgo}, checking the hand-rolled PBKDF2 against the JDK's
+ * {@code PBKDF2WithHmacSHA256}, which Android only provides from API 26.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+public class HashAlgoTest {
+
+    @Test
+    public void matchesTheRfcTestVectors() {
+        // PBKDF2-HMAC-SHA256 vectors for P = "password", S = "salt", dkLen = 32
+        assertTrue(HashAlgo.verifyPassword("password", stored(1, "salt",
+                "120fb6cffcf8b32c43e7225256c4f837a86548c92ccc35480805987cb70be17b")));
+        assertTrue(HashAlgo.verifyPassword("password", stored(4096, "salt",
+                "c5e478d59288c841aa530db6845c4c8d962893a001ce4e11a4963873aa98134a")));
+    }
+
+    @Test
+    public void matchesTheJdkImplementation() throws Exception {
+        String[] passwords = {"a", "correct horse battery staple", "pässwörd ✓",
+                "a password longer than the sixty-four byte HMAC block, which HMAC hashes first"};
+        int[] roundCounts = {1, 2, 1_000, 10_000};
+        for (String password : passwords) {
+            for (int rounds : roundCounts) {
+                String salt = "salt-" + rounds;
+                String stored = stored(rounds, salt, jdkPbkdf2(password, salt.getBytes(StandardCharsets.UTF_8), rounds));
+                assertTrue(password + " at " + rounds, HashAlgo.verifyPassword(password, stored));
+                assertFalse(password + " at " + rounds, HashAlgo.verifyPassword(password + "x", stored));
+            }
+        }
+    }
+
+    @Test
+    public void hashPasswordWritesWhatTheJdkDerives() throws Exception {
+        String stored = HashAlgo.hashPassword("secret", 12_000);
+        String[] parts = stored.split("\\$");
+
+        assertEquals(4, parts.length);
+        assertEquals("pbkdf2-sha256", parts[0]);
+        assertEquals("12000", parts[1]);
+        assertEquals(32, parts[2].length());
+        assertEquals(jdkPbkdf2("secret", fromHex(parts[2]), 12_000), parts[3]);
+    }
+
+    @Test
+    public void saltsAreFresh() {
+        assertFalse(HashAlgo.hashPassword("secret", 10_000).equals(HashAlgo.hashPassword("secret", 10_000)));
+    }
+
+    @Test
+    public void legacyHashesVerifyAndNeedRehash() throws Exception {
+        String legacy = HashAlgo.toHex(MessageDigest.getInstance("SHA-256")
+                .digest("secret".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(HashAlgo.verifyPassword("secret", legacy));
+        assertFalse(HashAlgo.verifyPassword("Secret", legacy));
+        assertTrue(HashAlgo.needsRehash(legacy));
+    }
+
+    @Test
+    public void malformedHashesDoNotVerify() {
+        assertFalse(HashAlgo.verifyPassword("secret", "pbkdf2-sha256$abc$00$00"));
+        assertFalse(HashAlgo.verifyPassword("secret", "pbkdf2-sha256$0$00$00"));
+        assertFalse(HashAlgo.verifyPassword("secret", "pbkdf2-sha256$1000$zz$00"));
+        assertFalse(HashAlgo.verifyPassword("secret", "not hex"));
+        assertFalse(HashAlgo.verifyPassword(null, "00"));
+    }
+
+    private static String stored(int rounds, String salt, String hashHex) {
+        return "pbkdf2-sha256$" + rounds + "$" + HashAlgo.toHex(salt.getBytes(StandardCharsets.UTF_8))
+                + "$" + hashHex;
+    }
+
+    private static String jdkPbkdf2(String password, byte[] salt, int rounds) throws Exception {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, rounds, 256);
+        return HashAlgo.toHex(SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded());
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return out;
+    }
+}
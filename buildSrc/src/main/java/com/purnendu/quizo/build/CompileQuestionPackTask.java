@@ -0,0 +1,109 @@
+package com.purnendu.quizo.build;
+
+import com.purnendu.quizo.questionpack.QuestionPackFormat;
+import com.purnendu.quizo.questionpack.QuestionPackWriter;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import groovy.json.JsonSlurper;
+
+/**
+ * Compiles the bundled question bank into a question pack asset, laid out as described by
+ * {@link QuestionPackFormat}.
+ * <p>
+ * The source uses the JSON-lines format of the app's question importer: one object per line with
+ * the fields {@code topic}, {@code question_text}, {@code option_a}, {@code option_b},
+ * {@code option_c}, {@code option_d} and {@code correct_answer}. Blank lines are ignored. A
+ * malformed or invalid question fails the build with its line number, so a broken bank never
+ * ships.
+ *
+ * @author Purnendu Guha
+ * @version 2.0.1
+ */
+//Class for CompileQuestionPackTask
+public abstract class CompileQuestionPackTask extends DefaultTask {
+
+    /**
+     * Returns the question bank to compile.
+     *
+     * @return The source file.
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getSource();
+
+    /**
+     * Returns the directory that receives {@link QuestionPackFormat#ASSET_NAME}.
+     *
+     * @return The output directory.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * Parses and validates the question bank, then writes the pack.
+     *
+     * @throws IOException If the source cannot be read or the pack cannot be written.
+     */
+    @TaskAction
+    public void compile() throws IOException {
+        File source = getSource().get().getAsFile();
+        QuestionPackWriter writer = new QuestionPackWriter();
+        JsonSlurper json = new JsonSlurper();
+
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    Map<?, ?> record = (Map<?, ?>) json.parseText(line);
+                    writer.add(field(record, "topic"), field(record, "question_text"),
+                            field(record, "option_a"), field(record, "option_b"),
+                            field(record, "option_c"), field(record, "option_d"),
+                            field(record, "correct_answer"));
+                } catch (RuntimeException e) {
+                    throw new GradleException(source.getName() + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+
+        File pack = new File(getOutputDirectory().get().getAsFile(), QuestionPackFormat.ASSET_NAME);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(pack.toPath()))) {
+            writer.writeTo(out);
+        }
+        getLogger().info("Compiled {} questions into {}", writer.size(), pack);
+    }
+
+    /**
+     * Returns a field of a parsed record as a string.
+     *
+     * @param record The record.
+     * @param name   The name of the field.
+     * @return The value, or {@code null} if the field is missing.
+     */
+    private static String field(Map<?, ?> record, String name) {
+        Object value = record.get(name);
+        return value == null ? null : value.toString();
+    }
+}